@@ -44,6 +44,8 @@ import org.eclipselabs.garbagecat.domain.JvmRun;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.PatternProfile;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -81,6 +83,10 @@ public class Main {
                 "JVM options used during JVM run");
         options.addOption(Constants.OPTION_PREPROCESS_SHORT, Constants.OPTION_PREPROCESS_LONG, false,
                 "do preprocessing");
+        options.addOption(Constants.OPTION_DEBUG_SHORT, Constants.OPTION_DEBUG_LONG, false,
+                "write the preprocessed log to a file (.pp) for debugging");
+        options.addOption(Constants.OPTION_THREADS_SHORT, Constants.OPTION_THREADS_LONG, true,
+                "number of threads to preprocess on, or rotated logs to read at once (default 1)");
         options.addOption(Constants.OPTION_STARTDATETIME_SHORT, Constants.OPTION_STARTDATETIME_LONG, true,
                 "JVM start datetime (yyyy-MM-dd HH:mm:ss,SSS) required for handling datestamp-only logging");
         options.addOption(Constants.OPTION_THRESHOLD_SHORT, Constants.OPTION_THRESHOLD_LONG, true,
@@ -89,6 +95,16 @@ public class Main {
                 "reorder logging by timestamp");
         options.addOption(Constants.OPTION_OUTPUT_SHORT, Constants.OPTION_OUTPUT_LONG, true,
                 "output file name (default " + Constants.OUTPUT_FILE_NAME + ")");
+        options.addOption(Constants.OPTION_MATCH_BUDGET_SHORT, Constants.OPTION_MATCH_BUDGET_LONG, true,
+                "maximum characters read by regular expressions per log line, e.g. 1000000 (default "
+                        + Constants.DEFAULT_MATCH_BUDGET + ", no limit)");
+        options.addOption(Constants.OPTION_PROFILE_SHORT, Constants.OPTION_PROFILE_LONG, false,
+                "print the most expensive regular expressions");
+        options.addOption(Constants.OPTION_LOW_MEMORY_SHORT, Constants.OPTION_LOW_MEMORY_LONG, false,
+                "read reported log entries back from the log file instead of keeping them in memory (not for "
+                        + "preprocessed or rotated logs)");
+        options.addOption(Constants.OPTION_CACHE_SHORT, Constants.OPTION_CACHE_LONG, true,
+                "directory to cache parsed logging in for repeat analyses of the same log file");
     }
 
     /**
@@ -128,7 +144,22 @@ public class Main {
 
                 GcManager gcManager = new GcManager();
 
+                // Guard and profile regular expression matching
+                long matchBudget = Constants.DEFAULT_MATCH_BUDGET;
+                if (cmd.hasOption(Constants.OPTION_MATCH_BUDGET_LONG)) {
+                    matchBudget = Long.parseLong(cmd.getOptionValue(Constants.OPTION_MATCH_BUDGET_SHORT));
+                }
+                RegExUtil.setMatchBudget(matchBudget);
+                RegExUtil.setProfiling(cmd.hasOption(Constants.OPTION_PROFILE_LONG));
+                gcManager.setLowMemory(cmd.hasOption(Constants.OPTION_LOW_MEMORY_LONG));
+                if (cmd.hasOption(Constants.OPTION_CACHE_LONG)) {
+                    File cacheDirectory = new File(cmd.getOptionValue(Constants.OPTION_CACHE_SHORT));
+                    cacheDirectory.mkdirs();
+                    gcManager.setCacheDirectory(cacheDirectory);
+                }
+
                 // Do preprocessing
+                boolean preprocess = false;
                 if (cmd.hasOption(Constants.OPTION_PREPROCESS_LONG)
                         || cmd.hasOption(Constants.OPTION_STARTDATETIME_LONG)) {
                     /*
@@ -140,7 +171,7 @@ public class Main {
                      * TODO: Handle datetimes separately from preprocessing so preprocessing doesn't require passing in
                      * the JVM start date/time.
                      */
-                    logFile = gcManager.preprocess(logFile, jvmStartDate);
+                    preprocess = true;
                 }
 
                 // Allow logging to be reordered?
@@ -149,8 +180,52 @@ public class Main {
                     reorder = true;
                 }
 
+                int threads = 1;
+                if (cmd.hasOption(Constants.OPTION_THREADS_LONG)) {
+                    threads = Integer.parseInt(cmd.getOptionValue(Constants.OPTION_THREADS_SHORT));
+                }
+
+                // Log entries can only be read back from a single log file that is not preprocessed
+                if (cmd.hasOption(Constants.OPTION_LOW_MEMORY_LONG) && (preprocess || !logFile.isFile())) {
+                    System.err.println("Warning: lowmemory option ignored for preprocessed or rotated log files.");
+                }
+
+                String outputFileName;
+                if (cmd.hasOption(Constants.OPTION_OUTPUT_LONG)) {
+                    outputFileName = cmd.getOptionValue(Constants.OPTION_OUTPUT_SHORT);
+                } else {
+                    outputFileName = Constants.OUTPUT_FILE_NAME;
+                }
+
                 // Store garbage collection logging in data store.
-                gcManager.store(logFile, reorder);
+                if (!logFile.isFile()) {
+                    // Rotated log set (directory or file name with wildcards), without a previous report
+                    List<File> logFiles = GcUtil.getLogFiles(logFileName);
+                    File outputFile = new File(outputFileName).getAbsoluteFile();
+                    Iterator<File> iterator = logFiles.iterator();
+                    while (iterator.hasNext()) {
+                        if (iterator.next().getAbsoluteFile().equals(outputFile)) {
+                            iterator.remove();
+                        }
+                    }
+                    if (cmd.hasOption(Constants.OPTION_DEBUG_LONG)) {
+                        System.err.println("Warning: debug option ignored for rotated log files.");
+                    }
+                    if (preprocess) {
+                        gcManager.preprocessAndStoreRotated(logFiles, jvmStartDate, reorder, threads);
+                    } else {
+                        gcManager.storeRotated(logFiles, reorder, threads);
+                    }
+                } else if (preprocess) {
+                    // Preprocessed logging is stored as it is preprocessed.
+                    File preprocessFile = null;
+                    if (cmd.hasOption(Constants.OPTION_DEBUG_LONG)) {
+                        preprocessFile = new File(logFile.getPath() + ".pp");
+                    }
+                    gcManager.preprocessAndStore(logFile, jvmStartDate, reorder, preprocessFile, threads);
+                } else {
+                    gcManager.store(logFile, reorder);
+                }
 
                 // Create report
                 Jvm jvm = new Jvm(jvmOptions, jvmStartDate);
@@ -160,16 +235,18 @@ public class Main {
                     throughputThreshold = Integer.parseInt(cmd.getOptionValue(Constants.OPTION_THRESHOLD_SHORT));
                 }
                 JvmRun jvmRun = gcManager.getJvmRun(jvm, throughputThreshold);
-                String outputFileName;
-                if (cmd.hasOption(Constants.OPTION_OUTPUT_LONG)) {
-                    outputFileName = cmd.getOptionValue(Constants.OPTION_OUTPUT_SHORT);
-                } else {
-                    outputFileName = Constants.OUTPUT_FILE_NAME;
-                }
 
                 boolean version = cmd.hasOption(Constants.OPTION_VERSION_LONG);
                 boolean latestVersion = cmd.hasOption(Constants.OPTION_LATEST_VERSION_LONG);
                 createReport(jvmRun, outputFileName, version, latestVersion, logFileName);
+                gcManager.close();
+
+                if (RegExUtil.isProfiling()) {
+                    List<PatternProfile> profiles = RegExUtil.getProfiles();
+                    for (int i = 0; i < profiles.size() && i < Constants.PROFILE_REPORT_SIZE; i++) {
+                        System.out.println(profiles.get(i));
+                    }
+                }
             }
         }
     }
@@ -243,23 +320,50 @@ public class Main {
             throw new ParseException("Missing log file not");
         }
         File logFile = new File(logFileName);
-        if (!logFile.exists()) {
+        if (!logFile.isFile() && GcUtil.getLogFiles(logFileName).isEmpty()) {
             throw new ParseException("Invalid log file: '" + logFileName + "'");
         }
         // threshold
         if (cmd.hasOption(Constants.OPTION_THRESHOLD_LONG)) {
             String thresholdRegEx = "^\\d{1,3}$";
             String thresholdOptionValue = cmd.getOptionValue(Constants.OPTION_THRESHOLD_SHORT);
-            Pattern pattern = Pattern.compile(thresholdRegEx);
+            Pattern pattern = RegExUtil.getPattern(thresholdRegEx);
             Matcher matcher = pattern.matcher(thresholdOptionValue);
             if (!matcher.find()) {
                 throw new ParseException("Invalid threshold: '" + thresholdOptionValue + "'");
             }
         }
+        // budget
+        if (cmd.hasOption(Constants.OPTION_MATCH_BUDGET_LONG)) {
+            String budgetRegEx = "^\\d{1,18}$";
+            String budgetOptionValue = cmd.getOptionValue(Constants.OPTION_MATCH_BUDGET_SHORT);
+            Pattern pattern = RegExUtil.getPattern(budgetRegEx);
+            Matcher matcher = pattern.matcher(budgetOptionValue);
+            if (!matcher.find()) {
+                throw new ParseException("Invalid budget: '" + budgetOptionValue + "'");
+            }
+        }
+        // threads
+        if (cmd.hasOption(Constants.OPTION_THREADS_LONG)) {
+            String threadsRegEx = "^[1-9]\\d{0,3}$";
+            String threadsOptionValue = cmd.getOptionValue(Constants.OPTION_THREADS_SHORT);
+            Pattern pattern = RegExUtil.getPattern(threadsRegEx);
+            Matcher matcher = pattern.matcher(threadsOptionValue);
+            if (!matcher.find()) {
+                throw new ParseException("Invalid threads: '" + threadsOptionValue + "'");
+            }
+        }
+        // cache
+        if (cmd.hasOption(Constants.OPTION_CACHE_LONG)) {
+            File cacheDirectory = new File(cmd.getOptionValue(Constants.OPTION_CACHE_SHORT));
+            if (cacheDirectory.exists() && !cacheDirectory.isDirectory()) {
+                throw new ParseException("Invalid cache directory: '" + cacheDirectory + "'");
+            }
+        }
         // startdatetime
         if (cmd.hasOption(Constants.OPTION_STARTDATETIME_LONG)) {
             String startdatetimeOptionValue = cmd.getOptionValue(Constants.OPTION_STARTDATETIME_SHORT);
-            Pattern pattern = Pattern.compile(GcUtil.START_DATE_TIME_REGEX);
+            Pattern pattern = RegExUtil.getPattern(GcUtil.START_DATE_TIME_REGEX);
             Matcher matcher = pattern.matcher(startdatetimeOptionValue);
             if (!matcher.find()) {
                 throw new ParseException("Invalid startdatetime: '" + startdatetimeOptionValue + "'");
@@ -469,7 +573,7 @@ public class Main {
                     bufferedWriter.write(firstEventDatestamp);
                     bufferedWriter.write(Constants.LINE_SEPARATOR);
                 }
-                if (!jvmRun.getFirstEvent().getLogEntry().matches(UnifiedRegEx.DATESTAMP_EVENT)) {
+                if (!RegExUtil.matches(jvmRun.getFirstEvent().getLogEntry(), UnifiedRegEx.DATESTAMP_EVENT)) {
                     bufferedWriter.write("First Timestamp: ");
                     BigDecimal firstEventTimestamp = JdkMath.convertMillisToSecs(jvmRun.getFirstEvent().getTimestamp());
                     bufferedWriter.write(firstEventTimestamp.toString());
@@ -482,7 +586,7 @@ public class Main {
                     bufferedWriter.write(lastEventDatestamp);
                     bufferedWriter.write(Constants.LINE_SEPARATOR);
                 }
-                if (!jvmRun.getLastEvent().getLogEntry().matches(UnifiedRegEx.DATESTAMP_EVENT)) {
+                if (!RegExUtil.matches(jvmRun.getLastEvent().getLogEntry(), UnifiedRegEx.DATESTAMP_EVENT)) {
                     bufferedWriter.write("Last Timestamp: ");
                     BigDecimal lastEventTimestamp = JdkMath.convertMillisToSecs(jvmRun.getLastEvent().getTimestamp());
                     bufferedWriter.write(lastEventTimestamp.toString());
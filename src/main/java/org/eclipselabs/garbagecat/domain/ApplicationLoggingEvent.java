@@ -12,6 +12,7 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain;
 
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -136,10 +137,10 @@ public class ApplicationLoggingEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         boolean isMatch = false;
         for (int i = 0; i < REGEX.length; i++) {
-            if (logLine.matches(REGEX[i])) {
+            if (RegExUtil.matches(logLine, REGEX[i])) {
                 isMatch = true;
                 break;
             }
@@ -12,6 +12,7 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.domain;
 
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -70,7 +71,7 @@ public class BlankLineEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return logLine.matches(REGEX) || logLine.length() == 0;
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, REGEX) || logLine.length() == 0;
     }
 }
@@ -19,6 +19,7 @@ import java.util.List;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -1019,7 +1020,7 @@ public class JvmRun {
         }
 
         // Check if heap dump filename specified
-        if (jvm.getHeapDumpPathValue() != null && !jvm.getHeapDumpPathValue().matches("^\\s*[\\//]$")) {
+        if (jvm.getHeapDumpPathValue() != null && !RegExUtil.matches(jvm.getHeapDumpPathValue(), "^\\s*[\\//]$")) {
             analysis.add(Analysis.WARN_HEAP_DUMP_PATH_FILENAME);
         }
 
@@ -1034,7 +1035,7 @@ public class JvmRun {
      */
     private void doDataAnalysis() {
         // Check for partial log
-        if (firstGcEvent != null && !firstGcEvent.getLogEntry().matches(UnifiedRegEx.DATESTAMP_EVENT)
+        if (firstGcEvent != null && !RegExUtil.matches(firstGcEvent.getLogEntry(), UnifiedRegEx.DATESTAMP_EVENT)
                 && GcUtil.isPartialLog(firstGcEvent.getTimestamp())) {
             analysis.add(Analysis.INFO_FIRST_TIMESTAMP_THRESHOLD_EXCEEDED);
         }
@@ -1222,9 +1223,9 @@ public class JvmRun {
         }
 
         if (lastStoppedEventTimestamp > lastGcEventTimeStamp) {
-            end = lastStoppedEventTimestamp + JdkMath.convertMicrosToMillis(lastStoppedEventDuration).longValue();
+            end = lastStoppedEventTimestamp + JdkMath.convertMicrosToMillis(lastStoppedEventDuration);
         } else {
-            end = lastGcEventTimeStamp + JdkMath.convertMicrosToMillis(lastGcEventDuration).longValue();
+            end = lastGcEventTimeStamp + JdkMath.convertMicrosToMillis(lastGcEventDuration);
         }
 
         return end - start;
@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -53,7 +54,7 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
     /**
      * RegEx pattern.
      */
-    private static Pattern pattern = Pattern.compile(ApplicationConcurrentTimeEvent.REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(ApplicationConcurrentTimeEvent.REGEX);
 
     public String getLogEntry() {
         throw new UnsupportedOperationException("Event does not include log entry information");
@@ -74,8 +75,8 @@ public class ApplicationConcurrentTimeEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 
 }
@@ -16,6 +16,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -120,7 +121,7 @@ public class ApplicationStoppedTimeEvent implements LogEvent {
     /**
      * RegEx pattern.
      */
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(REGEX);
 
     /**
      * Create event from log entry.
@@ -130,14 +131,14 @@ public class ApplicationStoppedTimeEvent implements LogEvent {
      */
     public ApplicationStoppedTimeEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
             if (matcher.group(26) != null) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(26)).longValue();
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(26));
             } else if (matcher.group(41) != null) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(41)).longValue();
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(41));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(46)).intValue();
+            duration = JdkMath.convertSecsToMicros(matcher.group(46));
         }
     }
 
@@ -180,8 +181,8 @@ public class ApplicationStoppedTimeEvent implements LogEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 
 }
@@ -16,6 +16,7 @@ import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -102,7 +103,7 @@ public class ClassUnloadingEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, PATTERN);
     }
 }
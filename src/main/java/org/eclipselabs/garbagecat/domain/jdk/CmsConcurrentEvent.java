@@ -17,6 +17,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -85,7 +86,7 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
             + "(abortable-preclean|abortable-preclean-start|mark|mark-start|preclean|preclean-start|reset|"
             + "reset-start|sweep|sweep-start)(: " + JdkRegEx.DURATION_FRACTION + ")?\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(REGEX);
 
     public String getLogEntry() {
         throw new UnsupportedOperationException("Event does not include log entry information");
@@ -106,7 +107,7 @@ public class CmsConcurrentEvent extends CmsCollector implements LogEvent, Parall
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
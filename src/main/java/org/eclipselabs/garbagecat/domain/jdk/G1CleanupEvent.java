@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -74,7 +75,7 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
             + JdkRegEx.SIZE_BYTES + " bytes \\(\\d{1,2}\\.\\d{2} %\\)\\])?(" + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE
             + "\\(" + JdkRegEx.SIZE + "\\))?, " + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = RegExUtil.getPattern(REGEX);
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -128,20 +129,20 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
      */
     public G1CleanupEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
             if (matcher.group(18) != null) {
                 combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
                 combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)), matcher.group(24).charAt(0));
                 combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(25)),
                         matcher.group(27).charAt(0));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(28)).intValue();
+            duration = JdkMath.convertSecsToMicros(matcher.group(28));
             if (matcher.group(31) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(32)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(33)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(34)).intValue();
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(32));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(33));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(34));
             }
         }
     }
@@ -213,7 +214,7 @@ public class G1CleanupEvent extends G1Collector implements BlockingEvent, Parall
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
@@ -24,6 +23,7 @@ import org.eclipselabs.garbagecat.domain.SerialCollection;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -152,41 +152,32 @@ public class G1FullGCEvent extends G1Collector implements BlockingEvent, YoungCo
      */
     public G1FullGCEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                if (matcher.group(14) != null) {
-                    trigger = matcher.group(14);
-                }
-                combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
-                combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)),
-                        matcher.group(24).charAt(0));
-                duration = JdkMath.convertSecsToMicros(matcher.group(25)).intValue();
+        Matcher matcher = RegExUtil.match(logEntry, REGEX);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            if (matcher.group(14) != null) {
+                trigger = matcher.group(14);
             }
-        } else if (logEntry.matches(REGEX_PREPROCESSED)) {
-            Pattern pattern = Pattern.compile(REGEX_PREPROCESSED);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                if (matcher.group(14) != null) {
-                    trigger = matcher.group(14);
-                } else if (matcher.group(13) != null) {
-                    trigger = JdkRegEx.TRIGGER_CLASS_HISTOGRAM;
-                }
-                combined = JdkMath.convertSizeToKilobytes(matcher.group(65), matcher.group(67).charAt(0));
-                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(71), matcher.group(73).charAt(0));
-                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(74), matcher.group(76).charAt(0));
-                duration = JdkMath.convertSecsToMicros(matcher.group(44)).intValue();
-                if (matcher.group(77) != null) {
-                    permGen = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(79)), matcher.group(81).charAt(0));
-                    permGenEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(82)),
-                            matcher.group(84).charAt(0));
-                    permGenAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(85)),
-                            matcher.group(87).charAt(0));
-                }
+            combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
+            combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)), matcher.group(24).charAt(0));
+            duration = JdkMath.convertSecsToMicros(matcher.group(25));
+        } else if ((matcher = RegExUtil.match(logEntry, REGEX_PREPROCESSED)) != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            if (matcher.group(14) != null) {
+                trigger = matcher.group(14);
+            } else if (matcher.group(13) != null) {
+                trigger = JdkRegEx.TRIGGER_CLASS_HISTOGRAM;
+            }
+            combined = JdkMath.convertSizeToKilobytes(matcher.group(65), matcher.group(67).charAt(0));
+            combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(71), matcher.group(73).charAt(0));
+            combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(74), matcher.group(76).charAt(0));
+            duration = JdkMath.convertSecsToMicros(matcher.group(44));
+            if (matcher.group(77) != null) {
+                permGen = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(79)), matcher.group(81).charAt(0));
+                permGenEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(82)), matcher.group(84).charAt(0));
+                permGenAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(85)),
+                        matcher.group(87).charAt(0));
             }
         }
     }
@@ -282,7 +273,7 @@ public class G1FullGCEvent extends G1Collector implements BlockingEvent, YoungCo
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return logLine.matches(REGEX) || logLine.matches(REGEX_PREPROCESSED);
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, REGEX) || RegExUtil.matches(logLine, REGEX_PREPROCESSED);
     }
 }
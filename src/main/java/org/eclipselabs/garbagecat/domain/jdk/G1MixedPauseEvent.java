@@ -13,13 +13,13 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -157,45 +157,37 @@ public class G1MixedPauseEvent extends G1Collector
      */
     public G1MixedPauseEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
+        Matcher matcher = RegExUtil.match(logEntry, REGEX);
+        if (matcher != null) {
             // standard format
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                trigger = matcher.group(14);
-                combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
-                combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)),
-                        matcher.group(24).charAt(0));
-                duration = JdkMath.convertSecsToMicros(matcher.group(25)).intValue();
-                if (matcher.group(28) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(30)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(31)).intValue();
-                }
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            trigger = matcher.group(14);
+            combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
+            combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)), matcher.group(24).charAt(0));
+            duration = JdkMath.convertSecsToMicros(matcher.group(25));
+            if (matcher.group(28) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(29));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(30));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(31));
             }
-        } else if (logEntry.matches(REGEX_PREPROCESSED)) {
+        } else if ((matcher = RegExUtil.match(logEntry, REGEX_PREPROCESSED)) != null) {
             // preprocessed format
-            Pattern pattern = Pattern.compile(REGEX_PREPROCESSED);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                // use last trigger
-                if (matcher.group(16) != null) {
-                    trigger = matcher.group(16);
-                } else if (matcher.group(14) != null) {
-                    trigger = matcher.group(14);
-                }
-                duration = JdkMath.convertSecsToMicros(matcher.group(17)).intValue();
-                combined = JdkMath.convertSizeToKilobytes(matcher.group(38), matcher.group(40).charAt(0));
-                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(44), matcher.group(46).charAt(0));
-                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(47), matcher.group(49).charAt(0));
-                if (matcher.group(50) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(51)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(52)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(53)).intValue();
-                }
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            // use last trigger
+            if (matcher.group(16) != null) {
+                trigger = matcher.group(16);
+            } else if (matcher.group(14) != null) {
+                trigger = matcher.group(14);
+            }
+            duration = JdkMath.convertSecsToMicros(matcher.group(17));
+            combined = JdkMath.convertSizeToKilobytes(matcher.group(38), matcher.group(40).charAt(0));
+            combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(44), matcher.group(46).charAt(0));
+            combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(47), matcher.group(49).charAt(0));
+            if (matcher.group(50) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(51));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(52));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(53));
             }
         }
     }
@@ -271,7 +263,7 @@ public class G1MixedPauseEvent extends G1Collector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return logLine.matches(REGEX) || logLine.matches(REGEX_PREPROCESSED);
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, REGEX) || RegExUtil.matches(logLine, REGEX_PREPROCESSED);
     }
 }
@@ -18,6 +18,7 @@ import java.util.regex.Pattern;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -60,7 +61,7 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
     private static final String REGEX = "^(" + JdkRegEx.DATESTAMP + ": )?" + JdkRegEx.TIMESTAMP + ": \\[GC remark, "
             + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(REGEX);
+    private static final Pattern pattern = RegExUtil.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -100,14 +101,14 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
      */
     public G1RemarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-            duration = JdkMath.convertSecsToMicros(matcher.group(13)).intValue();
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            duration = JdkMath.convertSecsToMicros(matcher.group(13));
             if (matcher.group(16) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(17)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(18)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(19)).intValue();
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(17));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(18));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(19));
             }
         }
     }
@@ -167,7 +168,7 @@ public class G1RemarkEvent extends G1Collector implements BlockingEvent, Paralle
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
@@ -13,13 +13,13 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -154,54 +154,46 @@ public class G1YoungInitialMarkEvent extends G1Collector
      */
     public G1YoungInitialMarkEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
+        Matcher matcher = RegExUtil.match(logEntry, REGEX);
+        if (matcher != null) {
             // standard format
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                trigger = matcher.group(14);
-                combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
-                combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)),
-                        matcher.group(24).charAt(0));
-                duration = JdkMath.convertSecsToMicros(matcher.group(25)).intValue();
-                if (matcher.group(28) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(30)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(31)).intValue();
-                }
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            trigger = matcher.group(14);
+            combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
+            combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)), matcher.group(24).charAt(0));
+            duration = JdkMath.convertSecsToMicros(matcher.group(25));
+            if (matcher.group(28) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(29));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(30));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(31));
             }
-        } else if (logEntry.matches(REGEX_PREPROCESSED)) {
+        } else if ((matcher = RegExUtil.match(logEntry, REGEX_PREPROCESSED)) != null) {
             // preprocessed format
-            Pattern pattern = Pattern.compile(REGEX_PREPROCESSED);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                if (matcher.group(14) != null) {
-                    trigger = matcher.group(14);
-                } else if (matcher.group(18) != null) {
-                    trigger = matcher.group(18);
-                }
-                if (matcher.group(19) != null) {
-                    duration = JdkMath.convertSecsToMicros(matcher.group(20)).intValue();
-                } else {
-                    if (matcher.group(54) != null) {
-                        // Use Times block duration
-                        duration = JdkMath.convertSecsToMicros(matcher.group(56)).intValue();
-                    }
-                }
-                if (matcher.group(23) != null) {
-                    combined = JdkMath.convertSizeToKilobytes(matcher.group(42), matcher.group(44).charAt(0));
-                    combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(48), matcher.group(50).charAt(0));
-                    combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(51), matcher.group(53).charAt(0));
-                }
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            if (matcher.group(14) != null) {
+                trigger = matcher.group(14);
+            } else if (matcher.group(18) != null) {
+                trigger = matcher.group(18);
+            }
+            if (matcher.group(19) != null) {
+                duration = JdkMath.convertSecsToMicros(matcher.group(20));
+            } else {
                 if (matcher.group(54) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(55)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(56)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(57)).intValue();
+                    // Use Times block duration
+                    duration = JdkMath.convertSecsToMicros(matcher.group(56));
                 }
             }
+            if (matcher.group(23) != null) {
+                combined = JdkMath.convertSizeToKilobytes(matcher.group(42), matcher.group(44).charAt(0));
+                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(48), matcher.group(50).charAt(0));
+                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(51), matcher.group(53).charAt(0));
+            }
+            if (matcher.group(54) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(55));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(56));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(57));
+            }
         }
     }
 
@@ -276,7 +268,7 @@ public class G1YoungInitialMarkEvent extends G1Collector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return logLine.matches(REGEX) || logLine.matches(REGEX_PREPROCESSED);
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, REGEX) || RegExUtil.matches(logLine, REGEX_PREPROCESSED);
     }
 }
@@ -13,7 +13,6 @@
 package org.eclipselabs.garbagecat.domain.jdk;
 
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
@@ -21,6 +20,7 @@ import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -202,79 +202,62 @@ public class G1YoungPauseEvent extends G1Collector
      */
     public G1YoungPauseEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = RegExUtil.match(logEntry, REGEX);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            trigger = matcher.group(14);
+            combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
+            combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)), matcher.group(24).charAt(0));
+            duration = JdkMath.convertSecsToMicros(matcher.group(25));
+            if (matcher.group(28) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(29));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(30));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(31));
+            }
+        } else if ((matcher = RegExUtil.match(logEntry, REGEX_PREPROCESSED_DETAILS)) != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            if (matcher.group(16) != null) {
+                // trigger after (young):
+                trigger = matcher.group(16);
+            } else {
+                // trigger before (young):
                 trigger = matcher.group(14);
-                combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(16)), matcher.group(18).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(19)), matcher.group(21).charAt(0));
-                combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(22)),
-                        matcher.group(24).charAt(0));
-                duration = JdkMath.convertSecsToMicros(matcher.group(25)).intValue();
-                if (matcher.group(28) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(30)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(31)).intValue();
-                }
             }
-        } else if (logEntry.matches(REGEX_PREPROCESSED_DETAILS)) {
-            Pattern pattern = Pattern.compile(REGEX_PREPROCESSED_DETAILS);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                if (matcher.group(16) != null) {
-                    // trigger after (young):
-                    trigger = matcher.group(16);
-                } else {
-                    // trigger before (young):
-                    trigger = matcher.group(14);
-                }
-                duration = JdkMath.convertSecsToMicros(matcher.group(17)).intValue();
-                combined = JdkMath.convertSizeToKilobytes(matcher.group(38), matcher.group(40).charAt(0));
-                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(44), matcher.group(46).charAt(0));
-                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(47), matcher.group(49).charAt(0));
-                if (matcher.group(50) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(51)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(52)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(53)).intValue();
-                }
+            duration = JdkMath.convertSecsToMicros(matcher.group(17));
+            combined = JdkMath.convertSizeToKilobytes(matcher.group(38), matcher.group(40).charAt(0));
+            combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(44), matcher.group(46).charAt(0));
+            combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(47), matcher.group(49).charAt(0));
+            if (matcher.group(50) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(51));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(52));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(53));
             }
-        } else if (logEntry.matches(REGEX_PREPROCESSED)) {
-            Pattern pattern = Pattern.compile(REGEX_PREPROCESSED);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(1)).longValue();
-                duration = JdkMath.convertSecsToMicros(matcher.group(2)).intValue();
-                combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(5)), matcher.group(7).charAt(0));
-                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(8)), matcher.group(10).charAt(0));
-                combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(11)),
-                        matcher.group(13).charAt(0));
-                if (matcher.group(14) != null) {
-                    timeUser = JdkMath.convertSecsToCentis(matcher.group(15)).intValue();
-                    timeSys = JdkMath.convertSecsToCentis(matcher.group(16)).intValue();
-                    timeReal = JdkMath.convertSecsToCentis(matcher.group(17)).intValue();
-                }
+        } else if ((matcher = RegExUtil.match(logEntry, REGEX_PREPROCESSED)) != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(1));
+            duration = JdkMath.convertSecsToMicros(matcher.group(2));
+            combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(5)), matcher.group(7).charAt(0));
+            combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(8)), matcher.group(10).charAt(0));
+            combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(11)), matcher.group(13).charAt(0));
+            if (matcher.group(14) != null) {
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(15));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(16));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(17));
             }
-        } else if (logEntry.matches(REGEX_PREPROCESSED_NO_DURATION)) {
-            Pattern pattern = Pattern.compile(REGEX_PREPROCESSED_NO_DURATION);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                if (matcher.group(14) != null) {
-                    // trigger before (young):
-                    trigger = matcher.group(14);
-                }
-                // Get duration from times block
-                duration = JdkMath.convertSecsToMicros(matcher.group(48)).intValue();
-                combined = JdkMath.convertSizeToKilobytes(matcher.group(33), matcher.group(35).charAt(0));
-                combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(39), matcher.group(41).charAt(0));
-                combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(42), matcher.group(44).charAt(0));
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(46)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(47)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(48)).intValue();
+        } else if ((matcher = RegExUtil.match(logEntry, REGEX_PREPROCESSED_NO_DURATION)) != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            if (matcher.group(14) != null) {
+                // trigger before (young):
+                trigger = matcher.group(14);
             }
+            // Get duration from times block
+            duration = JdkMath.convertSecsToMicros(matcher.group(48));
+            combined = JdkMath.convertSizeToKilobytes(matcher.group(33), matcher.group(35).charAt(0));
+            combinedEnd = JdkMath.convertSizeToKilobytes(matcher.group(39), matcher.group(41).charAt(0));
+            combinedAvailable = JdkMath.convertSizeToKilobytes(matcher.group(42), matcher.group(44).charAt(0));
+            timeUser = JdkMath.convertSecsToCentis(matcher.group(46));
+            timeSys = JdkMath.convertSecsToCentis(matcher.group(47));
+            timeReal = JdkMath.convertSecsToCentis(matcher.group(48));
         }
     }
 
@@ -349,8 +332,9 @@ public class G1YoungPauseEvent extends G1Collector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return logLine.matches(REGEX) || logLine.matches(REGEX_PREPROCESSED_DETAILS)
-                || logLine.matches(REGEX_PREPROCESSED) || logLine.matches(REGEX_PREPROCESSED_NO_DURATION);
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, REGEX) || RegExUtil.matches(logLine, REGEX_PREPROCESSED_DETAILS)
+                || RegExUtil.matches(logLine, REGEX_PREPROCESSED)
+                || RegExUtil.matches(logLine, REGEX_PREPROCESSED_NO_DURATION);
     }
 }
@@ -16,6 +16,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -61,7 +62,7 @@ public class HeaderMemoryEvent implements LogEvent {
     private static final String REGEX = "^Memory: (4|8)k page, physical " + SIZE + "\\(" + SIZE + " free\\)(, swap "
             + SIZE + "\\(" + SIZE + " free\\))?$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -102,8 +103,8 @@ public class HeaderMemoryEvent implements LogEvent {
     public HeaderMemoryEvent(String logEntry) {
         this.logEntry = logEntry;
         this.timestamp = 0L;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
             physicalMemory = Integer.parseInt(matcher.group(2));
             physicalMemoryFree = Integer.parseInt(matcher.group(3));
             if (matcher.group(4) != null) {
@@ -148,7 +149,7 @@ public class HeaderMemoryEvent implements LogEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
@@ -15,6 +15,7 @@ package org.eclipselabs.garbagecat.domain.jdk;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.LogEvent;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
 /**
@@ -54,7 +55,7 @@ public class HeaderVersionEvent implements LogEvent {
      */
     private static final String REGEX = "^(Java HotSpot\\(TM\\)|OpenJDK) .+$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -96,7 +97,7 @@ public class HeaderVersionEvent implements LogEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
@@ -22,6 +22,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -130,7 +131,7 @@ public class ParNewEvent extends CmsIncrementalModeCollector
             + JdkRegEx.SIZE_K + "->)?" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\)" + JdkRegEx.ICMS_DC_BLOCK
             + "?, " + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(ParNewEvent.REGEX);
+    private static final Pattern pattern = RegExUtil.getPattern(ParNewEvent.REGEX);
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -204,12 +205,12 @@ public class ParNewEvent extends CmsIncrementalModeCollector
      */
     public ParNewEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
             if (matcher.group(13) != null) {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(13)).longValue();
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(13));
             } else {
-                timestamp = JdkMath.convertSecsToMillis(matcher.group(29)).longValue();
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(29));
             }
             if (matcher.group(51) != null) {
                 trigger = matcher.group(51);
@@ -230,16 +231,16 @@ public class ParNewEvent extends CmsIncrementalModeCollector
             }
             int totalAllocation = Integer.parseInt(matcher.group(61));
             oldAllocation = totalAllocation - youngAvailable;
-            duration = JdkMath.convertSecsToMicros(matcher.group(63)).intValue();
+            duration = JdkMath.convertSecsToMicros(matcher.group(63));
             if (matcher.group(62) != null) {
                 super.setIncrementalMode(true);
             } else {
                 super.setIncrementalMode(false);
             }
             if (matcher.group(66) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(67)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(68)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(69)).intValue();
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(67));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(68));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(69));
             }
         }
     }
@@ -327,7 +328,7 @@ public class ParNewEvent extends CmsIncrementalModeCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
@@ -24,6 +24,7 @@ import org.eclipselabs.garbagecat.domain.PermData;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -182,7 +183,7 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
             + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\)\\], " + JdkRegEx.DURATION
             + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(ParallelCompactingOldEvent.REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(ParallelCompactingOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -192,9 +193,9 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
      */
     public ParallelCompactingOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
             trigger = matcher.group(14);
             young = Integer.parseInt(matcher.group(16));
             youngEnd = Integer.parseInt(matcher.group(17));
@@ -206,11 +207,11 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
             permGen = Integer.parseInt(matcher.group(27));
             permGenEnd = Integer.parseInt(matcher.group(28));
             permGenAllocation = Integer.parseInt(matcher.group(29));
-            duration = JdkMath.convertSecsToMicros(matcher.group(30)).intValue();
+            duration = JdkMath.convertSecsToMicros(matcher.group(30));
             if (matcher.group(33) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(34)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(35)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(36)).intValue();
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(34));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(35));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(36));
             }
         }
     }
@@ -310,7 +311,7 @@ public class ParallelCompactingOldEvent extends ParallelCollector implements Blo
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
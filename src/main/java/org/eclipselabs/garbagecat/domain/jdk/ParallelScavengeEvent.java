@@ -22,6 +22,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -159,7 +160,7 @@ public class ParallelScavengeEvent extends ParallelCollector
             + JdkRegEx.SIZE_K + "\\)\\] " + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\), "
             + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static final Pattern pattern = Pattern.compile(ParallelScavengeEvent.REGEX);
+    private static final Pattern pattern = RegExUtil.getPattern(ParallelScavengeEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -169,9 +170,9 @@ public class ParallelScavengeEvent extends ParallelCollector
      */
     public ParallelScavengeEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
             trigger = matcher.group(15);
             young = Integer.parseInt(matcher.group(18));
             youngEnd = Integer.parseInt(matcher.group(19));
@@ -182,11 +183,11 @@ public class ParallelScavengeEvent extends ParallelCollector
             oldEnd = totalEnd - youngEnd;
             int totalAllocation = Integer.parseInt(matcher.group(23));
             oldAllocation = totalAllocation - youngAvailable;
-            duration = JdkMath.convertSecsToMicros(matcher.group(24)).intValue();
+            duration = JdkMath.convertSecsToMicros(matcher.group(24));
             if (matcher.group(27) != null) {
-                timeUser = JdkMath.convertSecsToCentis(matcher.group(28)).intValue();
-                timeSys = JdkMath.convertSecsToCentis(matcher.group(29)).intValue();
-                timeReal = JdkMath.convertSecsToCentis(matcher.group(30)).intValue();
+                timeUser = JdkMath.convertSecsToCentis(matcher.group(28));
+                timeSys = JdkMath.convertSecsToCentis(matcher.group(29));
+                timeReal = JdkMath.convertSecsToCentis(matcher.group(30));
             }
         }
     }
@@ -274,7 +275,7 @@ public class ParallelScavengeEvent extends ParallelCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
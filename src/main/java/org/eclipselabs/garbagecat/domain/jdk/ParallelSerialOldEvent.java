@@ -25,6 +25,7 @@ import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
 import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -158,7 +159,7 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
             + "\\)[,]{0,1} \\[(PSPermGen|Metaspace): " + JdkRegEx.SIZE_K + "->" + JdkRegEx.SIZE_K + "\\("
             + JdkRegEx.SIZE_K + "\\)\\], " + JdkRegEx.DURATION + "\\]" + TimesData.REGEX + "?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(ParallelSerialOldEvent.REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(ParallelSerialOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -168,9 +169,9 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
      */
     public ParallelSerialOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            this.timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
+            this.timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
 
             if (matcher.group(14) != null) {
                 this.trigger = matcher.group(14);
@@ -187,7 +188,7 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
             this.permGenEnd = Integer.parseInt(matcher.group(27));
             this.permGenAllocation = Integer.parseInt(matcher.group(28));
 
-            this.duration = JdkMath.convertSecsToMicros(matcher.group(29)).intValue();
+            this.duration = JdkMath.convertSecsToMicros(matcher.group(29));
         }
     }
 
@@ -322,7 +323,7 @@ public class ParallelSerialOldEvent extends ParallelCollector implements Blockin
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
@@ -16,6 +16,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -46,7 +47,7 @@ public class ReferenceGcEvent implements ThrowAwayEvent {
     private static final String REGEX = "^(" + JdkRegEx.DATESTAMP + ": )?" + JdkRegEx.TIMESTAMP
             + ":.+(Soft|Weak|Phantom)Reference.+$";
 
-    private static final Pattern pattern = Pattern.compile(ReferenceGcEvent.REGEX);
+    private static final Pattern pattern = RegExUtil.getPattern(ReferenceGcEvent.REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -66,9 +67,9 @@ public class ReferenceGcEvent implements ThrowAwayEvent {
      */
     public ReferenceGcEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
         }
     }
 
@@ -91,7 +92,7 @@ public class ReferenceGcEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
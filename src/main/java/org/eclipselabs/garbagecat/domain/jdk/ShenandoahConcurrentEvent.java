@@ -19,11 +19,12 @@ import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
-import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedUtil;
 
 /**
  * <p>
@@ -146,7 +147,7 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
             + ")?[\\]]{0,1}([,]{0,1} [\\[]{0,1}Metaspace: " + JdkRegEx.SIZE + "->" + JdkRegEx.SIZE + "\\("
             + JdkRegEx.SIZE + "\\)[\\]]{0,1})?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(REGEX);
 
     /**
      * The log entry for the event. Can be used for debugging purposes.
@@ -196,55 +197,35 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
      */
     public ShenandoahConcurrentEvent(String logEntry) {
         this.logEntry = logEntry;
-        if (logEntry.matches(REGEX)) {
-            Pattern pattern = Pattern.compile(REGEX);
-            Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.find()) {
-                int duration = 0;
-                if (matcher.group(52) != null) {
-                    duration = JdkMath.convertMillisToMicros(matcher.group(52)).intValue();
-                }
+        Matcher matcher = RegExUtil.match(logEntry, REGEX);
+        if (matcher != null) {
+            int duration = 0;
+            if (matcher.group(52) != null) {
+                duration = JdkMath.convertMillisToMicros(matcher.group(52));
+            }
 
-                if (matcher.group(1).matches(UnifiedRegEx.DECORATOR)) {
-                    long endTimestamp;
-                    if (matcher.group(13).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                        endTimestamp = Long.parseLong(matcher.group(29));
-                    } else if (matcher.group(13).matches(UnifiedRegEx.UPTIME)) {
-                        endTimestamp = JdkMath.convertSecsToMillis(matcher.group(24)).longValue();
-                    } else {
-                        if (matcher.group(27) != null) {
-                            if (matcher.group(27).matches(UnifiedRegEx.UPTIMEMILLIS)) {
-                                endTimestamp = Long.parseLong(matcher.group(29));
-                            } else {
-                                endTimestamp = JdkMath.convertSecsToMillis(matcher.group(28)).longValue();
-                            }
-                        } else {
-                            // Datestamp only.
-                            endTimestamp = UnifiedUtil.convertDatestampToMillis(matcher.group(13));
-                        }
-                    }
-                    timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration).longValue();
-                } else {
-                    // JDK8
-                    timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
-                }
-                if (matcher.group(42) != null) {
-                    combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(43)), matcher.group(45).charAt(0));
-                    combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(46)),
-                            matcher.group(48).charAt(0));
-                    combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(49)),
-                            matcher.group(51).charAt(0));
-                    if (matcher.group(53) != null) {
-                        permGen = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(54)),
-                                matcher.group(56).charAt(0));
-                        permGenEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(57)),
-                                matcher.group(59).charAt(0));
-                        permGenAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(60)),
-                                matcher.group(62).charAt(0));
-                    }
+            UnifiedDecorator decorator = new UnifiedDecorator(logEntry);
+            if (decorator.isDecorated()) {
+                long endTimestamp = decorator.getTimestamp();
+                timestamp = endTimestamp - JdkMath.convertMicrosToMillis(duration);
+            } else {
+                // JDK8
+                timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
+            }
+            if (matcher.group(42) != null) {
+                combined = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(43)), matcher.group(45).charAt(0));
+                combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(46)), matcher.group(48).charAt(0));
+                combinedAvailable = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(49)),
+                        matcher.group(51).charAt(0));
+                if (matcher.group(53) != null) {
+                    permGen = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(54)), matcher.group(56).charAt(0));
+                    permGenEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(57)),
+                            matcher.group(59).charAt(0));
+                    permGenAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(60)),
+                            matcher.group(62).charAt(0));
                 }
-
             }
+
         }
     }
 
@@ -303,7 +284,7 @@ public class ShenandoahConcurrentEvent extends ShenandoahCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
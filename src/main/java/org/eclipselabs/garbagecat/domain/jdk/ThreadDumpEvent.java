@@ -175,7 +175,7 @@ public class ThreadDumpEvent implements ThrowAwayEvent {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
+    public static final boolean match(CharSequence logLine) {
         for (int i = 0; i < PATTERN.length; i++) {
             if (PATTERN[i].matcher(logLine).matches()) {
                 return true;
@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.OldCollection;
 import org.eclipselabs.garbagecat.domain.TriggerData;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -109,7 +110,7 @@ public class VerboseGcOldEvent extends UnknownCollector
             + JdkRegEx.SIZE + ")\\((" + JdkRegEx.SIZE_K + "|" + JdkRegEx.SIZE + ")\\), " + JdkRegEx.DURATION
             + "\\]?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(VerboseGcOldEvent.REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(VerboseGcOldEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -119,27 +120,27 @@ public class VerboseGcOldEvent extends UnknownCollector
      */
     public VerboseGcOldEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
             trigger = matcher.group(14);
-            if (matcher.group(16).matches(JdkRegEx.SIZE_K)) {
+            if (RegExUtil.matches(matcher.group(16), JdkRegEx.SIZE_K)) {
                 combinedBegin = Integer.parseInt(matcher.group(17));
             } else {
                 combinedBegin = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(18)), matcher.group(20).charAt(0));
             }
-            if (matcher.group(21).matches(JdkRegEx.SIZE_K)) {
+            if (RegExUtil.matches(matcher.group(21), JdkRegEx.SIZE_K)) {
                 combinedEnd = Integer.parseInt(matcher.group(22));
             } else {
                 combinedEnd = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(23)), matcher.group(25).charAt(0));
             }
-            if (matcher.group(26).matches(JdkRegEx.SIZE_K)) {
+            if (RegExUtil.matches(matcher.group(26), JdkRegEx.SIZE_K)) {
                 combinedAllocation = Integer.parseInt(matcher.group(27));
             } else {
                 combinedAllocation = JdkMath.calcKilobytes(Integer.parseInt(matcher.group(28)),
                         matcher.group(30).charAt(0));
             }
-            duration = JdkMath.convertSecsToMicros(matcher.group(31)).intValue();
+            duration = JdkMath.convertSecsToMicros(matcher.group(31));
         }
     }
 
@@ -198,7 +199,7 @@ public class VerboseGcOldEvent extends UnknownCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
@@ -19,6 +19,7 @@ import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.YoungCollection;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -117,7 +118,7 @@ public class VerboseGcYoungEvent extends UnknownCollector
             + TRIGGER + "\\) )?(--)? (" + JdkRegEx.SIZE_K + "->)?" + JdkRegEx.SIZE_K + "\\(" + JdkRegEx.SIZE_K + "\\), "
             + JdkRegEx.DURATION + "\\]?[ ]*$";
 
-    private static Pattern pattern = Pattern.compile(VerboseGcYoungEvent.REGEX);
+    private static Pattern pattern = RegExUtil.getPattern(VerboseGcYoungEvent.REGEX);
 
     /**
      * Create event from log entry.
@@ -127,9 +128,9 @@ public class VerboseGcYoungEvent extends UnknownCollector
      */
     public VerboseGcYoungEvent(String logEntry) {
         this.logEntry = logEntry;
-        Matcher matcher = pattern.matcher(logEntry);
-        if (matcher.find()) {
-            timestamp = JdkMath.convertSecsToMillis(matcher.group(12)).longValue();
+        Matcher matcher = RegExUtil.match(logEntry, pattern);
+        if (matcher != null) {
+            timestamp = JdkMath.convertSecsToMillis(matcher.group(12));
             trigger = matcher.group(14);
             if (matcher.group(17) != null) {
                 combinedBegin = Integer.parseInt(matcher.group(18));
@@ -139,7 +140,7 @@ public class VerboseGcYoungEvent extends UnknownCollector
             }
             combinedEnd = Integer.parseInt(matcher.group(19));
             combinedAllocation = Integer.parseInt(matcher.group(20));
-            duration = JdkMath.convertSecsToMicros(matcher.group(21)).intValue();
+            duration = JdkMath.convertSecsToMicros(matcher.group(21));
         }
     }
 
@@ -198,7 +199,7 @@ public class VerboseGcYoungEvent extends UnknownCollector
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return pattern.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        return RegExUtil.matches(logLine, pattern);
     }
 }
@@ -0,0 +1,814 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.hsql;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.CombinedData;
+import org.eclipselabs.garbagecat.domain.OldData;
+import org.eclipselabs.garbagecat.domain.PermData;
+import org.eclipselabs.garbagecat.domain.YoungData;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+
+/**
+ * <p>
+ * In-memory columnar store of <code>BlockingEvent</code>s: one primitive array per event attribute (timestamp,
+ * duration, event type, space and occupancy), so an event takes a few dozen bytes plus its log entry. The aggregates
+ * (maximum duration, total duration, maximum space and occupancy) are updated as events are added.
+ * </p>
+ * 
+ * <p>
+ * The arrays are allocated in chunks of {@link #CHUNK_SIZE} events, so the store grows without copying. Events are
+ * identified by their index, the order they were added.
+ * </p>
+ * 
+ * <p>
+ * Combined space is given its own column, even though in most cases it can be computed from young space + old space,
+ * because some logging events log combined young + old sizes. Attributes an event does not have are 0.
+ * </p>
+ * 
+ * <p>
+ * The log entry of an event is kept in memory, or, when the event is added with a reference to its log line in a log
+ * file (see {@link #addLogFile(File, Charset)}), read back from the log file when it is needed. Only a few log entries
+ * are typically reported (e.g. bottlenecks), so referencing them saves most of the memory used by a large log.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class BlockingEventStore {
+
+    /**
+     * The number of events in a chunk (a power of 2).
+     */
+    public static final int CHUNK_SIZE = 4096;
+
+    private static final int CHUNK_SHIFT = Integer.numberOfTrailingZeros(CHUNK_SIZE);
+
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The event types, by ordinal.
+     */
+    private static final LogEventType[] EVENT_TYPES = LogEventType.values();
+
+    /**
+     * The event type ordinals, by event name.
+     */
+    private final Map<String, Short> eventTypeOrdinals = new HashMap<String, Short>();
+
+    private final List<Chunk> chunks = new ArrayList<Chunk>();
+
+    /**
+     * The log files log entries are read from, by id.
+     */
+    private final List<LogFile> logFiles = new ArrayList<LogFile>();
+
+    /**
+     * The number of events.
+     */
+    private int size;
+
+    /**
+     * Whether the events were added in timestamp order.
+     */
+    private boolean ordered = true;
+
+    // Running aggregates, updated as events are added
+
+    private int maxDuration;
+
+    private long totalDuration;
+
+    private int maxYoungSpace;
+
+    private int maxOldSpace;
+
+    private int maxHeapSpace;
+
+    private int maxHeapOccupancy;
+
+    private int maxPermSpace;
+
+    private int maxPermOccupancy;
+
+    /**
+     * Register a log file that log entries are read from.
+     * 
+     * @param logFile
+     *            The log file.
+     * @param charset
+     *            The charset of the log file.
+     * @return The log file id.
+     */
+    public int addLogFile(File logFile, Charset charset) {
+        if (logFile == null) {
+            throw new IllegalArgumentException("logFile == null!!");
+        }
+        if (logFiles.size() > Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many log files.");
+        }
+        logFiles.add(new LogFile(logFile, charset));
+        return logFiles.size() - 1;
+    }
+
+    /**
+     * Add an event, keeping its log entry in memory.
+     * 
+     * @param event
+     *            The event to add.
+     */
+    public void add(BlockingEvent event) {
+        add(event, -1, 0, 0);
+    }
+
+    /**
+     * Add an event, keeping a reference to its log entry.
+     * 
+     * @param event
+     *            The event to add.
+     * @param logFileId
+     *            The id of the log file the log entry is read from (see {@link #addLogFile(File, Charset)}), or -1 to
+     *            keep the log entry in memory.
+     * @param position
+     *            The position in the log file of the first byte of the log entry.
+     * @param byteCount
+     *            The number of bytes in the log entry.
+     */
+    public void add(BlockingEvent event, int logFileId, long position, int byteCount) {
+        if (logFileId >= logFiles.size()) {
+            throw new IllegalArgumentException("Unknown log file id: " + logFileId);
+        }
+        Chunk chunk = append(event.getTimestamp());
+        int offset = size & CHUNK_MASK;
+        chunk.timestamps[offset] = event.getTimestamp();
+        chunk.durations[offset] = event.getDuration();
+        chunk.eventTypes[offset] = getEventTypeOrdinal(event.getName());
+        if (event instanceof YoungData) {
+            chunk.youngSpaces[offset] = ((YoungData) event).getYoungSpace();
+            chunk.youngOccupancyInits[offset] = ((YoungData) event).getYoungOccupancyInit();
+        }
+        if (event instanceof OldData) {
+            chunk.oldSpaces[offset] = ((OldData) event).getOldSpace();
+            chunk.oldOccupancyInits[offset] = ((OldData) event).getOldOccupancyInit();
+        }
+        if (event instanceof CombinedData) {
+            chunk.combinedSpaces[offset] = ((CombinedData) event).getCombinedSpace();
+            chunk.combinedOccupancyInits[offset] = ((CombinedData) event).getCombinedOccupancyInit();
+        }
+        if (event instanceof PermData) {
+            chunk.permSpaces[offset] = ((PermData) event).getPermSpace();
+            chunk.permOccupancyInits[offset] = ((PermData) event).getPermOccupancyInit();
+        }
+        if (logFileId < 0) {
+            chunk.logEntries[offset] = event.getLogEntry();
+        } else {
+            chunk.logEntries[offset] = null;
+        }
+        chunk.logFileIds[offset] = (short) logFileId;
+        chunk.logEntryPositions[offset] = position;
+        chunk.logEntryByteCounts[offset] = byteCount;
+        accumulate(chunk, offset);
+        size++;
+    }
+
+    /**
+     * Make room for the next event.
+     * 
+     * @param timestamp
+     *            The timestamp of the next event.
+     * @return The chunk of the next event.
+     */
+    private Chunk append(long timestamp) {
+        if ((size & CHUNK_MASK) == 0) {
+            chunks.add(new Chunk());
+        }
+        if (size > 0 && timestamp < getTimestamp(size - 1)) {
+            ordered = false;
+        }
+        return chunks.get(chunks.size() - 1);
+    }
+
+    /**
+     * Update the running aggregates with an event.
+     * 
+     * @param chunk
+     *            The event chunk.
+     * @param offset
+     *            The event offset in the chunk.
+     */
+    private void accumulate(Chunk chunk, int offset) {
+        int heapSpace = chunk.youngSpaces[offset] + chunk.oldSpaces[offset] + chunk.combinedSpaces[offset];
+        int heapOccupancy = chunk.youngOccupancyInits[offset] + chunk.oldOccupancyInits[offset]
+                + chunk.combinedOccupancyInits[offset];
+        if (size == 0) {
+            maxDuration = chunk.durations[offset];
+            maxYoungSpace = chunk.youngSpaces[offset];
+            maxOldSpace = chunk.oldSpaces[offset];
+            maxHeapSpace = heapSpace;
+            maxHeapOccupancy = heapOccupancy;
+            maxPermSpace = chunk.permSpaces[offset];
+            maxPermOccupancy = chunk.permOccupancyInits[offset];
+        } else {
+            maxDuration = Math.max(maxDuration, chunk.durations[offset]);
+            maxYoungSpace = Math.max(maxYoungSpace, chunk.youngSpaces[offset]);
+            maxOldSpace = Math.max(maxOldSpace, chunk.oldSpaces[offset]);
+            maxHeapSpace = Math.max(maxHeapSpace, heapSpace);
+            maxHeapOccupancy = Math.max(maxHeapOccupancy, heapOccupancy);
+            maxPermSpace = Math.max(maxPermSpace, chunk.permSpaces[offset]);
+            maxPermOccupancy = Math.max(maxPermOccupancy, chunk.permOccupancyInits[offset]);
+        }
+        totalDuration += chunk.durations[offset];
+    }
+
+    /**
+     * @param name
+     *            The event name.
+     * @return The event type ordinal, or -1 if the name is not an event type.
+     */
+    private short getEventTypeOrdinal(String name) {
+        Short ordinal = eventTypeOrdinals.get(name);
+        if (ordinal == null) {
+            LogEventType eventType = JdkUtil.determineEventType(name);
+            ordinal = Short.valueOf(eventType == null ? -1 : (short) eventType.ordinal());
+            eventTypeOrdinals.put(name, ordinal);
+        }
+        return ordinal.shortValue();
+    }
+
+    /**
+     * @param ordinal
+     *            The event type ordinal.
+     * @return The event type, or null if none.
+     */
+    private static LogEventType getEventType(short ordinal) {
+        return ordinal < 0 ? null : EVENT_TYPES[ordinal];
+    }
+
+    /**
+     * Remove all events.
+     */
+    public void clear() {
+        chunks.clear();
+        logFiles.clear();
+        size = 0;
+        ordered = true;
+        totalDuration = 0;
+    }
+
+    /**
+     * Write the events in a compact binary format: the timestamp as the difference from the timestamp of the prior
+     * event, and the other attributes as variable length values (see {@link ParseCache#writeVarInt(DataOutput, int)}).
+     * Event types are written by ordinal, preceded by the event type names, so they are read by name.
+     * 
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             If the events cannot be written.
+     */
+    public void write(DataOutput out) throws IOException {
+        ParseCache.writeVarInt(out, EVENT_TYPES.length);
+        for (int i = 0; i < EVENT_TYPES.length; i++) {
+            ParseCache.writeString(out, EVENT_TYPES[i].name());
+        }
+        ParseCache.writeVarInt(out, logFiles.size());
+        for (int i = 0; i < logFiles.size(); i++) {
+            ParseCache.writeString(out, logFiles.get(i).file.getAbsolutePath());
+            ParseCache.writeString(out, logFiles.get(i).charset.name());
+        }
+        ParseCache.writeVarInt(out, size);
+        long timestamp = 0;
+        for (int i = 0; i < size; i++) {
+            Chunk chunk = chunks.get(i >>> CHUNK_SHIFT);
+            int offset = i & CHUNK_MASK;
+            ParseCache.writeVarLong(out, chunk.timestamps[offset] - timestamp);
+            timestamp = chunk.timestamps[offset];
+            ParseCache.writeVarInt(out, chunk.durations[offset]);
+            ParseCache.writeVarInt(out, chunk.eventTypes[offset]);
+            ParseCache.writeVarInt(out, chunk.youngSpaces[offset]);
+            ParseCache.writeVarInt(out, chunk.oldSpaces[offset]);
+            ParseCache.writeVarInt(out, chunk.combinedSpaces[offset]);
+            ParseCache.writeVarInt(out, chunk.permSpaces[offset]);
+            ParseCache.writeVarInt(out, chunk.youngOccupancyInits[offset]);
+            ParseCache.writeVarInt(out, chunk.oldOccupancyInits[offset]);
+            ParseCache.writeVarInt(out, chunk.combinedOccupancyInits[offset]);
+            ParseCache.writeVarInt(out, chunk.permOccupancyInits[offset]);
+            ParseCache.writeVarInt(out, chunk.logFileIds[offset]);
+            if (chunk.logFileIds[offset] < 0) {
+                ParseCache.writeString(out, chunk.logEntries[offset]);
+            } else {
+                ParseCache.writeVarLong(out, chunk.logEntryPositions[offset]);
+                ParseCache.writeVarInt(out, chunk.logEntryByteCounts[offset]);
+            }
+        }
+    }
+
+    /**
+     * Replace the events with events written by {@link #write(DataOutput)}.
+     * 
+     * @param in
+     *            The input.
+     * @throws IOException
+     *             If the events cannot be read (e.g. an event type no longer exists).
+     */
+    public void read(DataInput in) throws IOException {
+        clear();
+        short[] eventTypeOrdinals = new short[ParseCache.readVarInt(in)];
+        for (int i = 0; i < eventTypeOrdinals.length; i++) {
+            String name = ParseCache.readString(in);
+            try {
+                eventTypeOrdinals[i] = (short) LogEventType.valueOf(name).ordinal();
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown event type: " + name);
+            }
+        }
+        int logFileCount = ParseCache.readVarInt(in);
+        for (int i = 0; i < logFileCount; i++) {
+            File file = new File(ParseCache.readString(in));
+            addLogFile(file, Charset.forName(ParseCache.readString(in)));
+        }
+        int count = ParseCache.readVarInt(in);
+        long timestamp = 0;
+        for (int i = 0; i < count; i++) {
+            timestamp += ParseCache.readVarLong(in);
+            Chunk chunk = append(timestamp);
+            int offset = size & CHUNK_MASK;
+            chunk.timestamps[offset] = timestamp;
+            chunk.durations[offset] = ParseCache.readVarInt(in);
+            int eventType = ParseCache.readVarInt(in);
+            chunk.eventTypes[offset] = eventType < 0 ? -1 : eventTypeOrdinals[eventType];
+            chunk.youngSpaces[offset] = ParseCache.readVarInt(in);
+            chunk.oldSpaces[offset] = ParseCache.readVarInt(in);
+            chunk.combinedSpaces[offset] = ParseCache.readVarInt(in);
+            chunk.permSpaces[offset] = ParseCache.readVarInt(in);
+            chunk.youngOccupancyInits[offset] = ParseCache.readVarInt(in);
+            chunk.oldOccupancyInits[offset] = ParseCache.readVarInt(in);
+            chunk.combinedOccupancyInits[offset] = ParseCache.readVarInt(in);
+            chunk.permOccupancyInits[offset] = ParseCache.readVarInt(in);
+            chunk.logFileIds[offset] = (short) ParseCache.readVarInt(in);
+            if (chunk.logFileIds[offset] < 0) {
+                chunk.logEntries[offset] = ParseCache.readString(in);
+                chunk.logEntryPositions[offset] = 0;
+                chunk.logEntryByteCounts[offset] = 0;
+            } else if (chunk.logFileIds[offset] < logFileCount) {
+                chunk.logEntries[offset] = null;
+                chunk.logEntryPositions[offset] = ParseCache.readVarLong(in);
+                chunk.logEntryByteCounts[offset] = ParseCache.readVarInt(in);
+            } else {
+                throw new IOException("Unknown log file id: " + chunk.logFileIds[offset]);
+            }
+            accumulate(chunk, offset);
+            size++;
+        }
+    }
+
+    /**
+     * @return The number of events.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Whether the events were added in timestamp order.
+     */
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    private Chunk chunk(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return chunks.get(index >>> CHUNK_SHIFT);
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event timestamp (milliseconds).
+     */
+    public long getTimestamp(int index) {
+        return chunk(index).timestamps[index & CHUNK_MASK];
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event duration (microseconds).
+     */
+    public int getDuration(int index) {
+        return chunk(index).durations[index & CHUNK_MASK];
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event type, or null if the event name is not an event type.
+     */
+    public LogEventType getEventType(int index) {
+        return getEventType(chunk(index).eventTypes[index & CHUNK_MASK]);
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event log entry.
+     */
+    public String getLogEntry(int index) {
+        return new LogEntryReader().read(index);
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @return The event with its type, log entry, timestamp, and duration.
+     */
+    public BlockingEvent getEvent(int index) {
+        return hydrate(index, new LogEntryReader());
+    }
+
+    /**
+     * A forward-only iterator over the events in timestamp order. Events with the same timestamp are in the order they
+     * were added. Each event is created as it is returned, so iterating takes constant memory when the events were
+     * added in timestamp order (otherwise the sorted event indexes, 4 bytes per event). Events added after the
+     * iterator is created are not returned, and the iterator is not valid after the store is cleared.
+     * 
+     * @param eventType
+     *            The event type, or null for all events.
+     * @return The event iterator.
+     */
+    public Iterator<BlockingEvent> iterator(LogEventType eventType) {
+        return new EventIterator(eventType);
+    }
+
+    /**
+     * @param index
+     *            The event index.
+     * @param reader
+     *            The log entry reader.
+     * @return The event with its type, log entry, timestamp, and duration.
+     */
+    private BlockingEvent hydrate(int index, LogEntryReader reader) {
+        Chunk chunk = chunk(index);
+        int offset = index & CHUNK_MASK;
+        return JdkUtil.hydrateBlockingEvent(getEventType(chunk.eventTypes[offset]), reader.read(index),
+                chunk.timestamps[offset], chunk.durations[offset]);
+    }
+
+    /**
+     * @return The maximum duration (microseconds), or 0 if there are no events.
+     */
+    public int getMaxDuration() {
+        return size == 0 ? 0 : maxDuration;
+    }
+
+    /**
+     * @return The total duration (microseconds).
+     */
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * @return The maximum young space (kilobytes), or 0 if there are no events.
+     */
+    public int getMaxYoungSpace() {
+        return size == 0 ? 0 : maxYoungSpace;
+    }
+
+    /**
+     * @return The maximum old space (kilobytes), or 0 if there are no events.
+     */
+    public int getMaxOldSpace() {
+        return size == 0 ? 0 : maxOldSpace;
+    }
+
+    /**
+     * @return The maximum young + old + combined space (kilobytes), or 0 if there are no events.
+     */
+    public int getMaxHeapSpace() {
+        return size == 0 ? 0 : maxHeapSpace;
+    }
+
+    /**
+     * @return The maximum young + old + combined occupancy at the start of an event (kilobytes), or 0 if there are no
+     *         events.
+     */
+    public int getMaxHeapOccupancy() {
+        return size == 0 ? 0 : maxHeapOccupancy;
+    }
+
+    /**
+     * @return The maximum perm/metaspace space (kilobytes), or 0 if there are no events.
+     */
+    public int getMaxPermSpace() {
+        return size == 0 ? 0 : maxPermSpace;
+    }
+
+    /**
+     * @return The maximum perm/metaspace occupancy at the start of an event (kilobytes), or 0 if there are no events.
+     */
+    public int getMaxPermOccupancy() {
+        return size == 0 ? 0 : maxPermOccupancy;
+    }
+
+    /**
+     * The event indexes in timestamp order. Events with the same timestamp are in the order they were added.
+     * 
+     * @param eventType
+     *            The event type, or null for all events.
+     * @return The event indexes.
+     */
+    public int[] getTimestampOrder(LogEventType eventType) {
+        int[] indexes = new int[size];
+        int length = 0;
+        for (int i = 0; i < size; i++) {
+            if (eventType == null || chunks.get(i >>> CHUNK_SHIFT).eventTypes[i & CHUNK_MASK] == eventType
+                    .ordinal()) {
+                indexes[length++] = i;
+            }
+        }
+        if (length < size) {
+            int[] typeIndexes = new int[length];
+            System.arraycopy(indexes, 0, typeIndexes, 0, length);
+            indexes = typeIndexes;
+        }
+        if (!ordered) {
+            sort(indexes, new int[indexes.length], 0, indexes.length);
+        }
+        return indexes;
+    }
+
+    /**
+     * Stable merge sort of event indexes by timestamp.
+     * 
+     * @param indexes
+     *            The event indexes.
+     * @param buffer
+     *            Working space the same length as the event indexes.
+     * @param from
+     *            The first position to sort.
+     * @param to
+     *            The position after the last position to sort.
+     */
+    private void sort(int[] indexes, int[] buffer, int from, int to) {
+        if (to - from < 2) {
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        sort(indexes, buffer, from, middle);
+        sort(indexes, buffer, middle, to);
+        if (getTimestamp(indexes[middle - 1]) <= getTimestamp(indexes[middle])) {
+            return;
+        }
+        System.arraycopy(indexes, from, buffer, from, to - from);
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && getTimestamp(buffer[left]) <= getTimestamp(buffer[right]))) {
+                indexes[i] = buffer[left++];
+            } else {
+                indexes[i] = buffer[right++];
+            }
+        }
+    }
+
+    /**
+     * The event attributes of {@link BlockingEventStore#CHUNK_SIZE} events.
+     */
+    private static class Chunk {
+
+        private final long[] timestamps = new long[CHUNK_SIZE];
+
+        private final int[] durations = new int[CHUNK_SIZE];
+
+        /**
+         * The event type ordinals.
+         */
+        private final short[] eventTypes = new short[CHUNK_SIZE];
+
+        private final int[] youngSpaces = new int[CHUNK_SIZE];
+
+        private final int[] oldSpaces = new int[CHUNK_SIZE];
+
+        private final int[] combinedSpaces = new int[CHUNK_SIZE];
+
+        private final int[] permSpaces = new int[CHUNK_SIZE];
+
+        private final int[] youngOccupancyInits = new int[CHUNK_SIZE];
+
+        private final int[] oldOccupancyInits = new int[CHUNK_SIZE];
+
+        private final int[] combinedOccupancyInits = new int[CHUNK_SIZE];
+
+        private final int[] permOccupancyInits = new int[CHUNK_SIZE];
+
+        /**
+         * The log entries kept in memory.
+         */
+        private final String[] logEntries = new String[CHUNK_SIZE];
+
+        /**
+         * The ids of the log files the log entries are read from, -1 for log entries kept in memory.
+         */
+        private final short[] logFileIds = new short[CHUNK_SIZE];
+
+        private final long[] logEntryPositions = new long[CHUNK_SIZE];
+
+        private final int[] logEntryByteCounts = new int[CHUNK_SIZE];
+    }
+
+    /**
+     * A log file that log entries are read from.
+     */
+    private static class LogFile {
+
+        private final File file;
+
+        private final Charset charset;
+
+        private LogFile(File file, Charset charset) {
+            this.file = file;
+            this.charset = charset;
+        }
+    }
+
+    /**
+     * Reads log entries, from memory or from their log file. Log file reads go through a buffer for each log file, so
+     * log entries read in log file order (e.g. events in timestamp order) take few reads. The log file is only open
+     * while the buffer is filled.
+     */
+    private class LogEntryReader {
+
+        private static final int BUFFER_SIZE = 64 * 1024;
+
+        private final byte[][] buffers = new byte[logFiles.size()][];
+
+        /**
+         * The position in the log file of the first byte of each buffer.
+         */
+        private final long[] bufferPositions = new long[logFiles.size()];
+
+        /**
+         * The number of bytes in each buffer.
+         */
+        private final int[] bufferLengths = new int[logFiles.size()];
+
+        /**
+         * @param index
+         *            The event index.
+         * @return The event log entry.
+         * @throws IllegalStateException
+         *             If the log file cannot be read (e.g. it was deleted or truncated after it was parsed).
+         */
+        private String read(int index) {
+            Chunk chunk = chunk(index);
+            int offset = index & CHUNK_MASK;
+            int logFileId = chunk.logFileIds[offset];
+            if (logFileId < 0) {
+                return chunk.logEntries[offset];
+            }
+            LogFile logFile = logFiles.get(logFileId);
+            long position = chunk.logEntryPositions[offset];
+            int byteCount = chunk.logEntryByteCounts[offset];
+            if (buffers[logFileId] == null || position < bufferPositions[logFileId]
+                    || position + byteCount > bufferPositions[logFileId] + bufferLengths[logFileId]) {
+                try {
+                    fill(logFileId, position, byteCount);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Error reading log entry from " + logFile.file + ".", e);
+                }
+            }
+            return new String(buffers[logFileId], (int) (position - bufferPositions[logFileId]), byteCount,
+                    logFile.charset);
+        }
+
+        /**
+         * Fill the buffer for a log file starting at a position.
+         * 
+         * @param logFileId
+         *            The log file id.
+         * @param position
+         *            The position in the log file.
+         * @param byteCount
+         *            The minimum number of bytes to read.
+         * @throws IOException
+         *             If the log file cannot be read or has fewer bytes.
+         */
+        private void fill(int logFileId, long position, int byteCount) throws IOException {
+            LogFile logFile = logFiles.get(logFileId);
+            byte[] buffer = buffers[logFileId];
+            if (buffer == null || buffer.length < byteCount) {
+                buffer = new byte[Math.max(BUFFER_SIZE, byteCount)];
+                buffers[logFileId] = buffer;
+            }
+            int length = 0;
+            RandomAccessFile in = new RandomAccessFile(logFile.file, "r");
+            try {
+                in.seek(position);
+                int read = in.read(buffer, 0, buffer.length);
+                while (read > 0) {
+                    length += read;
+                    if (length >= byteCount) {
+                        break;
+                    }
+                    read = in.read(buffer, length, buffer.length - length);
+                }
+            } finally {
+                in.close();
+            }
+            bufferPositions[logFileId] = position;
+            bufferLengths[logFileId] = length;
+            if (length < byteCount) {
+                throw new IOException("Log entry not found at position " + position + " in " + logFile.file + ".");
+            }
+        }
+    }
+
+    /**
+     * Iterates over the events in timestamp order.
+     */
+    private class EventIterator implements Iterator<BlockingEvent> {
+
+        /**
+         * The event type ordinal, or -2 for all events.
+         */
+        private final int eventTypeOrdinal;
+
+        /**
+         * The event indexes in timestamp order, or null if the events were added in timestamp order.
+         */
+        private final int[] indexes;
+
+        /**
+         * The number of event indexes to iterate.
+         */
+        private final int length;
+
+        /**
+         * The position of the next event index.
+         */
+        private int position;
+
+        private final LogEntryReader reader = new LogEntryReader();
+
+        private EventIterator(LogEventType eventType) {
+            eventTypeOrdinal = eventType == null ? -2 : eventType.ordinal();
+            if (ordered) {
+                indexes = null;
+                length = size;
+            } else {
+                indexes = getTimestampOrder(eventType);
+                length = indexes.length;
+            }
+        }
+
+        public boolean hasNext() {
+            if (indexes == null && eventTypeOrdinal != -2) {
+                // Skip events of other types
+                while (position < length
+                        && chunks.get(position >>> CHUNK_SHIFT).eventTypes[position & CHUNK_MASK] != eventTypeOrdinal) {
+                    position++;
+                }
+            }
+            return position < length;
+        }
+
+        public BlockingEvent next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = indexes == null ? position : indexes[position];
+            position++;
+            return hydrate(index, reader);
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
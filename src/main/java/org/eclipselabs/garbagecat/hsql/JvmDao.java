@@ -12,21 +12,17 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.hsql;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
-import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.LogEvent;
-import org.eclipselabs.garbagecat.domain.OldData;
-import org.eclipselabs.garbagecat.domain.PermData;
-import org.eclipselabs.garbagecat.domain.YoungData;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
@@ -36,7 +32,18 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 
 /**
  * <p>
- * Manage storing and retrieving JVM data in an HSQL database.
+ * Manage storing and retrieving JVM data. <code>BlockingEvent</code>s are stored in a {@link BlockingEventStore}.
+ * </p>
+ * 
+ * <p>
+ * The JVM run summary (first and last events, counts, maximum and total pause times, maximum space and occupancy) is
+ * accumulated as events are added, so it is available without querying the stored events.
+ * </p>
+ * 
+ * <p>
+ * All data is held by the instance, so separate instances (e.g. one per <code>GcManager</code>) can be used
+ * concurrently. An instance is not thread safe: the lists returned by the accessors (e.g. {@link #getAnalysis()}) are
+ * the instance's own and are updated in place, so an instance must only be used by one thread at a time.
  * </p>
  * 
  * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
@@ -45,68 +52,64 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 public class JvmDao {
 
     /**
-     * SQL statement(s) to create table(s).
-     * 
-     * Notes:
-     * 
-     * 1) combined_space is given its own column, even though in most cases it can be computed from young_space +
-     * old_space, because some logging events log combined new + old sizes.
-     * 
+     * List of all event types associate with JVM run.
      */
-    private static final String[] TABLES_CREATE_SQL = {
-            "create table blocking_event (id integer identity, "
-                    + "time_stamp bigint, event_name varchar(64), duration integer, young_space integer, "
-                    + "old_space integer, combined_space integer, perm_space integer, young_occupancy_init integer, "
-                    + "old_occupancy_init integer, combined_occupancy_init integer, perm_occupancy_init integer, "
-                    + "log_entry varchar(500))",
-            "create table application_stopped_time (id integer identity, "
-                    + "time_stamp bigint, event_name varchar(64), duration bigint, log_entry varchar(500))" };
+    List<LogEventType> eventTypes;
 
     /**
-     * SQL statement(s) to delete table(s).
+     * Analysis property keys.
      */
-    private static final String[] TABLES_DELETE_SQL = { "delete from blocking_event ",
-            "delete from application_stopped_time " };
+    private List<Analysis> analysis;
 
     /**
-     * The database connection.
+     * Collector families for JVM run.
      */
-    private static Connection connection;
+    List<CollectorFamily> collectorFamilies;
 
     /**
-     * List of all event types associate with JVM run.
+     * Logging lines that do not match any known GC events.
      */
-    List<LogEventType> eventTypes;
+    private List<String> unidentifiedLogLines;
 
     /**
-     * Analysis property keys.
+     * The <code>BlockingEvent</code>s, in the order they were added.
      */
-    private List<Analysis> analysis;
+    private final BlockingEventStore blockingEvents = new BlockingEventStore();
 
     /**
-     * Collector families for JVM run.
+     * The first <code>BlockingEvent</code> added.
      */
-    List<CollectorFamily> collectorFamilies;
+    private BlockingEvent firstBlockingEvent;
 
     /**
-     * Logging lines that do not match any known GC events.
+     * The last <code>BlockingEvent</code> added.
      */
-    private List<String> unidentifiedLogLines;
+    private BlockingEvent lastBlockingEvent;
 
     /**
-     * The number of inserts to batch before persisting to database.
+     * The first <code>ApplicationStoppedTimeEvent</code> added.
      */
-    private static int batchSize = 100;
+    private ApplicationStoppedTimeEvent firstStoppedEvent;
 
     /**
-     * Batch blocking database inserts for improved performance.
+     * The last <code>ApplicationStoppedTimeEvent</code> added.
      */
-    private List<BlockingEvent> blockingBatch;
+    private ApplicationStoppedTimeEvent lastStoppedEvent;
 
     /**
-     * Batch stopped time database inserts for improved performance.
+     * The number of <code>ApplicationStoppedTimeEvent</code>s added.
      */
-    private List<ApplicationStoppedTimeEvent> stoppedTimeBatch;
+    private int stoppedTimeEventCount;
+
+    /**
+     * The maximum <code>ApplicationStoppedTimeEvent</code> duration (microseconds).
+     */
+    private int maxStoppedTime;
+
+    /**
+     * The total <code>ApplicationStoppedTimeEvent</code> duration (microseconds).
+     */
+    private long totalStoppedTime;
 
     /**
      * The JVM options for the JVM run.
@@ -179,57 +182,10 @@ public class JvmDao {
     private int maxPermOccupancyNonBlocking;
 
     public JvmDao() {
-        try {
-            // Load database driver.
-            Class.forName("org.hsqldb.jdbcDriver");
-        } catch (ClassNotFoundException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Failed to load HSQLDB JDBC driver.");
-        }
-
-        try {
-            // Connect to database.
-
-            // Database server for development
-            // connection = DriverManager.getConnection("jdbc:hsqldb:hsql://localhost/xdb", "sa",
-            // "");
-
-            // In-process standalone mode for deployment.
-            connection = DriverManager.getConnection("jdbc:hsqldb:mem:gcdb", "sa", "");
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error accessing database.");
-        }
-
-        // Create tables
-        Statement statement = null;
-        try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_CREATE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_CREATE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            if (e.getMessage().startsWith("Table already exists")) {
-                cleanup();
-            } else {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error creating tables.");
-            }
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-
         eventTypes = new ArrayList<LogEventType>();
         collectorFamilies = new ArrayList<CollectorFamily>();
         analysis = new ArrayList<Analysis>();
         unidentifiedLogLines = new ArrayList<String>();
-        blockingBatch = new ArrayList<BlockingEvent>();
-        stoppedTimeBatch = new ArrayList<ApplicationStoppedTimeEvent>();
         // prevent false positives of Analysis.INFO_SWAP_DISABLED
         swap = -1;
     }
@@ -256,18 +212,52 @@ public class JvmDao {
         return collectorFamilies;
     }
 
-    public void addBlockingEvent(BlockingEvent event) {
-        if (blockingBatch.size() == batchSize) {
-            processBlockingBatch();
+    /**
+     * Register a log file that <code>BlockingEvent</code> log entries are read from instead of being kept in memory.
+     * 
+     * @param logFile
+     *            The log file.
+     * @param charset
+     *            The charset of the log file.
+     * @return The log file id.
+     */
+    public synchronized int addLogFile(File logFile, Charset charset) {
+        return blockingEvents.addLogFile(logFile, charset);
+    }
+
+    public synchronized void addBlockingEvent(BlockingEvent event) {
+        addBlockingEvent(event, -1, 0, 0);
+    }
+
+    /**
+     * @param event
+     *            The event to add.
+     * @param logFileId
+     *            The id of the log file the log entry is read from (see {@link #addLogFile(File, Charset)}), or -1 to
+     *            keep the log entry in memory.
+     * @param position
+     *            The position in the log file of the first byte of the log entry.
+     * @param byteCount
+     *            The number of bytes in the log entry.
+     */
+    public synchronized void addBlockingEvent(BlockingEvent event, int logFileId, long position, int byteCount) {
+        blockingEvents.add(event, logFileId, position, byteCount);
+        if (firstBlockingEvent == null) {
+            firstBlockingEvent = event;
         }
-        blockingBatch.add(event);
+        lastBlockingEvent = event;
     }
 
-    public void addStoppedTimeEvent(ApplicationStoppedTimeEvent event) {
-        if (stoppedTimeBatch.size() == batchSize) {
-            processStoppedTimeBatch();
+    public synchronized void addStoppedTimeEvent(ApplicationStoppedTimeEvent event) {
+        if (firstStoppedEvent == null) {
+            firstStoppedEvent = event;
+            maxStoppedTime = event.getDuration();
+        } else {
+            maxStoppedTime = Math.max(maxStoppedTime, event.getDuration());
         }
-        stoppedTimeBatch.add(event);
+        lastStoppedEvent = event;
+        totalStoppedTime += event.getDuration();
+        stoppedTimeEventCount++;
     }
 
     /**
@@ -480,157 +470,13 @@ public class JvmDao {
         this.maxPermOccupancyNonBlocking = maxPermOccupancyNonBlocking;
     }
 
-    /**
-     * Add blocking events to database.
-     */
-    public synchronized void processBlockingBatch() {
-
-        PreparedStatement pst = null;
-        try {
-            String sqlInsertBlockingEvent = "insert into blocking_event (time_stamp, event_name, "
-                    + "duration, young_space, old_space, combined_space, perm_space, young_occupancy_init, "
-                    + "old_occupancy_init, combined_occupancy_init, perm_occupancy_init, log_entry) "
-                    + "values(?, ?, ?, ?, ?, ?, ?, ?, ?, ?,?,?)";
-
-            final int TIME_STAMP_INDEX = 1;
-            final int EVENT_NAME_INDEX = 2;
-            final int DURATION_INDEX = 3;
-            final int YOUNG_SPACE_INDEX = 4;
-            final int OLD_SPACE_INDEX = 5;
-            final int COMBINED_SPACE_INDEX = 6;
-            final int PERM_SPACE_INDEX = 7;
-            final int YOUNG_OCCUPANCY_INIT_INDEX = 8;
-            final int OLD_OCCUPANCY_INIT_INDEX = 9;
-            final int COMBINED_OCCUPANCY_INIT_INDEX = 10;
-            final int PERM_OCCUPANCY_INIT_INDEX = 11;
-            final int LOG_ENTRY_INDEX = 12;
-
-            pst = connection.prepareStatement(sqlInsertBlockingEvent);
-
-            for (int i = 0; i < blockingBatch.size(); i++) {
-                BlockingEvent event = blockingBatch.get(i);
-                pst.setLong(TIME_STAMP_INDEX, event.getTimestamp());
-                pst.setString(EVENT_NAME_INDEX, event.getName());
-                pst.setLong(DURATION_INDEX, event.getDuration());
-                if (event instanceof YoungData) {
-                    pst.setInt(YOUNG_SPACE_INDEX, ((YoungData) event).getYoungSpace());
-                    pst.setInt(YOUNG_OCCUPANCY_INIT_INDEX, ((YoungData) event).getYoungOccupancyInit());
-                } else {
-                    pst.setInt(YOUNG_SPACE_INDEX, 0);
-                    pst.setInt(YOUNG_OCCUPANCY_INIT_INDEX, 0);
-                }
-                if (event instanceof OldData) {
-                    pst.setInt(OLD_SPACE_INDEX, ((OldData) event).getOldSpace());
-                    pst.setInt(OLD_OCCUPANCY_INIT_INDEX, ((OldData) event).getOldOccupancyInit());
-                } else {
-                    pst.setInt(OLD_SPACE_INDEX, 0);
-                    pst.setInt(OLD_OCCUPANCY_INIT_INDEX, 0);
-                }
-                if (event instanceof CombinedData) {
-                    pst.setInt(COMBINED_SPACE_INDEX, ((CombinedData) event).getCombinedSpace());
-                    pst.setInt(COMBINED_OCCUPANCY_INIT_INDEX, ((CombinedData) event).getCombinedOccupancyInit());
-                } else {
-                    pst.setInt(COMBINED_SPACE_INDEX, 0);
-                    pst.setInt(COMBINED_OCCUPANCY_INIT_INDEX, 0);
-                }
-                if (event instanceof PermData) {
-                    pst.setInt(PERM_SPACE_INDEX, ((PermData) event).getPermSpace());
-                    pst.setInt(PERM_OCCUPANCY_INIT_INDEX, ((PermData) event).getPermOccupancyInit());
-                } else {
-                    pst.setInt(PERM_SPACE_INDEX, 0);
-                    pst.setInt(PERM_OCCUPANCY_INIT_INDEX, 0);
-                }
-                pst.setString(LOG_ENTRY_INDEX, event.getLogEntry());
-                pst.addBatch();
-            }
-            pst.executeBatch();
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error inserting blocking event.");
-        } finally {
-            blockingBatch.clear();
-            try {
-                pst.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closingPreparedStatement.");
-            }
-        }
-    }
-
-    /**
-     * Add stopped time events to database.
-     */
-    public synchronized void processStoppedTimeBatch() {
-
-        PreparedStatement pst = null;
-        try {
-            String sqlInsertStoppedEvent = "insert into application_stopped_time (time_stamp, event_name, "
-                    + "duration, log_entry) " + "values(?, ?, ?, ?)";
-
-            final int TIME_STAMP_INDEX = 1;
-            final int EVENT_NAME_INDEX = 2;
-            final int DURATION_INDEX = 3;
-            final int LOG_ENTRY_INDEX = 4;
-
-            pst = connection.prepareStatement(sqlInsertStoppedEvent);
-
-            for (int i = 0; i < stoppedTimeBatch.size(); i++) {
-                ApplicationStoppedTimeEvent event = stoppedTimeBatch.get(i);
-                pst.setLong(TIME_STAMP_INDEX, event.getTimestamp());
-                pst.setString(EVENT_NAME_INDEX, event.getName());
-                pst.setInt(DURATION_INDEX, event.getDuration());
-                pst.setString(LOG_ENTRY_INDEX, event.getLogEntry());
-                pst.addBatch();
-            }
-            pst.executeBatch();
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error inserting stopped time event.");
-        } finally {
-            stoppedTimeBatch.clear();
-            try {
-                pst.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closingPreparedStatement.");
-            }
-        }
-    }
-
     /**
      * The maximum GC blocking event pause time.
      * 
      * @return maximum pause duration (milliseconds).
      */
     public synchronized int getMaxGcPause() {
-        int maxPause = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(duration) from blocking_event");
-            if (rs.next()) {
-                maxPause = JdkMath.convertMicrosToMillis(rs.getInt(1)).intValue();
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determine maximum pause time.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return maxPause;
+        return (int) JdkMath.convertMicrosToMillis(blockingEvents.getMaxDuration());
     }
 
     /**
@@ -639,33 +485,7 @@ public class JvmDao {
      * @return total pause duration (milliseconds).
      */
     public synchronized long getTotalGcPause() {
-        long totalPause = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select sum(duration) from blocking_event");
-            if (rs.next()) {
-                totalPause = JdkMath.convertMicrosToMillis(rs.getLong(1)).longValue();
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining total pause time.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return totalPause;
+        return JdkMath.convertMicrosToMillis(blockingEvents.getTotalDuration());
     }
 
     /**
@@ -676,34 +496,7 @@ public class JvmDao {
      * @return The first blocking event.
      */
     public synchronized BlockingEvent getFirstGcEvent() {
-        BlockingEvent event = null;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery(
-                    "select log_entry from blocking_event where id = " + "(select min(id) from blocking_event)");
-            if (rs.next()) {
-                event = (BlockingEvent) JdkUtil.parseLogLine(rs.getString(1));
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining first blocking event.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return event;
+        return firstBlockingEvent;
     }
 
     /**
@@ -714,76 +507,228 @@ public class JvmDao {
      * @return The last blocking event.
      */
     public synchronized BlockingEvent getLastGcEvent() {
-        BlockingEvent event = null;
-        // Retrieve last event from batch or database.
-        if (blockingBatch.size() > 0) {
-            event = blockingBatch.get(blockingBatch.size() - 1);
-        } else {
-            event = queryGcLastEvent();
-        }
-        return event;
+        return lastBlockingEvent;
     }
 
     /**
-     * Retrieve the last blocking event.
+     * Remove all stored data.
+     */
+    public synchronized void cleanup() {
+        blockingEvents.clear();
+        firstBlockingEvent = null;
+        lastBlockingEvent = null;
+        firstStoppedEvent = null;
+        lastStoppedEvent = null;
+        stoppedTimeEventCount = 0;
+        maxStoppedTime = 0;
+        totalStoppedTime = 0;
+    }
+
+    /**
+     * Release the stored data. The lists already returned (e.g. to a <code>JvmRun</code>) are left as is, and the data
+     * access object is empty afterwards.
+     */
+    public synchronized void close() {
+        cleanup();
+        eventTypes = new ArrayList<LogEventType>();
+        collectorFamilies = new ArrayList<CollectorFamily>();
+        analysis = new ArrayList<Analysis>();
+        unidentifiedLogLines = new ArrayList<String>();
+        worstInvertedParallelismEvent = null;
+    }
+
+    /**
+     * Write the stored data in a compact binary format (e.g. to a {@link ParseCache}).
      * 
-     * TODO: Should this consider non-blocking events?
+     * @param out
+     *            The output.
+     * @throws IOException
+     *             If the stored data cannot be written.
+     */
+    public synchronized void write(DataOutput out) throws IOException {
+        writeEnums(out, eventTypes);
+        writeEnums(out, collectorFamilies);
+        writeEnums(out, analysis);
+        ParseCache.writeVarInt(out, unidentifiedLogLines.size());
+        for (int i = 0; i < unidentifiedLogLines.size(); i++) {
+            ParseCache.writeString(out, unidentifiedLogLines.get(i));
+        }
+        blockingEvents.write(out);
+        writeEvent(out, firstBlockingEvent);
+        writeEvent(out, lastBlockingEvent);
+        writeEvent(out, firstStoppedEvent);
+        writeEvent(out, lastStoppedEvent);
+        ParseCache.writeVarInt(out, stoppedTimeEventCount);
+        ParseCache.writeVarInt(out, maxStoppedTime);
+        ParseCache.writeVarLong(out, totalStoppedTime);
+        ParseCache.writeString(out, options);
+        ParseCache.writeString(out, version);
+        ParseCache.writeString(out, memory);
+        ParseCache.writeVarLong(out, physicalMemory);
+        ParseCache.writeVarLong(out, physicalMemoryFree);
+        ParseCache.writeVarLong(out, swap);
+        ParseCache.writeVarLong(out, swapFree);
+        ParseCache.writeVarLong(out, parallelCount);
+        ParseCache.writeVarLong(out, invertedParallelismCount);
+        writeEvent(out, worstInvertedParallelismEvent);
+        ParseCache.writeVarInt(out, maxHeapSpaceNonBlocking);
+        ParseCache.writeVarInt(out, maxHeapOccupancyNonBlocking);
+        ParseCache.writeVarInt(out, maxPermSpaceNonBlocking);
+        ParseCache.writeVarInt(out, maxPermOccupancyNonBlocking);
+    }
+
+    /**
+     * Replace the stored data with data written by {@link #write(DataOutput)}.
      * 
-     * @return The last blocking event in database.
-     */
+     * @param in
+     *            The input.
+     * @throws IOException
+     *             If the stored data cannot be read.
+     */
+    public synchronized void read(DataInput in) throws IOException {
+        close();
+        readEnums(in, LogEventType.class, eventTypes);
+        readEnums(in, CollectorFamily.class, collectorFamilies);
+        readEnums(in, Analysis.class, analysis);
+        int unidentifiedLogLineCount = ParseCache.readVarInt(in);
+        for (int i = 0; i < unidentifiedLogLineCount; i++) {
+            unidentifiedLogLines.add(ParseCache.readString(in));
+        }
+        blockingEvents.read(in);
+        firstBlockingEvent = readBlockingEvent(in);
+        lastBlockingEvent = readBlockingEvent(in);
+        firstStoppedEvent = readStoppedTimeEvent(in);
+        lastStoppedEvent = readStoppedTimeEvent(in);
+        stoppedTimeEventCount = ParseCache.readVarInt(in);
+        maxStoppedTime = ParseCache.readVarInt(in);
+        totalStoppedTime = ParseCache.readVarLong(in);
+        options = ParseCache.readString(in);
+        version = ParseCache.readString(in);
+        memory = ParseCache.readString(in);
+        physicalMemory = ParseCache.readVarLong(in);
+        physicalMemoryFree = ParseCache.readVarLong(in);
+        swap = ParseCache.readVarLong(in);
+        swapFree = ParseCache.readVarLong(in);
+        parallelCount = ParseCache.readVarLong(in);
+        invertedParallelismCount = ParseCache.readVarLong(in);
+        worstInvertedParallelismEvent = readBlockingEvent(in);
+        maxHeapSpaceNonBlocking = ParseCache.readVarInt(in);
+        maxHeapOccupancyNonBlocking = ParseCache.readVarInt(in);
+        maxPermSpaceNonBlocking = ParseCache.readVarInt(in);
+        maxPermOccupancyNonBlocking = ParseCache.readVarInt(in);
+    }
+
+    /**
+     * Write enum constants by name, so they are read by name.
+     * 
+     * @param out
+     *            The output.
+     * @param enums
+     *            The enum constants.
+     * @throws IOException
+     *             If the enum constants cannot be written.
+     */
+    private static void writeEnums(DataOutput out, List<? extends Enum<?>> enums) throws IOException {
+        ParseCache.writeVarInt(out, enums.size());
+        for (int i = 0; i < enums.size(); i++) {
+            ParseCache.writeString(out, enums.get(i).name());
+        }
+    }
 
-    private synchronized BlockingEvent queryGcLastEvent() {
-        BlockingEvent event = null;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery(
-                    "select log_entry from blocking_event where id = " + "(select max(id) from blocking_event)");
-            if (rs.next()) {
-                event = (BlockingEvent) JdkUtil.parseLogLine(rs.getString(1));
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining last blocking event.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
+    /**
+     * @param in
+     *            The input.
+     * @param type
+     *            The enum type.
+     * @param enums
+     *            The list to add the enum constants written by {@link #writeEnums(DataOutput, List)} to.
+     * @throws IOException
+     *             If the enum constants cannot be read (e.g. an enum constant no longer exists).
+     */
+    private static <T extends Enum<T>> void readEnums(DataInput in, Class<T> type, List<T> enums)
+            throws IOException {
+        int count = ParseCache.readVarInt(in);
+        for (int i = 0; i < count; i++) {
+            String name = ParseCache.readString(in);
             try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
+                enums.add(Enum.valueOf(type, name));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Unknown " + type.getSimpleName() + ": " + name);
             }
         }
-        return event;
     }
 
     /**
-     * Delete table(s). Useful when running in server mode during development.
+     * Write the event type, log entry, timestamp, and duration of an event.
+     * 
+     * @param out
+     *            The output.
+     * @param event
+     *            The event, or null.
+     * @throws IOException
+     *             If the event cannot be written (e.g. the event name is not an event type).
+     */
+    private static void writeEvent(DataOutput out, LogEvent event) throws IOException {
+        if (event == null) {
+            ParseCache.writeString(out, null);
+            return;
+        }
+        LogEventType eventType = JdkUtil.determineEventType(event.getName());
+        if (eventType == null) {
+            throw new IOException("Unknown event type: " + event.getName());
+        }
+        ParseCache.writeString(out, eventType.name());
+        ParseCache.writeString(out, event.getLogEntry());
+        ParseCache.writeVarLong(out, event.getTimestamp());
+        int duration = 0;
+        if (event instanceof BlockingEvent) {
+            duration = ((BlockingEvent) event).getDuration();
+        } else if (event instanceof ApplicationStoppedTimeEvent) {
+            duration = ((ApplicationStoppedTimeEvent) event).getDuration();
+        }
+        ParseCache.writeVarInt(out, duration);
+    }
+
+    /**
+     * @param in
+     *            The input.
+     * @return The <code>BlockingEvent</code> written by {@link #writeEvent(DataOutput, LogEvent)}, or null if none.
+     * @throws IOException
+     *             If the event cannot be read.
      */
-    public synchronized void cleanup() {
-        Statement statement = null;
+    private static BlockingEvent readBlockingEvent(DataInput in) throws IOException {
+        String name = ParseCache.readString(in);
+        if (name == null) {
+            return null;
+        }
+        LogEventType eventType;
         try {
-            statement = connection.createStatement();
-            for (int i = 0; i < TABLES_DELETE_SQL.length; i++) {
-                statement.executeUpdate(TABLES_DELETE_SQL[i]);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error deleting rows from tables.");
-        } finally {
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
+            eventType = LogEventType.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Unknown event type: " + name);
         }
+        String logEntry = ParseCache.readString(in);
+        long timestamp = ParseCache.readVarLong(in);
+        int duration = ParseCache.readVarInt(in);
+        return JdkUtil.hydrateBlockingEvent(eventType, logEntry, timestamp, duration);
+    }
+
+    /**
+     * @param in
+     *            The input.
+     * @return The <code>ApplicationStoppedTimeEvent</code> written by {@link #writeEvent(DataOutput, LogEvent)}, or
+     *         null if none.
+     * @throws IOException
+     *             If the event cannot be read.
+     */
+    private static ApplicationStoppedTimeEvent readStoppedTimeEvent(DataInput in) throws IOException {
+        if (ParseCache.readString(in) == null) {
+            return null;
+        }
+        String logEntry = ParseCache.readString(in);
+        long timestamp = ParseCache.readVarLong(in);
+        int duration = ParseCache.readVarInt(in);
+        return new ApplicationStoppedTimeEvent(logEntry, timestamp, duration);
     }
 
     /**
@@ -792,39 +737,7 @@ public class JvmDao {
      * @return <code>List</code> of events.
      */
     public synchronized List<BlockingEvent> getBlockingEvents() {
-        List<BlockingEvent> events = new ArrayList<BlockingEvent>();
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            StringBuffer sql = new StringBuffer();
-            sql.append("select time_stamp, event_name, duration, log_entry from blocking_event"
-                    + " order by time_stamp asc, id asc");
-            rs = statement.executeQuery(sql.toString());
-            while (rs.next()) {
-                LogEventType eventType = JdkUtil.determineEventType(rs.getString(2));
-                BlockingEvent event = JdkUtil.hydrateBlockingEvent(eventType, rs.getString(4), rs.getLong(1),
-                        rs.getInt(3));
-                events.add(event);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error retrieving blocking events.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return events;
+        return getBlockingEvents(null);
     }
 
     /**
@@ -836,73 +749,42 @@ public class JvmDao {
      */
     public synchronized List<BlockingEvent> getBlockingEvents(LogEventType eventType) {
         List<BlockingEvent> events = new ArrayList<BlockingEvent>();
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            StringBuffer sql = new StringBuffer();
-            sql.append("select time_stamp, duration, log_entry from blocking_event where event_name='");
-            sql.append(eventType);
-            sql.append("' order by time_stamp asc");
-            rs = statement.executeQuery(sql.toString());
-            while (rs.next()) {
-                BlockingEvent event = JdkUtil.hydrateBlockingEvent(eventType, rs.getString(3), rs.getLong(1),
-                        rs.getInt(2));
-                events.add(event);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error retrieving blocking events.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
+        Iterator<BlockingEvent> iterator = blockingEvents.iterator(eventType);
+        while (iterator.hasNext()) {
+            events.add(iterator.next());
         }
         return events;
     }
 
+    /**
+     * Iterate over all <code>BlockingEvent</code>s in timestamp order, creating each event as it is returned instead
+     * of retrieving them all at once.
+     * 
+     * @return <code>Iterator</code> of events.
+     */
+    public synchronized Iterator<BlockingEvent> getBlockingEventIterator() {
+        return blockingEvents.iterator(null);
+    }
+
+    /**
+     * Iterate over the <code>BlockingEvent</code>s of the specified type in timestamp order, creating each event as it
+     * is returned instead of retrieving them all at once.
+     * 
+     * @param eventType
+     *            The event type to retrieve.
+     * @return <code>Iterator</code> of events.
+     */
+    public synchronized Iterator<BlockingEvent> getBlockingEventIterator(LogEventType eventType) {
+        return blockingEvents.iterator(eventType);
+    }
+
     /**
      * The total number of blocking events.
      * 
      * @return total number of blocking events.
      */
     public synchronized int getBlockingEventCount() {
-        int count = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select count(id) from blocking_event");
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining blocking event count.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return count;
+        return blockingEvents.size();
     }
 
     /**
@@ -911,33 +793,7 @@ public class JvmDao {
      * @return maximum young space size (kilobytes).
      */
     public synchronized int getMaxYoungSpace() {
-        int space = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(young_space) from blocking_event");
-            if (rs.next()) {
-                space = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max young space.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return space;
+        return blockingEvents.getMaxYoungSpace();
     }
 
     /**
@@ -946,33 +802,7 @@ public class JvmDao {
      * @return maximum old space size (kilobytes).
      */
     public synchronized int getMaxOldSpace() {
-        int space = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(old_space) from blocking_event");
-            if (rs.next()) {
-                space = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max old space.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return space;
+        return blockingEvents.getMaxOldSpace();
     }
 
     /**
@@ -981,34 +811,7 @@ public class JvmDao {
      * @return maximum heap size (kilobytes).
      */
     public synchronized int getMaxHeapSpace() {
-        int space = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement
-                    .executeQuery("select max(young_space + old_space " + "+ combined_space) from blocking_event");
-            if (rs.next()) {
-                space = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max heap space.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return space;
+        return blockingEvents.getMaxHeapSpace();
     }
 
     /**
@@ -1017,34 +820,7 @@ public class JvmDao {
      * @return maximum heap occupancy (kilobytes).
      */
     public synchronized int getMaxHeapOccupancy() {
-        int occupancy = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(young_occupancy_init + old_occupancy_init "
-                    + "+ combined_occupancy_init) from blocking_event");
-            if (rs.next()) {
-                occupancy = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max heap occupancy.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return occupancy;
+        return blockingEvents.getMaxHeapOccupancy();
     }
 
     /**
@@ -1053,33 +829,7 @@ public class JvmDao {
      * @return maximum perm/metaspace footprint (kilobytes).
      */
     public synchronized int getMaxPermSpace() {
-        int space = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(perm_space) from blocking_event");
-            if (rs.next()) {
-                space = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max perm space.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return space;
+        return blockingEvents.getMaxPermSpace();
     }
 
     /**
@@ -1088,33 +838,7 @@ public class JvmDao {
      * @return maximum perm/metaspac occupancy (kilobytes).
      */
     public synchronized int getMaxPermOccupancy() {
-        int occupancy = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(perm_occupancy_init) from blocking_event");
-            if (rs.next()) {
-                occupancy = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining max perm gen occupancy.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return occupancy;
+        return blockingEvents.getMaxPermOccupancy();
     }
 
     /**
@@ -1123,34 +847,7 @@ public class JvmDao {
      * @return The time first stopped event.
      */
     public synchronized ApplicationStoppedTimeEvent getFirstStoppedEvent() {
-        ApplicationStoppedTimeEvent event = null;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select log_entry from application_stopped_time where id = "
-                    + "(select min(id) from application_stopped_time)");
-            if (rs.next()) {
-                event = (ApplicationStoppedTimeEvent) JdkUtil.parseLogLine(rs.getString(1));
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining first stopped event.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return event;
+        return firstStoppedEvent;
     }
 
     /**
@@ -1159,51 +856,7 @@ public class JvmDao {
      * @return The last stopped event.
      */
     public synchronized ApplicationStoppedTimeEvent getLastStoppedEvent() {
-        ApplicationStoppedTimeEvent event;
-        // Retrieve last event from batch or database.
-        if (stoppedTimeBatch.size() > 0) {
-            event = stoppedTimeBatch.get(stoppedTimeBatch.size() - 1);
-        } else {
-            event = queryStoppedLastEvent();
-        }
-        return event;
-    }
-
-    /**
-     * Retrieve the last stopped event from the database.
-     * 
-     * @return The last stopped event in database.
-     */
-
-    private synchronized ApplicationStoppedTimeEvent queryStoppedLastEvent() {
-        ApplicationStoppedTimeEvent event = null;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select log_entry from application_stopped_time where id = "
-                    + "(select max(id) from application_stopped_time)");
-            if (rs.next()) {
-                event = (ApplicationStoppedTimeEvent) JdkUtil.parseLogLine(rs.getString(1));
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining last stopped event.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return event;
+        return lastStoppedEvent;
     }
 
     /**
@@ -1212,34 +865,7 @@ public class JvmDao {
      * @return maximum pause duration (milliseconds).
      */
     public synchronized int getMaxStoppedTime() {
-        int maxStoppedTime = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select max(duration) from application_stopped_time");
-            if (rs.next()) {
-                long micros = rs.getInt(1);
-                maxStoppedTime = JdkMath.convertMicrosToMillis(micros).intValue();
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determine maximum stopped time.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return maxStoppedTime;
+        return (int) JdkMath.convertMicrosToMillis(maxStoppedTime);
     }
 
     /**
@@ -1248,34 +874,7 @@ public class JvmDao {
      * @return total pause duration (milliseconds).
      */
     public synchronized int getTotalStoppedTime() {
-        int totalStoppedTime = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select sum(duration) from application_stopped_time");
-            if (rs.next()) {
-                long micros = rs.getLong(1);
-                totalStoppedTime = JdkMath.convertMicrosToMillis(micros).intValue();
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining total stopped time.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return totalStoppedTime;
+        return (int) JdkMath.convertMicrosToMillis(totalStoppedTime);
     }
 
     /**
@@ -1284,32 +883,6 @@ public class JvmDao {
      * @return total number of stopped time events.
      */
     public synchronized int getStoppedTimeEventCount() {
-        int count = 0;
-        Statement statement = null;
-        ResultSet rs = null;
-        try {
-            statement = connection.createStatement();
-            rs = statement.executeQuery("select count(id) from application_stopped_time");
-            if (rs.next()) {
-                count = rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            System.err.println(e.getMessage());
-            throw new RuntimeException("Error determining stopped time event count.");
-        } finally {
-            try {
-                rs.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing ResultSet.");
-            }
-            try {
-                statement.close();
-            } catch (SQLException e) {
-                System.err.println(e.getMessage());
-                throw new RuntimeException("Error closing Statement.");
-            }
-        }
-        return count;
+        return stoppedTimeEventCount;
     }
 }
@@ -0,0 +1,450 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.hsql;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.util.MissingResourceException;
+import java.util.ResourceBundle;
+import java.util.zip.CRC32;
+
+/**
+ * <p>
+ * On-disk cache of the data parsed from a log file, so analyzing the same log file again (e.g. with a different
+ * throughput threshold or JVM options) skips parsing.
+ * </p>
+ * 
+ * <p>
+ * A cache file starts with a header identifying the garbagecat build that wrote it, the parsed log file (canonical
+ * path, size, last modified time, and CRC-32 checksum of the content) and the options that change what is parsed (e.g.
+ * preprocessing, the JVM start date/time). The cache is only read when all of them match, so a log file that has
+ * changed (e.g. more logging appended) or is parsed differently (e.g. by an upgraded garbagecat) is parsed again. The size and last modified time are checked first, so a changed
+ * log file is not read to compute its checksum.
+ * </p>
+ * 
+ * <p>
+ * The parsed data follows the header in a compact binary format written and read by the data store (see
+ * {@link JvmDao#write(DataOutput)} and {@link JvmDao#read(DataInput)}). The cache file is written to a temporary file
+ * that replaces the cache file when complete, so an interrupted write does not leave a partial cache file.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class ParseCache {
+
+    /**
+     * The cache file format version. Changed when the header format changes, so older cache files are not read.
+     */
+    public static final int VERSION = 2;
+
+    /**
+     * The garbagecat build: the version and the last modified time of the garbagecat classes, so cache files written
+     * by another build (including another snapshot build of the same version) are not read.
+     */
+    private static final String BUILD = getBuild();
+
+    /**
+     * The first bytes of a cache file ("GCAT").
+     */
+    private static final int MAGIC = 0x47434154;
+
+    /**
+     * The cache file extension.
+     */
+    public static final String EXTENSION = ".cache";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The log file.
+     */
+    private final File logFile;
+
+    /**
+     * The canonical path of the log file.
+     */
+    private final String logFilePath;
+
+    /**
+     * The options that change what is parsed.
+     */
+    private final String parseOptions;
+
+    /**
+     * The garbagecat build parsing the log file.
+     */
+    private final String build;
+
+    /**
+     * The size of the log file when the cache was created.
+     */
+    private final long length;
+
+    /**
+     * The last modified time of the log file when the cache was created.
+     */
+    private final long lastModified;
+
+    private final File cacheFile;
+
+    /**
+     * The checksum of the first {@link #length} bytes of the log file, computed when first needed.
+     */
+    private Long checksum;
+
+    /**
+     * Create a cache for a log file that is about to be parsed. The log file is identified by its size and last
+     * modified time now, so if it changes while it is parsed, the cache file written is not read for the changed log
+     * file.
+     * 
+     * @param directory
+     *            The directory cache files are kept in.
+     * @param logFile
+     *            The log file.
+     * @param parseOptions
+     *            The options that change what is parsed.
+     * @throws IOException
+     *             If the canonical path of the log file cannot be determined.
+     */
+    public ParseCache(File directory, File logFile, String parseOptions) throws IOException {
+        this(directory, logFile, parseOptions, BUILD);
+    }
+
+    /**
+     * @param directory
+     *            The directory cache files are kept in.
+     * @param logFile
+     *            The log file.
+     * @param parseOptions
+     *            The options that change what is parsed.
+     * @param build
+     *            The garbagecat build parsing the log file.
+     * @throws IOException
+     *             If the canonical path of the log file cannot be determined.
+     */
+    ParseCache(File directory, File logFile, String parseOptions, String build) throws IOException {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory == null!!");
+        }
+        if (logFile == null) {
+            throw new IllegalArgumentException("logFile == null!!");
+        }
+        this.logFile = logFile;
+        this.logFilePath = logFile.getCanonicalPath();
+        this.parseOptions = parseOptions == null ? "" : parseOptions;
+        this.build = build;
+        this.length = logFile.length();
+        this.lastModified = logFile.lastModified();
+        // Log files with the same name in different directories get different cache files
+        this.cacheFile = new File(directory,
+                logFile.getName() + "." + Integer.toHexString(logFilePath.hashCode()) + EXTENSION);
+    }
+
+    public File getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Open the cache file for reading the parsed data.
+     * 
+     * @return The parsed data, positioned after the header, or null if there is no cache file for the log file and
+     *         options (e.g. the log file has changed since it was cached). A cache file that does not match is deleted.
+     * @throws IOException
+     *             If the cache file cannot be read. The cache file is deleted.
+     */
+    public DataInputStream read() throws IOException {
+        if (!cacheFile.isFile()) {
+            return null;
+        }
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile), BUFFER_SIZE));
+        boolean valid = false;
+        try {
+            valid = in.readInt() == MAGIC && in.readInt() == VERSION && build.equals(readString(in)) && logFilePath.equals(readString(in))
+                    && in.readLong() == length && in.readLong() == lastModified
+                    && parseOptions.equals(readString(in)) && in.readLong() == getChecksum();
+        } finally {
+            if (!valid) {
+                in.close();
+                delete();
+            }
+        }
+        return valid ? in : null;
+    }
+
+    /**
+     * Delete the cache file (e.g. when it is stale or cannot be read), so it is not read again.
+     */
+    public void delete() {
+        cacheFile.delete();
+    }
+
+    /**
+     * Open a temporary file for writing the parsed data. Call {@link #commit(DataOutputStream)} when the parsed data is
+     * written.
+     * 
+     * @return The stream to write the parsed data to, positioned after the header.
+     * @throws IOException
+     *             If the temporary file cannot be written.
+     */
+    public DataOutputStream write() throws IOException {
+        long checksum = getChecksum();
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(getTemporaryFile()), BUFFER_SIZE));
+        boolean written = false;
+        try {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeString(out, build);
+            writeString(out, logFilePath);
+            out.writeLong(length);
+            out.writeLong(lastModified);
+            writeString(out, parseOptions);
+            out.writeLong(checksum);
+            written = true;
+        } finally {
+            if (!written) {
+                discard(out);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Close the temporary file and replace the cache file with it.
+     * 
+     * @param out
+     *            The stream returned by {@link #write()}.
+     * @throws IOException
+     *             If the temporary file cannot be written or renamed.
+     */
+    public void commit(DataOutputStream out) throws IOException {
+        out.close();
+        File temporaryFile = getTemporaryFile();
+        // Renaming does not replace an existing file on all platforms
+        if (!temporaryFile.renameTo(cacheFile) && !(cacheFile.delete() && temporaryFile.renameTo(cacheFile))) {
+            temporaryFile.delete();
+            throw new IOException("Error renaming " + temporaryFile + " to " + cacheFile + ".");
+        }
+    }
+
+    /**
+     * Close and delete the temporary file (e.g. when the parsed data cannot be written).
+     * 
+     * @param out
+     *            The stream returned by {@link #write()}.
+     */
+    public void discard(DataOutputStream out) {
+        try {
+            out.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        getTemporaryFile().delete();
+    }
+
+    /**
+     * @return The garbagecat build: the version (if packaged) and the last modified time of the jar file or, when run
+     *         from a class directory, the newest class file.
+     */
+    private static String getBuild() {
+        String version;
+        try {
+            version = ResourceBundle.getBundle("META-INF/maven/garbagecat/garbagecat/pom").getString("version");
+        } catch (MissingResourceException e) {
+            version = "unknown";
+        }
+        long lastModified = 0;
+        CodeSource codeSource = ParseCache.class.getProtectionDomain().getCodeSource();
+        if (codeSource != null && codeSource.getLocation() != null) {
+            try {
+                lastModified = getLastModified(new File(codeSource.getLocation().toURI()));
+            } catch (URISyntaxException e) {
+                // Identified by the version only
+            } catch (IllegalArgumentException e) {
+                // Not a file (e.g. a nested jar)
+            }
+        }
+        return version + "," + lastModified;
+    }
+
+    /**
+     * @param file
+     *            A file or directory.
+     * @return The last modified time of the file, or of the newest file in the directory.
+     */
+    private static long getLastModified(File file) {
+        if (!file.isDirectory()) {
+            return file.lastModified();
+        }
+        long lastModified = 0;
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (int i = 0; i < files.length; i++) {
+                lastModified = Math.max(lastModified, getLastModified(files[i]));
+            }
+        }
+        return lastModified;
+    }
+
+    private File getTemporaryFile() {
+        return new File(cacheFile.getPath() + ".tmp");
+    }
+
+    /**
+     * @return The CRC-32 checksum of the log file content (the first {@link #length} bytes).
+     * @throws IOException
+     *             If the log file cannot be read.
+     */
+    private long getChecksum() throws IOException {
+        if (checksum == null) {
+            CRC32 crc32 = new CRC32();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            InputStream in = new FileInputStream(logFile);
+            try {
+                long remaining = length;
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                while (read > 0) {
+                    crc32.update(buffer, 0, read);
+                    remaining -= read;
+                    read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                }
+            } finally {
+                in.close();
+            }
+            checksum = Long.valueOf(crc32.getValue());
+        }
+        return checksum.longValue();
+    }
+
+    /**
+     * Write a string that can be null or longer than {@link DataOutput#writeUTF(String)} allows.
+     * 
+     * @param out
+     *            The output.
+     * @param string
+     *            The string.
+     * @throws IOException
+     *             If the string cannot be written.
+     */
+    public static final void writeString(DataOutput out, String string) throws IOException {
+        if (string == null) {
+            writeVarInt(out, -1);
+        } else {
+            byte[] bytes = string.getBytes("UTF-8");
+            writeVarInt(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * @param in
+     *            The input.
+     * @return A string written by {@link #writeString(DataOutput, String)}.
+     * @throws IOException
+     *             If the string cannot be read.
+     */
+    public static final String readString(DataInput in) throws IOException {
+        int length = readVarInt(in);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        try {
+            return new String(bytes, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IOException(e.getMessage());
+        }
+    }
+
+    /**
+     * Write an int in 1-5 bytes: 7 bits per byte, with the high bit set when more bytes follow. Small values (e.g. 0)
+     * take a single byte. Negative values are zigzag encoded so small negative values are also small.
+     * 
+     * @param out
+     *            The output.
+     * @param value
+     *            The value.
+     * @throws IOException
+     *             If the value cannot be written.
+     */
+    public static final void writeVarInt(DataOutput out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    /**
+     * @param in
+     *            The input.
+     * @return An int written by {@link #writeVarInt(DataOutput, int)}.
+     * @throws IOException
+     *             If the value cannot be read.
+     */
+    public static final int readVarInt(DataInput in) throws IOException {
+        long value = readVarLong(in);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Write a long in 1-10 bytes (see {@link #writeVarInt(DataOutput, int)}).
+     * 
+     * @param out
+     *            The output.
+     * @param value
+     *            The value.
+     * @throws IOException
+     *             If the value cannot be written.
+     */
+    public static final void writeVarLong(DataOutput out, long value) throws IOException {
+        long zigzag = (value << 1) ^ (value >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            out.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        out.writeByte((int) zigzag);
+    }
+
+    /**
+     * @param in
+     *            The input.
+     * @return A long written by {@link #writeVarLong(DataOutput, long)}.
+     * @throws IOException
+     *             If the value cannot be read.
+     */
+    public static final long readVarLong(DataInput in) throws IOException {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new IOException("Malformed variable length value.");
+    }
+}
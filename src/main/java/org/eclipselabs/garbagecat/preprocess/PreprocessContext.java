@@ -0,0 +1,177 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.preprocess;
+
+import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationConcurrentTimePreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationStoppedTimePreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedCollectionAssembler;
+import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
+
+/**
+ * <p>
+ * Information shared by the preprocessing actions to make preprocessing decisions: the tokens of the preprocessing
+ * actions in progress, whether the current log entry is the beginning of an event, and the unified logging collections
+ * in flight.
+ * </p>
+ * 
+ * <p>
+ * Each token is a bit in a bit mask (e.g. {@link #CMS}), so testing whether any of a set of tokens is present is a
+ * single bitwise operation (see {@link #containsAny(int)}). The preprocessing actions use the bits directly.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class PreprocessContext {
+
+    /**
+     * The bit for {@link PreprocessAction#TOKEN_BEGINNING_OF_EVENT}.
+     */
+    public static final int BEGINNING_OF_EVENT = 1 << 0;
+
+    /**
+     * The bit for {@link ApplicationConcurrentTimePreprocessAction#TOKEN}.
+     */
+    public static final int APPLICATION_CONCURRENT_TIME = 1 << 1;
+
+    /**
+     * The bit for {@link ApplicationStoppedTimePreprocessAction#TOKEN}.
+     */
+    public static final int APPLICATION_STOPPED_TIME = 1 << 2;
+
+    /**
+     * The bit for {@link CmsPreprocessAction#TOKEN}.
+     */
+    public static final int CMS = 1 << 3;
+
+    /**
+     * The bit for {@link G1PreprocessAction#TOKEN}.
+     */
+    public static final int G1 = 1 << 4;
+
+    /**
+     * The bit for {@link ParallelPreprocessAction#TOKEN}.
+     */
+    public static final int PARALLEL = 1 << 5;
+
+    /**
+     * The bit for {@link SerialPreprocessAction#TOKEN}.
+     */
+    public static final int SERIAL = 1 << 6;
+
+    /**
+     * The bit for {@link ShenandoahPreprocessAction#TOKEN}.
+     */
+    public static final int SHENANDOAH = 1 << 7;
+
+    /**
+     * The bit for {@link UnifiedPreprocessAction#TOKEN}.
+     */
+    public static final int UNIFIED = 1 << 8;
+
+    /**
+     * The bits of the tokens in the context.
+     */
+    private int tokens;
+
+    /**
+     * The unified logging collections in flight.
+     */
+    private final UnifiedCollectionAssembler unifiedCollectionAssembler;
+
+    /**
+     * Create an empty context.
+     */
+    public PreprocessContext() {
+        unifiedCollectionAssembler = new UnifiedCollectionAssembler();
+    }
+
+    /**
+     * Create a copy of a context.
+     * 
+     * @param context
+     *            The context to copy.
+     */
+    public PreprocessContext(PreprocessContext context) {
+        tokens = context.tokens;
+        unifiedCollectionAssembler = new UnifiedCollectionAssembler(context.unifiedCollectionAssembler);
+    }
+
+    /**
+     * @param token
+     *            The bit of the token to add (e.g. {@link #CMS}).
+     * @return true if the context did not already contain the token, false otherwise.
+     */
+    public boolean add(int token) {
+        boolean added = (tokens & token) == 0;
+        tokens |= token;
+        return added;
+    }
+
+    /**
+     * @param token
+     *            The bit of the token to remove (e.g. {@link #CMS}).
+     * @return true if the context contained the token, false otherwise.
+     */
+    public boolean remove(int token) {
+        boolean removed = (tokens & token) != 0;
+        tokens &= ~token;
+        return removed;
+    }
+
+    /**
+     * @param token
+     *            The bit of the token to test (e.g. {@link #CMS}).
+     * @return true if the context contains the token, false otherwise.
+     */
+    public boolean contains(int token) {
+        return (tokens & token) != 0;
+    }
+
+    /**
+     * @param mask
+     *            A bit mask of tokens (e.g. <code>CMS | G1</code>).
+     * @return true if the context contains any of the tokens, false otherwise.
+     */
+    public boolean containsAny(int mask) {
+        return (tokens & mask) != 0;
+    }
+
+    /**
+     * Remove all tokens.
+     */
+    public void clear() {
+        tokens = 0;
+    }
+
+    public UnifiedCollectionAssembler getUnifiedCollectionAssembler() {
+        return unifiedCollectionAssembler;
+    }
+
+    public boolean equals(Object object) {
+        if (!(object instanceof PreprocessContext)) {
+            return false;
+        }
+        PreprocessContext context = (PreprocessContext) object;
+        return context.tokens == tokens && context.unifiedCollectionAssembler.equals(unifiedCollectionAssembler);
+    }
+
+    public int hashCode() {
+        return tokens * 31 + unifiedCollectionAssembler.hashCode();
+    }
+}
@@ -12,13 +12,14 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.preprocess.jdk;
 
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -108,9 +109,9 @@ public class ApplicationConcurrentTimePreprocessAction implements PreprocessActi
      * @param context
      *            Information to make preprocessing decisions.
      */
-    public ApplicationConcurrentTimePreprocessAction(String logEntry, Set<String> context) {
-        if (logEntry.matches(REGEX_LINE1)) {
-            Pattern pattern = Pattern.compile(REGEX_LINE1);
+    public ApplicationConcurrentTimePreprocessAction(String logEntry, PreprocessContext context) {
+        if (RegExUtil.matches(logEntry, REGEX_LINE1)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_LINE1);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 // Split line1 logging apart
@@ -124,20 +125,20 @@ public class ApplicationConcurrentTimePreprocessAction implements PreprocessActi
                     }
                 }
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_LINE2)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.APPLICATION_CONCURRENT_TIME);
+        } else if (RegExUtil.matches(logEntry, REGEX_LINE2)) {
             this.logEntry = logEntry + Constants.LINE_SEPARATOR;
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.APPLICATION_CONCURRENT_TIME);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_END)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.remove(TOKEN);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            context.remove(PreprocessContext.APPLICATION_CONCURRENT_TIME);
         }
     }
 
@@ -159,6 +160,7 @@ public class ApplicationConcurrentTimePreprocessAction implements PreprocessActi
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine, String priorLogLine) {
-        return logLine.matches(REGEX_LINE1) || logLine.matches(REGEX_LINE2) || logLine.matches(REGEX_RETAIN_END);
+        return RegExUtil.matches(logLine, REGEX_LINE1) || RegExUtil.matches(logLine, REGEX_LINE2)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_END);
     }
 }
@@ -14,13 +14,14 @@ package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -522,93 +523,93 @@ public class CmsPreprocessAction implements PreprocessAction {
      *            Information to make preprocessing decisions.
      */
     public CmsPreprocessAction(String priorLogEntry, String logEntry, String nextLogEntry,
-            List<String> entangledLogLines, Set<String> context) {
+            List<String> entangledLogLines, PreprocessContext context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)) {
+        if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)) {
             // Par_NEW mixed with CMS_CONCURRENT
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 entangledLogLines.add(matcher.group(49));
             }
             // Output beginning of PAR_NEW line
             this.logEntry = matcher.group(1);
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)) {
             // Par_NEW mixed with FLS_STATISTICS
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 // Output beginning of PAR_NEW line
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)) {
             // CMS_SERIAL_OLD mixed with CMS_CONCURRENT
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 entangledLogLines.add(matcher.group(30));
             }
             // Output beginning of CMS_SERIAL_OLD line
             this.logEntry = matcher.group(1);
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
 
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_SERIAL)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_SERIAL);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARNEW);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_PARNEW)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_PARNEW);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)) {
             // Remove PrintHeapAtGC output
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL_BAILING);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_SERIAL_BAILING)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_SERIAL_BAILING);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARNEW_BAILING);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_PARNEW_BAILING)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_PARNEW_BAILING);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1) + matcher.group(25);
@@ -618,13 +619,13 @@ public class CmsPreprocessAction implements PreprocessAction {
                     entangledLogLines.add(matcher.group(27));
                 }
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_CONCURRENT)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_CONCURRENT);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_CONCURRENT)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
-                if (!context.contains(TOKEN)) {
+                if (!context.contains(PreprocessContext.CMS)) {
                     // Output now
                     this.logEntry = matcher.group(1);
                 } else {
@@ -632,72 +633,72 @@ public class CmsPreprocessAction implements PreprocessAction {
                     entangledLogLines.add(matcher.group(1));
                 }
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED)) {
             // Output serial part, save concurrent to output later
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
                 entangledLogLines.add(matcher.group(21));
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED)) {
             // Output ParNew part, save concurrent to output later
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
                 entangledLogLines.add(matcher.group(35));
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS)) {
             // Output ParNew part minus FL stats
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS)) {
             // Output serial part minus FL stats
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC)) {
             // Remove PrintHeapAtGC output
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_CMS_REMARK)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_CMS_REMARK);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_CMS_REMARK)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_CMS_REMARK);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_DURATION)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_DURATION);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_DURATION)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_DURATION);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -706,41 +707,42 @@ public class CmsPreprocessAction implements PreprocessAction {
             if (entangledLogLines.size() > 0 && newLoggingEvent(nextLogEntry)) {
                 clearEntangledLines(entangledLogLines);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_END)
-                && !priorLogEntry.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_END)
+                && !RegExUtil.matches(priorLogEntry, REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             clearEntangledLines(entangledLogLines);
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.remove(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END_PAR_NEW)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            context.remove(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_END_PAR_NEW)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END_PAR_NEW);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_END_PAR_NEW);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             clearEntangledLines(entangledLogLines);
-            if (context.contains(TOKEN) && !priorLogEntry.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)) {
+            if (context.contains(PreprocessContext.CMS)
+                    && !RegExUtil.matches(priorLogEntry, REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)) {
                 // End of multi-line event or PAR_NEW truncated
-                context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
+                context.remove(PreprocessContext.BEGINNING_OF_EVENT);
             } else {
-                context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
+                context.add(PreprocessContext.BEGINNING_OF_EVENT);
             }
-            context.remove(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_PAR_NEW)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_PAR_NEW);
+            context.remove(PreprocessContext.CMS);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_PAR_NEW)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_PAR_NEW);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(4);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.CMS);
         }
     }
 
@@ -764,26 +766,29 @@ public class CmsPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine, String priorLogLine, String nextLogLine) {
-        return logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL) || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_CMS_REMARK) || logLine.matches(REGEX_RETAIN_END)
-                || logLine.matches(REGEX_RETAIN_END_PAR_NEW) || logLine.matches(REGEX_RETAIN_DURATION)
-                || logLine.matches(REGEX_RETAIN_PAR_NEW);
+        return RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_SERIAL_BAILING)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_SERIAL_GC_TIME_LIMIT_EXCEEDED)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_SERIAL)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARNEW)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARNEW_BAILING)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_CONCURRENT_MODE_FAILURE)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_PRINT_CLASS_HISTOGRAM)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_CONCURRENT)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_SERIAL_CONCURRENT_MIXED)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_PARNEW_CONCURRENT_MIXED)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_PAR_NEW_FLS_STATISTICS)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_SERIAL_FLS_STATISTICS)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_PRINT_HEAP_AT_GC)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_CMS_REMARK)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_END)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_END_PAR_NEW)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_DURATION)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_PAR_NEW);
     }
 
     /**
@@ -816,13 +821,14 @@ public class CmsPreprocessAction implements PreprocessAction {
      * @return True if the line is the start of a new logging event or a complete logging event.
      */
     private boolean newLoggingEvent(String logLine) {
-        return logLine == null || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_BAILING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL) || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARNEW_BAILING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME);
+        return logLine == null || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARNEW_CONCURRENT)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARNEW_FLS_STATISTICS)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_SERIAL_CONCURRENT)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_SERIAL_BAILING)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_SERIAL)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARNEW)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARNEW_BAILING)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PRINT_HEAP_AT_GC)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_CMS_CONCURRENT_APPLICATION_CONCURRENT_TIME);
     }
 }
\ No newline at end of file
@@ -79,6 +79,17 @@ public class DateStampPreprocessAction implements PreprocessAction {
     private static final String REGEX_LINE = "^" + JdkRegEx.DATESTAMP + "(:)? (.*)$";
     private static final Pattern PATTERN = Pattern.compile(REGEX_LINE);
 
+    /**
+     * The log line does not match the logging pattern.
+     */
+    private static final int NO_MATCH = -1;
+
+    /**
+     * The log line has line terminators, so the regular expression is needed to determine if it matches the logging
+     * pattern.
+     */
+    private static final int FALLBACK = -2;
+
     /**
      * The log entry for the event. Can be used for debugging purposes.
      */
@@ -93,14 +104,24 @@ public class DateStampPreprocessAction implements PreprocessAction {
      *            The date and time the JVM was started.
      */
     public DateStampPreprocessAction(String logEntry, Date jvmStartDate) {
-        Matcher matcher = PATTERN.matcher(logEntry);
-        if (matcher.find()) {
-            String logEntryMinusDateStamp = matcher.group(12);
-            Date datestamp = GcUtil.parseDateStamp(matcher.group(1));
-            long diff = GcUtil.dateDiff(jvmStartDate, datestamp);
+        int index = getLogEntryMinusDateStampIndex(logEntry);
+        String logEntryMinusDateStamp = null;
+        long datestamp = 0;
+        if (index >= 0) {
+            logEntryMinusDateStamp = logEntry.substring(index);
+            datestamp = GcUtil.parseDateStampMillis(logEntry, 0);
+        } else if (index == FALLBACK) {
+            Matcher matcher = PATTERN.matcher(logEntry);
+            if (matcher.find()) {
+                logEntryMinusDateStamp = matcher.group(12);
+                datestamp = GcUtil.parseDateStamp(matcher.group(1)).getTime();
+            }
+        }
+        if (logEntryMinusDateStamp != null) {
+            long diff = datestamp - jvmStartDate.getTime();
             if (diff < 0) {
-                throw new TimeWarpException(
-                        "JVM start date (" + jvmStartDate + ") is after logging datestamp (" + datestamp + ")");
+                throw new TimeWarpException("JVM start date (" + jvmStartDate + ") is after logging datestamp ("
+                        + new Date(datestamp) + ")");
             }
             this.logEntry = JdkMath.convertMillisToSecs(diff) + ": " + logEntryMinusDateStamp;
         }
@@ -121,7 +142,38 @@ public class DateStampPreprocessAction implements PreprocessAction {
      *            The log line to test.
      * @return true if the log line matches the event pattern, false otherwise.
      */
-    public static final boolean match(String logLine) {
-        return PATTERN.matcher(logLine).matches();
+    public static final boolean match(CharSequence logLine) {
+        int index = getLogEntryMinusDateStampIndex(logLine);
+        return index >= 0 || (index == FALLBACK && PATTERN.matcher(logLine).matches());
+    }
+
+    /**
+     * Determine where the logging after the datestamp starts without a regular expression, for the common case of a
+     * log line without line terminators.
+     * 
+     * @param logLine
+     *            The log line.
+     * @return The index of the logging after the datestamp, {@link #NO_MATCH} if the log line does not match the
+     *         logging pattern, or {@link #FALLBACK} if the regular expression is needed to decide.
+     */
+    private static final int getLogEntryMinusDateStampIndex(CharSequence logLine) {
+        if (!GcUtil.isDateStamp(logLine, 0)) {
+            return NO_MATCH;
+        }
+        int index = GcUtil.DATESTAMP_LENGTH;
+        if (index < logLine.length() && logLine.charAt(index) == ':') {
+            index++;
+        }
+        if (index >= logLine.length() || logLine.charAt(index) != ' ') {
+            return NO_MATCH;
+        }
+        index++;
+        for (int i = index; i < logLine.length(); i++) {
+            char c = logLine.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return FALLBACK;
+            }
+        }
+        return index;
     }
 }
@@ -14,13 +14,14 @@ package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -694,55 +695,55 @@ public class G1PreprocessAction implements PreprocessAction {
      *            Information to make preprocessing decisions.
      */
     public G1PreprocessAction(String priorLogEntry, String logEntry, String nextLogEntry,
-            List<String> entangledLogLines, Set<String> context) {
+            List<String> entangledLogLines, PreprocessContext context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING_FULL_GC)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_FULL_GC);
+        if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_FULL_GC)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_FULL_GC);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CLEANUP)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CLEANUP);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_CLEANUP)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_CLEANUP);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT)) {
             // Handle concurrent mixed with young collections. See datasets 47-48 and 51-52, 54.
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 entangledLogLines.add(matcher.group(16));
             }
             // Output beginning of young line
             this.logEntry = matcher.group(1);
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_FULL_CONCURRENT)) {
             // Handle concurrent mixed with full collections. See dataset 74.
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             int indexG1FullDatestamp = 12;
             int indexG1FullTimestamp = 23;
@@ -798,15 +799,15 @@ public class G1PreprocessAction implements PreprocessAction {
                     this.logEntry = matcher.group(indexConcurrentTimestamp) + ": " + matcher.group(indexFullBlock);
                 }
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CONCURRENT)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_CONCURRENT)) {
             // Strip out any leading colon
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CONCURRENT);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_CONCURRENT);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 // Handle concurrent mixed with young collections. See datasets 47-48 and 51-52, 54.
-                if (!context.contains(TOKEN)) {
+                if (!context.contains(PreprocessContext.G1)) {
                     // Output now
                     if (matcher.group(2) != null && matcher.group(13) != null) {
                         this.logEntry = matcher.group(2) + matcher.group(25) + ": " + matcher.group(50);
@@ -830,101 +831,101 @@ public class G1PreprocessAction implements PreprocessAction {
                     }
                 }
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_YOUNG_PAUSE)) {
             // Strip out G1Ergonomics
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_REMARK)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_REMARK);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_REMARK)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_REMARK);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1) + matcher.group(61);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_MIXED)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_MIXED)) {
             // Strip out G1Ergonomics
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_MIXED);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_MIXED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK)) {
             // Strip out G1Ergonomics
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_YOUNG_PAUSE)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_FULL)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_FULL);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_FULL)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_FULL);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_DURATION)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_DURATION);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_DURATION)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_DURATION);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_END)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             clearEntangledLines(entangledLogLines);
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.remove(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END_CONCURRENT_YOUNG)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            context.remove(PreprocessContext.G1);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_END_CONCURRENT_YOUNG)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END_CONCURRENT_YOUNG);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_END_CONCURRENT_YOUNG);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 entangledLogLines.add(matcher.group(1));
                 this.logEntry = matcher.group(6);
             }
             clearEntangledLines(entangledLogLines);
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.remove(TOKEN);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            context.remove(PreprocessContext.G1);
         }
     }
 
@@ -949,25 +950,30 @@ public class G1PreprocessAction implements PreprocessAction {
      */
     public static final boolean match(String logLine, String priorLogLine, String nextLogLine) {
         boolean match = false;
-        if (logLine.matches(REGEX_RETAIN_BEGINNING_YOUNG_PAUSE)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_FULL_GC)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_REMARK) || logLine.matches(REGEX_RETAIN_BEGINNING_MIXED)
-                || (logLine.matches(REGEX_RETAIN_BEGINNING_CLEANUP) && nextLogLine.matches(REGEX_RETAIN_END))
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_FULL_CONCURRENT)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_YOUNG_PAUSE)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK) || logLine.matches(REGEX_RETAIN_MIDDLE_FULL)
-                || logLine.matches(REGEX_RETAIN_MIDDLE) || logLine.matches(REGEX_RETAIN_MIDDLE_DURATION)
-                || logLine.matches(REGEX_RETAIN_END) || logLine.matches(REGEX_RETAIN_END_CONCURRENT_YOUNG)) {
+        if (RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_YOUNG_PAUSE)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_YOUNG_INITIAL_MARK)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_FULL_GC)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_FULL_GC_CLASS_HISTOGRAM)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_CLASS_HISTOGRAM)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_REMARK)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_MIXED)
+                || (RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_CLEANUP)
+                && RegExUtil.matches(nextLogLine, REGEX_RETAIN_END))
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_CONCURRENT)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_YOUNG_CONCURRENT)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_FULL_CONCURRENT)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_YOUNG_PAUSE)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_YOUNG_INITIAL_MARK)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_FULL)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_DURATION)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_END)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_END_CONCURRENT_YOUNG)) {
             match = true;
         } else {
             // TODO: Get rid of this and make them throwaway events?
             for (int i = 0; i < REGEX_THROWAWAY.length; i++) {
-                if (logLine.matches(REGEX_THROWAWAY[i])) {
+                if (RegExUtil.matches(logLine, REGEX_THROWAWAY[i])) {
                     match = true;
                     break;
                 }
@@ -14,13 +14,14 @@ package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -143,39 +144,39 @@ public class ParallelPreprocessAction implements PreprocessAction {
      *            Information to make preprocessing decisions.
      */
     public ParallelPreprocessAction(String priorLogEntry, String logEntry, String nextLogEntry,
-            List<String> entangledLogLines, Set<String> context) {
+            List<String> entangledLogLines, PreprocessContext context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_BEGINNING_UNLOADING_CLASS)) {
-            Pattern pattern = Pattern.compile(REGEX_BEGINNING_UNLOADING_CLASS);
+        if (RegExUtil.matches(logEntry, REGEX_BEGINNING_UNLOADING_CLASS)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_BEGINNING_UNLOADING_CLASS);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.PARALLEL);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED)) {
             // Remove GCTimeLimit output
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
                 entangledLogLines.add(matcher.group(28));
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.PARALLEL);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE)) {
             // Remove beginning PARALLEL_SCAVENGE output
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.PARALLEL);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_END)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 if (matcher.group(1) != null) {
@@ -185,8 +186,8 @@ public class ParallelPreprocessAction implements PreprocessAction {
                 }
             }
             clearEntangledLines(entangledLogLines);
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.remove(TOKEN);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            context.remove(PreprocessContext.PARALLEL);
         }
     }
 
@@ -228,8 +229,9 @@ public class ParallelPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX_BEGINNING_UNLOADING_CLASS)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE) || logLine.matches(REGEX_RETAIN_END);
+        return RegExUtil.matches(logLine, REGEX_BEGINNING_UNLOADING_CLASS)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_GC_TIME_LIMIT_EXCEEDED)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PARALLEL_SCAVENGE)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_END);
     }
 }
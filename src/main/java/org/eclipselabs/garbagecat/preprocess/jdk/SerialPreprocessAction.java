@@ -14,12 +14,13 @@ package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 
@@ -104,27 +105,27 @@ public class SerialPreprocessAction implements PreprocessAction {
      *            Information to make preprocessing decisions.
      */
     public SerialPreprocessAction(String priorLogEntry, String logEntry, String nextLogEntry,
-            List<String> entangledLogLines, Set<String> context) {
+            List<String> entangledLogLines, PreprocessContext context) {
 
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING);
+        if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_END)) {
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.SERIAL);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_END)) {
             // End of logging event
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_END);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
             clearEntangledLines(entangledLogLines);
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.remove(TOKEN);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            context.remove(PreprocessContext.SERIAL);
         }
     }
 
@@ -166,6 +167,6 @@ public class SerialPreprocessAction implements PreprocessAction {
      * @return true if the log line matches the event pattern, false otherwise.
      */
     public static final boolean match(String logLine) {
-        return logLine.matches(REGEX_RETAIN_BEGINNING) || logLine.matches(REGEX_RETAIN_END);
+        return RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING) || RegExUtil.matches(logLine, REGEX_RETAIN_END);
     }
 }
@@ -14,12 +14,13 @@ package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
@@ -292,33 +293,33 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
      *            Information to make preprocessing decisions.
      */
     public ShenandoahPreprocessAction(String priorLogEntry, String logEntry, String nextLogEntry,
-            List<String> entangledLogLines, Set<String> context) {
+            List<String> entangledLogLines, PreprocessContext context) {
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING);
+        if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.SHENANDOAH);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_METASPACE)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_METASPACE);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.SHENANDOAH);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_METASPACE)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_METASPACE);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_DURATION)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_DURATION);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_DURATION)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_DURATION);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
                 this.logEntry = matcher.group(1);
@@ -327,7 +328,7 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
             if (entangledLogLines != null && entangledLogLines.size() > 0 && newLoggingEvent(nextLogEntry)) {
                 clearEntangledLines(entangledLogLines);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
         }
     }
 
@@ -346,14 +347,15 @@ public class ShenandoahPreprocessAction implements PreprocessAction {
      */
     public static final boolean match(String logLine) {
         boolean match = false;
-        if (logLine.matches(REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP) || logLine.matches(REGEX_RETAIN_METASPACE)
-                || logLine.matches(REGEX_RETAIN_DURATION)) {
+        if (RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_CONCURRENT_MARKING)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_CONCURRENT_CLEANUP)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_METASPACE)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_DURATION)) {
             match = true;
         } else {
             // TODO: Get rid of this and make them throwaway events?
             for (int i = 0; i < REGEX_THROWAWAY.length; i++) {
-                if (logLine.matches(REGEX_THROWAWAY[i])) {
+                if (RegExUtil.matches(logLine, REGEX_THROWAWAY[i])) {
                     match = true;
                     break;
                 }
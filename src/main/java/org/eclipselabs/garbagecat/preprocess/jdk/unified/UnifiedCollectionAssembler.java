@@ -0,0 +1,290 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.preprocess.jdk.unified;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+
+import org.eclipselabs.garbagecat.util.Constants;
+
+/**
+ * <p>
+ * Assembles unified logging collections from the log lines for each collection, matched by the <code>GC(n)</code>
+ * collection id in the decorator instead of by position, so logging for different collections can be interleaved.
+ * </p>
+ * 
+ * <p>
+ * A collection is started by its beginning log line (e.g. <code>GC(3) Pause Young (Allocation Failure)</code>),
+ * collects the retained data (space data, pause data), and is complete when its times data is logged. A young
+ * collection that triggers a full collection (a full collection started while the young collection is in flight) is
+ * assembled as the full collection with the young collection data:
+ * </p>
+ * 
+ * <pre>
+ * [0.073s][info][gc,start     ] GC(1) Pause Young (Allocation Failure)
+ * [0.075s][info][gc,start     ] GC(2) Pause Full (Allocation Failure)
+ * [0.076s][info][gc             ] GC(2) Pause Full (Allocation Failure) 0M-&gt;0M(2M) 1.699ms
+ * [0.076s][info][gc,heap        ] GC(1) DefNew: 1152K-&gt;0K(1152K)
+ * [0.076s][info][gc,heap        ] GC(1) Tenured: 458K-&gt;929K(960K)
+ * [0.076s][info][gc,metaspace   ] GC(1) Metaspace: 697K-&gt;697K(1056768K)
+ * [0.076s][info][gc             ] GC(1) Pause Young (Allocation Failure) 1M-&gt;0M(2M) 3.061ms
+ * [0.076s][info][gc,cpu         ] GC(1) User=0.00s Sys=0.00s Real=0.00s
+ * </pre>
+ * 
+ * <p>
+ * Assembled:
+ * </p>
+ * 
+ * <pre>
+ * [0.075s][info][gc,start     ] GC(2) Pause Full (Allocation Failure) DefNew: 1152K-&gt;0K(1152K) Tenured: 458K-&gt;929K(960K) Metaspace: 697K-&gt;697K(1056768K) 1M-&gt;0M(2M) 3.061ms User=0.00s Sys=0.00s Real=0.00s
+ * </pre>
+ * 
+ * <p>
+ * The number of collections in flight is bounded by {@link #MAX_IN_FLIGHT}. When exceeded (e.g. logging for a
+ * collection is missing the times data), the oldest collection is output as is.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class UnifiedCollectionAssembler {
+
+    /**
+     * The maximum number of collections in flight.
+     */
+    public static final int MAX_IN_FLIGHT = 16;
+
+    /**
+     * The collection id of logging without a collection id.
+     */
+    public static final int NO_ID = -1;
+
+    /**
+     * The collections in flight, in the order they were started.
+     */
+    private final LinkedList<Collection> collections = new LinkedList<Collection>();
+
+    /**
+     * Create an assembler with no collections in flight.
+     */
+    public UnifiedCollectionAssembler() {
+    }
+
+    /**
+     * Create a copy of an assembler.
+     * 
+     * @param assembler
+     *            The assembler to copy.
+     */
+    public UnifiedCollectionAssembler(UnifiedCollectionAssembler assembler) {
+        Iterator<Collection> iterator = assembler.collections.iterator();
+        while (iterator.hasNext()) {
+            collections.add(new Collection(iterator.next()));
+        }
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @return The collection id in the decorator (e.g. 3 for <code>GC(3)</code>), or {@link #NO_ID} if none.
+     */
+    public static final int getGcId(String logLine) {
+        int gcId = NO_ID;
+        int index = logLine.indexOf("] GC(");
+        if (index >= 0) {
+            index += 5;
+            int end = index;
+            while (end < logLine.length() && end - index < 7 && Character.isDigit(logLine.charAt(end))) {
+                end++;
+            }
+            if (end > index && end < logLine.length() && logLine.charAt(end) == ')') {
+                gcId = Integer.parseInt(logLine.substring(index, end));
+            }
+        }
+        return gcId;
+    }
+
+    /**
+     * Start a collection.
+     * 
+     * @param gcId
+     *            The collection id.
+     * @param logEntry
+     *            The beginning log entry.
+     * @param full
+     *            Whether it is a full collection.
+     * @return The log entry of a collection output as is to start this one (the oldest collection when the maximum
+     *         number of collections are in flight, or a collection with the same id), or null if none.
+     */
+    public String start(int gcId, String logEntry, boolean full) {
+        String logEntryOutput = null;
+        Collection collection = find(gcId);
+        if (collection == null && collections.size() >= MAX_IN_FLIGHT) {
+            collection = collections.getFirst();
+        }
+        if (collection != null) {
+            collections.remove(collection);
+            logEntryOutput = collection.start + collection.data;
+        }
+        collections.add(new Collection(gcId, logEntry, full));
+        return logEntryOutput;
+    }
+
+    /**
+     * Add data to a collection in flight.
+     * 
+     * @param gcId
+     *            The collection id.
+     * @param data
+     *            The data.
+     * @return true if the collection is in flight, false otherwise.
+     */
+    public boolean append(int gcId, String data) {
+        Collection collection = find(gcId);
+        if (collection != null) {
+            collection.data.append(data);
+        }
+        return collection != null;
+    }
+
+    /**
+     * Complete a collection in flight.
+     * 
+     * @param gcId
+     *            The collection id.
+     * @param times
+     *            The times data.
+     * @return The collection log entry, or null if the collection is not in flight.
+     */
+    public String end(int gcId, String times) {
+        Collection collection = find(gcId);
+        if (collection == null) {
+            return null;
+        }
+        int index = collections.indexOf(collection);
+        collections.remove(index);
+        String start = collection.start;
+        if (!collection.full) {
+            // Report a young collection that triggers a full collection as the full collection
+            for (int i = index; i < collections.size(); i++) {
+                if (collections.get(i).full) {
+                    start = collections.remove(i).start;
+                    break;
+                }
+            }
+        }
+        return start + collection.data + times;
+    }
+
+    /**
+     * Output the collections in flight as is (e.g. at the end of the log).
+     * 
+     * @return The log entries of the collections in flight separated by line separators, or null if none.
+     */
+    public String flush() {
+        if (collections.isEmpty()) {
+            return null;
+        }
+        StringBuilder logEntries = new StringBuilder();
+        Iterator<Collection> iterator = collections.iterator();
+        while (iterator.hasNext()) {
+            Collection collection = iterator.next();
+            if (logEntries.length() > 0) {
+                logEntries.append(Constants.LINE_SEPARATOR);
+            }
+            logEntries.append(collection.start);
+            logEntries.append(collection.data);
+        }
+        collections.clear();
+        return logEntries.toString();
+    }
+
+    /**
+     * @return true if there are no collections in flight, false otherwise.
+     */
+    public boolean isEmpty() {
+        return collections.isEmpty();
+    }
+
+    /**
+     * @param gcId
+     *            The collection id.
+     * @return The collection in flight with the id, or null if none.
+     */
+    private Collection find(int gcId) {
+        Iterator<Collection> iterator = collections.iterator();
+        while (iterator.hasNext()) {
+            Collection collection = iterator.next();
+            if (collection.gcId == gcId) {
+                return collection;
+            }
+        }
+        return null;
+    }
+
+    public boolean equals(Object object) {
+        return object instanceof UnifiedCollectionAssembler
+                && ((UnifiedCollectionAssembler) object).collections.equals(collections);
+    }
+
+    public int hashCode() {
+        return collections.hashCode();
+    }
+
+    /**
+     * A collection in flight.
+     */
+    private static class Collection {
+
+        private final int gcId;
+
+        /**
+         * The beginning log entry.
+         */
+        private final String start;
+
+        private final boolean full;
+
+        /**
+         * The data logged so far.
+         */
+        private final StringBuilder data;
+
+        private Collection(int gcId, String start, boolean full) {
+            this.gcId = gcId;
+            this.start = start;
+            this.full = full;
+            this.data = new StringBuilder();
+        }
+
+        private Collection(Collection collection) {
+            this.gcId = collection.gcId;
+            this.start = collection.start;
+            this.full = collection.full;
+            this.data = new StringBuilder(collection.data);
+        }
+
+        public boolean equals(Object object) {
+            if (!(object instanceof Collection)) {
+                return false;
+            }
+            Collection collection = (Collection) object;
+            return collection.gcId == gcId && collection.full == full && collection.start.equals(start)
+                    && collection.data.toString().equals(data.toString());
+        }
+
+        public int hashCode() {
+            return gcId * 31 + start.hashCode();
+        }
+    }
+}
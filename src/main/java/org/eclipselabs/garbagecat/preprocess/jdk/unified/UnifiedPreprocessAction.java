@@ -14,13 +14,14 @@ package org.eclipselabs.garbagecat.preprocess.jdk.unified;
 
 import java.util.Iterator;
 import java.util.List;
-import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
@@ -29,6 +30,11 @@ import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
  * <p>
  * Generic unified logging preprocessing.
  * </p>
+ * 
+ * <p>
+ * Log lines are assembled into events by the collection id in the decorator (see
+ * {@link UnifiedCollectionAssembler}), so logging for a collection does not need to be contiguous.
+ * </p>
  *
  * <h3>Example Logging</h3>
  * 
@@ -248,10 +254,13 @@ public class UnifiedPreprocessAction implements PreprocessAction {
      * 
      * <pre>
      * [0.075s][info][gc,start     ] GC(2) Pause Full (Allocation Failure)
+     * 
+     * [0.083s][info][gc,start     ] GC(3) Pause Full (Ergonomics)
      * </pre>
      */
-    private static final String REGEX_RETAIN_BEGINNING_SERIAL_OLD = "^(" + UnifiedRegEx.DECORATOR + " Pause Full \\("
-            + JdkRegEx.TRIGGER_ALLOCATION_FAILURE + "\\))$";
+    private static final String REGEX_RETAIN_BEGINNING_SERIAL_OLD = "^(" + UnifiedRegEx.DECORATOR + " Pause Full \\(("
+            + JdkRegEx.TRIGGER_ALLOCATION_FAILURE + "|" + JdkRegEx.TRIGGER_ERGONOMICS + "|" + JdkRegEx.TRIGGER_SYSTEM_GC
+            + ")\\))$";
 
     /**
      * Regular expression for retained beginning @link
@@ -267,11 +276,14 @@ public class UnifiedPreprocessAction implements PreprocessAction {
      * [2019-05-09T01:39:07.136+0000][11728ms] GC(3) Pause Young (Normal) (GCLocker Initiated GC)
      * 
      * [16.629s][info][gc,start      ] GC(1355) Pause Young (Mixed) (G1 Evacuation Pause)
+     * 
+     * [2020-06-24T18:11:52.676-0700][58671ms] GC(44) Pause Young (Concurrent Start) (Metadata GC Threshold)
      * </pre>
      */
     private static final String REGEX_RETAIN_BEGINNING_G1_YOUNG = "^(" + UnifiedRegEx.DECORATOR
             + " Pause Young( \\((Normal|Prepare Mixed|Mixed|Concurrent Start)\\))? \\(("
-            + JdkRegEx.TRIGGER_G1_EVACUATION_PAUSE + "|" + JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC + ")\\))$";
+            + JdkRegEx.TRIGGER_G1_EVACUATION_PAUSE + "|" + JdkRegEx.TRIGGER_GCLOCKER_INITIATED_GC + "|"
+            + JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION + "|" + JdkRegEx.TRIGGER_METADATA_GC_THRESHOLD + ")\\))$";
 
     /**
      * Regular expression for retained space data.
@@ -494,90 +506,98 @@ public class UnifiedPreprocessAction implements PreprocessAction {
      *            Information to make preprocessing decisions.
      */
     public UnifiedPreprocessAction(String priorLogEntry, String logEntry, String nextLogEntry,
-            List<String> entangledLogLines, Set<String> context) {
+            List<String> entangledLogLines, PreprocessContext context) {
+        // Logging is assembled by collection id, so it does not matter what is logged in between
+        UnifiedCollectionAssembler assembler = context.getUnifiedCollectionAssembler();
+        int gcId = UnifiedCollectionAssembler.getGcId(logEntry);
         // Beginning logging
-        if (logEntry.matches(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG)) {
-            // Only report young collections that do not trigger an old collection
-            if (!nextLogEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD)) {
-                Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG);
-                Matcher matcher = pattern.matcher(logEntry);
-                if (matcher.matches()) {
-                    this.logEntry = matcher.group(1);
-                }
-            }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_SERIAL_OLD);
+        if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_PAUSE_YOUNG)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
-                this.logEntry = matcher.group(1);
+                // A young collection that triggers an old collection is reported as the old collection
+                this.logEntry = assembler.start(gcId, matcher.group(1), false);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_BEGINNING_G1_YOUNG)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_BEGINNING_G1_YOUNG);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_SERIAL_OLD)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_SERIAL_OLD);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
-                this.logEntry = matcher.group(1);
+                this.logEntry = assembler.start(gcId, matcher.group(1), true);
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.add(TOKEN);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_SPACE_DATA)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_SPACE_DATA);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_BEGINNING_G1_YOUNG)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_BEGINNING_G1_YOUNG);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
+                this.logEntry = assembler.start(gcId, matcher.group(1), false);
+            }
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_SPACE_DATA)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_SPACE_DATA);
+            Matcher matcher = pattern.matcher(logEntry);
+            if (matcher.matches() && !assembler.append(gcId, matcher.group(25))) {
                 this.logEntry = matcher.group(25);
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA)) {
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA);
             Matcher matcher = pattern.matcher(logEntry);
-            if (matcher.matches()) {
-                if (context.contains(TOKEN)) {
+            if (matcher.matches() && !assembler.append(gcId, matcher.group(25))) {
+                if (context.contains(PreprocessContext.UNIFIED)) {
                     this.logEntry = matcher.group(25);
                 } else {
                     // Single line event
                     this.logEntry = Constants.LINE_SEPARATOR + logEntry;
                 }
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA)) {
-            if (nextLogEntry != null && nextLogEntry.matches(REGEX_RETAIN_END_TIMES_DATA)) {
-                // Middle logging
-                Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA);
-                Matcher matcher = pattern.matcher(logEntry);
-                if (matcher.matches()) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA);
+            Matcher matcher = pattern.matcher(logEntry);
+            if (matcher.matches() && !assembler.append(gcId, matcher.group(27))) {
+                if (nextLogEntry != null && RegExUtil.matches(nextLogEntry, REGEX_RETAIN_END_TIMES_DATA)) {
+                    // Middle logging
                     this.logEntry = matcher.group(27);
+                } else if (!context.contains(PreprocessContext.UNIFIED)) {
+                    // Single line event
+                    this.logEntry = Constants.LINE_SEPARATOR + logEntry;
                 }
-            } else if (!context.contains(TOKEN)) {
-                // Single line event
-                this.logEntry = Constants.LINE_SEPARATOR + logEntry;
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA)) {
-            if (nextLogEntry != null && nextLogEntry.matches(REGEX_RETAIN_END_TIMES_DATA)) {
-                // Middle logging
-                Pattern pattern = Pattern.compile(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA);
-                Matcher matcher = pattern.matcher(logEntry);
-                if (matcher.matches()) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA)) {
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA);
+            Matcher matcher = pattern.matcher(logEntry);
+            if (matcher.matches() && !assembler.append(gcId, matcher.group(28))) {
+                if (nextLogEntry != null && RegExUtil.matches(nextLogEntry, REGEX_RETAIN_END_TIMES_DATA)) {
+                    // Middle logging
                     this.logEntry = matcher.group(28);
+                } else if (!context.contains(PreprocessContext.UNIFIED)) {
+                    // Single line event
+                    this.logEntry = Constants.LINE_SEPARATOR + logEntry;
                 }
-            } else if (!context.contains(TOKEN)) {
-                // Single line event
-                this.logEntry = Constants.LINE_SEPARATOR + logEntry;
             }
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        } else if (logEntry.matches(REGEX_RETAIN_END_TIMES_DATA)) {
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        } else if (RegExUtil.matches(logEntry, REGEX_RETAIN_END_TIMES_DATA)) {
             // End logging
-            Pattern pattern = Pattern.compile(REGEX_RETAIN_END_TIMES_DATA);
+            Pattern pattern = RegExUtil.getPattern(REGEX_RETAIN_END_TIMES_DATA);
             Matcher matcher = pattern.matcher(logEntry);
             if (matcher.matches()) {
-                this.logEntry = matcher.group(25);
+                this.logEntry = assembler.end(gcId, matcher.group(25));
+                if (this.logEntry != null) {
+                    context.add(PreprocessContext.BEGINNING_OF_EVENT);
+                } else {
+                    // Times data for logging not assembled by collection (e.g. concurrent events)
+                    this.logEntry = matcher.group(25);
+                    context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+                }
             }
             clearEntangledLines(entangledLogLines);
-            context.remove(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-            context.remove(TOKEN);
+        }
+        if (assembler.isEmpty()) {
+            context.remove(PreprocessContext.UNIFIED);
+        } else {
+            context.add(PreprocessContext.UNIFIED);
         }
     }
 
@@ -596,17 +616,19 @@ public class UnifiedPreprocessAction implements PreprocessAction {
      */
     public static final boolean match(String logLine) {
         boolean match = false;
-        if (logLine.matches(REGEX_RETAIN_BEGINNING_PAUSE_YOUNG) || logLine.matches(REGEX_RETAIN_BEGINNING_SERIAL_OLD)
-                || logLine.matches(REGEX_RETAIN_BEGINNING_G1_YOUNG)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA)
-                || logLine.matches(REGEX_RETAIN_MIDDLE_SPACE_DATA) || logLine.matches(REGEX_RETAIN_END_TIMES_DATA)) {
+        if (RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_PAUSE_YOUNG)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_SERIAL_OLD)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_BEGINNING_G1_YOUNG)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_G1_YOUNG_DATA)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_PAUSE_YOUNG_DATA)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_PAUSE_FULL_DATA)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_MIDDLE_SPACE_DATA)
+                || RegExUtil.matches(logLine, REGEX_RETAIN_END_TIMES_DATA)) {
             match = true;
         } else {
             // TODO: Get rid of this and make them throwaway events?
             for (int i = 0; i < REGEX_THROWAWAY.length; i++) {
-                if (logLine.matches(REGEX_THROWAWAY[i])) {
+                if (RegExUtil.matches(logLine, REGEX_THROWAWAY[i])) {
                     match = true;
                     break;
                 }
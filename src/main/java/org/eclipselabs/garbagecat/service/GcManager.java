@@ -12,23 +12,40 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.service;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 
 import org.eclipselabs.garbagecat.Main;
-import org.eclipselabs.garbagecat.domain.ApplicationLoggingEvent;
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.CombinedData;
 import org.eclipselabs.garbagecat.domain.JvmRun;
@@ -36,20 +53,15 @@ import org.eclipselabs.garbagecat.domain.LogEvent;
 import org.eclipselabs.garbagecat.domain.ParallelEvent;
 import org.eclipselabs.garbagecat.domain.PermData;
 import org.eclipselabs.garbagecat.domain.SerialCollection;
-import org.eclipselabs.garbagecat.domain.ThrowAwayEvent;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.domain.TimesData;
 import org.eclipselabs.garbagecat.domain.TriggerData;
 import org.eclipselabs.garbagecat.domain.UnknownEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ApplicationConcurrentTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ClassHistogramEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ClassUnloadingEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsIncrementalModeCollector;
 import org.eclipselabs.garbagecat.domain.jdk.CmsInitialMarkEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsRemarkEvent;
 import org.eclipselabs.garbagecat.domain.jdk.CmsSerialOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.FlsStatisticsEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1Collector;
 import org.eclipselabs.garbagecat.domain.jdk.G1FullGCEvent;
 import org.eclipselabs.garbagecat.domain.jdk.G1YoungInitialMarkEvent;
@@ -59,14 +71,12 @@ import org.eclipselabs.garbagecat.domain.jdk.GcOverheadLimitEvent;
 import org.eclipselabs.garbagecat.domain.jdk.HeaderCommandLineFlagsEvent;
 import org.eclipselabs.garbagecat.domain.jdk.HeaderMemoryEvent;
 import org.eclipselabs.garbagecat.domain.jdk.HeaderVersionEvent;
-import org.eclipselabs.garbagecat.domain.jdk.HeapAtGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelCompactingOldEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelSerialOldEvent;
-import org.eclipselabs.garbagecat.domain.jdk.ReferenceGcEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ShenandoahConcurrentEvent;
-import org.eclipselabs.garbagecat.domain.jdk.TenuringDistributionEvent;
 import org.eclipselabs.garbagecat.hsql.JvmDao;
-import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.hsql.ParseCache;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationConcurrentTimePreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.ApplicationStoppedTimePreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.CmsPreprocessAction;
@@ -75,16 +85,25 @@ import org.eclipselabs.garbagecat.preprocess.jdk.G1PreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.ParallelPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.SerialPreprocessAction;
 import org.eclipselabs.garbagecat.preprocess.jdk.ShenandoahPreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedCollectionAssembler;
 import org.eclipselabs.garbagecat.preprocess.jdk.unified.UnifiedPreprocessAction;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.LogLineBuffer;
+import org.eclipselabs.garbagecat.util.LogLineReader;
+import org.eclipselabs.garbagecat.util.LogLineSource;
+import org.eclipselabs.garbagecat.util.MappedLogLineReader;
+import org.eclipselabs.garbagecat.util.ReadAheadInputStream;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.eclipselabs.garbagecat.util.jdk.JdkMath;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.IdentifyOrder;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
 import org.eclipselabs.garbagecat.util.jdk.Jvm;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
 
 /**
  * <p>
@@ -97,6 +116,100 @@ import org.eclipselabs.garbagecat.util.jdk.Jvm;
  */
 public class GcManager {
 
+    /**
+     * The preprocessing actions in progress that prevent {@link ShenandoahPreprocessAction} preprocessing.
+     */
+    private static final int SHENANDOAH_EXCLUDED = PreprocessContext.APPLICATION_STOPPED_TIME
+            | PreprocessContext.APPLICATION_CONCURRENT_TIME | PreprocessContext.SERIAL | PreprocessContext.CMS
+            | PreprocessContext.G1 | PreprocessContext.PARALLEL | PreprocessContext.UNIFIED;
+
+    /**
+     * The preprocessing actions in progress that prevent {@link UnifiedPreprocessAction} preprocessing.
+     */
+    private static final int UNIFIED_EXCLUDED = PreprocessContext.APPLICATION_STOPPED_TIME
+            | PreprocessContext.APPLICATION_CONCURRENT_TIME | PreprocessContext.SERIAL | PreprocessContext.CMS
+            | PreprocessContext.G1 | PreprocessContext.PARALLEL | PreprocessContext.SHENANDOAH;
+
+    /**
+     * The preprocessing actions in progress that prevent {@link ParallelPreprocessAction} preprocessing.
+     */
+    private static final int PARALLEL_EXCLUDED = PreprocessContext.APPLICATION_STOPPED_TIME
+            | PreprocessContext.APPLICATION_CONCURRENT_TIME | PreprocessContext.SERIAL | PreprocessContext.CMS
+            | PreprocessContext.G1 | PreprocessContext.UNIFIED;
+
+    /**
+     * The preprocessing actions in progress that prevent {@link CmsPreprocessAction} preprocessing.
+     */
+    private static final int CMS_EXCLUDED = PreprocessContext.APPLICATION_STOPPED_TIME
+            | PreprocessContext.APPLICATION_CONCURRENT_TIME | PreprocessContext.SERIAL | PreprocessContext.PARALLEL
+            | PreprocessContext.G1 | PreprocessContext.SHENANDOAH | PreprocessContext.UNIFIED;
+
+    /**
+     * The preprocessing actions in progress that prevent {@link ApplicationConcurrentTimePreprocessAction}
+     * preprocessing.
+     */
+    private static final int APPLICATION_CONCURRENT_TIME_EXCLUDED = PreprocessContext.APPLICATION_STOPPED_TIME
+            | PreprocessContext.G1 | PreprocessContext.SERIAL | PreprocessContext.PARALLEL | PreprocessContext.CMS
+            | PreprocessContext.SHENANDOAH | PreprocessContext.UNIFIED;
+
+    /**
+     * The preprocessing actions in progress that prevent {@link ApplicationStoppedTimePreprocessAction} preprocessing.
+     */
+    private static final int APPLICATION_STOPPED_TIME_EXCLUDED = PreprocessContext.APPLICATION_CONCURRENT_TIME
+            | PreprocessContext.G1 | PreprocessContext.PARALLEL | PreprocessContext.CMS | PreprocessContext.SHENANDOAH
+            | PreprocessContext.UNIFIED;
+
+    /**
+     * The preprocessing actions in progress that prevent {@link G1PreprocessAction} preprocessing.
+     */
+    private static final int G1_EXCLUDED = PreprocessContext.APPLICATION_STOPPED_TIME
+            | PreprocessContext.APPLICATION_CONCURRENT_TIME | PreprocessContext.SERIAL | PreprocessContext.PARALLEL
+            | PreprocessContext.CMS | PreprocessContext.SHENANDOAH | PreprocessContext.UNIFIED;
+
+    /**
+     * The preprocessing actions in progress that prevent {@link SerialPreprocessAction} preprocessing.
+     */
+    private static final int SERIAL_EXCLUDED = PreprocessContext.APPLICATION_STOPPED_TIME
+            | PreprocessContext.APPLICATION_CONCURRENT_TIME | PreprocessContext.PARALLEL | PreprocessContext.CMS
+            | PreprocessContext.G1 | PreprocessContext.SHENANDOAH | PreprocessContext.UNIFIED;
+
+    /**
+     * The default number of log lines preprocessed together on one thread when preprocessing on multiple threads.
+     */
+    private static final int PREPROCESS_CHUNK_SIZE = 65536;
+
+    /**
+     * The start of a log line that can begin a chunk of log lines preprocessed on its own: a timestamp, datestamp, or
+     * unified logging decorator.
+     */
+    private static final Pattern CHUNK_START = RegExUtil.getPattern(
+            "^((" + JdkRegEx.DATESTAMP + ": )?" + JdkRegEx.TIMESTAMP + ": |" + UnifiedRegEx.DECORATOR + ")");
+
+    /**
+     * The default size of log files read from memory mapped windows instead of streamed.
+     */
+    private static final long MAPPED_LOG_FILE_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The magic bytes at the start of gzip compressed logging.
+     */
+    private static final byte[] GZIP_MAGIC = { (byte) 0x1f, (byte) 0x8b };
+
+    /**
+     * The magic bytes at the start of Zstandard compressed logging.
+     */
+    private static final byte[] ZSTD_MAGIC = { (byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd };
+
+    /**
+     * The number of parsed events queued for each log file of a rotated log set, waiting to be merged.
+     */
+    private static final int ROTATED_LOG_FILE_EVENTS = 4096;
+
+    /**
+     * Marks the end of the events parsed from a log file of a rotated log set.
+     */
+    private static final LogEvent END_OF_LOG_FILE = new UnknownEvent("");
+
     /**
      * The JVM data access object.
      */
@@ -112,6 +225,38 @@ public class GcManager {
      */
     private String lastLogLineUnprocessed;
 
+    /**
+     * The number of log lines preprocessed together on one thread when preprocessing on multiple threads.
+     */
+    private int preprocessChunkSize = PREPROCESS_CHUNK_SIZE;
+
+    /**
+     * The number of chunks of log lines preprocessed when preprocessing on multiple threads.
+     */
+    private int preprocessChunks;
+
+    /**
+     * The number of chunks of log lines preprocessed again, in order, because they did not start in the state
+     * assumed.
+     */
+    private int preprocessChunksRedone;
+
+    /**
+     * The size of log files read from memory mapped windows instead of streamed.
+     */
+    private long mappedLogFileSize = MAPPED_LOG_FILE_SIZE;
+
+    /**
+     * Whether or not to read the log entries of blocking events back from the log file when they are reported instead
+     * of keeping them in memory.
+     */
+    private boolean lowMemory;
+
+    /**
+     * The directory the data parsed from log files is cached in, or null for no cache.
+     */
+    private File cacheDirectory;
+
     /**
      * Default constructor.
      */
@@ -119,6 +264,14 @@ public class GcManager {
         this.jvmDao = new JvmDao();
     }
 
+    /**
+     * Release the stored JVM data. A <code>JvmRun</code> already returned by {@link #getJvmRun(Jvm, int)} is not
+     * affected.
+     */
+    public void close() {
+        jvmDao.close();
+    }
+
     public boolean isPreprocessed() {
         return preprocessed;
     }
@@ -127,6 +280,51 @@ public class GcManager {
         return lastLogLineUnprocessed;
     }
 
+    public boolean isLowMemory() {
+        return lowMemory;
+    }
+
+    /**
+     * @param lowMemory
+     *            Whether or not to read the log entries of blocking events back from the log file when they are
+     *            reported instead of keeping them in memory. Only applies to logging that is stored without
+     *            preprocessing from a single uncompressed log file (see {@link #store(File, boolean)}). It is ignored
+     *            when preprocessing or storing rotated log files.
+     */
+    public void setLowMemory(boolean lowMemory) {
+        this.lowMemory = lowMemory;
+    }
+
+    public File getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * @param cacheDirectory
+     *            The directory to cache the data parsed from a log file in, so analyzing the same log file again skips
+     *            parsing, or null for no cache. Only applies to a single log file (not rotated log files), and not when
+     *            the preprocessed logging is also written to a file.
+     */
+    public void setCacheDirectory(File cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    void setPreprocessChunkSize(int preprocessChunkSize) {
+        this.preprocessChunkSize = preprocessChunkSize;
+    }
+
+    int getPreprocessChunks() {
+        return preprocessChunks;
+    }
+
+    int getPreprocessChunksRedone() {
+        return preprocessChunksRedone;
+    }
+
+    void setMappedLogFileSize(long mappedLogFileSize) {
+        this.mappedLogFileSize = mappedLogFileSize;
+    }
+
     /**
      * Preprocess log file. Remove extraneous information and format the log file for parsing.
      * 
@@ -137,75 +335,106 @@ public class GcManager {
      * @return Preprocessed garbage collection log file.
      */
     public File preprocess(File logFile, Date jvmStartDate) {
+        return preprocess(logFile, jvmStartDate, 1);
+    }
+
+    /**
+     * Preprocess log file on multiple threads. Remove extraneous information and format the log file for parsing.
+     * 
+     * @param logFile
+     *            Raw garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param threads
+     *            The number of threads to preprocess on.
+     * @return Preprocessed garbage collection log file.
+     */
+    public File preprocess(File logFile, Date jvmStartDate, int threads) {
         if (logFile == null)
             throw new IllegalArgumentException("logFile == null!!");
 
         File preprocessFile = new File(logFile.getPath() + ".pp");
 
-        BufferedReader bufferedReader = null;
-        BufferedWriter bufferedWriter = null;
-
         try {
-            String currentLogLine = "";
-            String priorLogLine = "";
-            String preprocessedLogLine = "";
-
-            bufferedReader = new BufferedReader(new FileReader(logFile));
-            bufferedWriter = new BufferedWriter(new FileWriter(preprocessFile));
-
-            // Used for detangling intermingled logging events that span multiple lines
-            List<String> entangledLogLines = new ArrayList<String>();
-            // Used to provide context for preprocessing decisions
-            Set<String> context = new HashSet<String>();
-
-            String priorLogEntry = Constants.LINE_SEPARATOR;
+            preprocess(logFile, jvmStartDate, new BufferedWriter(new FileWriter(preprocessFile)), threads);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
 
-            String nextLogLine = bufferedReader.readLine();
-            while (nextLogLine != null) {
-                preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                        entangledLogLines, context);
-                if (preprocessedLogLine != null) {
-                    if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
-                            && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                        bufferedWriter.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
-                    } else {
-                        bufferedWriter.write(preprocessedLogLine);
-                    }
-                    priorLogEntry = preprocessedLogLine;
-                }
+        return preprocessFile;
+    }
 
-                priorLogLine = currentLogLine;
-                currentLogLine = nextLogLine;
-                nextLogLine = bufferedReader.readLine();
+    /**
+     * Preprocess log file and store the preprocessed logging in the data store in a single pass, without writing and
+     * then reading back a preprocessed log file.
+     * 
+     * @param logFile
+     *            Raw garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param preprocessFile
+     *            File to also write the preprocessed logging to (e.g. for debugging), or null for none.
+     * @param threads
+     *            The number of threads to preprocess on.
+     */
+    public void preprocessAndStore(File logFile, Date jvmStartDate, boolean reorder, File preprocessFile,
+            int threads) {
+        if (logFile == null)
+            throw new IllegalArgumentException("logFile == null!!");
 
-                if (nextLogLine == null) {
-                    lastLogLineUnprocessed = currentLogLine;
-                }
+        ParseCache parseCache = null;
+        if (preprocessFile == null) {
+            parseCache = getParseCache(logFile, jvmStartDate, true, reorder);
+            if (readParseCache(parseCache)) {
+                return;
             }
+        }
 
-            // Process last line
-            preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
-                    entangledLogLines, context);
-            if (preprocessedLogLine != null) {
-                if (context.contains(PreprocessAction.TOKEN_BEGINNING_OF_EVENT)
-                        && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
-                    bufferedWriter.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
-                } else {
-                    bufferedWriter.write(preprocessedLogLine);
-                }
+        Writer preprocessWriter = null;
+        try {
+            if (preprocessFile != null) {
+                preprocessWriter = new BufferedWriter(new FileWriter(preprocessFile));
             }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        // Only logging preprocessed and stored in full is cached
+        if (preprocess(logFile, jvmStartDate, new StoreWriter(reorder, preprocessWriter), threads)) {
+            writeParseCache(parseCache);
+        }
+    }
 
-            // output entangled log lines
-            if (entangledLogLines.size() > 0) {
-                Iterator<String> iterator = entangledLogLines.iterator();
-                while (iterator.hasNext()) {
-                    String logLine = iterator.next();
-                    bufferedWriter.write(Constants.LINE_SEPARATOR + logLine);
+    /**
+     * Preprocess log file.
+     * 
+     * @param logFile
+     *            Raw garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param writer
+     *            The preprocessed logging destination. Closed when preprocessing is complete.
+     * @param threads
+     *            The number of threads to preprocess on.
+     * @return true if the log file was preprocessed in full, false if preprocessing failed.
+     */
+    private boolean preprocess(File logFile, Date jvmStartDate, Writer writer, int threads) {
+        LogLineSource logLineReader = null;
+        boolean complete = false;
+
+        try {
+            logLineReader = openLogFile(logFile);
+
+            if (threads > 1) {
+                preprocess(logLineReader, jvmStartDate, writer, threads);
+            } else {
+                String lastLogLine = preprocess(logLineReader, jvmStartDate, writer, jvmDao.getAnalysis());
+                if (lastLogLine != null) {
+                    lastLogLineUnprocessed = lastLogLine;
                 }
-                // Reset entangled log lines
-                entangledLogLines.clear();
             }
-
+            complete = true;
         } catch (FileNotFoundException e) {
             e.printStackTrace();
         } catch (IOException e) {
@@ -213,25 +442,377 @@ public class GcManager {
         } finally {
 
             // Close streams
-            if (bufferedReader != null) {
+            if (logLineReader != null) {
                 try {
-                    bufferedReader.close();
+                    logLineReader.close();
                 } catch (IOException e) {
                     e.printStackTrace();
                 }
             }
 
-            if (bufferedWriter != null) {
+            if (writer != null) {
                 try {
-                    bufferedWriter.close();
+                    writer.close();
                 } catch (IOException e) {
                     e.printStackTrace();
+                    complete = false;
                 }
             }
             preprocessed = true;
         }
+        return complete;
+    }
 
-        return preprocessFile;
+    /**
+     * Preprocess log lines on a single thread.
+     * 
+     * @param logLineReader
+     *            The log line reader.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param writer
+     *            The preprocessed logging destination.
+     * @param analysis
+     *            The analysis identified while preprocessing.
+     * @return The last log line, or null if the log is empty.
+     * @throws IOException
+     *             If the log cannot be read or the preprocessed logging cannot be written.
+     */
+    private String preprocess(LogLineSource logLineReader, Date jvmStartDate, Writer writer, List<Analysis> analysis)
+            throws IOException {
+        CharSequence currentLogLine = "";
+        CharSequence priorLogLine = "";
+        String preprocessedLogLine = "";
+        String lastLogLine = null;
+
+        // Used for detangling intermingled logging events that span multiple lines
+        List<String> entangledLogLines = new ArrayList<String>();
+        // Used to provide context for preprocessing decisions
+        PreprocessContext context = new PreprocessContext();
+
+        String priorLogEntry = Constants.LINE_SEPARATOR;
+
+        // The prior, current, and next log lines, reused in turn
+        LogLineBuffer[] logLines = { new LogLineBuffer(), new LogLineBuffer(), new LogLineBuffer() };
+        int next = 0;
+
+        CharSequence nextLogLine = logLines[next].set(logLineReader.readLine());
+        while (nextLogLine != null) {
+            preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
+                    entangledLogLines, context, analysis);
+            if (preprocessedLogLine != null) {
+                if (context.contains(PreprocessContext.BEGINNING_OF_EVENT)
+                        && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                    writer.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
+                } else {
+                    writer.write(preprocessedLogLine);
+                }
+                priorLogEntry = preprocessedLogLine;
+            }
+
+            priorLogLine = currentLogLine;
+            currentLogLine = nextLogLine;
+            next = (next + 1) % logLines.length;
+            nextLogLine = logLines[next].set(logLineReader.readLine());
+
+            if (nextLogLine == null) {
+                lastLogLine = currentLogLine.toString();
+            }
+        }
+
+        // Process last line
+        preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
+                entangledLogLines, context, analysis);
+        if (preprocessedLogLine != null) {
+            if (context.contains(PreprocessContext.BEGINNING_OF_EVENT)
+                    && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                writer.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
+            } else {
+                writer.write(preprocessedLogLine);
+            }
+            priorLogEntry = preprocessedLogLine;
+        }
+
+        writeUnfinished(context, priorLogEntry, writer);
+
+        // output entangled log lines
+        if (entangledLogLines.size() > 0) {
+            Iterator<String> iterator = entangledLogLines.iterator();
+            while (iterator.hasNext()) {
+                String logLine = iterator.next();
+                writer.write(Constants.LINE_SEPARATOR + logLine);
+            }
+            // Reset entangled log lines
+            entangledLogLines.clear();
+        }
+        return lastLogLine;
+    }
+
+    /**
+     * Preprocess log lines on multiple threads.
+     * 
+     * Preprocessing a log line depends on the log lines preprocessed before it (the context and the entangled log
+     * lines). The log is split into chunks of log lines between log lines that likely begin events (see
+     * {@link #isChunkStart(String, String)}), where there is usually nothing in progress, and each chunk is
+     * preprocessed assuming it starts in an empty context with no entangled log lines. The chunks are written in order,
+     * and a chunk is only written as preprocessed when the log lines before it actually ended in that state. Otherwise
+     * it is preprocessed again, in order, so the preprocessed logging is the same as when preprocessing on a single
+     * thread.
+     * 
+     * @param logLineReader
+     *            The log line reader.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param writer
+     *            The preprocessed logging destination.
+     * @param threads
+     *            The number of threads to preprocess on.
+     * @throws IOException
+     *             If the log cannot be read or the preprocessed logging cannot be written.
+     */
+    private void preprocess(LogLineSource logLineReader, Date jvmStartDate, Writer writer, int threads)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            LinkedList<PreprocessChunk> chunks = new LinkedList<PreprocessChunk>();
+            LinkedList<Future<PreprocessChunk>> futures = new LinkedList<Future<PreprocessChunk>>();
+
+            // The state at the end of the chunks written so far
+            PreprocessChunk written = new PreprocessChunk(new ArrayList<String>(), "", jvmStartDate,
+                    new PreprocessContext(), new ArrayList<String>(), Constants.LINE_SEPARATOR);
+
+            // The first log line preprocessed is empty, the same as when preprocessing on a single thread
+            PreprocessChunk chunk = new PreprocessChunk(new ArrayList<String>(), "", jvmStartDate,
+                    new PreprocessContext(), new ArrayList<String>(), null);
+            chunk.logLines.add("");
+
+            String lastLogLine = null;
+            String nextLogLine = readLogLine(logLineReader);
+            while (nextLogLine != null) {
+                if (chunk.logLines.size() >= preprocessChunkSize
+                        && (isChunkStart(chunk.logLines.get(chunk.logLines.size() - 1), nextLogLine)
+                                || chunk.logLines.size() >= preprocessChunkSize * 2)) {
+                    chunk.nextLogLine = nextLogLine;
+                    chunks.add(chunk);
+                    futures.add(executor.submit(chunk));
+                    if (futures.size() > threads * 2) {
+                        written = write(chunks.removeFirst(), futures.removeFirst(), written, writer);
+                    }
+                    // Assume nothing is in progress at the start of the chunk
+                    chunk = new PreprocessChunk(new ArrayList<String>(preprocessChunkSize),
+                            chunk.logLines.get(chunk.logLines.size() - 1), jvmStartDate, new PreprocessContext(),
+                            new ArrayList<String>(), null);
+                }
+                chunk.logLines.add(nextLogLine);
+                lastLogLine = nextLogLine;
+                nextLogLine = readLogLine(logLineReader);
+            }
+            chunks.add(chunk);
+            futures.add(executor.submit(chunk));
+            while (!chunks.isEmpty()) {
+                written = write(chunks.removeFirst(), futures.removeFirst(), written, writer);
+            }
+
+            writeUnfinished(written.context, written.priorLogEntry, writer);
+
+            // output entangled log lines
+            Iterator<String> iterator = written.entangledLogLines.iterator();
+            while (iterator.hasNext()) {
+                writer.write(Constants.LINE_SEPARATOR + iterator.next());
+            }
+
+            if (lastLogLine != null) {
+                lastLogLineUnprocessed = lastLogLine;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Write the unified logging collections still in flight at the end of the log (e.g. truncated logging).
+     * 
+     * @param context
+     *            The context at the end of the log.
+     * @param priorLogEntry
+     *            The last preprocessed log entry.
+     * @param writer
+     *            The preprocessed logging destination.
+     * @throws IOException
+     *             If the preprocessed logging cannot be written.
+     */
+    private static void writeUnfinished(PreprocessContext context, String priorLogEntry, Writer writer)
+            throws IOException {
+        String unfinished = context.getUnifiedCollectionAssembler().flush();
+        if (unfinished != null) {
+            if (!priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                writer.write(Constants.LINE_SEPARATOR);
+            }
+            writer.write(unfinished);
+        }
+    }
+
+    /**
+     * Whether a chunk of log lines preprocessed on its own can start with a log line. Chunks start between log lines
+     * that likely begin events, where nothing is usually in progress: both log lines start with a timestamp, datestamp,
+     * or unified logging decorator (not the details of a multi-line event, e.g. a class histogram), and are not for
+     * the same unified logging collection.
+     * 
+     * @param priorLogLine
+     *            The log line before the chunk.
+     * @param logLine
+     *            The log line.
+     * @return true if a chunk can start with the log line, false otherwise.
+     */
+    private static boolean isChunkStart(String priorLogLine, String logLine) {
+        if (!CHUNK_START.matcher(priorLogLine).lookingAt() || !CHUNK_START.matcher(logLine).lookingAt()) {
+            return false;
+        }
+        int priorGcId = UnifiedCollectionAssembler.getGcId(priorLogLine);
+        int gcId = UnifiedCollectionAssembler.getGcId(logLine);
+        return priorGcId == UnifiedCollectionAssembler.NO_ID || priorGcId != gcId;
+    }
+
+    /**
+     * Write a chunk of preprocessed log lines, preprocessing it again if it was not preprocessed from the state at the
+     * end of the prior chunk.
+     * 
+     * @param chunk
+     *            The chunk to write.
+     * @param future
+     *            The result of preprocessing the chunk.
+     * @param written
+     *            The last chunk written.
+     * @param writer
+     *            The preprocessed logging destination.
+     * @return The chunk written.
+     * @throws IOException
+     *             If the preprocessed logging cannot be written.
+     */
+    private PreprocessChunk write(PreprocessChunk chunk, Future<PreprocessChunk> future, PreprocessChunk written,
+            Writer writer) throws IOException {
+        boolean done = false;
+        try {
+            future.get();
+            done = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Preprocess again in order
+        }
+        preprocessChunks++;
+        boolean started = written.entangledLogLines.isEmpty() && chunk.startContext.equals(written.context);
+        if (!started && chunk.beginningOfEventIgnored && written.entangledLogLines.isEmpty()) {
+            PreprocessContext context = new PreprocessContext(written.context);
+            context.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            started = chunk.startContext.equals(context);
+        }
+        if (done && started) {
+            if (chunk.priorLogEntry == null) {
+                chunk.priorLogEntry = written.priorLogEntry;
+            } else {
+                if (chunk.beginningOfEvent && !written.priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                    writer.write(Constants.LINE_SEPARATOR);
+                }
+                writer.write(chunk.preprocessedLogging.toString());
+            }
+        } else {
+            preprocessChunksRedone++;
+            PreprocessChunk inOrder = new PreprocessChunk(chunk.logLines, chunk.priorLogLine, chunk.jvmStartDate,
+                    new PreprocessContext(written.context), new ArrayList<String>(written.entangledLogLines),
+                    written.priorLogEntry);
+            inOrder.nextLogLine = chunk.nextLogLine;
+            inOrder.preprocess(writer);
+            chunk = inOrder;
+        }
+        Iterator<Analysis> iterator = chunk.analysis.iterator();
+        while (iterator.hasNext()) {
+            Analysis analysis = iterator.next();
+            if (!jvmDao.getAnalysis().contains(analysis)) {
+                jvmDao.getAnalysis().add(analysis);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * Open a log file for reading log lines. Gzip compressed log files (identified by their magic bytes) are
+     * decompressed as they are read on a separate thread. Zstandard compressed log files are rejected. Large
+     * uncompressed log files are read from memory mapped windows, smaller ones are streamed.
+     * 
+     * @param logFile
+     *            The log file.
+     * @return The log line source.
+     * @throws IOException
+     *             If the log file cannot be opened or its compression format is not supported.
+     */
+    LogLineSource openLogFile(File logFile) throws IOException {
+        byte[] magic = readMagic(logFile);
+        if (startsWith(magic, GZIP_MAGIC)) {
+            InputStream in = new GZIPInputStream(new FileInputStream(logFile), ReadAheadInputStream.DEFAULT_CHUNK_SIZE);
+            return new LogLineReader(new ReadAheadInputStream(in), Charset.defaultCharset());
+        }
+        if (startsWith(magic, ZSTD_MAGIC)) {
+            throw new IOException("Zstandard compressed logging not supported (decompress with zstd -d): " + logFile);
+        }
+        if (logFile.length() >= mappedLogFileSize) {
+            return new MappedLogLineReader(logFile, Charset.defaultCharset());
+        }
+        return new LogLineReader(new FileInputStream(logFile), Charset.defaultCharset());
+    }
+
+    /**
+     * @param logFile
+     *            The log file.
+     * @return The first bytes of the log file (fewer if the log file is shorter).
+     * @throws IOException
+     *             If the log file cannot be read.
+     */
+    private static byte[] readMagic(File logFile) throws IOException {
+        byte[] magic = new byte[ZSTD_MAGIC.length];
+        int length = 0;
+        InputStream in = new FileInputStream(logFile);
+        try {
+            int read = in.read(magic, 0, magic.length);
+            while (read > 0) {
+                length += read;
+                read = in.read(magic, length, magic.length - length);
+            }
+        } finally {
+            in.close();
+        }
+        return Arrays.copyOf(magic, length);
+    }
+
+    /**
+     * @param bytes
+     *            The bytes.
+     * @param prefix
+     *            The prefix.
+     * @return true if the bytes start with the prefix, false otherwise.
+     */
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param logLineReader
+     *            The log line reader.
+     * @return The next log line, or null at the end of the log.
+     * @throws IOException
+     *             If the log cannot be read.
+     */
+    private static String readLogLine(LogLineSource logLineReader) throws IOException {
+        CharSequence logLine = logLineReader.readLine();
+        return logLine == null ? null : logLine.toString();
     }
 
     /**
@@ -245,6 +826,9 @@ public class GcManager {
      * The next log line is needed to distinguish between truncated and split logging. A truncated log entry can look
      * exactly the same as the initial line of split logging.
      * 
+     * Throwaway log lines are identified on the log lines as read, and only the log lines that are not thrown away are
+     * converted to a <code>String</code> to be preprocessed.
+     * 
      * @param currentLogLine
      *            The current log line.
      * @param priorLogLine
@@ -257,21 +841,85 @@ public class GcManager {
      *            Log lines mixed in with other logging events.
      * @param context
      *            Information to make preprocessing decisions.
+     * @param analysis
+     *            The analysis identified while preprocessing.
      * @return The preprocessed log line, or null if it was thrown away.
      */
-    private String getPreprocessedLogEntry(String currentLogLine, String priorLogLine, String nextLogLine,
-            Date jvmStartDate, List<String> entangledLogLines, Set<String> context) {
-
-        String preprocessedLogLine = null;
+    private String getPreprocessedLogEntry(CharSequence currentLogLine, CharSequence priorLogLine,
+            CharSequence nextLogLine, Date jvmStartDate, List<String> entangledLogLines, PreprocessContext context,
+            List<Analysis> analysis) {
 
         if (currentLogLine != null)
 
             // Convert datestamp to timestamp.
             if (jvmStartDate != null && DateStampPreprocessAction.match(currentLogLine)) {
-                DateStampPreprocessAction action = new DateStampPreprocessAction(currentLogLine, jvmStartDate);
+                DateStampPreprocessAction action = new DateStampPreprocessAction(currentLogLine.toString(),
+                        jvmStartDate);
                 currentLogLine = action.getLogEntry();
             }
 
+        LogEventType throwAwayEventType = JdkUtil.identifyThrowAwayEventType(currentLogLine);
+        if (throwAwayEventType != LogEventType.UNKNOWN) {
+            // Analysis
+            Analysis eventAnalysis = null;
+            switch (throwAwayEventType) {
+            case CLASS_UNLOADING:
+                eventAnalysis = Analysis.WARN_TRACE_CLASS_UNLOADING;
+                break;
+            case HEAP_AT_GC:
+                eventAnalysis = Analysis.WARN_PRINT_HEAP_AT_GC;
+                break;
+            case CLASS_HISTOGRAM:
+                eventAnalysis = Analysis.WARN_CLASS_HISTOGRAM;
+                break;
+            case FLS_STATISTICS:
+                eventAnalysis = Analysis.INFO_PRINT_FLS_STATISTICS;
+                break;
+            case TENURING_DISTRIBUTION:
+                eventAnalysis = Analysis.WARN_PRINT_TENURING_DISTRIBUTION;
+                break;
+            case APPLICATION_CONCURRENT_TIME:
+                eventAnalysis = Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME;
+                break;
+            case APPLICATION_LOGGING:
+                eventAnalysis = Analysis.WARN_APPLICATION_LOGGING;
+                break;
+            case REFERENCE_GC:
+                eventAnalysis = Analysis.WARN_PRINT_REFERENCE_GC_ENABLED;
+                break;
+            default:
+                break;
+            }
+            if (eventAnalysis != null && !analysis.contains(eventAnalysis)) {
+                analysis.add(eventAnalysis);
+            }
+            return null;
+        }
+
+        return getPreprocessedLogEntry(currentLogLine.toString(), priorLogLine == null ? null : priorLogLine.toString(),
+                nextLogLine == null ? null : nextLogLine.toString(), entangledLogLines, context);
+    }
+
+    /**
+     * Determine the preprocessed log entry for a log line that is not thrown away.
+     * 
+     * @param currentLogLine
+     *            The current log line.
+     * @param priorLogLine
+     *            The previous log line.
+     * @param nextLogLine
+     *            The next log line.
+     * @param entangledLogLines
+     *            Log lines mixed in with other logging events.
+     * @param context
+     *            Information to make preprocessing decisions.
+     * @return The preprocessed log line, or null if it was thrown away.
+     */
+    private String getPreprocessedLogEntry(String currentLogLine, String priorLogLine, String nextLogLine,
+            List<String> entangledLogLines, PreprocessContext context) {
+
+        String preprocessedLogLine = null;
+
         /*
          * Other preprocessing.
          * 
@@ -281,130 +929,53 @@ public class GcManager {
          * , 0.0209631 secs]
          */
 
-        if (isThrowawayEvent(currentLogLine)) {
-            // Analysis
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_TRACE_CLASS_UNLOADING)) {
-                if (ClassUnloadingEvent.match(currentLogLine)
-                        && !jvmDao.getAnalysis().contains(Analysis.WARN_TRACE_CLASS_UNLOADING)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_TRACE_CLASS_UNLOADING);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_HEAP_AT_GC)) {
-                if (HeapAtGcEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_HEAP_AT_GC);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_CLASS_HISTOGRAM)) {
-                if (ClassHistogramEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_CLASS_HISTOGRAM);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.INFO_PRINT_FLS_STATISTICS)) {
-                if (FlsStatisticsEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.INFO_PRINT_FLS_STATISTICS);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_TENURING_DISTRIBUTION)) {
-                if (TenuringDistributionEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_TENURING_DISTRIBUTION);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME)) {
-                if (ApplicationConcurrentTimeEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_GC_APPLICATION_CONCURRENT_TIME);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_APPLICATION_LOGGING)) {
-                if (ApplicationLoggingEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_APPLICATION_LOGGING);
-                }
-            }
-            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_REFERENCE_GC_ENABLED)) {
-                if (ReferenceGcEvent.match(currentLogLine)) {
-                    jvmDao.getAnalysis().add(Analysis.WARN_PRINT_REFERENCE_GC_ENABLED);
-                }
-            }
-            currentLogLine = null;
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
-                && ShenandoahPreprocessAction.match(currentLogLine)) {
+        if (!context.containsAny(SHENANDOAH_EXCLUDED) && ShenandoahPreprocessAction.match(currentLogLine)) {
             ShenandoahPreprocessAction action = new ShenandoahPreprocessAction(priorLogLine, currentLogLine,
                     nextLogLine, entangledLogLines, context);
             if (action.getLogEntry() != null) {
                 preprocessedLogLine = action.getLogEntry();
             }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && UnifiedPreprocessAction.match(currentLogLine)) {
+        } else if (!context.containsAny(UNIFIED_EXCLUDED) && UnifiedPreprocessAction.match(currentLogLine)) {
             UnifiedPreprocessAction action = new UnifiedPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
             if (action.getLogEntry() != null) {
                 preprocessedLogLine = action.getLogEntry();
             }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(UnifiedPreprocessAction.TOKEN)
-                && ParallelPreprocessAction.match(currentLogLine)) {
+        } else if (!context.containsAny(PARALLEL_EXCLUDED) && ParallelPreprocessAction.match(currentLogLine)) {
             ParallelPreprocessAction action = new ParallelPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
             if (action.getLogEntry() != null) {
                 preprocessedLogLine = action.getLogEntry();
             }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
+        } else if (!context.containsAny(CMS_EXCLUDED)
                 && CmsPreprocessAction.match(currentLogLine, priorLogLine, nextLogLine)) {
             CmsPreprocessAction action = new CmsPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
             if (action.getLogEntry() != null) {
                 preprocessedLogLine = action.getLogEntry();
             }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(SerialPreprocessAction.TOKEN)
-                && !context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
+        } else if (!context.containsAny(APPLICATION_CONCURRENT_TIME_EXCLUDED)
                 && ApplicationConcurrentTimePreprocessAction.match(currentLogLine, priorLogLine)) {
             ApplicationConcurrentTimePreprocessAction action = new ApplicationConcurrentTimePreprocessAction(
                     currentLogLine, context);
             if (action.getLogEntry() != null) {
                 preprocessedLogLine = action.getLogEntry();
             }
-        } else if (!context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(CmsPreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
+        } else if (!context.containsAny(APPLICATION_STOPPED_TIME_EXCLUDED)
                 && ApplicationStoppedTimePreprocessAction.match(currentLogLine, priorLogLine)) {
             ApplicationStoppedTimePreprocessAction action = new ApplicationStoppedTimePreprocessAction(currentLogLine,
                     context);
             if (action.getLogEntry() != null) {
                 preprocessedLogLine = action.getLogEntry();
             }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(SerialPreprocessAction.TOKEN) && !context.contains(ParallelPreprocessAction.TOKEN)
-                && !context.contains(CmsPreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN)
+        } else if (!context.containsAny(G1_EXCLUDED)
                 && G1PreprocessAction.match(currentLogLine, priorLogLine, nextLogLine)) {
             G1PreprocessAction action = new G1PreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
             if (action.getLogEntry() != null) {
                 preprocessedLogLine = action.getLogEntry();
             }
-        } else if (!context.contains(ApplicationStoppedTimePreprocessAction.TOKEN)
-                && !context.contains(ApplicationConcurrentTimePreprocessAction.TOKEN)
-                && !context.contains(ParallelPreprocessAction.TOKEN) && !context.contains(CmsPreprocessAction.TOKEN)
-                && !context.contains(G1PreprocessAction.TOKEN) && !context.contains(ShenandoahPreprocessAction.TOKEN)
-                && !context.contains(UnifiedPreprocessAction.TOKEN) && SerialPreprocessAction.match(currentLogLine)) {
+        } else if (!context.containsAny(SERIAL_EXCLUDED) && SerialPreprocessAction.match(currentLogLine)) {
             SerialPreprocessAction action = new SerialPreprocessAction(priorLogLine, currentLogLine, nextLogLine,
                     entangledLogLines, context);
             if (action.getLogEntry() != null) {
@@ -430,7 +1001,7 @@ public class GcManager {
             } else {
                 preprocessedLogLine = preprocessedLogLine + Constants.LINE_SEPARATOR + currentLogLine;
             }
-            context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
+            context.add(PreprocessContext.BEGINNING_OF_EVENT);
         }
 
         return preprocessedLogLine;
@@ -450,391 +1021,749 @@ public class GcManager {
             return;
         }
 
+        ParseCache parseCache = getParseCache(logFile, null, false, reorder);
+        if (readParseCache(parseCache)) {
+            return;
+        }
+
         // Parse gc log file
-        BufferedReader bufferedReader = null;
+        LogLineSource logLineReader = null;
         try {
-            bufferedReader = new BufferedReader(new FileReader(logFile));
-            String logLine = bufferedReader.readLine();
+            logLineReader = openLogFile(logFile);
+            // Log entries can only be read back from an uncompressed log file
+            int logFileId = -1;
+            if (lowMemory && !startsWith(readMagic(logFile), GZIP_MAGIC)) {
+                logFileId = jvmDao.addLogFile(logFile, Charset.defaultCharset());
+            }
+            LogLineBuffer logLine = new LogLineBuffer().set(logLineReader.readLine());
             BlockingEvent priorEvent = null;
+            IdentifyOrder identifyOrder = new IdentifyOrder();
             while (logLine != null) {
-                // If event has no timestamp, use most recent blocking timestamp in database.
-                LogEvent event = JdkUtil.parseLogLine(logLine);
-                if (event instanceof BlockingEvent) {
+                // Throwaway and unidentified log lines that are not kept are rejected without creating a String
+                LogEventType eventType = JdkUtil.identifyThrowAwayOrUnknownEventType(logLine,
+                        jvmDao.getCollectorFamilies(), identifyOrder);
+                if (eventType == null) {
+                    String logEntry = logLine.toString();
+                    LogEvent event = JdkUtil.parseLogLine(logEntry, jvmDao.getCollectorFamilies(), identifyOrder);
+                    if (logFileId >= 0 && event instanceof BlockingEvent && event.getLogEntry() == logEntry) {
+                        // The log entry is the log line as read
+                        event = store(event, priorEvent, reorder, logFileId, logLineReader.getLinePosition(),
+                                logLineReader.getLineByteCount());
+                    } else {
+                        event = store(event, priorEvent, reorder);
+                    }
+                    if (event instanceof BlockingEvent) {
+                        priorEvent = (BlockingEvent) event;
+                    } else if (event instanceof UnknownEvent) {
+                        eventType = LogEventType.UNKNOWN;
+                    }
+                } else if (eventType == LogEventType.UNKNOWN
+                        && (jvmDao.getUnidentifiedLogLines().size() < Main.REJECT_LIMIT
+                                || DateStampPreprocessAction.match(logLine))) {
+                    store(new UnknownEvent(logLine.toString()), priorEvent, reorder);
+                } else {
+                    storeEventType(eventType);
+                }
 
-                    // Verify logging in correct order. If overridden, logging will be stored in database and reordered
-                    // by timestamp for analysis.
-                    if (!reorder && priorEvent != null && event.getTimestamp() < priorEvent.getTimestamp()) {
-                        throw new TimeWarpException("Logging reversed: " + Constants.LINE_SEPARATOR
-                                + priorEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
+                logLine = logLine.set(logLineReader.readLine());
+
+                // Check for partial last line
+                if (logLine == null) {
+                    if (eventType == LogEventType.UNKNOWN && jvmDao.getUnidentifiedLogLines().size() == 1) {
+                        jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
                     }
+                }
+            }
+            writeParseCache(parseCache);
+        } catch (
 
-                    jvmDao.addBlockingEvent((BlockingEvent) event);
-
-                    // Analysis
-
-                    // 1) Explicit GC
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)) {
-                            CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-
-                            switch (collectorFamily) {
-                            case G1:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1)
-                                        && event instanceof G1FullGCEvent) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1);
-                                } else if (!jvmDao.getAnalysis()
-                                        .contains(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK)
-                                        && event instanceof G1YoungInitialMarkEvent) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK);
-                                }
-                                break;
-                            case CMS:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS);
-                                }
-                                break;
-                            case PARALLEL:
-                                if (event instanceof ParallelSerialOldEvent) {
-                                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL);
-                                    }
-                                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
-                                    }
-                                } else if (event instanceof ParallelCompactingOldEvent) {
-                                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_PARALLEL)) {
-                                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_PARALLEL);
-                                    }
-                                }
-                                break;
-                            case SERIAL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL)) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL);
-                                }
-                                break;
-                            case UNKNOWN:
-                                if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_UNKNOWN)) {
-                                    jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
-                                }
-                                break;
-                            default:
-                                break;
+        FileNotFoundException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            // Close streams
+            if (logLineReader != null) {
+                try {
+                    logLineReader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+    }
+
+    /**
+     * @param logFile
+     *            The garbage collection log file.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not the logging is preprocessed.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @return The cache of the data parsed from the log file with the options, or null if there is no cache directory.
+     */
+    private ParseCache getParseCache(File logFile, Date jvmStartDate, boolean preprocess, boolean reorder) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+        // The options that change what is parsed. Report options (e.g. the throughput threshold) are applied after.
+        String parseOptions = "preprocess=" + preprocess + ",jvmStartDate="
+                + (jvmStartDate == null ? "" : Long.toString(jvmStartDate.getTime())) + ",reorder=" + reorder
+                + ",lowMemory=" + lowMemory + ",budget=" + RegExUtil.getMatchBudget();
+        try {
+            return new ParseCache(cacheDirectory, logFile, parseOptions);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Read the data parsed from a log file from the cache.
+     * 
+     * @param parseCache
+     *            The cache, or null for none.
+     * @return true if the data was read from the cache, false if the log file needs to be parsed.
+     */
+    private boolean readParseCache(ParseCache parseCache) {
+        if (parseCache == null) {
+            return false;
+        }
+        try {
+            DataInputStream in = parseCache.read();
+            if (in == null) {
+                return false;
+            }
+            try {
+                jvmDao.read(in);
+                preprocessed = in.readBoolean();
+                lastLogLineUnprocessed = ParseCache.readString(in);
+            } finally {
+                in.close();
+            }
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            // Start over and parse the log file, which replaces the unreadable cache file
+            parseCache.delete();
+            jvmDao = new JvmDao();
+            preprocessed = false;
+            lastLogLineUnprocessed = null;
+            return false;
+        }
+    }
+
+    /**
+     * Write the data parsed from a log file to the cache.
+     * 
+     * @param parseCache
+     *            The cache, or null for none.
+     */
+    private void writeParseCache(ParseCache parseCache) {
+        if (parseCache == null) {
+            return;
+        }
+        DataOutputStream out = null;
+        try {
+            out = parseCache.write();
+            jvmDao.write(out);
+            out.writeBoolean(preprocessed);
+            ParseCache.writeString(out, lastLogLineUnprocessed);
+            parseCache.commit(out);
+        } catch (IOException e) {
+            e.printStackTrace();
+            if (out != null) {
+                parseCache.discard(out);
+            }
+        }
+    }
+
+    /**
+     * Store the logging of a JVM run spread across a set of rotated log files (e.g.
+     * <code>-XX:+UseGCLogFileRotation</code> or <code>-Xlog:gc*:file=gc.log::filecount=5</code>) as a single JVM
+     * run.
+     * 
+     * @param logFiles
+     *            The garbage collection log files, in any order.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param threads
+     *            The number of log files to read at the same time.
+     */
+    public void storeRotated(List<File> logFiles, boolean reorder, int threads) {
+        storeRotated(logFiles, null, false, reorder, threads);
+    }
+
+    /**
+     * Preprocess and store the logging of a JVM run spread across a set of rotated log files as a single JVM run.
+     * 
+     * @param logFiles
+     *            Raw garbage collection log files, in any order.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param threads
+     *            The number of log files to read at the same time.
+     */
+    public void preprocessAndStoreRotated(List<File> logFiles, Date jvmStartDate, boolean reorder, int threads) {
+        storeRotated(logFiles, jvmStartDate, true, reorder, threads);
+    }
+
+    /**
+     * Store the logging of a set of rotated log files.
+     * 
+     * The log files are ordered by their first timestamp (the JVM uptime, which continues across rotated log files),
+     * determined by reading each log file up to its first event with a timestamp. Their events are then merged in
+     * timestamp order: the next event stored is the earliest of the next events of the log files. Only blocking and
+     * stopped time events have reliable timestamps. Other events (e.g. the header, concurrent events) keep their place
+     * after the event before them in their log file, and logging before the first timestamp of a log file (e.g. the
+     * header) is stored just before it.
+     * 
+     * Each log file is read, preprocessed, and parsed on its own thread, opened when the merge reaches its first
+     * timestamp. Up to <code>threads</code> log files are read ahead of the merge. Rotated log files do not normally
+     * overlap, so that is the number of log files open at the same time, but log files whose logging overlaps are all
+     * read at the same time to merge them.
+     * 
+     * @param logFiles
+     *            The garbage collection log files, in any order.
+     * @param jvmStartDate
+     *            The date and time the JVM was started.
+     * @param preprocess
+     *            Whether or not to preprocess the logging.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param threads
+     *            The number of log files to read at the same time.
+     */
+    private void storeRotated(List<File> logFiles, Date jvmStartDate, boolean preprocess, boolean reorder,
+            int threads) {
+        if (logFiles == null)
+            throw new IllegalArgumentException("logFiles == null!!");
+        if (threads < 1)
+            throw new IllegalArgumentException("threads < 1!!");
+
+        // Threads are only started for the log files open at the same time
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            // Order the log files by their first timestamp
+            List<RotatedLogFile> rotatedLogFiles = new ArrayList<RotatedLogFile>();
+            Iterator<File> iterator = logFiles.iterator();
+            while (iterator.hasNext()) {
+                RotatedLogFile rotatedLogFile = new RotatedLogFile(iterator.next(), jvmStartDate, preprocess);
+                rotatedLogFile.probe();
+                rotatedLogFiles.add(rotatedLogFile);
+            }
+            Collections.sort(rotatedLogFiles, new Comparator<RotatedLogFile>() {
+                public int compare(RotatedLogFile rotatedLogFile1, RotatedLogFile rotatedLogFile2) {
+                    if (rotatedLogFile1.firstTimestamp != rotatedLogFile2.firstTimestamp) {
+                        return rotatedLogFile1.firstTimestamp < rotatedLogFile2.firstTimestamp ? -1 : 1;
+                    }
+                    return rotatedLogFile1.logFile.getName().compareTo(rotatedLogFile2.logFile.getName());
+                }
+            });
+
+            // Merge the events of the log files by timestamp, and in log file order when the same
+            PriorityQueue<RotatedLogFile> merge = new PriorityQueue<RotatedLogFile>(Math.max(threads, 1),
+                    new Comparator<RotatedLogFile>() {
+                        public int compare(RotatedLogFile rotatedLogFile1, RotatedLogFile rotatedLogFile2) {
+                            if (rotatedLogFile1.timestamp != rotatedLogFile2.timestamp) {
+                                return rotatedLogFile1.timestamp < rotatedLogFile2.timestamp ? -1 : 1;
                             }
+                            return rotatedLogFile1.index - rotatedLogFile2.index;
                         }
+                    });
+            // The next log file to open
+            int next = 0;
+            BlockingEvent priorEvent = null;
+            LogEvent event = null;
+            while (true) {
+                // Open the log files the merge has reached, and read ahead up to the number of threads
+                while (next < rotatedLogFiles.size() && (merge.size() < threads
+                        || rotatedLogFiles.get(next).firstTimestamp < merge.peek().timestamp)) {
+                    RotatedLogFile rotatedLogFile = rotatedLogFiles.get(next);
+                    rotatedLogFile.index = next;
+                    rotatedLogFile.open(executor);
+                    rotatedLogFile.next();
+                    if (rotatedLogFile.event != null) {
+                        merge.add(rotatedLogFile);
                     }
+                    next++;
+                }
+                if (merge.isEmpty()) {
+                    break;
+                }
+                RotatedLogFile rotatedLogFile = merge.poll();
+                event = store(rotatedLogFile.event, priorEvent, reorder);
+                if (event instanceof BlockingEvent) {
+                    priorEvent = (BlockingEvent) event;
+                }
+                rotatedLogFile.next();
+                if (rotatedLogFile.event != null) {
+                    merge.add(rotatedLogFile);
+                }
+            }
+
+            // Check for partial last line
+            if (event instanceof UnknownEvent && jvmDao.getUnidentifiedLogLines().size() == 1) {
+                jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
+            }
+
+            for (int i = 0; i < rotatedLogFiles.size(); i++) {
+                RotatedLogFile rotatedLogFile = rotatedLogFiles.get(i);
+                Iterator<Analysis> analysis = rotatedLogFile.analysis.iterator();
+                while (analysis.hasNext()) {
+                    jvmDao.addAnalysis(analysis.next());
+                }
+                if (preprocess && rotatedLogFile.lastLogLine != null) {
+                    lastLogLineUnprocessed = rotatedLogFile.lastLogLine;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+            if (preprocess) {
+                preprocessed = true;
+            }
+        }
+    }
+
+    /**
+     * @param event
+     *            The event.
+     * @return true if the event has a reliable timestamp for merging the events of rotated log files, false otherwise.
+     */
+    private static boolean isTimestamped(LogEvent event) {
+        return event instanceof BlockingEvent || event instanceof ApplicationStoppedTimeEvent;
+    }
+
+    /**
+     * Parse a log line and store the event in the data store.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param priorEvent
+     *            The previous blocking event, or null if none.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param identifyOrder
+     *            The order event types are tested in, adapted to the log being parsed.
+     * @return The event.
+     */
+    private LogEvent store(String logLine, BlockingEvent priorEvent, boolean reorder, IdentifyOrder identifyOrder) {
+        return store(JdkUtil.parseLogLine(logLine, jvmDao.getCollectorFamilies(), identifyOrder), priorEvent,
+                reorder);
+    }
+
+    /**
+     * Store an event in the data store.
+     * 
+     * @param event
+     *            The event.
+     * @param priorEvent
+     *            The previous blocking event, or null if none.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @return The event.
+     */
+    private LogEvent store(LogEvent event, BlockingEvent priorEvent, boolean reorder) {
+        return store(event, priorEvent, reorder, -1, 0, 0);
+    }
+
+    /**
+     * Store an event in the data store.
+     * 
+     * @param event
+     *            The event.
+     * @param priorEvent
+     *            The previous blocking event, or null if none.
+     * @param reorder
+     *            Whether or not to allow logging to be reordered by timestamp.
+     * @param logFileId
+     *            The id of the log file a blocking event log entry is read back from, or -1 to keep the log entry in
+     *            memory.
+     * @param position
+     *            The position in the log file of the first byte of the log entry.
+     * @param byteCount
+     *            The number of bytes in the log entry.
+     * @return The event.
+     */
+    private LogEvent store(LogEvent event, BlockingEvent priorEvent, boolean reorder, int logFileId, long position,
+            int byteCount) {
+        // If event has no timestamp, use most recent blocking timestamp in database.
+        if (event instanceof BlockingEvent) {
+
+            // Verify logging in correct order. If overridden, logging will be stored in database and reordered
+            // by timestamp for analysis.
+            if (!reorder && priorEvent != null && event.getTimestamp() < priorEvent.getTimestamp()) {
+                throw new TimeWarpException("Logging reversed: " + Constants.LINE_SEPARATOR
+                        + priorEvent.getLogEntry() + Constants.LINE_SEPARATOR + event.getLogEntry());
+            }
+
+            jvmDao.addBlockingEvent((BlockingEvent) event, logFileId, position, byteCount);
+
+            // Analysis
 
-                    // 2) Serial collections not caused by explicit GC
-                    if (event instanceof SerialCollection) {
-                        String trigger = null;
-                        if (event instanceof TriggerData) {
-                            trigger = ((TriggerData) event).getTrigger();
+            // 1) Explicit GC
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_SYSTEM_GC)) {
+                    CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+
+                    switch (collectorFamily) {
+                    case G1:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1)
+                                && event instanceof G1FullGCEvent) {
+                            jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_G1);
+                        } else if (!jvmDao.getAnalysis()
+                                .contains(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK)
+                                && event instanceof G1YoungInitialMarkEvent) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_G1_YOUNG_INITIAL_MARK);
                         }
-                        CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-
-                        if (trigger == null || (!trigger.matches(JdkRegEx.TRIGGER_SYSTEM_GC)
-                                && !trigger.matches(JdkRegEx.TRIGGER_CLASS_HISTOGRAM)
-                                && !trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)
-                                && !trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC))) {
-                            switch (collectorFamily) {
-                            case G1:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_G1);
-                                }
-                                break;
-                            case CMS:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_CMS)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_CMS);
-                                }
-                                break;
-                            case PARALLEL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
-                                }
-                                break;
-                            case SERIAL:
-                                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC)) {
-                                    jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC);
-                                }
-                                break;
-                            case UNKNOWN:
-                                break;
-                            default:
-                                break;
-                            }
+                        break;
+                    case CMS:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_EXPLICIT_GC_SERIAL_CMS);
                         }
-                    }
-
-                    // 3) CMS concurrent mode failure
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
-                        if (event instanceof CmsSerialOldEvent) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_FAILURE)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
+                        break;
+                    case PARALLEL:
+                        if (event instanceof ParallelSerialOldEvent) {
+                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL_PARALLEL);
                             }
-                        }
-                    }
-
-                    // 4) CMS concurrent mode interrupted
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
-                        if (event instanceof CmsSerialOldEvent) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_CONCURRENT_MODE_INTERRUPTED)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
+                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
                             }
-                        }
-                    }
-
-                    // 5) CMS incremental mode
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INCREMENTAL_MODE)) {
-                        if (event instanceof CmsIncrementalModeCollector) {
-                            if (((CmsIncrementalModeCollector) event).isIncrementalMode()) {
-                                jvmDao.addAnalysis(Analysis.WARN_CMS_INCREMENTAL_MODE);
+                        } else if (event instanceof ParallelCompactingOldEvent) {
+                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_PARALLEL)) {
+                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_PARALLEL);
                             }
                         }
-                    }
-
-                    // 6) Heap dump initiated gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC)) {
-                                jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
-                            }
+                        break;
+                    case SERIAL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_SERIAL)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_SERIAL);
                         }
-                    }
-
-                    // 7) Heap inspection initiated gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)) {
-                                jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
-                            }
+                        break;
+                    case UNKNOWN:
+                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_UNKNOWN)) {
+                            jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_UNKNOWN);
                         }
+                        break;
+                    default:
+                        break;
                     }
+                }
+            }
 
-                    // 8) Metaspace allocation failure
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
-                            }
+            // 2) Serial collections not caused by explicit GC
+            if (event instanceof SerialCollection) {
+                String trigger = null;
+                if (event instanceof TriggerData) {
+                    trigger = ((TriggerData) event).getTrigger();
+                }
+                CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+
+                if (trigger == null || (!RegExUtil.matches(trigger, JdkRegEx.TRIGGER_SYSTEM_GC)
+                        && !RegExUtil.matches(trigger, JdkRegEx.TRIGGER_CLASS_HISTOGRAM)
+                        && !RegExUtil.matches(trigger, JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)
+                        && !RegExUtil.matches(trigger, JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC))) {
+                    switch (collectorFamily) {
+                    case G1:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_G1)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_G1);
                         }
+                        break;
+                    case CMS:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_CMS)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_CMS);
+                        }
+                        break;
+                    case PARALLEL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC_PARALLEL)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC_PARALLEL);
+                        }
+                        break;
+                    case SERIAL:
+                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_SERIAL_GC)) {
+                            jvmDao.addAnalysis(Analysis.ERROR_SERIAL_GC);
+                        }
+                        break;
+                    case UNKNOWN:
+                        break;
+                    default:
+                        break;
                     }
+                }
+            }
 
-                    // 9) JVM TI explicit gc
-                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_JVMTI)) {
-                        if (event instanceof TriggerData) {
-                            String trigger = ((TriggerData) event).getTrigger();
-                            if (trigger != null
-                                    && trigger.matches(JdkRegEx.TRIGGER_JVM_TI_FORCED_GAREBAGE_COLLECTION)) {
-                                jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
-                            }
-                        }
+            // 3) CMS concurrent mode failure
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE)) {
+                if (event instanceof CmsSerialOldEvent) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null
+                            && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_CONCURRENT_MODE_FAILURE)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_FAILURE);
                     }
+                }
+            }
 
-                    // 10) G1 evacuation failure
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && (trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED)
-                                || trigger.matches(JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW))) {
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
-                            }
-                        }
+            // 4) CMS concurrent mode interrupted
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED)) {
+                if (event instanceof CmsSerialOldEvent) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null
+                            && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_CONCURRENT_MODE_INTERRUPTED)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_CONCURRENT_MODE_INTERRUPTED);
                     }
+                }
+            }
 
-                    // 11) CMS promotion failure
-                    if (event instanceof TriggerData) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_PROMOTION_FAILED)) {
-                            CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
-                            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
-                                    && collectorFamily.equals(CollectorFamily.CMS)) {
-                                jvmDao.addAnalysis(Analysis.ERROR_CMS_PROMOTION_FAILED);
-                            }
-                        }
+            // 5) CMS incremental mode
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INCREMENTAL_MODE)) {
+                if (event instanceof CmsIncrementalModeCollector) {
+                    if (((CmsIncrementalModeCollector) event).isIncrementalMode()) {
+                        jvmDao.addAnalysis(Analysis.WARN_CMS_INCREMENTAL_MODE);
                     }
+                }
+            }
 
-                    // 12) -XX:+PrintGCCause is essential for troubleshooting G1 full GCs
-                    if (event instanceof G1FullGCEvent) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger == null) {
-                            if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
-                                jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED);
-                            }
-                        }
+            // 6) Heap dump initiated gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_DUMP_INITIATED_GC)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null
+                            && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_HEAP_DUMP_INITIATED_GC)) {
+                        jvmDao.addAnalysis(Analysis.WARN_HEAP_DUMP_INITIATED_GC);
                     }
+                }
+            }
 
-                    // 13) CMS_REMARK class unloading
-                    if (event instanceof CmsRemarkEvent && !((CmsRemarkEvent) event).isClassUnloading()
-                            && !jvmDao.getAnalysis().contains(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
-                        jvmDao.addAnalysis(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
+            // 7) Heap inspection initiated gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null
+                            && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_HEAP_INSPECTION_INITIATED_GC)) {
+                        jvmDao.addAnalysis(Analysis.WARN_HEAP_INSPECTION_INITIATED_GC);
                     }
+                }
+            }
 
-                    // 14) Humongous allocation
-                    if (event instanceof G1Collector && event instanceof TriggerData
-                            && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
-                        String trigger = ((TriggerData) event).getTrigger();
-                        if (trigger != null && trigger.matches(JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION)) {
-                            jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
-                        }
+            // 8) Metaspace allocation failure
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_LAST_DITCH_COLLECTION)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_METASPACE_ALLOCATION_FAILURE);
                     }
+                }
+            }
 
-                    // 15) Inverted parallelism
-                    if (event instanceof ParallelEvent && event instanceof TimesData) {
-                        if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
-                                && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
-                            jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
-                            if (event instanceof TimesData && ((TimesData) event).getTimeUser() > 0
-                                    && JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
-                                jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
-                                if (jvmDao.getWorstInvertedParallelismEvent() == null) {
-                                    jvmDao.setWorstInvertedParallelismEvent(event);
-                                } else {
-                                    if (((TimesData) event)
-                                            .getParallelism() < ((TimesData) jvmDao.getWorstInvertedParallelismEvent())
-                                                    .getParallelism()) {
-                                        // Update lowest "low"
-                                        jvmDao.setWorstInvertedParallelismEvent(event);
-                                    }
-                                }
-                            }
-                        }
+            // 9) JVM TI explicit gc
+            if (!jvmDao.getAnalysis().contains(Analysis.WARN_EXPLICIT_GC_JVMTI)) {
+                if (event instanceof TriggerData) {
+                    String trigger = ((TriggerData) event).getTrigger();
+                    if (trigger != null
+                            && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_JVM_TI_FORCED_GAREBAGE_COLLECTION)) {
+                        jvmDao.addAnalysis(Analysis.WARN_EXPLICIT_GC_JVMTI);
                     }
+                }
+            }
 
-                    // 16) Check for CMS initial mark low parallelism
-                    if (event instanceof CmsInitialMarkEvent && ((TimesData) event).getTimeUser() > 0
-                            && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
-                            && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM)) {
-                            jvmDao.addAnalysis(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM);
-                        }
+            // 10) G1 evacuation failure
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && (RegExUtil.matches(trigger, JdkRegEx.TRIGGER_TO_SPACE_EXHAUSTED)
+                        || RegExUtil.matches(trigger, JdkRegEx.TRIGGER_TO_SPACE_OVERFLOW))) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_G1_EVACUATION_FAILURE)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_G1_EVACUATION_FAILURE);
                     }
+                }
+            }
 
-                    // 17) Check for CMS remark low parallelism
-                    if (event instanceof CmsRemarkEvent && ((TimesData) event).getTimeUser() > 0
-                            && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
-                            && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM)) {
-                            jvmDao.addAnalysis(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM);
-                        }
+            // 11) CMS promotion failure
+            if (event instanceof TriggerData) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_PROMOTION_FAILED)) {
+                    CollectorFamily collectorFamily = ((GcEvent) event).getCollectorFamily();
+                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PROMOTION_FAILED)
+                            && collectorFamily.equals(CollectorFamily.CMS)) {
+                        jvmDao.addAnalysis(Analysis.ERROR_CMS_PROMOTION_FAILED);
                     }
+                }
+            }
 
-                    // 18) Check for old JDKs using perm gen
-                    if (event instanceof PermData && event.getLogEntry() != null
-                            && event.getLogEntry().matches("^.*Perm.*$")) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
-                            jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
-                        }
+            // 12) -XX:+PrintGCCause is essential for troubleshooting G1 full GCs
+            if (event instanceof G1FullGCEvent) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger == null) {
+                    if (!jvmDao.getAnalysis().contains(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED)) {
+                        jvmDao.addAnalysis(Analysis.WARN_PRINT_GC_CAUSE_NOT_ENABLED);
                     }
+                }
+            }
 
-                    priorEvent = (BlockingEvent) event;
+            // 13) CMS_REMARK class unloading
+            if (event instanceof CmsRemarkEvent && !((CmsRemarkEvent) event).isClassUnloading()
+                    && !jvmDao.getAnalysis().contains(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED)) {
+                jvmDao.addAnalysis(Analysis.WARN_CMS_CLASS_UNLOADING_NOT_ENABLED);
+            }
 
-                } else if (event instanceof ApplicationStoppedTimeEvent) {
-                    jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
-                } else if (event instanceof HeaderCommandLineFlagsEvent) {
-                    jvmDao.setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
-                } else if (event instanceof HeaderMemoryEvent) {
-                    jvmDao.setMemory(((HeaderMemoryEvent) event).getLogEntry());
-                    BigDecimal size = new BigDecimal(((HeaderMemoryEvent) event).getPhysicalMemory());
-                    jvmDao.setPhysicalMemory(size.multiply(Constants.KILOBYTE).longValue());
-                    size = new BigDecimal(((HeaderMemoryEvent) event).getPhysicalMemoryFree());
-                    jvmDao.setPhysicalMemoryFree(size.multiply(Constants.KILOBYTE).longValue());
-                    size = new BigDecimal(((HeaderMemoryEvent) event).getSwap());
-                    jvmDao.setSwap(size.multiply(Constants.KILOBYTE).longValue());
-                    size = new BigDecimal(((HeaderMemoryEvent) event).getSwapFree());
-                    jvmDao.setSwapFree(size.multiply(Constants.KILOBYTE).longValue());
-                } else if (event instanceof HeaderVersionEvent) {
-                    jvmDao.setVersion(((HeaderVersionEvent) event).getLogEntry());
-                } else if (event instanceof GcOverheadLimitEvent) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED)) {
-                        jvmDao.getAnalysis().add(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED);
-                    }
-                } else if (event instanceof GcLockerEvent) {
-                    if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED)) {
-                        jvmDao.addAnalysis(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED);
-                    }
-                } else if (event instanceof ShenandoahConcurrentEvent) {
-                    if (((CombinedData) event).getCombinedOccupancyInit() > jvmDao.getMaxHeapOccupancyNonBlocking()) {
-                        jvmDao.setMaxHeapOccupancyNonBlocking(((CombinedData) event).getCombinedOccupancyInit());
-                    }
-                    if (((CombinedData) event).getCombinedSpace() > jvmDao.getMaxHeapSpaceNonBlocking()) {
-                        jvmDao.setMaxHeapSpaceNonBlocking(((CombinedData) event).getCombinedSpace());
-                    }
-                    if (((PermData) event).getPermOccupancyInit() > jvmDao.getMaxPermOccupancyNonBlocking()) {
-                        jvmDao.setMaxPermOccupancyNonBlocking(((PermData) event).getPermOccupancyInit());
-                    }
-                    if (((PermData) event).getPermSpace() > jvmDao.getMaxPermSpaceNonBlocking()) {
-                        jvmDao.setMaxPermSpaceNonBlocking(((PermData) event).getPermSpace());
-                    }
-                } else if (event instanceof UnknownEvent) {
-                    // Don't count reportable events with datestamp only as unidentified
-                    Date jvmStartDate = GcUtil.parseStartDateTime("2000-01-01 00:00:00,000");
-                    DateStampPreprocessAction preprocessAction = new DateStampPreprocessAction(logLine, jvmStartDate);
-                    LogEvent preprocessedEvent = null;
-                    if (preprocessAction.getLogEntry() != null) {
-                        preprocessedEvent = JdkUtil.parseLogLine(preprocessAction.getLogEntry());
-                    } //
-                    if (preprocessedEvent != null
-                            && JdkUtil.isReportable(LogEventType.valueOf(preprocessedEvent.getName()))) {
-                        if (!jvmDao.getAnalysis().contains(Analysis.ERROR_DATESTAMP_NO_TIMESTAMP)) {
-                            jvmDao.getAnalysis().add(Analysis.ERROR_DATESTAMP_NO_TIMESTAMP);
-                        }
-                    } else {
-                        if (jvmDao.getUnidentifiedLogLines().size() < Main.REJECT_LIMIT) {
-                            jvmDao.getUnidentifiedLogLines().add(logLine);
+            // 14) Humongous allocation
+            if (event instanceof G1Collector && event instanceof TriggerData
+                    && !jvmDao.getAnalysis().contains(Analysis.INFO_G1_HUMONGOUS_ALLOCATION)) {
+                String trigger = ((TriggerData) event).getTrigger();
+                if (trigger != null && RegExUtil.matches(trigger, JdkRegEx.TRIGGER_G1_HUMONGOUS_ALLOCATION)) {
+                    jvmDao.addAnalysis(Analysis.INFO_G1_HUMONGOUS_ALLOCATION);
+                }
+            }
+
+            // 15) Inverted parallelism
+            if (event instanceof ParallelEvent && event instanceof TimesData) {
+                if (((TimesData) event).getTimeUser() != TimesData.NO_DATA
+                        && ((TimesData) event).getTimeReal() != TimesData.NO_DATA) {
+                    jvmDao.setParallelCount(jvmDao.getParallelCount() + 1);
+                    if (event instanceof TimesData && ((TimesData) event).getTimeUser() > 0
+                            && JdkMath.isInvertedParallelism(((TimesData) event).getParallelism())) {
+                        jvmDao.setInvertedParallelismCount(jvmDao.getInvertedParallelismCount() + 1);
+                        if (jvmDao.getWorstInvertedParallelismEvent() == null) {
+                            jvmDao.setWorstInvertedParallelismEvent(event);
+                        } else {
+                            if (((TimesData) event)
+                                    .getParallelism() < ((TimesData) jvmDao.getWorstInvertedParallelismEvent())
+                                            .getParallelism()) {
+                                // Update lowest "low"
+                                jvmDao.setWorstInvertedParallelismEvent(event);
+                            }
                         }
                     }
                 }
+            }
 
-                // Populate events list.
-                List<JdkUtil.LogEventType> eventTypes = jvmDao.getEventTypes();
-                JdkUtil.LogEventType eventType = JdkUtil.determineEventType(event.getName());
-                if (!eventTypes.contains(eventType)) {
-                    eventTypes.add(eventType);
+            // 16) Check for CMS initial mark low parallelism
+            if (event instanceof CmsInitialMarkEvent && ((TimesData) event).getTimeUser() > 0
+                    && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
+                    && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
+                if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM)) {
+                    jvmDao.addAnalysis(Analysis.WARN_CMS_INITIAL_MARK_LOW_PARALLELISM);
                 }
+            }
 
-                // Populate collector type list.
-                if (event instanceof GcEvent) {
-                    List<JdkUtil.CollectorFamily> collectorFamilies = jvmDao.getCollectorFamilies();
-                    if (!collectorFamilies.contains(((GcEvent) event).getCollectorFamily())) {
-                        collectorFamilies.add(((GcEvent) event).getCollectorFamily());
-                    }
+            // 17) Check for CMS remark low parallelism
+            if (event instanceof CmsRemarkEvent && ((TimesData) event).getTimeUser() > 0
+                    && ((TimesData) event).getTimeReal() > 0 && ((BlockingEvent) event).getDuration() >= 10000
+                    && JdkMath.isLowParallelism(((TimesData) event).getParallelism())) {
+                if (!jvmDao.getAnalysis().contains(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM)) {
+                    jvmDao.addAnalysis(Analysis.WARN_CMS_REMARK_LOW_PARALLELISM);
                 }
+            }
 
-                logLine = bufferedReader.readLine();
+            // 18) Check for old JDKs using perm gen
+            if (event instanceof PermData && event.getLogEntry() != null
+                    && RegExUtil.matches(event.getLogEntry(), "^.*Perm.*$")) {
+                if (!jvmDao.getAnalysis().contains(Analysis.INFO_PERM_GEN)) {
+                    jvmDao.addAnalysis(Analysis.INFO_PERM_GEN);
+                }
+            }
 
-                // Check for partial last line
-                if (logLine == null) {
-                    if (event instanceof UnknownEvent && jvmDao.getUnidentifiedLogLines().size() == 1) {
-                        jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
-                    }
+        } else if (event instanceof ApplicationStoppedTimeEvent) {
+            jvmDao.addStoppedTimeEvent((ApplicationStoppedTimeEvent) event);
+        } else if (event instanceof HeaderCommandLineFlagsEvent) {
+            jvmDao.setOptions(((HeaderCommandLineFlagsEvent) event).getJvmOptions());
+        } else if (event instanceof HeaderMemoryEvent) {
+            jvmDao.setMemory(((HeaderMemoryEvent) event).getLogEntry());
+            BigDecimal size = new BigDecimal(((HeaderMemoryEvent) event).getPhysicalMemory());
+            jvmDao.setPhysicalMemory(size.multiply(Constants.KILOBYTE).longValue());
+            size = new BigDecimal(((HeaderMemoryEvent) event).getPhysicalMemoryFree());
+            jvmDao.setPhysicalMemoryFree(size.multiply(Constants.KILOBYTE).longValue());
+            size = new BigDecimal(((HeaderMemoryEvent) event).getSwap());
+            jvmDao.setSwap(size.multiply(Constants.KILOBYTE).longValue());
+            size = new BigDecimal(((HeaderMemoryEvent) event).getSwapFree());
+            jvmDao.setSwapFree(size.multiply(Constants.KILOBYTE).longValue());
+        } else if (event instanceof HeaderVersionEvent) {
+            jvmDao.setVersion(((HeaderVersionEvent) event).getLogEntry());
+        } else if (event instanceof GcOverheadLimitEvent) {
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED)) {
+                jvmDao.getAnalysis().add(Analysis.ERROR_GC_TIME_LIMIT_EXCEEEDED);
+            }
+        } else if (event instanceof GcLockerEvent) {
+            if (!jvmDao.getAnalysis().contains(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED)) {
+                jvmDao.addAnalysis(Analysis.ERROR_CMS_PAR_NEW_GC_LOCKER_FAILED);
+            }
+        } else if (event instanceof ShenandoahConcurrentEvent) {
+            if (((CombinedData) event).getCombinedOccupancyInit() > jvmDao.getMaxHeapOccupancyNonBlocking()) {
+                jvmDao.setMaxHeapOccupancyNonBlocking(((CombinedData) event).getCombinedOccupancyInit());
+            }
+            if (((CombinedData) event).getCombinedSpace() > jvmDao.getMaxHeapSpaceNonBlocking()) {
+                jvmDao.setMaxHeapSpaceNonBlocking(((CombinedData) event).getCombinedSpace());
+            }
+            if (((PermData) event).getPermOccupancyInit() > jvmDao.getMaxPermOccupancyNonBlocking()) {
+                jvmDao.setMaxPermOccupancyNonBlocking(((PermData) event).getPermOccupancyInit());
+            }
+            if (((PermData) event).getPermSpace() > jvmDao.getMaxPermSpaceNonBlocking()) {
+                jvmDao.setMaxPermSpaceNonBlocking(((PermData) event).getPermSpace());
+            }
+        } else if (event instanceof UnknownEvent) {
+            String logLine = event.getLogEntry();
+            // Don't count reportable events with datestamp only as unidentified
+            Date jvmStartDate = GcUtil.parseStartDateTime("2000-01-01 00:00:00,000");
+            DateStampPreprocessAction preprocessAction = new DateStampPreprocessAction(logLine, jvmStartDate);
+            LogEvent preprocessedEvent = null;
+            if (preprocessAction.getLogEntry() != null) {
+                preprocessedEvent = JdkUtil.parseLogLine(preprocessAction.getLogEntry());
+            } //
+            if (preprocessedEvent != null
+                    && JdkUtil.isReportable(LogEventType.valueOf(preprocessedEvent.getName()))) {
+                if (!jvmDao.getAnalysis().contains(Analysis.ERROR_DATESTAMP_NO_TIMESTAMP)) {
+                    jvmDao.getAnalysis().add(Analysis.ERROR_DATESTAMP_NO_TIMESTAMP);
+                }
+            } else {
+                if (jvmDao.getUnidentifiedLogLines().size() < Main.REJECT_LIMIT) {
+                    jvmDao.getUnidentifiedLogLines().add(logLine);
                 }
             }
+        }
 
-            // Process final batches
-            jvmDao.processBlockingBatch();
-            jvmDao.processStoppedTimeBatch();
-        } catch (
+        // Populate events list.
+        List<JdkUtil.LogEventType> eventTypes = jvmDao.getEventTypes();
+        JdkUtil.LogEventType eventType = JdkUtil.determineEventType(event.getName());
+        if (!eventTypes.contains(eventType)) {
+            eventTypes.add(eventType);
+        }
 
-        FileNotFoundException e) {
-            e.printStackTrace();
-        } catch (IOException e) {
-            e.printStackTrace();
-        } finally {
-            // Close streams
-            if (bufferedReader != null) {
-                try {
-                    bufferedReader.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+        // Populate collector type list.
+        if (event instanceof GcEvent) {
+            List<JdkUtil.CollectorFamily> collectorFamilies = jvmDao.getCollectorFamilies();
+            if (!collectorFamilies.contains(((GcEvent) event).getCollectorFamily())) {
+                collectorFamilies.add(((GcEvent) event).getCollectorFamily());
             }
         }
+        return event;
+    }
 
+    /**
+     * Store the event type of a log line that is not kept (a throwaway event, or an unidentified log line over the
+     * reject limit) in the data store, the same as storing the event.
+     * 
+     * @param eventType
+     *            The event type.
+     */
+    private void storeEventType(LogEventType eventType) {
+        List<JdkUtil.LogEventType> eventTypes = jvmDao.getEventTypes();
+        if (!eventTypes.contains(eventType)) {
+            eventTypes.add(eventType);
+        }
+        // Only collector specific throwaway events (e.g. Shenandoah statistics) are a GcEvent
+        JdkUtil.CollectorFamily collectorFamily = JdkUtil.getCollectorFamily(eventType);
+        List<JdkUtil.CollectorFamily> collectorFamilies = jvmDao.getCollectorFamilies();
+        if (collectorFamily != CollectorFamily.UNKNOWN && !collectorFamilies.contains(collectorFamily)) {
+            collectorFamilies.add(collectorFamily);
+        }
     }
 
     /**
@@ -849,8 +1778,7 @@ public class GcManager {
      */
     private List<String> getBottlenecks(Jvm jvm, int throughputThreshold) {
         ArrayList<String> bottlenecks = new ArrayList<String>();
-        List<BlockingEvent> blockingEvents = jvmDao.getBlockingEvents();
-        Iterator<BlockingEvent> iterator = blockingEvents.iterator();
+        Iterator<BlockingEvent> iterator = jvmDao.getBlockingEventIterator();
         BlockingEvent priorEvent = null;
         while (iterator.hasNext()) {
             BlockingEvent event = iterator.next();
@@ -954,14 +1882,510 @@ public class GcManager {
     }
 
     /**
-     * Determine whether or not the logging line is essential for GC analysis.
-     * 
-     * @param logLine
-     *            The log line to test.
-     * @return True if the logging event can be thrown away, false if it should be kept.
+     * A chunk of log lines preprocessed together.
+     */
+    private class PreprocessChunk implements Callable<PreprocessChunk> {
+
+        private final List<String> logLines;
+
+        /**
+         * The log line before the chunk.
+         */
+        private final String priorLogLine;
+
+        /**
+         * The log line after the chunk, or null at the end of the log.
+         */
+        private String nextLogLine;
+
+        private final Date jvmStartDate;
+
+        /**
+         * The context at the start of the chunk.
+         */
+        private final PreprocessContext startContext;
+
+        /**
+         * The context, at the end of the chunk once preprocessed.
+         */
+        private final PreprocessContext context;
+
+        /**
+         * The entangled log lines, at the end of the chunk once preprocessed.
+         */
+        private final List<String> entangledLogLines;
+
+        /**
+         * The analysis identified while preprocessing the chunk.
+         */
+        private final List<Analysis> analysis = new ArrayList<Analysis>();
+
+        /**
+         * The last preprocessed log entry, or null if not known because the chunk was preprocessed without the log
+         * entries before it and there have been no preprocessed log entries.
+         */
+        private String priorLogEntry;
+
+        /**
+         * Whether the first preprocessed log entry is the beginning of an event, when the chunk is preprocessed without
+         * the log entries before it.
+         */
+        private boolean beginningOfEvent;
+
+        /**
+         * Whether preprocessing the chunk does not depend on whether the context at the start of the chunk contains
+         * the beginning of event token, when the chunk is preprocessed without the log entries before it.
+         */
+        private boolean beginningOfEventIgnored;
+
+        /**
+         * The preprocessed logging, when the chunk is preprocessed without the log entries before it.
+         */
+        private final StringWriter preprocessedLogging = new StringWriter();
+
+        /**
+         * @param logLines
+         *            The log lines.
+         * @param priorLogLine
+         *            The log line before the chunk.
+         * @param jvmStartDate
+         *            The date and time the JVM was started.
+         * @param context
+         *            The context at the start of the chunk.
+         * @param entangledLogLines
+         *            The entangled log lines at the start of the chunk.
+         * @param priorLogEntry
+         *            The preprocessed log entry before the chunk, or null to preprocess the chunk without the log
+         *            entries before it.
+         */
+        private PreprocessChunk(List<String> logLines, String priorLogLine, Date jvmStartDate,
+                PreprocessContext context, List<String> entangledLogLines, String priorLogEntry) {
+            this.logLines = logLines;
+            this.priorLogLine = priorLogLine;
+            this.jvmStartDate = jvmStartDate;
+            this.startContext = new PreprocessContext(context);
+            this.context = context;
+            this.entangledLogLines = entangledLogLines;
+            this.priorLogEntry = priorLogEntry;
+        }
+
+        public PreprocessChunk call() throws IOException {
+            beginningOfEventIgnored = isBeginningOfEventIgnored();
+            preprocess(preprocessedLogging);
+            return this;
+        }
+
+        /**
+         * Preprocess the log lines with and without the beginning of event token in the context at the start, until
+         * preprocessing gives the same context either way. The token is not used to preprocess a log line, only to
+         * write a preprocessed log entry on a new line, so log lines thrown away (e.g. safepoint logging) do not
+         * change the result.
+         * 
+         * @return true if preprocessing the chunk does not depend on the beginning of event token at the start of the
+         *         chunk, false otherwise.
+         */
+        private boolean isBeginningOfEventIgnored() {
+            PreprocessContext beginningContext = new PreprocessContext(context);
+            beginningContext.add(PreprocessContext.BEGINNING_OF_EVENT);
+            List<String> beginningEntangledLogLines = new ArrayList<String>(entangledLogLines);
+            PreprocessContext otherContext = new PreprocessContext(context);
+            otherContext.remove(PreprocessContext.BEGINNING_OF_EVENT);
+            List<String> otherEntangledLogLines = new ArrayList<String>(entangledLogLines);
+            String priorLogLine = this.priorLogLine;
+            for (int i = 0; i < logLines.size(); i++) {
+                String currentLogLine = logLines.get(i);
+                String nextLogLine = i + 1 < logLines.size() ? logLines.get(i + 1) : this.nextLogLine;
+                String beginningLogEntry = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine,
+                        jvmStartDate, beginningEntangledLogLines, beginningContext, new ArrayList<Analysis>());
+                String otherLogEntry = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine, jvmStartDate,
+                        otherEntangledLogLines, otherContext, new ArrayList<Analysis>());
+                if ((beginningLogEntry == null ? otherLogEntry != null : !beginningLogEntry.equals(otherLogEntry))
+                        || !beginningEntangledLogLines.equals(otherEntangledLogLines)) {
+                    return false;
+                }
+                if (beginningContext.equals(otherContext)) {
+                    return true;
+                }
+                if (beginningLogEntry != null) {
+                    // Written on a new line or not depending on the token
+                    return false;
+                }
+                priorLogLine = currentLogLine;
+            }
+            return false;
+        }
+
+        /**
+         * Preprocess the log lines.
+         * 
+         * @param writer
+         *            The preprocessed logging destination.
+         * @throws IOException
+         *             If the preprocessed logging cannot be written.
+         */
+        private void preprocess(Writer writer) throws IOException {
+            String priorLogLine = this.priorLogLine;
+            for (int i = 0; i < logLines.size(); i++) {
+                String currentLogLine = logLines.get(i);
+                String nextLogLine = i + 1 < logLines.size() ? logLines.get(i + 1) : this.nextLogLine;
+                String preprocessedLogLine = getPreprocessedLogEntry(currentLogLine, priorLogLine, nextLogLine,
+                        jvmStartDate, entangledLogLines, context, analysis);
+                if (preprocessedLogLine != null) {
+                    if (priorLogEntry == null) {
+                        beginningOfEvent = context.contains(PreprocessContext.BEGINNING_OF_EVENT);
+                        writer.write(preprocessedLogLine);
+                    } else if (context.contains(PreprocessContext.BEGINNING_OF_EVENT)
+                            && !priorLogEntry.endsWith(Constants.LINE_SEPARATOR)) {
+                        writer.write(Constants.LINE_SEPARATOR + preprocessedLogLine);
+                    } else {
+                        writer.write(preprocessedLogLine);
+                    }
+                    priorLogEntry = preprocessedLogLine;
+                }
+                priorLogLine = currentLogLine;
+            }
+        }
+    }
+
+    /**
+     * A log file of a rotated log set, read, preprocessed, and parsed on its own thread into a bounded queue of events
+     * when the merge reaches it.
+     */
+    private class RotatedLogFile implements Runnable {
+
+        private final File logFile;
+
+        private final Date jvmStartDate;
+
+        private final boolean preprocess;
+
+        /**
+         * The events parsed, ending with {@link GcManager#END_OF_LOG_FILE}.
+         */
+        private final BlockingQueue<LogEvent> events = new ArrayBlockingQueue<LogEvent>(ROTATED_LOG_FILE_EVENTS);
+
+        /**
+         * Collector families identified so far, to speed up parsing. Not shared with the data store, which is updated
+         * while the log file is parsed.
+         */
+        private final List<CollectorFamily> collectorFamilies = new ArrayList<CollectorFamily>();
+
+        /**
+         * The order event types are tested in, adapted to the log file.
+         */
+        private final IdentifyOrder identifyOrder = new IdentifyOrder();
+
+        /**
+         * The analysis identified while preprocessing.
+         */
+        private final List<Analysis> analysis = new ArrayList<Analysis>();
+
+        /**
+         * The last log line, or null if the log file is empty or not preprocessed.
+         */
+        private String lastLogLine;
+
+        /**
+         * The failure parsing the log file, or null if none.
+         */
+        private RuntimeException failure;
+
+        /**
+         * Whether the log file is being read to determine the first timestamp.
+         */
+        private boolean probing;
+
+        /**
+         * The timestamp of the first event with a timestamp, or <code>Long.MAX_VALUE</code> if there are none.
+         */
+        private long firstTimestamp = Long.MAX_VALUE;
+
+        /**
+         * The position of the log file in the rotated log set.
+         */
+        private int index;
+
+        /**
+         * The next event to store, or null if all events have been stored.
+         */
+        private LogEvent event;
+
+        /**
+         * The timestamp the next event is merged at: the timestamp of the last event with a timestamp up to and
+         * including it.
+         */
+        private long timestamp;
+
+        private RotatedLogFile(File logFile, Date jvmStartDate, boolean preprocess) {
+            this.logFile = logFile;
+            this.jvmStartDate = jvmStartDate;
+            this.preprocess = preprocess;
+        }
+
+        public void run() {
+            try {
+                read();
+            } catch (InterruptedIOException e) {
+                // Merging stopped
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                e.printStackTrace();
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                try {
+                    events.put(END_OF_LOG_FILE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Read, preprocess, and parse the log file.
+         * 
+         * @throws IOException
+         *             If the log file cannot be read, or reading is stopped.
+         */
+        private void read() throws IOException {
+            collectorFamilies.clear();
+            analysis.clear();
+            LogLineSource logLineReader = openLogFile(logFile);
+            try {
+                if (preprocess) {
+                    LogLineWriter writer = new LogLineWriter() {
+                        protected void writeLogLine(String logLine) throws IOException {
+                            parse(logLine);
+                        }
+
+                        public void close() throws IOException {
+                            writeLastLogLine();
+                        }
+                    };
+                    lastLogLine = preprocess(logLineReader, jvmStartDate, writer, analysis);
+                    writer.close();
+                } else {
+                    String logLine = readLogLine(logLineReader);
+                    while (logLine != null) {
+                        parse(logLine);
+                        logLine = readLogLine(logLineReader);
+                    }
+                }
+            } finally {
+                try {
+                    logLineReader.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        /**
+         * Parse a log line and queue the event, or stop reading at the first event with a timestamp when probing.
+         * 
+         * @param logLine
+         *            The log line.
+         * @throws InterruptedIOException
+         *             If interrupted waiting for the event to be merged, or the first timestamp is found when probing.
+         */
+        private void parse(String logLine) throws InterruptedIOException {
+            LogEvent event = JdkUtil.parseLogLine(logLine, collectorFamilies, identifyOrder);
+            if (event instanceof GcEvent && !collectorFamilies.contains(((GcEvent) event).getCollectorFamily())) {
+                collectorFamilies.add(((GcEvent) event).getCollectorFamily());
+            }
+            if (probing) {
+                if (isTimestamped(event)) {
+                    firstTimestamp = event.getTimestamp();
+                    throw new InterruptedIOException();
+                }
+                return;
+            }
+            try {
+                events.put(event);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException();
+            }
+        }
+
+        /**
+         * Read the log file up to the first event with a timestamp to determine the first timestamp. Failures are
+         * reported when the log file is read to merge it.
+         */
+        private void probe() {
+            probing = true;
+            try {
+                read();
+            } catch (InterruptedIOException e) {
+                // First timestamp found
+            } catch (IOException e) {
+                // Reported when merged
+            } catch (RuntimeException e) {
+                // Reported when merged
+            } finally {
+                probing = false;
+            }
+        }
+
+        /**
+         * Start reading the log file to merge it.
+         * 
+         * @param executor
+         *            The executor to read the log file on.
+         */
+        private void open(ExecutorService executor) {
+            timestamp = firstTimestamp;
+            executor.execute(this);
+        }
+
+        /**
+         * Move to the next event.
+         * 
+         * @throws InterruptedException
+         *             If interrupted waiting for the event to be parsed.
+         */
+        private void next() throws InterruptedException {
+            event = events.take();
+            if (event == END_OF_LOG_FILE) {
+                event = null;
+                if (failure != null) {
+                    throw failure;
+                }
+            } else if (isTimestamped(event)) {
+                timestamp = event.getTimestamp();
+            }
+        }
+    }
+
+    /**
+     * Splits logging into log lines as it is written, the same way <code>store</code> reads them from a preprocessed
+     * log file.
+     */
+    private abstract static class LogLineWriter extends Writer {
+
+        /**
+         * The log line being written.
+         */
+        private final StringBuilder logLine = new StringBuilder();
+
+        /**
+         * Whether the last character was a carriage return, so a line feed is part of the same line terminator.
+         */
+        private boolean skipLineFeed;
+
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            write(new String(cbuf, off, len), 0, len);
+        }
+
+        public void write(String str, int off, int len) throws IOException {
+            for (int i = off; i < off + len; i++) {
+                char c = str.charAt(i);
+                if (c == '\n' && skipLineFeed) {
+                    skipLineFeed = false;
+                } else if (c == '\n' || c == '\r') {
+                    writeLogLine(logLine.toString());
+                    logLine.setLength(0);
+                    skipLineFeed = c == '\r';
+                } else {
+                    logLine.append(c);
+                    skipLineFeed = false;
+                }
+            }
+        }
+
+        /**
+         * Write the last log line if it is not terminated.
+         * 
+         * @throws IOException
+         *             If the log line cannot be written.
+         */
+        protected void writeLastLogLine() throws IOException {
+            if (logLine.length() > 0) {
+                writeLogLine(logLine.toString());
+                logLine.setLength(0);
+            }
+        }
+
+        public void flush() throws IOException {
+        }
+
+        /**
+         * @param logLine
+         *            A complete log line.
+         * @throws IOException
+         *             If the log line cannot be written.
+         */
+        protected abstract void writeLogLine(String logLine) throws IOException;
+    }
+
+    /**
+     * Stores preprocessed logging in the data store as it is written.
      */
-    private boolean isThrowawayEvent(String logLine) {
-        LogEvent event = JdkUtil.parseLogLine(logLine);
-        return event instanceof ThrowAwayEvent;
+    private class StoreWriter extends LogLineWriter {
+
+        private final boolean reorder;
+
+        /**
+         * Also written to, or null if none.
+         */
+        private final Writer preprocessWriter;
+
+        private BlockingEvent priorEvent;
+
+        private LogEvent lastEvent;
+
+        /**
+         * The order event types are tested in, adapted to the logging stored.
+         */
+        private final IdentifyOrder identifyOrder = new IdentifyOrder();
+
+        /**
+         * Whether the writer was closed or storing failed (e.g. logging out of order), so nothing more is stored.
+         */
+        private boolean done;
+
+        private StoreWriter(boolean reorder, Writer preprocessWriter) {
+            this.reorder = reorder;
+            this.preprocessWriter = preprocessWriter;
+        }
+
+        public void write(String str, int off, int len) throws IOException {
+            if (preprocessWriter != null) {
+                preprocessWriter.write(str, off, len);
+            }
+            try {
+                super.write(str, off, len);
+            } catch (RuntimeException e) {
+                done = true;
+                throw e;
+            }
+        }
+
+        protected void writeLogLine(String logLine) {
+            lastEvent = store(logLine, priorEvent, reorder, identifyOrder);
+            if (lastEvent instanceof BlockingEvent) {
+                priorEvent = (BlockingEvent) lastEvent;
+            }
+        }
+
+        public void flush() throws IOException {
+            if (preprocessWriter != null) {
+                preprocessWriter.flush();
+            }
+        }
+
+        public void close() throws IOException {
+            if (preprocessWriter != null) {
+                preprocessWriter.close();
+            }
+            if (done) {
+                return;
+            }
+            done = true;
+            writeLastLogLine();
+            // Check for partial last line
+            if (lastEvent instanceof UnknownEvent && jvmDao.getUnidentifiedLogLines().size() == 1) {
+                jvmDao.addAnalysis(Analysis.INFO_UNIDENTIFIED_LOG_LINE_LAST);
+            }
+        }
     }
 }
@@ -35,6 +35,19 @@ public class Constants {
      */
     public static final int DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD = 90;
 
+    /**
+     * The maximum number of characters the regular expression engine may read to identify and parse a single log line.
+     * 0 (the default) means no limit, so well formed logging is matched without counting the characters read. Log lines
+     * well formed enough to be parsed need a small fraction of 1,000,000, a budget that stops a pathological log line
+     * from stalling the analysis with catastrophic backtracking.
+     */
+    public static final long DEFAULT_MATCH_BUDGET = 0;
+
+    /**
+     * The number of regular expressions reported when profiling.
+     */
+    public static final int PROFILE_REPORT_SIZE = 20;
+
     /**
      * The ratio of GC time vs. Stopped time for reporting excessive Stopped time.
      */
@@ -145,6 +158,66 @@ public class Constants {
      */
     public static final String OPTION_LATEST_VERSION_LONG = "latest";
 
+    /**
+     * Debug (keep preprocessed log file) command line short option.
+     */
+    public static final String OPTION_DEBUG_SHORT = "d";
+
+    /**
+     * Debug (keep preprocessed log file) command line long option.
+     */
+    public static final String OPTION_DEBUG_LONG = "debug";
+
+    /**
+     * Match budget command line short option.
+     */
+    public static final String OPTION_MATCH_BUDGET_SHORT = "b";
+
+    /**
+     * Match budget command line long option.
+     */
+    public static final String OPTION_MATCH_BUDGET_LONG = "budget";
+
+    /**
+     * Regular expression profile command line short option.
+     */
+    public static final String OPTION_PROFILE_SHORT = "f";
+
+    /**
+     * Regular expression profile command line long option.
+     */
+    public static final String OPTION_PROFILE_LONG = "profile";
+
+    /**
+     * Preprocessing threads command line short option.
+     */
+    public static final String OPTION_THREADS_SHORT = "n";
+
+    /**
+     * Preprocessing threads command line long option.
+     */
+    public static final String OPTION_THREADS_LONG = "threads";
+
+    /**
+     * Low memory command line short option.
+     */
+    public static final String OPTION_LOW_MEMORY_SHORT = "m";
+
+    /**
+     * Low memory command line long option.
+     */
+    public static final String OPTION_LOW_MEMORY_LONG = "lowmemory";
+
+    /**
+     * Parse cache directory command line short option.
+     */
+    public static final String OPTION_CACHE_SHORT = "c";
+
+    /**
+     * Parse cache directory command line long option.
+     */
+    public static final String OPTION_CACHE_LONG = "cache";
+
     /**
      * Default output file name.
      */
@@ -12,13 +12,20 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util;
 
+import java.io.File;
 import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
 import java.util.ResourceBundle;
+import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.eclipselabs.garbagecat.hsql.ParseCache;
 import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
 
 /**
@@ -44,6 +51,31 @@ public class GcUtil {
     public static final String START_DATE_TIME_REGEX = "^(\\d{4})-(\\d{2})-(\\d{2}) (\\d{2}):(\\d{2}):(\\d{2}),"
             + "(\\d{3})$";
 
+    /**
+     * The length of a datestamp in <code>JdkRegEx.DATESTAMP</code> format (e.g. 2010-04-16T12:11:18.979+0200).
+     */
+    public static final int DATESTAMP_LENGTH = 28;
+
+    /**
+     * The datestamp layout: 'd' for a digit, 's' for the time zone sign, any other character for itself.
+     */
+    private static final String DATESTAMP_LAYOUT = "dddd-dd-ddTdd:dd:dd.dddsdddd";
+
+    /**
+     * The local hour of the last datestamp parsed, so the time zone offset is determined with a <code>Calendar</code>
+     * once per hour of logging. Replaced, not updated, so it is thread safe.
+     */
+    private static volatile DateStampHour datestampHour = new DateStampHour(null, -1, 0, false);
+
+    /**
+     * Start date/time formatter for each thread (<code>SimpleDateFormat</code> is not thread safe).
+     */
+    private static final ThreadLocal<SimpleDateFormat> START_DATE_TIME_FORMAT = new ThreadLocal<SimpleDateFormat>() {
+        protected SimpleDateFormat initialValue() {
+            return new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
+        }
+    };
+
     /**
      * Make default constructor private so the class cannot be instantiated.
      */
@@ -59,7 +91,7 @@ public class GcUtil {
      * @return true if a valid format, false otherwise.
      */
     public static final boolean isValidStartDateTime(String startDateTime) {
-        return startDateTime.matches(START_DATE_TIME_REGEX);
+        return RegExUtil.matches(startDateTime, START_DATE_TIME_REGEX);
     }
 
     /**
@@ -71,7 +103,7 @@ public class GcUtil {
      */
     public static final Date parseStartDateTime(String startDateTime) {
         Date date = null;
-        Pattern pattern = Pattern.compile(START_DATE_TIME_REGEX);
+        Pattern pattern = RegExUtil.getPattern(START_DATE_TIME_REGEX);
         Matcher matcher = pattern.matcher(startDateTime);
         if (matcher.find()) {
             date = getDate(matcher.group(1), matcher.group(2), matcher.group(3), matcher.group(4), matcher.group(5),
@@ -88,8 +120,11 @@ public class GcUtil {
      * @return the datestamp in <code>Date</code> format.
      */
     public static final Date parseDateStamp(String datestamp) {
+        if (isDateStamp(datestamp, 0)) {
+            return new Date(parseDateStampMillis(datestamp, 0));
+        }
         Date date = null;
-        Pattern pattern = Pattern.compile(JdkRegEx.DATESTAMP);
+        Pattern pattern = RegExUtil.getPattern(JdkRegEx.DATESTAMP);
         Matcher matcher = pattern.matcher(datestamp);
         if (matcher.find()) {
             date = getDate(matcher.group(2), matcher.group(3), matcher.group(4), matcher.group(5), matcher.group(6),
@@ -98,6 +133,142 @@ public class GcUtil {
         return date;
     }
 
+    /**
+     * Determine whether there is a datestamp in <code>JdkRegEx.DATESTAMP</code> format at a position, without a regular
+     * expression.
+     * 
+     * @param text
+     *            The text.
+     * @param offset
+     *            The position.
+     * @return true if the datestamp layout is at the position, false otherwise.
+     */
+    public static final boolean isDateStamp(CharSequence text, int offset) {
+        if (offset < 0 || text.length() - offset < DATESTAMP_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < DATESTAMP_LENGTH; i++) {
+            char c = text.charAt(offset + i);
+            char layout = DATESTAMP_LAYOUT.charAt(i);
+            if (layout == 'd') {
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            } else if (layout == 's') {
+                if (c != '-' && c != '+') {
+                    return false;
+                }
+            } else if (c != layout) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Convert a datestamp to milliseconds since the epoch, the same as {@link #parseDateStamp(String)}: the local date
+     * and time, ignoring the time zone offset. The datestamp is parsed at fixed positions, and the start of the local
+     * hour is cached for the default time zone. Hours the time zone offset changes in (e.g. a 30 minute daylight
+     * saving time transition) are converted with a <code>Calendar</code>.
+     * 
+     * @param text
+     *            The text with a datestamp in <code>JdkRegEx.DATESTAMP</code> format at the position (see
+     *            {@link #isDateStamp(CharSequence, int)}).
+     * @param offset
+     *            The position of the datestamp.
+     * @return The datestamp in milliseconds since the epoch.
+     */
+    public static final long parseDateStampMillis(CharSequence text, int offset) {
+        int yyyy = digits(text, offset, 4);
+        int MM = digits(text, offset + 5, 2);
+        int dd = digits(text, offset + 8, 2);
+        int HH = digits(text, offset + 11, 2);
+        int mm = digits(text, offset + 14, 2);
+        int ss = digits(text, offset + 17, 2);
+        int SSS = digits(text, offset + 20, 3);
+        long key = ((yyyy * 100L + MM) * 100 + dd) * 100 + HH;
+        TimeZone timeZone = TimeZone.getDefault();
+        DateStampHour hour = datestampHour;
+        if (hour.key != key || !timeZone.equals(hour.timeZone)) {
+            Calendar calendar = Calendar.getInstance(timeZone);
+            calendar.clear();
+            calendar.set(yyyy, MM - 1, dd, HH, 0, 0);
+            long start = calendar.getTimeInMillis();
+            calendar.set(yyyy, MM - 1, dd, HH, 59, 59);
+            calendar.set(Calendar.MILLISECOND, 999);
+            // The offset is the same for the whole hour if the end of the hour is an hour after the start
+            boolean uniform = calendar.getTimeInMillis() - start == 3599999L;
+            hour = new DateStampHour(timeZone, key, start, uniform);
+            datestampHour = hour;
+        }
+        if (!hour.uniform) {
+            Calendar calendar = Calendar.getInstance(timeZone);
+            calendar.clear();
+            calendar.set(yyyy, MM - 1, dd, HH, mm, ss);
+            calendar.set(Calendar.MILLISECOND, SSS);
+            return calendar.getTimeInMillis();
+        }
+        return hour.start + mm * 60000L + ss * 1000L + SSS;
+    }
+
+    /**
+     * The start of a local hour in a time zone.
+     */
+    private static final class DateStampHour {
+
+        private final TimeZone timeZone;
+
+        /**
+         * The local date and hour (yyyyMMddHH).
+         */
+        private final long key;
+
+        /**
+         * The milliseconds since the epoch at the start of the hour.
+         */
+        private final long start;
+
+        /**
+         * Whether the time zone offset is the same for the whole hour.
+         */
+        private final boolean uniform;
+
+        private DateStampHour(TimeZone timeZone, long key, long start, boolean uniform) {
+            this.timeZone = timeZone;
+            this.key = key;
+            this.start = start;
+            this.uniform = uniform;
+        }
+    }
+
+    /**
+     * @param text
+     *            The text.
+     * @param offset
+     *            The position of the digits.
+     * @param length
+     *            The number of digits.
+     * @return The number the digits represent.
+     */
+    private static final int digits(CharSequence text, int offset, int length) {
+        int number = 0;
+        for (int i = offset; i < offset + length; i++) {
+            number = number * 10 + text.charAt(i) - '0';
+        }
+        return number;
+    }
+
+    /**
+     * Format a <code>Date</code> in startdatetime format (yyyy-MM-dd HH:mm:ss,SSS). Thread safe.
+     * 
+     * @param date
+     *            The <code>Date</code>.
+     * @return The date in startdatetime format.
+     */
+    public static final String formatStartDateTime(Date date) {
+        return START_DATE_TIME_FORMAT.get().format(date);
+    }
+
     /**
      * Convert date parts to a <code>Date</code>.
      * 
@@ -196,4 +367,65 @@ public class GcUtil {
     public static final long dateDiff(Date start, Date end) {
         return end.getTime() - start.getTime();
     }
+
+    /**
+     * Determine the log files of a rotated log set: the files in a directory, or the files matching a file name with
+     * <code>*</code> (any characters) and <code>?</code> (any character) wildcards (e.g. <code>logs/gc.log*</code>).
+     * A directory must hold only the rotated log set. The files garbagecat writes (preprocessed log files, parse cache
+     * files, and the default report file) are not included, so they can be written in the same directory.
+     * 
+     * @param logFileName
+     *            The directory or file name with wildcards.
+     * @return The log files, sorted by name, or an empty list if none.
+     */
+    public static final List<File> getLogFiles(String logFileName) {
+        File logFile = new File(logFileName);
+        File directory;
+        Pattern pattern = null;
+        if (logFile.isDirectory()) {
+            directory = logFile;
+        } else {
+            directory = logFile.getParentFile() == null ? new File(".") : logFile.getParentFile();
+            StringBuilder regex = new StringBuilder();
+            String name = logFile.getName();
+            int start = 0;
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '*' || c == '?') {
+                    if (i > start) {
+                        regex.append(Pattern.quote(name.substring(start, i)));
+                    }
+                    regex.append(c == '*' ? ".*" : ".");
+                    start = i + 1;
+                }
+            }
+            if (start < name.length()) {
+                regex.append(Pattern.quote(name.substring(start)));
+            }
+            pattern = Pattern.compile(regex.toString());
+        }
+        List<File> logFiles = new ArrayList<File>();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            Arrays.sort(files);
+            for (int i = 0; i < files.length; i++) {
+                if (files[i].isFile() && !isGarbageCatFile(files[i].getName())
+                        && (pattern == null || pattern.matcher(files[i].getName()).matches())) {
+                    logFiles.add(files[i]);
+                }
+            }
+        }
+        return logFiles;
+    }
+
+    /**
+     * @param name
+     *            A file name.
+     * @return true if the file is one garbagecat writes (a preprocessed log file, a parse cache file, or the default
+     *         report file), false otherwise.
+     */
+    private static final boolean isGarbageCatFile(String name) {
+        return name.endsWith(".pp") || name.endsWith(ParseCache.EXTENSION)
+                || name.endsWith(ParseCache.EXTENSION + ".tmp") || name.equals(Constants.OUTPUT_FILE_NAME);
+    }
 }
@@ -0,0 +1,183 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * Aho-Corasick automaton that finds which of a set of literal keywords occur in a line in a single left-to-right pass.
+ * </p>
+ * 
+ * <p>
+ * Each keyword is associated with an id. Scanning a line sets the bit for the id of every keyword found in the line.
+ * Multiple keywords can share the same id. Keywords are limited to ASCII characters. Any other character resets the
+ * automaton.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class KeywordIndex {
+
+    /**
+     * The number of characters in the automaton alphabet.
+     */
+    private static final int ALPHABET = 128;
+
+    /**
+     * The number of <code>long</code> words in an id bit mask.
+     */
+    private final int words;
+
+    /**
+     * Complete state transition table: transitions[state * ALPHABET + character] = next state.
+     */
+    private final int[] transitions;
+
+    /**
+     * Ids found when entering a state: outputs[state * words + word].
+     */
+    private final long[] outputs;
+
+    /**
+     * Build the automaton.
+     * 
+     * @param keywords
+     *            The literal keywords.
+     * @param ids
+     *            The id for each keyword (0 to <code>idCount</code> - 1).
+     * @param idCount
+     *            The number of distinct ids.
+     */
+    public KeywordIndex(String[] keywords, int[] ids, int idCount) {
+        if (keywords.length != ids.length) {
+            throw new IllegalArgumentException("keywords.length != ids.length");
+        }
+        words = (idCount + 63) / 64;
+
+        // Trie
+        List<int[]> trie = new ArrayList<int[]>();
+        List<long[]> trieOutputs = new ArrayList<long[]>();
+        trie.add(newState());
+        trieOutputs.add(new long[words]);
+        for (int i = 0; i < keywords.length; i++) {
+            int state = 0;
+            for (int j = 0; j < keywords[i].length(); j++) {
+                char c = keywords[i].charAt(j);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Non-ASCII keyword: " + keywords[i]);
+                }
+                if (trie.get(state)[c] < 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    trieOutputs.add(new long[words]);
+                }
+                state = trie.get(state)[c];
+            }
+            trieOutputs.get(state)[ids[i] / 64] |= 1L << (ids[i] % 64);
+        }
+
+        // Failure links (breadth first), converting the trie to a complete transition table
+        int states = trie.size();
+        transitions = new int[states * ALPHABET];
+        outputs = new long[states * words];
+        int[] failure = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int c = 0; c < ALPHABET; c++) {
+            int next = trie.get(0)[c];
+            if (next < 0) {
+                transitions[c] = 0;
+            } else {
+                transitions[c] = next;
+                failure[next] = 0;
+                queue[tail++] = next;
+            }
+        }
+        for (int w = 0; w < words; w++) {
+            outputs[w] = trieOutputs.get(0)[w];
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (int w = 0; w < words; w++) {
+                outputs[state * words + w] = trieOutputs.get(state)[w] | outputs[failure[state] * words + w];
+            }
+            for (int c = 0; c < ALPHABET; c++) {
+                int next = trie.get(state)[c];
+                if (next < 0) {
+                    transitions[state * ALPHABET + c] = transitions[failure[state] * ALPHABET + c];
+                } else {
+                    transitions[state * ALPHABET + c] = next;
+                    failure[next] = transitions[failure[state] * ALPHABET + c];
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return A new trie state with no transitions.
+     */
+    private static int[] newState() {
+        int[] state = new int[ALPHABET];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    /**
+     * @return The number of <code>long</code> words in an id bit mask.
+     */
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Find the keywords in a line.
+     * 
+     * @param line
+     *            The line to scan.
+     * @param mask
+     *            The id bit mask. The bit for the id of every keyword found in the line is set. Existing bits are not
+     *            cleared.
+     */
+    public void scan(CharSequence line, long[] mask) {
+        int state = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= ALPHABET) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * ALPHABET + c];
+            int offset = state * words;
+            for (int w = 0; w < words; w++) {
+                mask[w] |= outputs[offset + w];
+            }
+        }
+    }
+
+    /**
+     * @param mask
+     *            An id bit mask.
+     * @param id
+     *            The id.
+     * @return true if the bit for the id is set, false otherwise.
+     */
+    public static final boolean isSet(long[] mask, int id) {
+        return (mask[id / 64] & (1L << (id % 64))) != 0;
+    }
+}
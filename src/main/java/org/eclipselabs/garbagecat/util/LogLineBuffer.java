@@ -0,0 +1,82 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+/**
+ * <p>
+ * A reusable copy of a log line (e.g. read by a {@link LogLineSource}), so a log line can be identified and rejected
+ * without creating a <code>String</code>. The log line is only converted to a <code>String</code> when
+ * {@link #toString()} is called, once.
+ * </p>
+ * 
+ * <p>
+ * Match results are remembered for the log line the same as for a <code>String</code> (see
+ * {@link RegExUtil#match(CharSequence, String)}) until the buffer is set to another log line.
+ * </p>
+ * 
+ * <p>
+ * Not thread safe.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LogLineBuffer implements CharSequence {
+
+    private final StringBuilder chars = new StringBuilder();
+
+    /**
+     * The log line as a <code>String</code>, or null if not converted yet.
+     */
+    private String logLine;
+
+    /**
+     * Changed every time the buffer is set to a log line.
+     */
+    int version;
+
+    /**
+     * @param logLine
+     *            The log line to copy.
+     * @return This buffer, or null if the log line is null (e.g. at the end of the log).
+     */
+    public LogLineBuffer set(CharSequence logLine) {
+        if (logLine == null) {
+            return null;
+        }
+        chars.setLength(0);
+        chars.append(logLine);
+        this.logLine = null;
+        version++;
+        return this;
+    }
+
+    public int length() {
+        return chars.length();
+    }
+
+    public char charAt(int index) {
+        return chars.charAt(index);
+    }
+
+    public CharSequence subSequence(int start, int end) {
+        return logLine == null ? chars.substring(start, end) : logLine.substring(start, end);
+    }
+
+    public String toString() {
+        if (logLine == null) {
+            logLine = chars.toString();
+        }
+        return logLine;
+    }
+}
@@ -0,0 +1,258 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * <p>
+ * Reads log lines from a byte stream into a single reusable buffer.
+ * </p>
+ * 
+ * <p>
+ * Lines are terminated by a line feed ('\n'), a carriage return ('\r'), or a carriage return followed immediately by a
+ * line feed, the same as {@link java.io.BufferedReader#readLine()}. Line terminators are found on the raw bytes, so the
+ * charset must be ASCII compatible (e.g. UTF-8, ISO-8859-1). The line is only decoded into a <code>String</code> when
+ * {@link CharSequence#toString()} is called. Lines that contain only ASCII characters are read directly from the
+ * buffer without going through a charset decoder.
+ * </p>
+ * 
+ * <p>
+ * Not thread safe.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class LogLineReader implements LogLineSource {
+
+    /**
+     * Default initial buffer size. The buffer grows to fit lines longer than this.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    /**
+     * Charset used for lines that contain only ASCII characters. Every ASCII compatible charset decodes ASCII the same
+     * way, and ISO-8859-1 is the cheapest to decode.
+     */
+    private static final Charset ASCII = Charset.forName("ISO-8859-1");
+
+    private final InputStream in;
+
+    /**
+     * Charset used for lines that contain non-ASCII characters.
+     */
+    private final Charset charset;
+
+    private byte[] buffer;
+
+    /**
+     * The index of the next byte to read in the buffer.
+     */
+    private int position;
+
+    /**
+     * The number of valid bytes in the buffer.
+     */
+    private int limit;
+
+    /**
+     * The position in the stream of the first byte of the buffer.
+     */
+    private long bufferPosition;
+
+    /**
+     * Whether the last line ended with a carriage return, so a line feed starting the next line is part of the prior
+     * line terminator.
+     */
+    private boolean skipLineFeed;
+
+    private boolean endOfStream;
+
+    private final Line line = new Line();
+
+    /**
+     * @param in
+     *            The log input stream.
+     * @param charset
+     *            The charset of the log. Must be ASCII compatible.
+     */
+    public LogLineReader(InputStream in, Charset charset) {
+        this(in, charset, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param in
+     *            The log input stream.
+     * @param charset
+     *            The charset of the log. Must be ASCII compatible.
+     * @param bufferSize
+     *            The initial buffer size.
+     */
+    public LogLineReader(InputStream in, Charset charset, int bufferSize) {
+        if (in == null) {
+            throw new IllegalArgumentException("in == null!!");
+        }
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize <= 0!!");
+        }
+        this.in = in;
+        this.charset = charset;
+        buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Read the next line.
+     * 
+     * @return The line, not including any line terminator, or null at the end of the stream. The same
+     *         <code>CharSequence</code> instance is reused for every line and is only valid until the next call.
+     * @throws IOException
+     *             If the underlying stream cannot be read.
+     */
+    public CharSequence readLine() throws IOException {
+        int start = position;
+        int scan = position;
+        boolean ascii = true;
+        while (true) {
+            if (scan == limit) {
+                // Keep the partial line and read more.
+                if (endOfStream || !fill(start)) {
+                    if (position == limit) {
+                        return null;
+                    }
+                    line.set(position, limit, ascii);
+                    position = limit;
+                    return line;
+                }
+                scan -= start;
+                start = position;
+            }
+            byte b = buffer[scan];
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == '\n') {
+                    start = ++position;
+                    scan++;
+                    continue;
+                }
+            }
+            if (b == '\n' || b == '\r') {
+                line.set(start, scan, ascii);
+                position = scan + 1;
+                skipLineFeed = b == '\r';
+                return line;
+            }
+            if (b < 0) {
+                ascii = false;
+            }
+            scan++;
+        }
+    }
+
+    /**
+     * Read more bytes, moving the partial line at the end of the buffer to the front first, and growing the buffer if
+     * the partial line fills it.
+     * 
+     * @param start
+     *            The index of the first byte of the partial line.
+     * @return true if more bytes were read, false at the end of the stream.
+     * @throws IOException
+     *             If the underlying stream cannot be read.
+     */
+    private boolean fill(int start) throws IOException {
+        int remaining = limit - start;
+        bufferPosition += start;
+        if (remaining == buffer.length) {
+            byte[] larger = new byte[buffer.length * 2];
+            System.arraycopy(buffer, start, larger, 0, remaining);
+            buffer = larger;
+        } else if (start > 0) {
+            System.arraycopy(buffer, start, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+        int read = in.read(buffer, limit, buffer.length - limit);
+        while (read == 0) {
+            read = in.read(buffer, limit, buffer.length - limit);
+        }
+        if (read < 0) {
+            endOfStream = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+
+    public long getLinePosition() {
+        return bufferPosition + line.start;
+    }
+
+    public int getLineByteCount() {
+        return line.end - line.start;
+    }
+
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * The current line, a view of the buffer.
+     */
+    private class Line implements CharSequence {
+
+        private int start;
+
+        private int end;
+
+        private boolean ascii;
+
+        /**
+         * The decoded line, or null if not yet decoded.
+         */
+        private String decoded;
+
+        private void set(int start, int end, boolean ascii) {
+            this.start = start;
+            this.end = end;
+            this.ascii = ascii;
+            decoded = null;
+        }
+
+        public int length() {
+            return ascii ? end - start : toString().length();
+        }
+
+        public char charAt(int index) {
+            if (ascii) {
+                if (index < 0 || index >= end - start) {
+                    throw new IndexOutOfBoundsException("index: " + index);
+                }
+                return (char) buffer[start + index];
+            }
+            return toString().charAt(index);
+        }
+
+        public CharSequence subSequence(int begin, int end) {
+            return toString().subSequence(begin, end);
+        }
+
+        public String toString() {
+            if (decoded == null) {
+                decoded = new String(buffer, start, end - start, ascii ? ASCII : charset);
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * <p>
+ * A source of log lines.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public interface LogLineSource extends Closeable {
+
+    /**
+     * Read the next line.
+     * 
+     * @return The line, not including any line terminator, or null at the end of the log. The returned
+     *         <code>CharSequence</code> may be reused for every line and is only valid until the next call.
+     * @throws IOException
+     *             If the log cannot be read.
+     */
+    CharSequence readLine() throws IOException;
+
+    /**
+     * @return The position in the source of the first byte of the last line read.
+     */
+    long getLinePosition();
+
+    /**
+     * @return The number of bytes in the last line read, not including any line terminator.
+     */
+    int getLineByteCount();
+}
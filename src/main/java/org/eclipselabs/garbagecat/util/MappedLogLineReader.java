@@ -0,0 +1,299 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+
+/**
+ * <p>
+ * Reads log lines from a memory mapped file.
+ * </p>
+ * 
+ * <p>
+ * Line terminators are found directly in the mapped bytes, the same way as {@link LogLineReader}, without reading the
+ * file into an intermediate buffer, testing eight bytes at a time. The file is mapped in windows (so files larger than
+ * 2 GB can be read), and the next window is mapped starting at the beginning of the line that spans the end of the
+ * current window, so a line is always in a single window.
+ * </p>
+ * 
+ * <p>
+ * A mapped window is only released when garbage collected, and some platforms (e.g. Windows) do not allow a file to be
+ * deleted while it is mapped.
+ * </p>
+ * 
+ * <p>
+ * Not thread safe.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class MappedLogLineReader implements LogLineSource {
+
+    /**
+     * Default window size. The window grows to fit lines longer than this.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Charset used for lines that contain only ASCII characters.
+     */
+    private static final Charset ASCII = Charset.forName("ISO-8859-1");
+
+    private final FileInputStream in;
+
+    private final FileChannel channel;
+
+    /**
+     * The file size.
+     */
+    private final long size;
+
+    /**
+     * Charset used for lines that contain non-ASCII characters.
+     */
+    private final Charset charset;
+
+    private int windowSize;
+
+    private MappedByteBuffer window;
+
+    /**
+     * The file position of the start of the window.
+     */
+    private long windowOffset;
+
+    /**
+     * The index of the next byte to read in the window.
+     */
+    private int position;
+
+    /**
+     * The number of bytes in the window.
+     */
+    private int limit;
+
+    /**
+     * Whether the last line ended with a carriage return, so a line feed starting the next line is part of the prior
+     * line terminator.
+     */
+    private boolean skipLineFeed;
+
+    private final Line line = new Line();
+
+    /**
+     * @param file
+     *            The log file.
+     * @param charset
+     *            The charset of the log. Must be ASCII compatible.
+     * @throws IOException
+     *             If the file cannot be opened or mapped.
+     */
+    public MappedLogLineReader(File file, Charset charset) throws IOException {
+        this(file, charset, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param file
+     *            The log file.
+     * @param charset
+     *            The charset of the log. Must be ASCII compatible.
+     * @param windowSize
+     *            The initial window size.
+     * @throws IOException
+     *             If the file cannot be opened or mapped.
+     */
+    public MappedLogLineReader(File file, Charset charset, int windowSize) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("file == null!!");
+        }
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize <= 0!!");
+        }
+        this.charset = charset;
+        this.windowSize = windowSize;
+        in = new FileInputStream(file);
+        channel = in.getChannel();
+        try {
+            size = channel.size();
+            map(0);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Map the window starting at a file position.
+     * 
+     * @param offset
+     *            The file position.
+     * @throws IOException
+     *             If the file cannot be mapped.
+     */
+    private void map(long offset) throws IOException {
+        windowOffset = offset;
+        position = 0;
+        limit = (int) Math.min(windowSize, size - offset);
+        window = limit == 0 ? null : channel.map(FileChannel.MapMode.READ_ONLY, offset, limit);
+    }
+
+    public CharSequence readLine() throws IOException {
+        int start = position;
+        int scan = position;
+        boolean ascii = true;
+        while (true) {
+            if (scan == limit) {
+                if (windowOffset + limit == size) {
+                    if (position == limit) {
+                        return null;
+                    }
+                    line.set(position, limit, ascii);
+                    position = limit;
+                    return line;
+                }
+                // Map the next window starting at the partial line, growing the window if the partial line fills it.
+                int remaining = limit - start;
+                if (remaining == windowSize) {
+                    if (windowSize == Integer.MAX_VALUE) {
+                        throw new IOException("Log line too long at position " + windowOffset + ".");
+                    }
+                    windowSize = (int) Math.min(windowSize * 2L, Integer.MAX_VALUE);
+                }
+                map(windowOffset + start);
+                scan = remaining;
+                start = 0;
+            }
+            if (!skipLineFeed && limit - scan >= 8 && isPlain(window.getLong(scan))) {
+                scan += 8;
+                continue;
+            }
+            byte b = window.get(scan);
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (b == '\n') {
+                    start = ++position;
+                    scan++;
+                    continue;
+                }
+            }
+            if (b == '\n' || b == '\r') {
+                line.set(start, scan, ascii);
+                position = scan + 1;
+                skipLineFeed = b == '\r';
+                return line;
+            }
+            if (b < 0) {
+                ascii = false;
+            }
+            scan++;
+        }
+    }
+
+    /**
+     * @param bytes
+     *            Eight bytes.
+     * @return true if none of the bytes are a line feed, a carriage return, or non-ASCII, false otherwise.
+     */
+    private static boolean isPlain(long bytes) {
+        long lineFeeds = bytes ^ 0x0A0A0A0A0A0A0A0AL;
+        long carriageReturns = bytes ^ 0x0D0D0D0D0D0D0D0DL;
+        // There is a zero byte if and only if subtracting one from each byte sets a high bit that was clear.
+        long zeros = ((lineFeeds - 0x0101010101010101L) & ~lineFeeds)
+                | ((carriageReturns - 0x0101010101010101L) & ~carriageReturns);
+        return ((zeros | bytes) & 0x8080808080808080L) == 0;
+    }
+
+    public long getLinePosition() {
+        return line.position + line.start;
+    }
+
+    public int getLineByteCount() {
+        return line.end - line.start;
+    }
+
+    public void close() throws IOException {
+        window = null;
+        in.close();
+    }
+
+    /**
+     * The current line, a view of the window.
+     */
+    private class Line implements CharSequence {
+
+        private ByteBuffer bytes;
+
+        /**
+         * The position in the file of the window.
+         */
+        private long position;
+
+        private int start;
+
+        private int end;
+
+        private boolean ascii;
+
+        /**
+         * The decoded line, or null if not yet decoded.
+         */
+        private String decoded;
+
+        private void set(int start, int end, boolean ascii) {
+            this.bytes = window;
+            this.position = windowOffset;
+            this.start = start;
+            this.end = end;
+            this.ascii = ascii;
+            decoded = null;
+        }
+
+        public int length() {
+            return ascii ? end - start : toString().length();
+        }
+
+        public char charAt(int index) {
+            if (ascii) {
+                if (index < 0 || index >= end - start) {
+                    throw new IndexOutOfBoundsException("index: " + index);
+                }
+                return (char) bytes.get(start + index);
+            }
+            return toString().charAt(index);
+        }
+
+        public CharSequence subSequence(int begin, int end) {
+            return toString().subSequence(begin, end);
+        }
+
+        public String toString() {
+            if (decoded == null) {
+                byte[] copy = new byte[end - start];
+                if (copy.length > 0) {
+                    ByteBuffer view = bytes.duplicate();
+                    view.position(start);
+                    view.get(copy);
+                }
+                decoded = new String(copy, ascii ? ASCII : charset);
+            }
+            return decoded;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * Match statistics for a compiled regular expression, collected by {@link RegExUtil} when profiling is enabled.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class PatternProfile {
+
+    private final Pattern pattern;
+
+    /**
+     * The number of inputs matched against the pattern (not including remembered results).
+     */
+    private final AtomicLong attempts = new AtomicLong();
+
+    /**
+     * The number of inputs that matched.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The total time spent matching, in nanoseconds.
+     */
+    private final AtomicLong nanos = new AtomicLong();
+
+    /**
+     * The number of matches abandoned because the input exceeded the match budget.
+     */
+    private final AtomicLong budgetExceeded = new AtomicLong();
+
+    /**
+     * @param pattern
+     *            The compiled pattern.
+     */
+    public PatternProfile(Pattern pattern) {
+        this.pattern = pattern;
+    }
+
+    /**
+     * Record a match attempt.
+     * 
+     * @param hit
+     *            Whether the input matched.
+     * @param elapsed
+     *            The time spent matching, in nanoseconds.
+     * @param exceeded
+     *            Whether the match was abandoned because the input exceeded the match budget.
+     */
+    void record(boolean hit, long elapsed, boolean exceeded) {
+        attempts.incrementAndGet();
+        if (hit) {
+            hits.incrementAndGet();
+        }
+        nanos.addAndGet(elapsed);
+        if (exceeded) {
+            budgetExceeded.incrementAndGet();
+        }
+    }
+
+    public String getRegex() {
+        return pattern.pattern();
+    }
+
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getNanos() {
+        return nanos.get();
+    }
+
+    public long getBudgetExceeded() {
+        return budgetExceeded.get();
+    }
+
+    public String toString() {
+        StringBuilder profile = new StringBuilder();
+        profile.append(getNanos() / 1000000);
+        profile.append("ms attempts=");
+        profile.append(getAttempts());
+        profile.append(" hits=");
+        profile.append(getHits());
+        if (getBudgetExceeded() > 0) {
+            profile.append(" budgetExceeded=");
+            profile.append(getBudgetExceeded());
+        }
+        profile.append(" regex=");
+        profile.append(getRegex());
+        return profile.toString();
+    }
+}
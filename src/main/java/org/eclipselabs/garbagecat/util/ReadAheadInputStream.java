@@ -0,0 +1,209 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * <p>
+ * Reads an input stream ahead on its own thread into a bounded buffer of chunks, so producing the bytes (e.g.
+ * decompressing) overlaps consuming them.
+ * </p>
+ * 
+ * <p>
+ * Not thread safe (the consumer is a single thread).
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class ReadAheadInputStream extends InputStream {
+
+    /**
+     * Default chunk size.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 65536;
+
+    /**
+     * Default maximum number of chunks read ahead.
+     */
+    public static final int DEFAULT_CHUNKS = 16;
+
+    /**
+     * Marks the end of the stream in the chunks.
+     */
+    private static final byte[] END = new byte[0];
+
+    private final InputStream in;
+
+    private final int chunkSize;
+
+    /**
+     * The chunks read ahead.
+     */
+    private final BlockingQueue<byte[]> chunks;
+
+    private final Thread reader;
+
+    /**
+     * The exception or error reading ahead, or null if none. Set before the end of the stream is marked, and thrown
+     * by the consumer when it reaches the end of the stream.
+     */
+    private Throwable exception;
+
+    /**
+     * The chunk being consumed.
+     */
+    private byte[] chunk = END;
+
+    /**
+     * The index of the next byte to consume in the chunk.
+     */
+    private int position;
+
+    private boolean endOfStream;
+
+    /**
+     * @param in
+     *            The input stream to read ahead.
+     */
+    public ReadAheadInputStream(InputStream in) {
+        this(in, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNKS);
+    }
+
+    /**
+     * @param in
+     *            The input stream to read ahead.
+     * @param chunkSize
+     *            The chunk size.
+     * @param chunks
+     *            The maximum number of chunks read ahead.
+     */
+    public ReadAheadInputStream(InputStream in, int chunkSize, int chunks) {
+        if (in == null) {
+            throw new IllegalArgumentException("in == null!!");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize <= 0!!");
+        }
+        if (chunks <= 0) {
+            throw new IllegalArgumentException("chunks <= 0!!");
+        }
+        this.in = in;
+        this.chunkSize = chunkSize;
+        this.chunks = new ArrayBlockingQueue<byte[]>(chunks);
+        reader = new Thread(new Runnable() {
+            public void run() {
+                readAhead();
+            }
+        }, "garbagecat-read-ahead");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Read the input stream into chunks until the end of the stream, an exception or error, or the stream is closed.
+     * The end of the stream is always marked (unless closed), so the consumer does not wait forever when reading fails
+     * (e.g. a <code>RuntimeException</code> decompressing corrupt input).
+     */
+    private void readAhead() {
+        boolean closed = false;
+        try {
+            while (true) {
+                byte[] buffer = new byte[chunkSize];
+                int length = 0;
+                while (length < buffer.length) {
+                    int read = in.read(buffer, length, buffer.length - length);
+                    if (read < 0) {
+                        break;
+                    }
+                    length += read;
+                }
+                if (length == 0) {
+                    break;
+                }
+                chunks.put(length == buffer.length ? buffer : Arrays.copyOf(buffer, length));
+                if (length < buffer.length) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            closed = true;
+        } catch (Throwable t) {
+            exception = t;
+        } finally {
+            if (!closed) {
+                try {
+                    chunks.put(END);
+                } catch (InterruptedException e) {
+                    // Closed
+                }
+            }
+        }
+    }
+
+    public int read() throws IOException {
+        byte[] b = new byte[1];
+        return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+    }
+
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position == chunk.length) {
+            if (endOfStream) {
+                return -1;
+            }
+            try {
+                chunk = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            position = 0;
+            if (chunk == END) {
+                endOfStream = true;
+                if (exception instanceof IOException) {
+                    throw (IOException) exception;
+                } else if (exception instanceof RuntimeException) {
+                    throw (RuntimeException) exception;
+                } else if (exception instanceof Error) {
+                    throw (Error) exception;
+                } else if (exception != null) {
+                    throw new IOException(exception);
+                }
+                return -1;
+            }
+        }
+        int length = Math.min(len, chunk.length - position);
+        System.arraycopy(chunk, position, b, off, length);
+        position += length;
+        return length;
+    }
+
+    public void close() throws IOException {
+        reader.interrupt();
+        try {
+            reader.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        in.close();
+    }
+}
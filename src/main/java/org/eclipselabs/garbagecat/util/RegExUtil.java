@@ -0,0 +1,547 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedDecorator;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+
+/**
+ * <p>
+ * Registry of compiled regular expressions shared by all events, preprocess actions, and utilities.
+ * </p>
+ * 
+ * <p>
+ * <code>String.matches()</code> and <code>Pattern.compile()</code> compile the regular expression on every call, and
+ * the event and preprocessing regular expressions are large. Each regular expression is compiled the first time it is
+ * used and the <code>Pattern</code> is reused for every subsequent log line.
+ * </p>
+ * 
+ * <p>
+ * Matching can be profiled (attempts, hits, and time per pattern) to find expensive regular expressions, and guarded by
+ * a match budget so a pathological log line (e.g. a thread dump or application logging mixed into the garbage
+ * collection logging) that causes catastrophic backtracking cannot stall the analysis.
+ * </p>
+ * 
+ * <p>
+ * Regular expressions that start with the unified logging decorator ({@link UnifiedRegEx#DECORATOR}) are matched by
+ * scanning the decorator once per log line without regular expressions (see
+ * {@link UnifiedDecorator#getRegExEnds(CharSequence, int[])}) and matching only the message body.
+ * </p>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class RegExUtil {
+
+    /**
+     * Compiled patterns keyed by regular expression.
+     */
+    private static final ConcurrentMap<String, Pattern> PATTERNS = new ConcurrentHashMap<String, Pattern>(512);
+
+    /**
+     * The message body patterns of regular expressions that start with the unified logging decorator, keyed by the
+     * pattern of the regular expression.
+     */
+    private static final ConcurrentMap<Pattern, BodyPattern> BODY_PATTERNS;
+
+    /**
+     * Match results for the most recent input on each thread.
+     */
+    private static final ThreadLocal<LineMatches> LINE_MATCHES = new ThreadLocal<LineMatches>() {
+        protected LineMatches initialValue() {
+            return new LineMatches();
+        }
+    };
+
+    /**
+     * Match statistics keyed by pattern.
+     */
+    private static final ConcurrentMap<Pattern, PatternProfile> PROFILES;
+
+    static {
+        PROFILES = new ConcurrentHashMap<Pattern, PatternProfile>(512);
+        BODY_PATTERNS = new ConcurrentHashMap<Pattern, BodyPattern>(256);
+    }
+
+    /**
+     * Whether match statistics are collected.
+     */
+    private static volatile boolean profiling = false;
+
+    /**
+     * The maximum number of characters the regular expression engine may read for a single input across all patterns,
+     * or 0 for no limit.
+     */
+    private static volatile long matchBudget = 0;
+
+    /**
+     * Match results for a single input, keyed by pattern. A null <code>Matcher</code> means the input does not match.
+     */
+    private static class LineMatches {
+
+        /**
+         * Maximum number of results remembered for an input.
+         */
+        private static final int CAPACITY = 32;
+
+        private CharSequence input;
+
+        /**
+         * The version of the input, if it is a <code>LogLineBuffer</code>.
+         */
+        private int version;
+
+        private final Budget budget = new Budget();
+
+        private final DecoratorEnds decoratorEnds = new DecoratorEnds();
+
+        private final Pattern[] patterns = new Pattern[CAPACITY];
+
+        private final Matcher[] matchers = new Matcher[CAPACITY];
+
+        private int size;
+
+        private void reset(CharSequence input) {
+            for (int i = 0; i < size; i++) {
+                patterns[i] = null;
+                matchers[i] = null;
+            }
+            this.input = input;
+            if (input instanceof LogLineBuffer) {
+                version = ((LogLineBuffer) input).version;
+            }
+            budget.remaining = matchBudget;
+            decoratorEnds.count = -1;
+            size = 0;
+        }
+
+        private void add(Pattern pattern, Matcher matcher) {
+            if (size < CAPACITY) {
+                patterns[size] = pattern;
+                matchers[size] = matcher;
+                size++;
+            }
+        }
+    }
+
+    /**
+     * The number of characters the regular expression engine may still read for an input.
+     */
+    private static class Budget {
+
+        private long remaining;
+    }
+
+    /**
+     * The message body pattern of a regular expression that starts with the unified logging decorator: required (e.g.
+     * <code>^DECORATOR Pause Young</code>), optional (e.g. <code>^(DECORATOR)?[ ]{2,3}Rebuild Free Set</code>), or
+     * optional and followed by a space (e.g. <code>^(DECORATOR )?GC STATISTICS:$</code>).
+     */
+    private static class BodyPattern {
+
+        /**
+         * The message body, to test if the message body matches.
+         */
+        private final Pattern pattern;
+
+        /**
+         * Whether the log line does not need to start with the decorator.
+         */
+        private final boolean optional;
+
+        /**
+         * Whether the decorator is followed by a space.
+         */
+        private final boolean space;
+
+        private BodyPattern(String body, boolean optional, boolean space) {
+            this.pattern = Pattern.compile("^" + body);
+            this.optional = optional;
+            this.space = space;
+        }
+    }
+
+    /**
+     * Where the unified logging decorator can end in an input, scanned when first needed.
+     */
+    private static class DecoratorEnds {
+
+        private final int[] ends = new int[UnifiedDecorator.REGEX_ENDS];
+
+        /**
+         * The number of ends, or -1 if not scanned yet.
+         */
+        private int count = -1;
+    }
+
+    /**
+     * Input that counts the characters read by the regular expression engine against the match budget.
+     */
+    private static class BudgetedInput implements CharSequence {
+
+        private final CharSequence input;
+
+        private final Budget budget;
+
+        private BudgetedInput(CharSequence input, Budget budget) {
+            this.input = input;
+            this.budget = budget;
+        }
+
+        public int length() {
+            return input.length();
+        }
+
+        public char charAt(int index) {
+            if (--budget.remaining < 0) {
+                throw MatchBudgetExceededException.INSTANCE;
+            }
+            return input.charAt(index);
+        }
+
+        public CharSequence subSequence(int start, int end) {
+            return input.subSequence(start, end);
+        }
+
+        public String toString() {
+            return input.toString();
+        }
+    }
+
+    /**
+     * Thrown to abandon a match when the input exceeds the match budget.
+     */
+    private static class MatchBudgetExceededException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final MatchBudgetExceededException INSTANCE = new MatchBudgetExceededException();
+
+        private MatchBudgetExceededException() {
+            super("Match budget exceeded");
+        }
+
+        public Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Make default constructor private so the class cannot be instantiated.
+     */
+    private RegExUtil() {
+
+    }
+
+    /**
+     * Get the compiled <code>Pattern</code> for a regular expression, compiling it on first use.
+     * 
+     * @param regex
+     *            The regular expression.
+     * @return The compiled <code>Pattern</code>.
+     */
+    public static final Pattern getPattern(String regex) {
+        Pattern pattern = PATTERNS.get(regex);
+        if (pattern == null) {
+            pattern = Pattern.compile(regex);
+            Pattern existing = PATTERNS.putIfAbsent(regex, pattern);
+            if (existing != null) {
+                pattern = existing;
+            } else {
+                BodyPattern bodyPattern = getBodyPattern(regex);
+                if (bodyPattern != null) {
+                    BODY_PATTERNS.put(pattern, bodyPattern);
+                }
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * @param regex
+     *            The regular expression.
+     * @return The message body pattern, or null if the regular expression does not start with the unified logging
+     *         decorator.
+     */
+    private static BodyPattern getBodyPattern(String regex) {
+        String decorator = UnifiedRegEx.DECORATOR;
+        if (regex.startsWith("^" + decorator)) {
+            return new BodyPattern(regex.substring(1 + decorator.length()), false, false);
+        } else if (regex.startsWith(decorator)) {
+            return new BodyPattern(regex.substring(decorator.length()), false, false);
+        } else if (regex.startsWith("^(" + decorator + ")?")) {
+            return new BodyPattern(regex.substring(4 + decorator.length()), true, false);
+        } else if (regex.startsWith("^(" + decorator + " )?")) {
+            return new BodyPattern(regex.substring(5 + decorator.length()), true, true);
+        }
+        return null;
+    }
+
+    /**
+     * Get a <code>Matcher</code> for the input using the compiled regular expression.
+     * 
+     * @param input
+     *            The character sequence to match.
+     * @param regex
+     *            The regular expression.
+     * @return A <code>Matcher</code> for the input.
+     */
+    public static final Matcher matcher(CharSequence input, String regex) {
+        return getPattern(regex).matcher(input);
+    }
+
+    /**
+     * Match the entire input against a regular expression.
+     * 
+     * The result of each match is remembered (per thread) for the most recent <code>String</code> or
+     * {@link LogLineBuffer} input, so testing a log line during event identification and then extracting the groups in
+     * the event constructor matches the line only once.
+     * 
+     * @param input
+     *            The character sequence to match.
+     * @param regex
+     *            The regular expression.
+     * @return A <code>Matcher</code> that has matched the entire input, or null if the input does not match. The
+     *         <code>Matcher</code> is shared and must only be used to read groups. When the regular expression starts
+     *         with the unified logging decorator, only the message body is matched, so the groups are numbered from the
+     *         first message body group (the decorator fields are read with {@link UnifiedDecorator}).
+     */
+    public static final Matcher match(CharSequence input, String regex) {
+        return match(input, getPattern(regex));
+    }
+
+    /**
+     * Match the entire input against a compiled pattern.
+     * 
+     * @param input
+     *            The character sequence to match.
+     * @param pattern
+     *            The compiled pattern.
+     * @return A <code>Matcher</code> that has matched the entire input, or null if the input does not match. The
+     *         <code>Matcher</code> is shared and must only be used to read groups.
+     * @see #match(CharSequence, String)
+     */
+    public static final Matcher match(CharSequence input, Pattern pattern) {
+        if (!(input instanceof String) && !(input instanceof LogLineBuffer)) {
+            Budget budget = new Budget();
+            budget.remaining = matchBudget;
+            return matchEntire(input, pattern, budget, new DecoratorEnds());
+        }
+        LineMatches lineMatches = LINE_MATCHES.get();
+        if (lineMatches.input != input
+                || (input instanceof LogLineBuffer && ((LogLineBuffer) input).version != lineMatches.version)) {
+            lineMatches.reset(input);
+        }
+        for (int i = 0; i < lineMatches.size; i++) {
+            if (lineMatches.patterns[i] == pattern) {
+                return lineMatches.matchers[i];
+            }
+        }
+        Matcher matcher = matchEntire(input, pattern, lineMatches.budget, lineMatches.decoratorEnds);
+        lineMatches.add(pattern, matcher);
+        return matcher;
+    }
+
+    /**
+     * Match the entire input, profiling and enforcing the match budget if enabled.
+     * 
+     * @param input
+     *            The character sequence to match.
+     * @param pattern
+     *            The compiled pattern.
+     * @param budget
+     *            The match budget remaining for the input.
+     * @param decoratorEnds
+     *            Where the unified logging decorator can end in the input.
+     * @return A <code>Matcher</code> that has matched the entire input, or null if the input does not match or
+     *         exceeded the match budget.
+     */
+    private static Matcher matchEntire(CharSequence input, Pattern pattern, Budget budget,
+            DecoratorEnds decoratorEnds) {
+        BodyPattern bodyPattern = BODY_PATTERNS.get(pattern);
+        if (!profiling && matchBudget <= 0) {
+            return matchEntire(input, input, pattern, bodyPattern, decoratorEnds);
+        }
+        long start = profiling ? System.nanoTime() : 0;
+        Matcher matcher = null;
+        boolean exceeded = false;
+        if (matchBudget > 0 && budget.remaining <= 0) {
+            exceeded = true;
+        } else {
+            try {
+                matcher = matchEntire(input, matchBudget <= 0 ? input : new BudgetedInput(input, budget), pattern,
+                        bodyPattern, decoratorEnds);
+            } catch (MatchBudgetExceededException e) {
+                exceeded = true;
+            }
+        }
+        if (profiling) {
+            getProfile(pattern).record(matcher != null, System.nanoTime() - start, exceeded);
+        }
+        return matcher;
+    }
+
+    /**
+     * Match the entire input, or only the message body when the pattern starts with the unified logging decorator.
+     * 
+     * @param input
+     *            The character sequence to match.
+     * @param matchInput
+     *            The character sequence the regular expression engine reads (e.g. the input counting the characters
+     *            read against the match budget).
+     * @param pattern
+     *            The compiled pattern.
+     * @param bodyPattern
+     *            The message body pattern, or null if the pattern does not start with the unified logging decorator.
+     * @param decoratorEnds
+     *            Where the unified logging decorator can end in the input.
+     * @return A <code>Matcher</code> that has matched the entire input, or null if the input does not match.
+     */
+    private static Matcher matchEntire(CharSequence input, CharSequence matchInput, Pattern pattern,
+            BodyPattern bodyPattern, DecoratorEnds decoratorEnds) {
+        if (bodyPattern == null) {
+            Matcher matcher = pattern.matcher(matchInput);
+            return matcher.matches() ? matcher : null;
+        }
+        if (decoratorEnds.count < 0) {
+            decoratorEnds.count = UnifiedDecorator.getRegExEnds(input, decoratorEnds.ends);
+        }
+        // The regular expression backtracks to a shorter decorator, then no decorator if optional, when the message
+        // body does not match
+        Matcher matcher = bodyPattern.pattern.matcher(matchInput);
+        for (int i = 0; i < decoratorEnds.count; i++) {
+            int end = decoratorEnds.ends[i];
+            if (bodyPattern.space) {
+                if (end == input.length() || input.charAt(end) != ' ') {
+                    continue;
+                }
+                end++;
+            }
+            if (matcher.region(end, matchInput.length()).matches()) {
+                return matcher;
+            }
+        }
+        if (bodyPattern.optional && matcher.region(0, matchInput.length()).matches()) {
+            return matcher;
+        }
+        return null;
+    }
+
+    /**
+     * @param pattern
+     *            The compiled pattern.
+     * @return The match statistics for the pattern.
+     */
+    private static PatternProfile getProfile(Pattern pattern) {
+        PatternProfile profile = PROFILES.get(pattern);
+        if (profile == null) {
+            profile = new PatternProfile(pattern);
+            PatternProfile existing = PROFILES.putIfAbsent(pattern, profile);
+            if (existing != null) {
+                profile = existing;
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * @param profiling
+     *            Whether to collect match statistics for each pattern.
+     */
+    public static final void setProfiling(boolean profiling) {
+        RegExUtil.profiling = profiling;
+    }
+
+    public static final boolean isProfiling() {
+        return profiling;
+    }
+
+    /**
+     * @param matchBudget
+     *            The maximum number of characters the regular expression engine may read for a single input (e.g. a
+     *            log line) across all patterns, or 0 for no limit. Once an input exceeds the budget, it does not match
+     *            any pattern.
+     */
+    public static final void setMatchBudget(long matchBudget) {
+        RegExUtil.matchBudget = matchBudget;
+    }
+
+    public static final long getMatchBudget() {
+        return matchBudget;
+    }
+
+    /**
+     * @return The match statistics for each pattern, most time spent matching first.
+     */
+    public static final List<PatternProfile> getProfiles() {
+        List<PatternProfile> profiles = new ArrayList<PatternProfile>(PROFILES.values());
+        Collections.sort(profiles, new Comparator<PatternProfile>() {
+            public int compare(PatternProfile profile1, PatternProfile profile2) {
+                if (profile1.getNanos() == profile2.getNanos()) {
+                    return 0;
+                }
+                return profile1.getNanos() > profile2.getNanos() ? -1 : 1;
+            }
+        });
+        return profiles;
+    }
+
+    /**
+     * Discard the match statistics.
+     */
+    public static final void clearProfiles() {
+        PROFILES.clear();
+    }
+
+    /**
+     * Equivalent to <code>input.matches(regex)</code> without compiling the regular expression on every call.
+     * 
+     * @param input
+     *            The character sequence to test.
+     * @param regex
+     *            The regular expression.
+     * @return true if the entire input matches the regular expression, false otherwise.
+     */
+    public static final boolean matches(CharSequence input, String regex) {
+        return match(input, getPattern(regex)) != null;
+    }
+
+    /**
+     * Equivalent to <code>pattern.matcher(input).matches()</code>, remembering the result for the most recent input.
+     * 
+     * @param input
+     *            The character sequence to test.
+     * @param pattern
+     *            The compiled pattern.
+     * @return true if the entire input matches the pattern, false otherwise.
+     */
+    public static final boolean matches(CharSequence input, Pattern pattern) {
+        return match(input, pattern) != null;
+    }
+
+    /**
+     * @return The number of compiled patterns in the registry.
+     */
+    public static final int size() {
+        return PATTERNS.size();
+    }
+}
@@ -25,6 +25,11 @@ import org.eclipselabs.garbagecat.domain.TimesData;
  */
 public class JdkMath {
 
+    /**
+     * Returned by <code>movePointRight</code> when a number is not a plain decimal that fits in a <code>long</code>.
+     */
+    private static final long NOT_PARSED = Long.MIN_VALUE;
+
     /**
      * Make default constructor private so the class cannot be instantiated.
      */
@@ -32,6 +37,108 @@ public class JdkMath {
 
     }
 
+    /**
+     * Parse a plain decimal number (e.g. 12345.678, 0,0254200) and move the decimal point right without creating a
+     * <code>BigDecimal</code>. Digits beyond the new decimal point are dropped (rounded down toward zero).
+     * 
+     * @param number
+     *            A whole number or decimal with a decimal period or comma and an optional sign.
+     * @param places
+     *            The number of places to move the decimal point right.
+     * @param exact
+     *            true to reject numbers with non-zero digits beyond the new decimal point, false to drop them.
+     * @return The number with the decimal point moved right, or <code>NOT_PARSED</code> if the number is not a plain
+     *         decimal, is too large, or is not exact.
+     */
+    private static long movePointRight(String number, int places, boolean exact) {
+        int length = number.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (number.charAt(0) == '-' || number.charAt(0) == '+')) {
+            negative = number.charAt(0) == '-';
+            i++;
+        }
+        long value = 0;
+        int digits = 0;
+        boolean digitFound = false;
+        while (i < length && number.charAt(i) >= '0' && number.charAt(i) <= '9') {
+            value = value * 10 + (number.charAt(i) - '0');
+            digitFound = true;
+            if (++digits > 17) {
+                return NOT_PARSED;
+            }
+            i++;
+        }
+        int fractionDigits = 0;
+        if (i < length && (number.charAt(i) == '.' || number.charAt(i) == ',')) {
+            i++;
+            while (i < length && number.charAt(i) >= '0' && number.charAt(i) <= '9') {
+                int digit = number.charAt(i) - '0';
+                digitFound = true;
+                if (fractionDigits < places) {
+                    value = value * 10 + digit;
+                    fractionDigits++;
+                    if (++digits > 17) {
+                        return NOT_PARSED;
+                    }
+                } else if (exact && digit != 0) {
+                    return NOT_PARSED;
+                }
+                i++;
+            }
+        }
+        if (i != length || !digitFound) {
+            return NOT_PARSED;
+        }
+        for (; fractionDigits < places; fractionDigits++) {
+            value = value * 10;
+            if (++digits > 17) {
+                return NOT_PARSED;
+            }
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Divide and round half even, equivalent to <code>BigDecimal</code> division with
+     * <code>RoundingMode.HALF_EVEN</code> to a whole number.
+     * 
+     * @param dividend
+     *            The dividend.
+     * @param divisor
+     *            The divisor.
+     * @return The quotient rounded to the nearest whole number, with ties rounded to the even neighbor.
+     */
+    private static long divideHalfEven(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder != 0) {
+            long half = Math.abs(divisor) - remainder;
+            if (remainder > half || (remainder == half && (quotient & 1) != 0)) {
+                quotient += (dividend < 0) == (divisor < 0) ? 1 : -1;
+            }
+        }
+        return quotient;
+    }
+
+    /**
+     * Divide and round up, equivalent to <code>BigDecimal</code> division with <code>RoundingMode.CEILING</code> to a
+     * whole number.
+     * 
+     * @param dividend
+     *            The dividend.
+     * @param divisor
+     *            The divisor.
+     * @return The quotient rounded toward positive infinity.
+     */
+    private static long divideCeiling(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        if (dividend % divisor != 0 && (dividend < 0) == (divisor < 0)) {
+            quotient++;
+        }
+        return quotient;
+    }
+
     /**
      * Convert seconds to milliseconds. For example: Convert 0.0225213 to 23.
      * 
@@ -39,12 +146,14 @@ public class JdkMath {
      *            Seconds as a whole number or decimal.
      * @return Milliseconds rounded to a whole number.
      */
-    public static BigDecimal convertSecsToMillis(String secs) {
-        // BigDecimal does not accept decimal commas, only decimal periods
-        BigDecimal millis = new BigDecimal(secs.replace(",", "."));
-        millis = millis.movePointRight(3);
+    public static long convertSecsToMillis(String secs) {
         // Round down to avoid TimeWarpExceptions when events are spaced close together
-        millis = millis.setScale(0, RoundingMode.DOWN);
+        long millis = movePointRight(secs, 3, false);
+        if (millis == NOT_PARSED) {
+            // BigDecimal does not accept decimal commas, only decimal periods
+            BigDecimal decimal = new BigDecimal(secs.replace(",", "."));
+            millis = decimal.movePointRight(3).setScale(0, RoundingMode.DOWN).longValue();
+        }
         return millis;
     }
 
@@ -57,12 +166,15 @@ public class JdkMath {
      *            Milliseconds with decimal places.
      * @return Milliseconds rounded to a whole number.
      */
-    public static BigDecimal roundMillis(String millis) {
-        // BigDecimal does not accept decimal commas, only decimal periods
-        BigDecimal rounded = new BigDecimal(millis.replace(",", "."));
+    public static int roundMillis(String millis) {
         // Round down to avoid TimeWarpExceptions when events are spaced close together
-        rounded = rounded.setScale(0, RoundingMode.DOWN);
-        return rounded;
+        long rounded = movePointRight(millis, 0, false);
+        if (rounded == NOT_PARSED) {
+            // BigDecimal does not accept decimal commas, only decimal periods
+            BigDecimal decimal = new BigDecimal(millis.replace(",", "."));
+            rounded = decimal.setScale(0, RoundingMode.DOWN).longValue();
+        }
+        return (int) rounded;
     }
 
     /**
@@ -90,13 +202,15 @@ public class JdkMath {
      *            Seconds as a whole number or decimal.
      * @return Microseconds rounded to a whole number.
      */
-    public static BigDecimal convertSecsToMicros(String secs) {
-        // BigDecimal does not accept decimal commas, only decimal periods
-        BigDecimal micros = new BigDecimal(secs.replace(",", "."));
-        micros = micros.movePointRight(6);
+    public static int convertSecsToMicros(String secs) {
         // Round down to avoid TimeWarpExceptions when events are spaced close together
-        micros = micros.setScale(0, RoundingMode.DOWN);
-        return micros;
+        long micros = movePointRight(secs, 6, false);
+        if (micros == NOT_PARSED) {
+            // BigDecimal does not accept decimal commas, only decimal periods
+            BigDecimal decimal = new BigDecimal(secs.replace(",", "."));
+            micros = decimal.movePointRight(6).setScale(0, RoundingMode.DOWN).longValue();
+        }
+        return (int) micros;
     }
 
     /**
@@ -108,29 +222,28 @@ public class JdkMath {
      *            Milliseconds as a whole number or decimal.
      * @return Microseconds rounded to a whole number.
      */
-    public static BigDecimal convertMillisToMicros(String millis) {
-        // BigDecimal does not accept decimal commas, only decimal periods
-        BigDecimal duration = new BigDecimal(millis.replace(",", "."));
-        duration = duration.movePointRight(3);
+    public static int convertMillisToMicros(String millis) {
         // Round down to avoid TimeWarpExceptions when events are spaced close together
-        duration = duration.setScale(0, RoundingMode.DOWN);
-        return duration;
+        long duration = movePointRight(millis, 3, false);
+        if (duration == NOT_PARSED) {
+            // BigDecimal does not accept decimal commas, only decimal periods
+            BigDecimal decimal = new BigDecimal(millis.replace(",", "."));
+            duration = decimal.movePointRight(3).setScale(0, RoundingMode.DOWN).longValue();
+        }
+        return (int) duration;
     }
 
     /**
      * Convert microseconds to milliseconds.
      * 
-     * For example: Convert 987654321 987.654.
+     * For example: Convert 987654321 to 987654.
      * 
      * @param micros
      *            Microseconds as a whole number.
-     * @return Milliseconds rounded to 3 decimal places.
+     * @return Milliseconds rounded down to a whole number.
      */
-    public static BigDecimal convertMicrosToMillis(long micros) {
-        BigDecimal duration = new BigDecimal(micros);
-        duration = duration.movePointLeft(3);
-        duration = duration.setScale(3, RoundingMode.HALF_EVEN);
-        return duration;
+    public static long convertMicrosToMillis(long micros) {
+        return micros / 1000;
     }
 
     /**
@@ -140,13 +253,15 @@ public class JdkMath {
      *            Seconds as a number with 2 decimal places.
      * @return Centoseconds.
      */
-    public static BigDecimal convertSecsToCentis(String secs) {
-        // BigDecimal does not accept decimal commas, only decimal periods
-        BigDecimal duration = new BigDecimal(secs.replace(",", "."));
-        duration = duration.movePointRight(2);
+    public static int convertSecsToCentis(String secs) {
         // Round down to avoid TimeWarpExceptions when events are spaced close together
-        duration = duration.setScale(0, RoundingMode.DOWN);
-        return duration;
+        long duration = movePointRight(secs, 2, false);
+        if (duration == NOT_PARSED) {
+            // BigDecimal does not accept decimal commas, only decimal periods
+            BigDecimal decimal = new BigDecimal(secs.replace(",", "."));
+            duration = decimal.movePointRight(2).setScale(0, RoundingMode.DOWN).longValue();
+        }
+        return (int) duration;
     }
 
     /**
@@ -166,7 +281,7 @@ public class JdkMath {
             // BigDecimal does not accept decimal commas, only decimal periods
             duration = duration.add(new BigDecimal(durations[i].replace(",", ".")));
         }
-        return convertSecsToMillis(duration.toPlainString()).intValue();
+        return (int) convertSecsToMillis(duration.toPlainString());
     }
 
     /**
@@ -186,12 +301,9 @@ public class JdkMath {
      */
     public static int calcThroughput(final int currentDuration, final long currentTimestamp, final int priorDuration,
             final long priorTimestamp) {
-        long timeTotal = currentTimestamp + new Long(currentDuration).longValue() - priorTimestamp;
-        long timeNotGc = timeTotal - new Long(currentDuration).longValue() - new Long(priorDuration).longValue();
-        BigDecimal throughput = new BigDecimal(timeNotGc);
-        throughput = throughput.divide(new BigDecimal(timeTotal), 2, RoundingMode.HALF_EVEN);
-        throughput = throughput.movePointRight(2);
-        return throughput.intValue();
+        long timeTotal = currentTimestamp + currentDuration - priorTimestamp;
+        long timeNotGc = timeTotal - currentDuration - priorDuration;
+        return (int) divideHalfEven(timeNotGc * 100, timeTotal);
     }
 
     /**
@@ -227,6 +339,29 @@ public class JdkMath {
      */
     public static int convertSizeToKilobytes(final String size, final char units) {
 
+        // Thousandths of the size, so the conversion is exact
+        long thousandths = movePointRight(size, 3, true);
+        if (thousandths != NOT_PARSED && Math.abs(thousandths) <= (Long.MAX_VALUE >> 20)) {
+            long kilobytes;
+            switch (units) {
+            case 'B':
+                kilobytes = divideHalfEven(thousandths, 1000 * 1024);
+                break;
+            case 'K':
+                kilobytes = divideHalfEven(thousandths, 1000);
+                break;
+            case 'M':
+                kilobytes = divideHalfEven(thousandths * 1024, 1000);
+                break;
+            case 'G':
+                kilobytes = divideHalfEven(thousandths * 1024 * 1024, 1000);
+                break;
+            default:
+                throw new AssertionError("Unexpected units value: " + units);
+            }
+            return (int) kilobytes;
+        }
+
         BigDecimal kilobytes = new BigDecimal(size.replace(",", "."));
         BigDecimal kilo = new BigDecimal("1024");
 
@@ -273,12 +408,7 @@ public class JdkMath {
                 calc = Integer.MAX_VALUE;
             }
         } else {
-            BigDecimal parallelism = new BigDecimal(timeUser);
-            parallelism = parallelism.add(new BigDecimal(timeSys));
-            BigDecimal hundred = new BigDecimal("100");
-            parallelism = parallelism.multiply(hundred);
-            parallelism = parallelism.divide(new BigDecimal(timeReal), 0, RoundingMode.CEILING);
-            calc = parallelism.intValue();
+            calc = (int) divideCeiling(((long) timeUser + timeSys) * 100, timeReal);
         }
         return calc;
     }
@@ -14,8 +14,11 @@ package org.eclipselabs.garbagecat.util.jdk;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -100,6 +103,8 @@ import org.eclipselabs.garbagecat.domain.jdk.unified.UsingSerialEvent;
 import org.eclipselabs.garbagecat.domain.jdk.unified.UsingShenandoahEvent;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.KeywordIndex;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 
 /**
  * <p>
@@ -180,211 +185,1130 @@ public class JdkUtil {
         SERIAL, PARALLEL, CMS, G1, SHENANDOAH, UNKNOWN
     }
 
+    /**
+     * The order in which event types are tested by <code>identifyEventType</code>. Unified events first, then in order
+     * of most common events to limit checking. This is the initial order. It is adapted to the events identified in
+     * each log (see {@link IdentifyOrder}).
+     */
+    private static final LogEventType[] IDENTIFY_ORDER = {
+        LogEventType.FOOTER_HEAP, LogEventType.HEAP_ADDRESS, LogEventType.HEAP_REGION_SIZE,
+        LogEventType.UNIFIED_APPLICATION_STOPPED_TIME, LogEventType.UNIFIED_BLANK_LINE,
+        LogEventType.UNIFIED_CMS_INITIAL_MARK, LogEventType.UNIFIED_CONCURRENT, LogEventType.UNIFIED_G1_CLEANUP,
+        LogEventType.UNIFIED_G1_INFO, LogEventType.UNIFIED_G1_MIXED_PAUSE, LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK,
+        LogEventType.UNIFIED_G1_YOUNG_PAUSE, LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED, LogEventType.UNIFIED_OLD,
+        LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD, LogEventType.UNIFIED_PARALLEL_SCAVENGE,
+        LogEventType.UNIFIED_PAR_NEW, LogEventType.UNIFIED_REMARK, LogEventType.UNIFIED_SERIAL_NEW,
+        LogEventType.UNIFIED_SERIAL_OLD, LogEventType.UNIFIED_YOUNG, LogEventType.USING_CMS, LogEventType.USING_G1,
+        LogEventType.USING_PARALLEL, LogEventType.USING_SERIAL, LogEventType.USING_SHENANDOAH,
+        LogEventType.VERBOSE_GC_YOUNG, LogEventType.VERBOSE_GC_OLD, LogEventType.G1_YOUNG_PAUSE,
+        LogEventType.G1_MIXED_PAUSE, LogEventType.G1_CONCURRENT, LogEventType.G1_YOUNG_INITIAL_MARK,
+        LogEventType.G1_REMARK, LogEventType.G1_FULL_GC, LogEventType.G1_CLEANUP, LogEventType.PAR_NEW,
+        LogEventType.CMS_SERIAL_OLD, LogEventType.CMS_INITIAL_MARK, LogEventType.CMS_REMARK,
+        LogEventType.CMS_CONCURRENT, LogEventType.PARALLEL_SCAVENGE, LogEventType.PARALLEL_SERIAL_OLD,
+        LogEventType.PARALLEL_COMPACTING_OLD, LogEventType.SERIAL_OLD, LogEventType.SERIAL_NEW,
+        LogEventType.SHENANDOAH_CANCELLING_GC, LogEventType.SHENANDOAH_CONCURRENT,
+        LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK, LogEventType.SHENANDOAH_DEGENERATED_GC_MARK,
+        LogEventType.SHENANDOAH_FINAL_EVAC, LogEventType.SHENANDOAH_FINAL_MARK, LogEventType.SHENANDOAH_FINAL_UPDATE,
+        LogEventType.SHENANDOAH_INIT_MARK, LogEventType.SHENANDOAH_INIT_UPDATE, LogEventType.SHENANDOAH_STATS,
+        LogEventType.SHENANDOAH_TRIGGER, LogEventType.APPLICATION_CONCURRENT_TIME,
+        LogEventType.APPLICATION_STOPPED_TIME, LogEventType.CLASS_UNLOADING, LogEventType.FOOTER_STATS,
+        LogEventType.GC_INFO, LogEventType.HEAP_AT_GC, LogEventType.TENURING_DISTRIBUTION, LogEventType.CLASS_HISTOGRAM,
+        LogEventType.APPLICATION_LOGGING, LogEventType.THREAD_DUMP, LogEventType.LOG_FILE, LogEventType.BLANK_LINE,
+        LogEventType.GC_OVERHEAD_LIMIT, LogEventType.FLS_STATISTICS, LogEventType.GC_LOCKER,
+        LogEventType.HEADER_COMMAND_LINE_FLAGS, LogEventType.HEADER_MEMORY, LogEventType.HEADER_VERSION,
+        LogEventType.REFERENCE_GC
+    };
+
+    /**
+     * Keyword index of the literal text required by each event type, with the event type ordinal as the id.
+     */
+    private static final KeywordIndex KEYWORD_INDEX;
+
+    /**
+     * Event types that have no required keyword and are candidates for every log line.
+     */
+    private static final long[] CANDIDATES_ALWAYS;
+
+    /**
+     * The collector family of each event type, indexed by ordinal.
+     */
+    private static final CollectorFamily[] COLLECTOR_FAMILIES;
+
+    /**
+     * Whether each event type is thrown away during preprocessing, indexed by ordinal.
+     */
+    private static final boolean[] THROW_AWAY;
+
+    /**
+     * The maximum number of line shapes remembered per thread.
+     */
+    private static final int SHAPE_CACHE_SIZE = 1024;
+
+    /**
+     * The event type identified for recent line shapes.
+     */
+    private static final ThreadLocal<ShapeCache> SHAPE_CACHE = new ThreadLocal<ShapeCache>() {
+        protected ShapeCache initialValue() {
+            return new ShapeCache();
+        }
+    };
+
+    /**
+     * Least recently used map of line shape to event type. The identified event type depends on the collector families
+     * tested first, so the map is only valid for the collector families it was filled with.
+     */
+    private static class ShapeCache extends LinkedHashMap<LineShape, LogEventType> {
+
+        private static final long serialVersionUID = 1L;
+
+        private List<CollectorFamily> collectorFamilies = new ArrayList<CollectorFamily>();
+
+        /**
+         * The shape of the log line being identified.
+         */
+        private final LineShape shape = new LineShape(256);
+
+        private ShapeCache() {
+            super(16, 0.75f, true);
+        }
+
+        private void reset(List<CollectorFamily> collectorFamilies) {
+            clear();
+            this.collectorFamilies.clear();
+            if (collectorFamilies != null) {
+                this.collectorFamilies.addAll(collectorFamilies);
+            }
+        }
+
+        protected boolean removeEldestEntry(Map.Entry<LineShape, LogEventType> eldest) {
+            return size() > SHAPE_CACHE_SIZE;
+        }
+    }
+
+    /**
+     * The shape of a log line (see {@link JdkUtil#getLineShape(CharSequence)}), built in a reusable buffer so looking
+     * up the shape of a log line does not create a <code>String</code>.
+     */
+    private static class LineShape {
+
+        private char[] chars;
+
+        private int length;
+
+        private int hash;
+
+        private LineShape(int capacity) {
+            chars = new char[capacity];
+        }
+
+        /**
+         * Replace the shape with the shape of a log line.
+         * 
+         * @param logLine
+         *            The log line.
+         */
+        private void set(CharSequence logLine) {
+            if (chars.length < logLine.length()) {
+                chars = new char[Math.max(logLine.length(), chars.length * 2)];
+            }
+            length = 0;
+            hash = 0;
+            boolean number = false;
+            boolean name = false;
+            for (int i = 0; i < logLine.length(); i++) {
+                char c = logLine.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    if (name) {
+                        append(c);
+                    } else if (!number) {
+                        append('#');
+                        number = true;
+                    }
+                } else {
+                    append(c);
+                    number = false;
+                    name = Character.isLetter(c);
+                }
+            }
+        }
+
+        private void append(char c) {
+            chars[length++] = c;
+            hash = 31 * hash + c;
+        }
+
+        /**
+         * @return A copy of the shape to keep (e.g. as a map key), since this shape is reused.
+         */
+        private LineShape copy() {
+            LineShape copy = new LineShape(length);
+            System.arraycopy(chars, 0, copy.chars, 0, length);
+            copy.length = length;
+            copy.hash = hash;
+            return copy;
+        }
+
+        public int hashCode() {
+            return hash;
+        }
+
+        public boolean equals(Object object) {
+            if (!(object instanceof LineShape)) {
+                return false;
+            }
+            LineShape other = (LineShape) object;
+            if (other.length != length || other.hash != hash) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (other.chars[i] != chars[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+
+    /**
+     * Event types that match some of the same log lines. The first event type must be tested before the second.
+     */
+    private static final LogEventType[][] IDENTIFY_PRECEDENCE = {
+        { LogEventType.G1_YOUNG_PAUSE, LogEventType.G1_YOUNG_INITIAL_MARK },
+        { LogEventType.PAR_NEW, LogEventType.CMS_SERIAL_OLD }
+    };
+
+    /**
+     * The number of events identified between reordering the event types by how often they are identified.
+     */
+    private static final int REORDER_INTERVAL = 1024;
+
+    /**
+     * <p>
+     * <code>IDENTIFY_ORDER</code> reordered so the event types identified most often are tested first.
+     * </p>
+     * 
+     * <p>
+     * Only collector specific event types are moved, and only within a run of collector specific event types. Event
+     * types that are not collector specific (e.g. headers, footers, application logging) are broad and keep their
+     * position relative to every other event type. <code>IDENTIFY_PRECEDENCE</code> is always respected.
+     * </p>
+     * 
+     * <p>
+     * Create one for each log parsed, so the order is adapted to that log only. Not thread safe.
+     * </p>
+     */
+    public static final class IdentifyOrder {
+
+        private final LogEventType[] order = IDENTIFY_ORDER.clone();
+
+        /**
+         * The number of times each event type was identified, indexed by ordinal. Halved when reordering so the order
+         * follows changes in the logging.
+         */
+        private final int[] hits = new int[LogEventType.values().length];
+
+        private int identified;
+
+        /**
+         * @return The order in which event types are tested.
+         */
+        LogEventType[] getOrder() {
+            return order.clone();
+        }
+
+        private void hit(LogEventType eventType) {
+            hits[eventType.ordinal()]++;
+            identified++;
+            if (identified % REORDER_INTERVAL == 0) {
+                reorder();
+            }
+        }
+
+        private void reorder() {
+            int start = 0;
+            while (start < IDENTIFY_ORDER.length) {
+                if (COLLECTOR_FAMILIES[IDENTIFY_ORDER[start].ordinal()] == CollectorFamily.UNKNOWN) {
+                    start++;
+                    continue;
+                }
+                int end = start;
+                while (end < IDENTIFY_ORDER.length
+                        && COLLECTOR_FAMILIES[IDENTIFY_ORDER[end].ordinal()] != CollectorFamily.UNKNOWN) {
+                    end++;
+                }
+                reorder(start, end);
+                start = end;
+            }
+            for (int i = 0; i < hits.length; i++) {
+                hits[i] = hits[i] / 2;
+            }
+        }
+
+        /**
+         * Reorder a run of event types by hits, most first, keeping the original order for ties.
+         * 
+         * @param start
+         *            The index of the first event type in the run.
+         * @param end
+         *            The index after the last event type in the run.
+         */
+        private void reorder(int start, int end) {
+            List<LogEventType> remaining = new ArrayList<LogEventType>();
+            for (int i = start; i < end; i++) {
+                remaining.add(IDENTIFY_ORDER[i]);
+            }
+            for (int i = start; i < end; i++) {
+                LogEventType next = null;
+                for (int j = 0; j < remaining.size(); j++) {
+                    LogEventType eventType = remaining.get(j);
+                    if ((next == null || hits[eventType.ordinal()] > hits[next.ordinal()])
+                            && !isPreceded(eventType, remaining)) {
+                        next = eventType;
+                    }
+                }
+                remaining.remove(next);
+                order[i] = next;
+            }
+        }
+
+        /**
+         * @param eventType
+         *            The event type.
+         * @param eventTypes
+         *            The event types not yet ordered.
+         * @return true if one of the event types must be tested before the event type, false otherwise.
+         */
+        private static boolean isPreceded(LogEventType eventType, List<LogEventType> eventTypes) {
+            for (int i = 0; i < IDENTIFY_PRECEDENCE.length; i++) {
+                if (IDENTIFY_PRECEDENCE[i][1] == eventType && eventTypes.contains(IDENTIFY_PRECEDENCE[i][0])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    static {
+        List<String> keywords = new ArrayList<String>();
+        List<Integer> ids = new ArrayList<Integer>();
+        LogEventType[] eventTypes = LogEventType.values();
+        long[] always = new long[(eventTypes.length + 63) / 64];
+        CollectorFamily[] collectorFamilies = new CollectorFamily[eventTypes.length];
+        boolean[] throwAway = new boolean[eventTypes.length];
+        for (int i = 0; i < eventTypes.length; i++) {
+            collectorFamilies[i] = getCollectorFamily(eventTypes[i]);
+            throwAway[i] = isThrowAway(eventTypes[i]);
+            String[] eventKeywords = getKeywords(eventTypes[i]);
+            if (eventKeywords == null) {
+                always[i / 64] |= 1L << (i % 64);
+            } else {
+                for (int j = 0; j < eventKeywords.length; j++) {
+                    keywords.add(eventKeywords[j]);
+                    ids.add(Integer.valueOf(i));
+                }
+            }
+        }
+        int[] idArray = new int[ids.size()];
+        for (int i = 0; i < idArray.length; i++) {
+            idArray[i] = ids.get(i).intValue();
+        }
+        KEYWORD_INDEX = new KeywordIndex(keywords.toArray(new String[keywords.size()]), idArray, eventTypes.length);
+        CANDIDATES_ALWAYS = always;
+        COLLECTOR_FAMILIES = collectorFamilies;
+        THROW_AWAY = throwAway;
+    }
+
     /**
      * Make default constructor private so the class cannot be instantiated.
      */
-    private JdkUtil() {
+    private JdkUtil() {
+
+    }
+
+    /**
+     * Identify the log line garbage collection event.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    public static final LogEventType identifyEventType(CharSequence logLine) {
+        return identifyEventType(logLine, null);
+    }
+
+    /**
+     * Identify the log line garbage collection event, first testing only the events of the collector families already
+     * identified in the log. If no event matches, all events are tested.
+     * 
+     * Garbage collection logging is very repetitive, with most lines differing only in numbers. The event type
+     * identified for each line shape (see {@link #getLineShape(CharSequence)}) is remembered, and a line with a known
+     * shape is only tested against that event type.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param collectorFamilies
+     *            The collector families identified in the log so far, or null to test all events.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    public static final LogEventType identifyEventType(CharSequence logLine, List<CollectorFamily> collectorFamilies) {
+        return identifyEventType(logLine, collectorFamilies, null);
+    }
+
+    /**
+     * Identify the log line garbage collection event (see {@link #identifyEventType(CharSequence, List)}), testing the
+     * event types in an order adapted to the log being parsed.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param collectorFamilies
+     *            The collector families identified in the log so far, or null to test all events.
+     * @param identifyOrder
+     *            The order adapted to the log being parsed, or null to test the event types in the initial order.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    public static final LogEventType identifyEventType(CharSequence logLine, List<CollectorFamily> collectorFamilies,
+            IdentifyOrder identifyOrder) {
+        ShapeCache shapeCache = getShapeCache(collectorFamilies);
+        shapeCache.shape.set(logLine);
+        LogEventType eventType = shapeCache.get(shapeCache.shape);
+        if (eventType != null && match(eventType, logLine)) {
+            return eventType;
+        }
+        eventType = findEventType(logLine, collectorFamilies, identifyOrder);
+        if (eventType != LogEventType.UNKNOWN) {
+            shapeCache.put(shapeCache.shape.copy(), eventType);
+        }
+        return eventType;
+    }
+
+    /**
+     * Identify the log line event if it is a throwaway event (see {@link #isThrowAway(LogEventType)}) or unknown, so a
+     * log line read into a reused buffer (see {@link org.eclipselabs.garbagecat.util.LogLineSource}) can be rejected
+     * without creating a <code>String</code>. The event type identified is the same as
+     * {@link #identifyEventType(CharSequence, List)}.
+     * 
+     * A log line with the shape of an event that is not thrown away is not tested, so it is matched only once, when it
+     * is parsed.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param collectorFamilies
+     *            The collector families identified in the log so far, or null to test all events.
+     * @return The throwaway <code>LogEventType</code> of the log entry, <code>LogEventType.UNKNOWN</code> if no event
+     *         matches, or null if the log entry is (likely) another event and must be parsed (see
+     *         {@link #parseLogLine(String, List)}).
+     */
+    public static final LogEventType identifyThrowAwayOrUnknownEventType(CharSequence logLine,
+            List<CollectorFamily> collectorFamilies) {
+        return identifyThrowAwayOrUnknownEventType(logLine, collectorFamilies, null);
+    }
+
+    /**
+     * Identify the log line event if it is a throwaway event or unknown (see
+     * {@link #identifyThrowAwayOrUnknownEventType(CharSequence, List)}), testing the event types in an order adapted
+     * to the log being parsed.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param collectorFamilies
+     *            The collector families identified in the log so far, or null to test all events.
+     * @param identifyOrder
+     *            The order adapted to the log being parsed, or null to test the event types in the initial order.
+     * @return The throwaway <code>LogEventType</code> of the log entry, <code>LogEventType.UNKNOWN</code> if no event
+     *         matches, or null if the log entry is (likely) another event and must be parsed.
+     */
+    public static final LogEventType identifyThrowAwayOrUnknownEventType(CharSequence logLine,
+            List<CollectorFamily> collectorFamilies, IdentifyOrder identifyOrder) {
+        ShapeCache shapeCache = getShapeCache(collectorFamilies);
+        shapeCache.shape.set(logLine);
+        LogEventType eventType = shapeCache.get(shapeCache.shape);
+        if (eventType != null && !THROW_AWAY[eventType.ordinal()]) {
+            return null;
+        }
+        if (eventType != null && match(eventType, logLine)) {
+            return eventType;
+        }
+        eventType = findEventType(logLine, collectorFamilies, identifyOrder);
+        if (eventType == LogEventType.UNKNOWN) {
+            return eventType;
+        }
+        shapeCache.put(shapeCache.shape.copy(), eventType);
+        return THROW_AWAY[eventType.ordinal()] ? eventType : null;
+    }
+
+    /**
+     * @param collectorFamilies
+     *            The collector families identified in the log so far, or null to test all events.
+     * @return The line shape cache for the collector families.
+     */
+    private static final ShapeCache getShapeCache(List<CollectorFamily> collectorFamilies) {
+        ShapeCache shapeCache = SHAPE_CACHE.get();
+        if (collectorFamilies == null ? !shapeCache.collectorFamilies.isEmpty()
+                : !shapeCache.collectorFamilies.equals(collectorFamilies)) {
+            shapeCache.reset(collectorFamilies);
+        }
+        return shapeCache;
+    }
+
+    /**
+     * Identify the log line garbage collection event without the line shape cache.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param collectorFamilies
+     *            The collector families identified in the log so far, or null to test all events.
+     * @param identifyOrder
+     *            The order adapted to the log being parsed, or null to test the event types in the initial order.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    private static final LogEventType findEventType(CharSequence logLine, List<CollectorFamily> collectorFamilies,
+            IdentifyOrder identifyOrder) {
+        long[] candidates = CANDIDATES_ALWAYS.clone();
+        KEYWORD_INDEX.scan(logLine, candidates);
+        LogEventType[] order = identifyOrder == null ? IDENTIFY_ORDER : identifyOrder.order;
+        LogEventType eventType = LogEventType.UNKNOWN;
+        if (collectorFamilies != null && !collectorFamilies.isEmpty()) {
+            eventType = identifyEventType(logLine, order, candidates, collectorFamilies);
+        }
+        if (eventType == LogEventType.UNKNOWN) {
+            eventType = identifyEventType(logLine, order, candidates, null);
+        }
+        if (eventType != LogEventType.UNKNOWN && identifyOrder != null) {
+            identifyOrder.hit(eventType);
+        }
+        return eventType;
+    }
+
+    /**
+     * Identify the log line throwaway event (see {@link #isThrowAway(LogEventType)}) without identifying other events
+     * or creating the <code>LogEvent</code>. Only the throwaway events are tested, unless one matches, in which case
+     * the events before it in the identification order are tested to confirm it would be the event identified.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @return The throwaway <code>LogEventType</code> of the log entry, or <code>LogEventType.UNKNOWN</code> if the
+     *         log entry is not a throwaway event.
+     */
+    public static final LogEventType identifyThrowAwayEventType(CharSequence logLine) {
+        long[] candidates = CANDIDATES_ALWAYS.clone();
+        KEYWORD_INDEX.scan(logLine, candidates);
+        for (int i = 0; i < IDENTIFY_ORDER.length; i++) {
+            LogEventType eventType = IDENTIFY_ORDER[i];
+            if (THROW_AWAY[eventType.ordinal()] && KeywordIndex.isSet(candidates, eventType.ordinal())
+                    && match(eventType, logLine)) {
+                for (int j = 0; j < i; j++) {
+                    LogEventType priorEventType = IDENTIFY_ORDER[j];
+                    if (!THROW_AWAY[priorEventType.ordinal()]
+                            && KeywordIndex.isSet(candidates, priorEventType.ordinal())
+                            && match(priorEventType, logLine)) {
+                        return LogEventType.UNKNOWN;
+                    }
+                }
+                return eventType;
+            }
+        }
+        return LogEventType.UNKNOWN;
+    }
+
+    /**
+     * The shape of a log line: the line with each number replaced by '#'. Digits that are part of a name (e.g. G1) are
+     * kept. For example:
+     * 
+     * <pre>
+     * 2.969: [GC (Allocation Failure) [PSYoungGen: 64000K-&gt;8704K(74752K)] 64000K-&gt;8712K(245760K), 0.0115060 secs]
+     * </pre>
+     * 
+     * has the shape:
+     * 
+     * <pre>
+     * #.#: [GC (Allocation Failure) [PSYoungGen: #K-&gt;#K(#K)] #K-&gt;#K(#K), #.# secs]
+     * </pre>
+     * 
+     * @param logLine
+     *            The log entry.
+     * @return The shape of the log line.
+     */
+    public static final String getLineShape(CharSequence logLine) {
+        LineShape shape = new LineShape(logLine.length());
+        shape.set(logLine);
+        return shape.toString();
+    }
+
+    /**
+     * Test the candidate events in order.
+     * 
+     * @param logLine
+     *            The log entry.
+     * @param order
+     *            The order to test the event types.
+     * @param candidates
+     *            Bit mask of candidate event type ordinals.
+     * @param collectorFamilies
+     *            The collector families to test, or null to test all collector families. Events not specific to a
+     *            collector family are always tested.
+     * @return The <code>LogEventType</code> of the log entry.
+     */
+    private static final LogEventType identifyEventType(CharSequence logLine, LogEventType[] order, long[] candidates,
+            List<CollectorFamily> collectorFamilies) {
+        for (int i = 0; i < order.length; i++) {
+            LogEventType eventType = order[i];
+            if (!KeywordIndex.isSet(candidates, eventType.ordinal())) {
+                continue;
+            }
+            if (collectorFamilies != null) {
+                CollectorFamily collectorFamily = COLLECTOR_FAMILIES[eventType.ordinal()];
+                if (collectorFamily != CollectorFamily.UNKNOWN && !collectorFamilies.contains(collectorFamily)) {
+                    continue;
+                }
+            }
+            if (match(eventType, logLine)) {
+                return eventType;
+            }
+        }
+        // no idea what event is
+        return LogEventType.UNKNOWN;
+    }
+
+    /**
+     * Test if a log line matches a specific garbage collection event.
+     * 
+     * @param eventType
+     *            The event type to test.
+     * @param logLine
+     *            The log entry.
+     * @return true if the log line matches the event type, false otherwise.
+     */
+    public static final boolean match(LogEventType eventType, CharSequence logLine) {
+        boolean match;
+        switch (eventType) {
+        case FOOTER_HEAP:
+            match = FooterHeapEvent.match(logLine);
+            break;
+        case HEAP_ADDRESS:
+            match = HeapAddressEvent.match(logLine);
+            break;
+        case HEAP_REGION_SIZE:
+            match = HeapRegionSizeEvent.match(logLine);
+            break;
+        case UNIFIED_APPLICATION_STOPPED_TIME:
+            match = UnifiedApplicationStoppedTimeEvent.match(logLine);
+            break;
+        case UNIFIED_BLANK_LINE:
+            match = UnifiedBlankLineEvent.match(logLine) && !BlankLineEvent.match(logLine);
+            break;
+        case UNIFIED_CMS_INITIAL_MARK:
+            match = UnifiedCmsInitialMarkEvent.match(logLine);
+            break;
+        case UNIFIED_CONCURRENT:
+            match = UnifiedConcurrentEvent.match(logLine);
+            break;
+        case UNIFIED_G1_CLEANUP:
+            match = UnifiedG1CleanupEvent.match(logLine);
+            break;
+        case UNIFIED_G1_INFO:
+            match = UnifiedG1InfoEvent.match(logLine);
+            break;
+        case UNIFIED_G1_MIXED_PAUSE:
+            match = UnifiedG1MixedPauseEvent.match(logLine);
+            break;
+        case UNIFIED_G1_YOUNG_INITIAL_MARK:
+            match = UnifiedG1YoungInitialMarkEvent.match(logLine);
+            break;
+        case UNIFIED_G1_YOUNG_PAUSE:
+            match = UnifiedG1YoungPauseEvent.match(logLine);
+            break;
+        case UNIFIED_G1_YOUNG_PREPARE_MIXED:
+            match = UnifiedG1YoungPrepareMixedEvent.match(logLine);
+            break;
+        case UNIFIED_OLD:
+            match = UnifiedOldEvent.match(logLine);
+            break;
+        case UNIFIED_PARALLEL_COMPACTING_OLD:
+            match = UnifiedParallelCompactingOldEvent.match(logLine);
+            break;
+        case UNIFIED_PARALLEL_SCAVENGE:
+            match = UnifiedParallelScavengeEvent.match(logLine);
+            break;
+        case UNIFIED_PAR_NEW:
+            match = UnifiedParNewEvent.match(logLine);
+            break;
+        case UNIFIED_REMARK:
+            match = UnifiedRemarkEvent.match(logLine);
+            break;
+        case UNIFIED_SERIAL_NEW:
+            match = UnifiedSerialNewEvent.match(logLine);
+            break;
+        case UNIFIED_SERIAL_OLD:
+            match = UnifiedSerialOldEvent.match(logLine);
+            break;
+        case UNIFIED_YOUNG:
+            match = UnifiedYoungEvent.match(logLine);
+            break;
+        case USING_CMS:
+            match = UsingCmsEvent.match(logLine);
+            break;
+        case USING_G1:
+            match = UsingG1Event.match(logLine);
+            break;
+        case USING_PARALLEL:
+            match = UsingParallelEvent.match(logLine);
+            break;
+        case USING_SERIAL:
+            match = UsingSerialEvent.match(logLine);
+            break;
+        case USING_SHENANDOAH:
+            match = UsingShenandoahEvent.match(logLine);
+            break;
+        case VERBOSE_GC_YOUNG:
+            match = VerboseGcYoungEvent.match(logLine);
+            break;
+        case VERBOSE_GC_OLD:
+            match = VerboseGcOldEvent.match(logLine);
+            break;
+        case G1_YOUNG_PAUSE:
+            match = G1YoungPauseEvent.match(logLine);
+            break;
+        case G1_MIXED_PAUSE:
+            match = G1MixedPauseEvent.match(logLine);
+            break;
+        case G1_CONCURRENT:
+            match = G1ConcurrentEvent.match(logLine);
+            break;
+        case G1_YOUNG_INITIAL_MARK:
+            match = G1YoungInitialMarkEvent.match(logLine);
+            break;
+        case G1_REMARK:
+            match = G1RemarkEvent.match(logLine);
+            break;
+        case G1_FULL_GC:
+            match = G1FullGCEvent.match(logLine);
+            break;
+        case G1_CLEANUP:
+            match = G1CleanupEvent.match(logLine);
+            break;
+        case PAR_NEW:
+            match = ParNewEvent.match(logLine);
+            break;
+        case CMS_SERIAL_OLD:
+            match = CmsSerialOldEvent.match(logLine);
+            break;
+        case CMS_INITIAL_MARK:
+            match = CmsInitialMarkEvent.match(logLine);
+            break;
+        case CMS_REMARK:
+            match = CmsRemarkEvent.match(logLine);
+            break;
+        case CMS_CONCURRENT:
+            match = CmsConcurrentEvent.match(logLine);
+            break;
+        case PARALLEL_SCAVENGE:
+            match = ParallelScavengeEvent.match(logLine);
+            break;
+        case PARALLEL_SERIAL_OLD:
+            match = ParallelSerialOldEvent.match(logLine);
+            break;
+        case PARALLEL_COMPACTING_OLD:
+            match = ParallelCompactingOldEvent.match(logLine);
+            break;
+        case SERIAL_OLD:
+            match = SerialOldEvent.match(logLine);
+            break;
+        case SERIAL_NEW:
+            match = SerialNewEvent.match(logLine);
+            break;
+        case SHENANDOAH_CANCELLING_GC:
+            match = ShenandoahCancellingGcEvent.match(logLine);
+            break;
+        case SHENANDOAH_CONCURRENT:
+            match = ShenandoahConcurrentEvent.match(logLine);
+            break;
+        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
+            match = ShenandoahConsiderClassUnloadingConcMarkEvent.match(logLine);
+            break;
+        case SHENANDOAH_DEGENERATED_GC_MARK:
+            match = ShenandoahDegeneratedGcMarkEvent.match(logLine);
+            break;
+        case SHENANDOAH_FINAL_EVAC:
+            match = ShenandoahFinalEvacEvent.match(logLine);
+            break;
+        case SHENANDOAH_FINAL_MARK:
+            match = ShenandoahFinalMarkEvent.match(logLine);
+            break;
+        case SHENANDOAH_FINAL_UPDATE:
+            match = ShenandoahFinalUpdateEvent.match(logLine);
+            break;
+        case SHENANDOAH_INIT_MARK:
+            match = ShenandoahInitMarkEvent.match(logLine);
+            break;
+        case SHENANDOAH_INIT_UPDATE:
+            match = ShenandoahInitUpdateEvent.match(logLine);
+            break;
+        case SHENANDOAH_STATS:
+            match = ShenandoahStatsEvent.match(logLine);
+            break;
+        case SHENANDOAH_TRIGGER:
+            match = ShenandoahTriggerEvent.match(logLine);
+            break;
+        case APPLICATION_CONCURRENT_TIME:
+            match = ApplicationConcurrentTimeEvent.match(logLine);
+            break;
+        case APPLICATION_STOPPED_TIME:
+            match = ApplicationStoppedTimeEvent.match(logLine);
+            break;
+        case CLASS_UNLOADING:
+            match = ClassUnloadingEvent.match(logLine);
+            break;
+        case FOOTER_STATS:
+            match = FooterStatsEvent.match(logLine);
+            break;
+        case GC_INFO:
+            match = GcInfoEvent.match(logLine);
+            break;
+        case HEAP_AT_GC:
+            match = HeapAtGcEvent.match(logLine);
+            break;
+        case TENURING_DISTRIBUTION:
+            match = TenuringDistributionEvent.match(logLine);
+            break;
+        case CLASS_HISTOGRAM:
+            match = ClassHistogramEvent.match(logLine);
+            break;
+        case APPLICATION_LOGGING:
+            match = ApplicationLoggingEvent.match(logLine);
+            break;
+        case THREAD_DUMP:
+            match = ThreadDumpEvent.match(logLine);
+            break;
+        case LOG_FILE:
+            match = LogFileEvent.match(logLine);
+            break;
+        case BLANK_LINE:
+            match = BlankLineEvent.match(logLine);
+            break;
+        case GC_OVERHEAD_LIMIT:
+            match = GcOverheadLimitEvent.match(logLine);
+            break;
+        case FLS_STATISTICS:
+            match = FlsStatisticsEvent.match(logLine);
+            break;
+        case GC_LOCKER:
+            match = GcLockerEvent.match(logLine);
+            break;
+        case HEADER_COMMAND_LINE_FLAGS:
+            match = HeaderCommandLineFlagsEvent.match(logLine);
+            break;
+        case HEADER_MEMORY:
+            match = HeaderMemoryEvent.match(logLine);
+            break;
+        case HEADER_VERSION:
+            match = HeaderVersionEvent.match(logLine);
+            break;
+        case REFERENCE_GC:
+            match = ReferenceGcEvent.match(logLine);
+            break;
+        default:
+            match = false;
+        }
+        return match;
+    }
+
+    /**
+     * Literal text that must appear in a log line for it to match the event type. Used to skip the regular expression
+     * match for event types that cannot apply to a given line.
+     * 
+     * @param eventType
+     *            The event type.
+     * @return The keywords, one of which is present in every log line of the event type, or null if the event type
+     *         has no such keyword and must always be tested.
+     */
+    private static final String[] getKeywords(LogEventType eventType) {
+        String[] keywords;
+        switch (eventType) {
+        case HEAP_ADDRESS:
+            keywords = new String[] { "Heap address: " };
+            break;
+        case HEAP_REGION_SIZE:
+            keywords = new String[] { "egion" };
+            break;
+        case UNIFIED_APPLICATION_STOPPED_TIME:
+            keywords = new String[] { "Total time for which application threads were stopped" };
+            break;
+        case UNIFIED_CMS_INITIAL_MARK:
+            keywords = new String[] { "Pause Initial Mark " };
+            break;
+        case UNIFIED_CONCURRENT:
+            keywords = new String[] { "Concurrent ", "Using " };
+            break;
+        case UNIFIED_G1_CLEANUP:
+            keywords = new String[] { "Pause Cleanup " };
+            break;
+        case UNIFIED_G1_INFO:
+            keywords = new String[] { "Pause Initial Mark (" };
+            break;
+        case UNIFIED_G1_MIXED_PAUSE:
+            keywords = new String[] { "Pause Young (Mixed)" };
+            break;
+        case UNIFIED_G1_YOUNG_INITIAL_MARK:
+            keywords = new String[] { "Pause Initial Mark (" };
+            break;
+        case UNIFIED_G1_YOUNG_PAUSE:
+            keywords = new String[] { "Pause Young" };
+            break;
+        case UNIFIED_G1_YOUNG_PREPARE_MIXED:
+            keywords = new String[] { "Pause Young (Prepare Mixed)" };
+            break;
+        case UNIFIED_OLD:
+            keywords = new String[] { "Pause Full (" };
+            break;
+        case UNIFIED_PARALLEL_COMPACTING_OLD:
+            keywords = new String[] { "ParOldGen: " };
+            break;
+        case UNIFIED_PARALLEL_SCAVENGE:
+            keywords = new String[] { "PSYoungGen: " };
+            break;
+        case UNIFIED_PAR_NEW:
+            keywords = new String[] { "ParNew: " };
+            break;
+        case UNIFIED_REMARK:
+            keywords = new String[] { "Pause Remark " };
+            break;
+        case UNIFIED_SERIAL_NEW:
+            keywords = new String[] { "efNew: " };
+            break;
+        case UNIFIED_SERIAL_OLD:
+            keywords = new String[] { "Pause Full (" };
+            break;
+        case UNIFIED_YOUNG:
+            keywords = new String[] { "Pause Young (" };
+            break;
+        case USING_CMS:
+            keywords = new String[] { "Using Concurrent Mark Sweep" };
+            break;
+        case USING_G1:
+            keywords = new String[] { "Using G1" };
+            break;
+        case USING_PARALLEL:
+            keywords = new String[] { "Using Parallel" };
+            break;
+        case USING_SERIAL:
+            keywords = new String[] { "Using Serial" };
+            break;
+        case USING_SHENANDOAH:
+            keywords = new String[] { "Using Shenandoah" };
+            break;
+        case VERBOSE_GC_YOUNG:
+            keywords = new String[] { "[GC" };
+            break;
+        case VERBOSE_GC_OLD:
+            keywords = new String[] { "[Full GC" };
+            break;
+        case G1_YOUNG_PAUSE:
+            keywords = new String[] { "[GC pause" };
+            break;
+        case G1_MIXED_PAUSE:
+            keywords = new String[] { "(mixed)" };
+            break;
+        case G1_CONCURRENT:
+            keywords = new String[] { "[GC concurrent-" };
+            break;
+        case G1_YOUNG_INITIAL_MARK:
+            keywords = new String[] { "[GC pause" };
+            break;
+        case G1_REMARK:
+            keywords = new String[] { "[GC remark" };
+            break;
+        case G1_FULL_GC:
+            keywords = new String[] { "[Full GC" };
+            break;
+        case G1_CLEANUP:
+            keywords = new String[] { "[GC cleanup" };
+            break;
+        case PAR_NEW:
+            keywords = new String[] { "GC" };
+            break;
+        case CMS_SERIAL_OLD:
+            keywords = new String[] { "[CMS", "[ParNew" };
+            break;
+        case CMS_INITIAL_MARK:
+            keywords = new String[] { "CMS-initial-mark: " };
+            break;
+        case CMS_REMARK:
+            keywords = new String[] { "[Rescan (", "[YG occupancy: " };
+            break;
+        case CMS_CONCURRENT:
+            keywords = new String[] { "[CMS-concurrent-" };
+            break;
+        case PARALLEL_SCAVENGE:
+            keywords = new String[] { "[PSYoungGen: " };
+            break;
+        case PARALLEL_SERIAL_OLD:
+            keywords = new String[] { "[PSOldGen: " };
+            break;
+        case PARALLEL_COMPACTING_OLD:
+            keywords = new String[] { "[ParOldGen: " };
+            break;
+        case SERIAL_OLD:
+            keywords = new String[] { "[Tenured: " };
+            break;
+        case SERIAL_NEW:
+            keywords = new String[] { "[DefNew: " };
+            break;
+        case SHENANDOAH_CANCELLING_GC:
+            keywords = new String[] { "Cancelling GC: Stopping VM" };
+            break;
+        case SHENANDOAH_CONCURRENT:
+            keywords = new String[] { "Concurrent " };
+            break;
+        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
+            keywords = new String[] { "Consider -XX:+ClassUnloadingWithConcurrentMark" };
+            break;
+        case SHENANDOAH_DEGENERATED_GC_MARK:
+            keywords = new String[] { "Pause Degenerated GC (" };
+            break;
+        case SHENANDOAH_FINAL_EVAC:
+            keywords = new String[] { "Pause Final Evac" };
+            break;
+        case SHENANDOAH_FINAL_MARK:
+            keywords = new String[] { "Pause Final Mark" };
+            break;
+        case SHENANDOAH_FINAL_UPDATE:
+            keywords = new String[] { "Pause Final Update Refs" };
+            break;
+        case SHENANDOAH_INIT_MARK:
+            keywords = new String[] { "Pause Init Mark" };
+            break;
+        case SHENANDOAH_INIT_UPDATE:
+            keywords = new String[] { "Pause Init Update Refs" };
+            break;
+        case APPLICATION_CONCURRENT_TIME:
+            keywords = new String[] { "Application time: " };
+            break;
+        case APPLICATION_STOPPED_TIME:
+            keywords = new String[] { "Total time for which application threads were stopped" };
+            break;
+        default:
+            keywords = null;
+        }
+        return keywords;
+    }
 
+    /**
+     * The collector family an event is specific to, used to narrow event identification once the collector family of a
+     * log is known.
+     * 
+     * @param eventType
+     *            The event type.
+     * @return The <code>CollectorFamily</code> of the event type, or <code>CollectorFamily.UNKNOWN</code> if the event
+     *         can appear with any collector.
+     */
+    public static final CollectorFamily getCollectorFamily(LogEventType eventType) {
+        CollectorFamily collectorFamily;
+        switch (eventType) {
+        case SERIAL_NEW:
+        case SERIAL_OLD:
+        case UNIFIED_SERIAL_NEW:
+        case UNIFIED_SERIAL_OLD:
+        case USING_SERIAL:
+            collectorFamily = CollectorFamily.SERIAL;
+            break;
+        case PARALLEL_SCAVENGE:
+        case PARALLEL_SERIAL_OLD:
+        case PARALLEL_COMPACTING_OLD:
+        case UNIFIED_PARALLEL_SCAVENGE:
+        case UNIFIED_PARALLEL_COMPACTING_OLD:
+        case USING_PARALLEL:
+            collectorFamily = CollectorFamily.PARALLEL;
+            break;
+        case PAR_NEW:
+        case CMS_SERIAL_OLD:
+        case CMS_REMARK:
+        case CMS_INITIAL_MARK:
+        case CMS_CONCURRENT:
+        case UNIFIED_CMS_INITIAL_MARK:
+            // ParNew is only used with CMS
+        case UNIFIED_PAR_NEW:
+        case USING_CMS:
+            collectorFamily = CollectorFamily.CMS;
+            break;
+        case G1_YOUNG_PAUSE:
+        case G1_MIXED_PAUSE:
+        case G1_CONCURRENT:
+        case G1_YOUNG_INITIAL_MARK:
+        case G1_REMARK:
+        case G1_CLEANUP:
+        case G1_FULL_GC:
+        case UNIFIED_G1_CLEANUP:
+        case UNIFIED_G1_MIXED_PAUSE:
+        case UNIFIED_G1_YOUNG_INITIAL_MARK:
+        case UNIFIED_G1_YOUNG_PAUSE:
+        case UNIFIED_G1_YOUNG_PREPARE_MIXED:
+        case USING_G1:
+            collectorFamily = CollectorFamily.G1;
+            break;
+        case SHENANDOAH_CANCELLING_GC:
+        case SHENANDOAH_CONCURRENT:
+        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
+        case SHENANDOAH_DEGENERATED_GC_MARK:
+        case SHENANDOAH_FINAL_EVAC:
+        case SHENANDOAH_FINAL_MARK:
+        case SHENANDOAH_FINAL_UPDATE:
+        case SHENANDOAH_INIT_MARK:
+        case SHENANDOAH_INIT_UPDATE:
+        case SHENANDOAH_STATS:
+        case SHENANDOAH_TRIGGER:
+        case USING_SHENANDOAH:
+            collectorFamily = CollectorFamily.SHENANDOAH;
+            break;
+        default:
+            collectorFamily = CollectorFamily.UNKNOWN;
+        }
+        return collectorFamily;
     }
 
     /**
-     * Identify the log line garbage collection event.
+     * Create <code>LogEvent</code> from GC log line.
      * 
      * @param logLine
-     *            The log entry.
-     * @return The <code>LogEventType</code> of the log entry.
+     *            The log line as it appears in the GC log.
+     * @return The <code>LogEvent</code> corresponding to the log line.
      */
-    public static final LogEventType identifyEventType(String logLine) {
-
-        // Unified (alphabetical)
-        if (FooterHeapEvent.match(logLine))
-            return LogEventType.FOOTER_HEAP;
-        if (HeapAddressEvent.match(logLine))
-            return LogEventType.HEAP_ADDRESS;
-        if (HeapRegionSizeEvent.match(logLine))
-            return LogEventType.HEAP_REGION_SIZE;
-        if (UnifiedApplicationStoppedTimeEvent.match(logLine))
-            return LogEventType.UNIFIED_APPLICATION_STOPPED_TIME;
-        if (UnifiedBlankLineEvent.match(logLine) && !BlankLineEvent.match(logLine))
-            return LogEventType.UNIFIED_BLANK_LINE;
-        if (UnifiedCmsInitialMarkEvent.match(logLine))
-            return LogEventType.UNIFIED_CMS_INITIAL_MARK;
-        if (UnifiedConcurrentEvent.match(logLine))
-            return LogEventType.UNIFIED_CONCURRENT;
-        if (UnifiedG1CleanupEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_CLEANUP;
-        if (UnifiedG1InfoEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_INFO;
-        if (UnifiedG1MixedPauseEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_MIXED_PAUSE;
-        if (UnifiedG1YoungInitialMarkEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_INITIAL_MARK;
-        if (UnifiedG1YoungPauseEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_PAUSE;
-        if (UnifiedG1YoungPrepareMixedEvent.match(logLine))
-            return LogEventType.UNIFIED_G1_YOUNG_PREPARE_MIXED;
-        if (UnifiedOldEvent.match(logLine))
-            return LogEventType.UNIFIED_OLD;
-        if (UnifiedParallelCompactingOldEvent.match(logLine))
-            return LogEventType.UNIFIED_PARALLEL_COMPACTING_OLD;
-        if (UnifiedParallelScavengeEvent.match(logLine))
-            return LogEventType.UNIFIED_PARALLEL_SCAVENGE;
-        if (UnifiedParNewEvent.match(logLine))
-            return LogEventType.UNIFIED_PAR_NEW;
-        if (UnifiedRemarkEvent.match(logLine))
-            return LogEventType.UNIFIED_REMARK;
-        if (UnifiedSerialNewEvent.match(logLine))
-            return LogEventType.UNIFIED_SERIAL_NEW;
-        if (UnifiedSerialOldEvent.match(logLine))
-            return LogEventType.UNIFIED_SERIAL_OLD;
-        if (UnifiedYoungEvent.match(logLine))
-            return LogEventType.UNIFIED_YOUNG;
-        if (UsingCmsEvent.match(logLine))
-            return LogEventType.USING_CMS;
-        if (UsingG1Event.match(logLine))
-            return LogEventType.USING_G1;
-        if (UsingParallelEvent.match(logLine))
-            return LogEventType.USING_PARALLEL;
-        if (UsingSerialEvent.match(logLine))
-            return LogEventType.USING_SERIAL;
-        if (UsingShenandoahEvent.match(logLine))
-            return LogEventType.USING_SHENANDOAH;
-
-        // Unknown
-        if (VerboseGcYoungEvent.match(logLine))
-            return LogEventType.VERBOSE_GC_YOUNG;
-        if (VerboseGcOldEvent.match(logLine))
-            return LogEventType.VERBOSE_GC_OLD;
-
-        // In order of most common events to limit checking
-
-        // G1
-        if (UsingG1Event.match(logLine))
-            return LogEventType.USING_G1;
-        if (G1YoungPauseEvent.match(logLine))
-            return LogEventType.G1_YOUNG_PAUSE;
-        if (G1MixedPauseEvent.match(logLine))
-            return LogEventType.G1_MIXED_PAUSE;
-        if (G1ConcurrentEvent.match(logLine))
-            return LogEventType.G1_CONCURRENT;
-        if (G1YoungInitialMarkEvent.match(logLine))
-            return LogEventType.G1_YOUNG_INITIAL_MARK;
-        if (G1RemarkEvent.match(logLine))
-            return LogEventType.G1_REMARK;
-        if (G1FullGCEvent.match(logLine))
-            return LogEventType.G1_FULL_GC;
-        if (G1CleanupEvent.match(logLine))
-            return LogEventType.G1_CLEANUP;
-
-        // CMS
-        if (UsingCmsEvent.match(logLine))
-            return LogEventType.USING_CMS;
-        if (ParNewEvent.match(logLine))
-            return LogEventType.PAR_NEW;
-        if (CmsSerialOldEvent.match(logLine))
-            return LogEventType.CMS_SERIAL_OLD;
-        if (CmsInitialMarkEvent.match(logLine))
-            return LogEventType.CMS_INITIAL_MARK;
-        if (CmsRemarkEvent.match(logLine))
-            return LogEventType.CMS_REMARK;
-        if (CmsConcurrentEvent.match(logLine))
-            return LogEventType.CMS_CONCURRENT;
-
-        // Parallel
-        if (UsingParallelEvent.match(logLine))
-            return LogEventType.USING_PARALLEL;
-        if (ParallelScavengeEvent.match(logLine))
-            return LogEventType.PARALLEL_SCAVENGE;
-        if (ParallelSerialOldEvent.match(logLine))
-            return LogEventType.PARALLEL_SERIAL_OLD;
-        if (ParallelCompactingOldEvent.match(logLine))
-            return LogEventType.PARALLEL_COMPACTING_OLD;
-
-        // Serial
-        if (UsingSerialEvent.match(logLine))
-            return LogEventType.USING_SERIAL;
-        if (SerialOldEvent.match(logLine))
-            return LogEventType.SERIAL_OLD;
-        if (SerialNewEvent.match(logLine))
-            return LogEventType.SERIAL_NEW;
-
-        // Shenandoah
-        if (ShenandoahCancellingGcEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CANCELLING_GC;
-        if (ShenandoahConcurrentEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CONCURRENT;
-        if (ShenandoahConsiderClassUnloadingConcMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK;
-        if (ShenandoahDegeneratedGcMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_DEGENERATED_GC_MARK;
-        if (ShenandoahFinalEvacEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_EVAC;
-        if (ShenandoahFinalMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_MARK;
-        if (ShenandoahFinalUpdateEvent.match(logLine))
-            return LogEventType.SHENANDOAH_FINAL_UPDATE;
-        if (ShenandoahInitMarkEvent.match(logLine))
-            return LogEventType.SHENANDOAH_INIT_MARK;
-        if (ShenandoahInitUpdateEvent.match(logLine))
-            return LogEventType.SHENANDOAH_INIT_UPDATE;
-        if (ShenandoahStatsEvent.match(logLine))
-            return LogEventType.SHENANDOAH_STATS;
-        if (ShenandoahTriggerEvent.match(logLine))
-            return LogEventType.SHENANDOAH_TRIGGER;
-
-        // Other
-        if (ApplicationConcurrentTimeEvent.match(logLine))
-            return LogEventType.APPLICATION_CONCURRENT_TIME;
-        if (ApplicationStoppedTimeEvent.match(logLine))
-            return LogEventType.APPLICATION_STOPPED_TIME;
-        if (ClassUnloadingEvent.match(logLine))
-            return LogEventType.CLASS_UNLOADING;
-        if (FooterStatsEvent.match(logLine))
-            return LogEventType.FOOTER_STATS;
-        if (GcInfoEvent.match(logLine))
-            return LogEventType.GC_INFO;
-        if (HeapAtGcEvent.match(logLine))
-            return LogEventType.HEAP_AT_GC;
-        if (TenuringDistributionEvent.match(logLine))
-            return LogEventType.TENURING_DISTRIBUTION;
-        if (ClassHistogramEvent.match(logLine))
-            return LogEventType.CLASS_HISTOGRAM;
-        if (ApplicationLoggingEvent.match(logLine))
-            return LogEventType.APPLICATION_LOGGING;
-        if (ThreadDumpEvent.match(logLine))
-            return LogEventType.THREAD_DUMP;
-        if (LogFileEvent.match(logLine))
-            return LogEventType.LOG_FILE;
-        if (BlankLineEvent.match(logLine))
-            return LogEventType.BLANK_LINE;
-        if (GcOverheadLimitEvent.match(logLine))
-            return LogEventType.GC_OVERHEAD_LIMIT;
-        if (FlsStatisticsEvent.match(logLine))
-            return LogEventType.FLS_STATISTICS;
-        if (GcLockerEvent.match(logLine))
-            return LogEventType.GC_LOCKER;
-        if (HeaderCommandLineFlagsEvent.match(logLine))
-            return LogEventType.HEADER_COMMAND_LINE_FLAGS;
-        if (HeaderMemoryEvent.match(logLine))
-            return LogEventType.HEADER_MEMORY;
-        if (HeaderVersionEvent.match(logLine))
-            return LogEventType.HEADER_VERSION;
-        if (ReferenceGcEvent.match(logLine))
-            return LogEventType.REFERENCE_GC;
+    public static final LogEvent parseLogLine(String logLine) {
+        return parseLogLine(logLine, null);
+    }
 
-        // no idea what event is
-        return LogEventType.UNKNOWN;
+    /**
+     * Create <code>LogEvent</code> from GC log line, first testing only the events of the collector families already
+     * identified in the log.
+     * 
+     * @param logLine
+     *            The log line as it appears in the GC log.
+     * @param collectorFamilies
+     *            The collector families identified in the log so far, or null to test all events.
+     * @return The <code>LogEvent</code> corresponding to the log line.
+     */
+    public static final LogEvent parseLogLine(String logLine, List<CollectorFamily> collectorFamilies) {
+        return parseLogLine(logLine, collectorFamilies, null);
     }
 
     /**
-     * Create <code>LogEvent</code> from GC log line.
+     * Create <code>LogEvent</code> from GC log line (see {@link #parseLogLine(String, List)}), testing the event types
+     * in an order adapted to the log being parsed.
      * 
      * @param logLine
      *            The log line as it appears in the GC log.
+     * @param collectorFamilies
+     *            The collector families identified in the log so far, or null to test all events.
+     * @param identifyOrder
+     *            The order adapted to the log being parsed, or null to test the event types in the initial order.
      * @return The <code>LogEvent</code> corresponding to the log line.
      */
-    public static final LogEvent parseLogLine(String logLine) {
-        LogEventType eventType = identifyEventType(logLine);
+    public static final LogEvent parseLogLine(String logLine, List<CollectorFamily> collectorFamilies,
+            IdentifyOrder identifyOrder) {
+        LogEventType eventType = identifyEventType(logLine, collectorFamilies, identifyOrder);
         LogEvent event = null;
         switch (eventType) {
         // Unified (order of appearance)
@@ -854,7 +1778,7 @@ public class JdkUtil {
     public static final String getDateStamp(String logLine) {
         String datestamp = null;
         String regex = "^(.*)" + JdkRegEx.DATESTAMP + "(.*)$";
-        Pattern pattern = Pattern.compile(regex);
+        Pattern pattern = RegExUtil.getPattern(regex);
         Matcher matcher = pattern.matcher(logLine);
         if (matcher.find()) {
             datestamp = matcher.group(2);
@@ -871,7 +1795,7 @@ public class JdkUtil {
      */
     public static final boolean isLogLineWithDateStamp(String logLine) {
         String regex = "^(.*)" + JdkRegEx.DATESTAMP + "(.*)$";
-        Pattern pattern = Pattern.compile(regex);
+        Pattern pattern = RegExUtil.getPattern(regex);
         return pattern.matcher(logLine).matches();
     }
 
@@ -887,15 +1811,13 @@ public class JdkUtil {
     public static final String convertLogEntryTimestampsToDateStamp(String logEntry, Date jvmStartDate) {
         // Add the colon or space after the timestamp format so durations will
         // not get picked up.
-        Pattern pattern = Pattern.compile(JdkRegEx.TIMESTAMP + "(: )");
+        Pattern pattern = RegExUtil.getPattern(JdkRegEx.TIMESTAMP + "(: )");
         Matcher matcher = pattern.matcher(logEntry);
         StringBuffer sb = new StringBuffer();
         while (matcher.find()) {
-            Date date = GcUtil.getDatePlusTimestamp(jvmStartDate,
-                    JdkMath.convertSecsToMillis(matcher.group(1)).longValue());
-            SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
+            Date date = GcUtil.getDatePlusTimestamp(jvmStartDate, JdkMath.convertSecsToMillis(matcher.group(1)));
             // Only update the timestamp, keep the colon or space.
-            matcher.appendReplacement(sb, formatter.format(date) + matcher.group(2));
+            matcher.appendReplacement(sb, GcUtil.formatStartDateTime(date) + matcher.group(2));
         }
         matcher.appendTail(sb);
         return sb.toString();
@@ -913,16 +1835,14 @@ public class JdkUtil {
     public static final String convertLogEntryDateStampToTimeStamp(String logEntry, Date jvmStartDate) {
         // Add the colon or space after the datestamp format so durations will
         // not get picked up.
-        Pattern pattern = Pattern.compile(JdkRegEx.DATESTAMP + "(: )");
+        Pattern pattern = RegExUtil.getPattern(JdkRegEx.DATESTAMP + "(: )");
         Matcher matcher = pattern.matcher(logEntry);
         StringBuffer sb = new StringBuffer();
         while (matcher.find()) {
 
-            Date date = GcUtil.getDatePlusTimestamp(jvmStartDate,
-                    JdkMath.convertSecsToMillis(matcher.group(1)).longValue());
-            SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss,SSS");
+            Date date = GcUtil.getDatePlusTimestamp(jvmStartDate, JdkMath.convertSecsToMillis(matcher.group(1)));
             // Only update the datestamp, keep the colon or space.
-            matcher.appendReplacement(sb, formatter.format(date) + matcher.group(2));
+            matcher.appendReplacement(sb, GcUtil.formatStartDateTime(date) + matcher.group(2));
         }
         matcher.appendTail(sb);
         return sb.toString();
@@ -951,12 +1871,12 @@ public class JdkUtil {
             throw new TimeWarpException("Bad order: " + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
                     + Constants.LINE_SEPARATOR + gcEvent.getLogEntry());
         } else if (gcEvent.getTimestamp() < (priorEvent.getTimestamp()
-                + JdkMath.convertMicrosToMillis(priorEvent.getDuration()).longValue() - 1000)) {
+                + JdkMath.convertMicrosToMillis(priorEvent.getDuration()) - 1000)) {
             // Only report if overlap > 1 sec to account for small overlaps due to JDK threading issues
             throw new TimeWarpException("Event overlap: " + Constants.LINE_SEPARATOR + priorEvent.getLogEntry()
                     + Constants.LINE_SEPARATOR + gcEvent.getLogEntry());
         } else if (gcEvent.getTimestamp() <= (priorEvent.getTimestamp()
-                + JdkMath.convertMicrosToMillis(priorEvent.getDuration()).longValue())) {
+                + JdkMath.convertMicrosToMillis(priorEvent.getDuration()))) {
             // Small (<1 sec) event overlap
             return true;
         } else {
@@ -964,14 +1884,14 @@ public class JdkUtil {
              * Timestamp is the start of a vm event; therefore, the interval is from the end of the prior event to the
              * end of the current event.
              */
-            long interval = gcEvent.getTimestamp() + JdkMath.convertMicrosToMillis(gcEvent.getDuration()).longValue()
-                    - priorEvent.getTimestamp() - JdkMath.convertMicrosToMillis(priorEvent.getDuration()).longValue();
+            long interval = gcEvent.getTimestamp() + JdkMath.convertMicrosToMillis(gcEvent.getDuration())
+                    - priorEvent.getTimestamp() - JdkMath.convertMicrosToMillis(priorEvent.getDuration());
             // Determine the maximum duration for the given interval that meets the throughput goal.
             BigDecimal durationThreshold = new BigDecimal(100 - throughputThreshold);
             durationThreshold = durationThreshold.movePointLeft(2);
             durationThreshold = durationThreshold.multiply(new BigDecimal(interval));
             durationThreshold.setScale(0, RoundingMode.DOWN);
-            return (JdkMath.convertMicrosToMillis(gcEvent.getDuration()).longValue() > durationThreshold.intValue());
+            return (JdkMath.convertMicrosToMillis(gcEvent.getDuration()) > durationThreshold.intValue());
         }
     }
 
@@ -987,7 +1907,7 @@ public class JdkUtil {
         String value = null;
         if (option != null) {
             String regex = "^-[a-zA-Z:.]+(=)?(\\d{1,12}(" + JdkRegEx.OPTION_SIZE + ")?)$";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = RegExUtil.getPattern(regex);
             Matcher matcher = pattern.matcher(option);
             if (matcher.find()) {
                 value = matcher.group(2);
@@ -1050,7 +1970,7 @@ public class JdkUtil {
         String value = null;
         char units = 'b';
 
-        Pattern pattern = Pattern.compile(regex);
+        Pattern pattern = RegExUtil.getPattern(regex);
         Matcher matcher = pattern.matcher(size);
         if (matcher.find()) {
             value = matcher.group(1);
@@ -1131,4 +2051,46 @@ public class JdkUtil {
 
         return reportable;
     }
+
+    /**
+     * @param eventType
+     *            The event type to test.
+     * @return true if the log event is not essential for analysis and is thrown away during preprocessing (see
+     *         {@link org.eclipselabs.garbagecat.domain.ThrowAwayEvent}), false otherwise.
+     */
+    public static final boolean isThrowAway(LogEventType eventType) {
+
+        boolean throwAway = false;
+
+        switch (eventType) {
+        case APPLICATION_CONCURRENT_TIME:
+        case APPLICATION_LOGGING:
+        case BLANK_LINE:
+        case CLASS_HISTOGRAM:
+        case CLASS_UNLOADING:
+        case FLS_STATISTICS:
+        case FOOTER_HEAP:
+        case FOOTER_STATS:
+        case GC_INFO:
+        case HEAP_ADDRESS:
+        case HEAP_AT_GC:
+        case HEAP_REGION_SIZE:
+        case LOG_FILE:
+        case REFERENCE_GC:
+        case SHENANDOAH_CANCELLING_GC:
+        case SHENANDOAH_CONSIDER_CLASS_UNLOADING_CONC_MARK:
+        case SHENANDOAH_STATS:
+        case SHENANDOAH_TRIGGER:
+        case TENURING_DISTRIBUTION:
+        case THREAD_DUMP:
+        case UNIFIED_BLANK_LINE:
+        case UNIFIED_G1_INFO:
+            throwAway = true;
+            break;
+        default:
+            break;
+        }
+
+        return throwAway;
+    }
 }
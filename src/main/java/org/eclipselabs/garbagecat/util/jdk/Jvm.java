@@ -21,6 +21,7 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.RegExUtil;
 
 /**
  * JVM environment information
@@ -509,7 +510,7 @@ public class Jvm {
         String value = null;
         if (option != null) {
             String regex = "(-XX:HeapDumpPath=(\\S+))";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = RegExUtil.getPattern(regex);
             Matcher matcher = pattern.matcher(option);
             if (matcher.find()) {
                 value = matcher.group(2);
@@ -1316,7 +1317,7 @@ public class Jvm {
         String value = null;
         if (getG1MixedGCLiveThresholdPercent() != null) {
             String regex = "^-XX:G1MixedGCLiveThresholdPercent=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = RegExUtil.getPattern(regex);
             Matcher matcher = pattern.matcher(getG1MixedGCLiveThresholdPercent());
             if (matcher.find()) {
                 value = matcher.group(1);
@@ -1351,7 +1352,7 @@ public class Jvm {
         String value = null;
         if (getG1HeapWastePercent() != null) {
             String regex = "^-XX:G1HeapWastePercent=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = RegExUtil.getPattern(regex);
             Matcher matcher = pattern.matcher(getG1HeapWastePercent());
             if (matcher.find()) {
                 value = matcher.group(1);
@@ -1442,7 +1443,7 @@ public class Jvm {
         String value = null;
         if (getG1SummarizeRSetStatsPeriod() != null) {
             String regex = "^-XX:G1SummarizeRSetStatsPeriod=(\\d{1,3})$";
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = RegExUtil.getPattern(regex);
             Matcher matcher = pattern.matcher(getG1SummarizeRSetStatsPeriod());
             if (matcher.find()) {
                 value = matcher.group(1);
@@ -1483,7 +1484,7 @@ public class Jvm {
     public String getJvmOption(final String regex) {
         String option = null;
         if (options != null) {
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = RegExUtil.getPattern(regex);
             Matcher matcher = pattern.matcher(options);
             if (matcher.find()) {
                 option = matcher.group(1);
@@ -1514,7 +1515,7 @@ public class Jvm {
         String regex = "^.+JRE \\(1\\.(5|6|7|8|9).+$";
         int number = 0;
         if (version != null) {
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = RegExUtil.getPattern(regex);
             Matcher matcher = pattern.matcher(version);
             if (matcher.find()) {
                 if (matcher.group(1) != null) {
@@ -1532,7 +1533,7 @@ public class Jvm {
         String regex = "^.+JRE \\(1\\.(5|6|7|8|9)\\.\\d_(\\d{1,3})-.+$";
         int number = 0;
         if (version != null) {
-            Pattern pattern = Pattern.compile(regex);
+            Pattern pattern = RegExUtil.getPattern(regex);
             Matcher matcher = pattern.matcher(version);
             if (matcher.find()) {
                 if (matcher.group(1) != null) {
@@ -1549,7 +1550,7 @@ public class Jvm {
     public boolean is64Bit() {
         boolean is64BitVersion = false;
         if (version != null) {
-            is64BitVersion = version.matches("^.+64-Bit.+$");
+            is64BitVersion = RegExUtil.matches(version, "^.+64-Bit.+$");
         }
         boolean is64BitOption = false;
         if (getD64() != null) {
@@ -1608,7 +1609,7 @@ public class Jvm {
     public ArrayList<String> getDisabledOptions() {
         String regex = "(-XX:-[\\S]+)";
         ArrayList<String> disabledOptions = new ArrayList<String>();
-        Pattern pattern = Pattern.compile(regex);
+        Pattern pattern = RegExUtil.getPattern(regex);
         Matcher matcher = pattern.matcher(options);
         while (matcher.find()) {
             disabledOptions.add(matcher.group(1));
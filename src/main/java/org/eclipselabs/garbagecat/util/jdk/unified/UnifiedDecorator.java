@@ -0,0 +1,488 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk.unified;
+
+/**
+ * <p>
+ * Unified logging decorator parsed in a single left-to-right pass without regular expressions. Recognizes the
+ * decorations described in {@link UnifiedRegEx#DECORATOR}:
+ * </p>
+ * 
+ * <pre>
+ * [time][uptime][level][tags] GC(n)
+ * </pre>
+ * 
+ * <p>
+ * The first decoration is required and is either time (datestamp), uptime, or uptimemillis. The others are optional.
+ * </p>
+ * 
+ * <pre>
+ * [2020-02-14T15:21:55.207-0500][0.052s][info][gc,start ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)
+ * </pre>
+ * 
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class UnifiedDecorator {
+
+    /**
+     * Datestamp layout: 'd' is a digit, '+' is a plus or minus sign, anything else is a literal.
+     */
+    private static final String DATESTAMP_LAYOUT = "dddd-dd-ddTdd:dd:dd.ddd+dddd";
+
+    /**
+     * The maximum number of indexes {@link #getRegExEnds(CharSequence, int[])} finds.
+     */
+    public static final int REGEX_ENDS = 4;
+
+    /**
+     * The tags {@link UnifiedRegEx#DECORATOR} allows first.
+     */
+    private static final String[] REGEX_TAGS = UnifiedRegEx.DECORATOR_TAGS.split("\\|");
+
+    /**
+     * The tags {@link UnifiedRegEx#DECORATOR} allows second.
+     */
+    private static final String[] REGEX_TAGS_SECOND = UnifiedRegEx.DECORATOR_TAGS_SECOND.split("\\|");
+
+    /**
+     * The tags {@link UnifiedRegEx#DECORATOR} allows last.
+     */
+    private static final String[] REGEX_TAGS_LAST = UnifiedRegEx.DECORATOR_TAGS_LAST.split("\\|");
+
+    /**
+     * The time decoration (datestamp), or null if not present.
+     */
+    private String datestamp;
+
+    /**
+     * The uptime or uptimemillis decoration in milliseconds, or -1 if not present.
+     */
+    private long uptime = -1;
+
+    /**
+     * The level decoration (e.g. info), or null if not present.
+     */
+    private String level;
+
+    /**
+     * The tags decoration without padding (e.g. gc,start), or null if not present.
+     */
+    private String tags;
+
+    /**
+     * The garbage collection event number, or -1 if not present.
+     */
+    private int gcEventNumber = -1;
+
+    /**
+     * The number of characters in the decorator, or 0 if the log line does not start with a decorator.
+     */
+    private int length;
+
+    /**
+     * Parse the decorator at the start of a log line.
+     * 
+     * @param logLine
+     *            The log line.
+     */
+    public UnifiedDecorator(CharSequence logLine) {
+        int end = indexOf(logLine, ']', 1);
+        if (logLine.length() == 0 || logLine.charAt(0) != '[' || end < 0) {
+            return;
+        }
+        long millis = parseUptime(logLine, 1, end);
+        if (millis >= 0) {
+            uptime = millis;
+        } else if (isDatestamp(logLine, 1, end)) {
+            datestamp = logLine.subSequence(1, end).toString();
+        } else {
+            return;
+        }
+        int position = end + 1;
+
+        // [uptime]
+        if (position < logLine.length() && logLine.charAt(position) == '[') {
+            end = indexOf(logLine, ']', position + 1);
+            if (end > 0) {
+                millis = parseUptime(logLine, position + 1, end);
+                if (millis >= 0) {
+                    if (uptime < 0) {
+                        uptime = millis;
+                    }
+                    position = end + 1;
+                }
+            }
+        }
+
+        // [level][tags]
+        if (position < logLine.length() && logLine.charAt(position) == '[') {
+            int levelEnd = indexOf(logLine, ']', position + 1);
+            if (levelEnd > 0 && levelEnd + 1 < logLine.length() && logLine.charAt(levelEnd + 1) == '[') {
+                int tagsEnd = indexOf(logLine, ']', levelEnd + 2);
+                if (tagsEnd > 0) {
+                    level = logLine.subSequence(position + 1, levelEnd).toString();
+                    tags = logLine.subSequence(levelEnd + 2, tagsEnd).toString().trim();
+                    position = tagsEnd + 1;
+                }
+            }
+        }
+
+        // GC(n)
+        if (position + 5 < logLine.length() && logLine.charAt(position) == ' ' && logLine.charAt(position + 1) == 'G'
+                && logLine.charAt(position + 2) == 'C' && logLine.charAt(position + 3) == '(') {
+            int number = 0;
+            int i = position + 4;
+            while (i < logLine.length() && Character.isDigit(logLine.charAt(i))
+                    && i - position - 4 < UnifiedRegEx.GC_EVENT_NUMBER_DIGITS) {
+                number = number * 10 + (logLine.charAt(i) - '0');
+                i++;
+            }
+            if (i > position + 4 && i < logLine.length() && logLine.charAt(i) == ')') {
+                gcEventNumber = number;
+                position = i + 1;
+            }
+        }
+        length = position;
+    }
+
+    /**
+     * Find where {@link UnifiedRegEx#DECORATOR} can end at the start of a log line, without regular expressions, so
+     * regular expressions that start with the decorator only need to match the message body.
+     * 
+     * Unlike the constructor, only the decorations the regular expression allows are recognized (e.g. the info level
+     * and the gc and safepoint tags). The optional decorations (uptime, level and tags, GC event number) are matched
+     * greedily, so the first index is where the longest decorator ends, followed by where the shorter decorators the
+     * regular expression backtracks to end, in the same order.
+     * 
+     * @param logLine
+     *            The log line.
+     * @param ends
+     *            The indexes the decorator can end at, longest decorator first. Must have room for
+     *            {@link #REGEX_ENDS} indexes.
+     * @return The number of indexes, or 0 if the log line does not start with the decorator.
+     */
+    public static int getRegExEnds(CharSequence logLine, int[] ends) {
+        // [time], [uptime], or [uptimemillis]
+        if (logLine.length() == 0 || logLine.charAt(0) != '[') {
+            return 0;
+        }
+        int end = indexOf(logLine, ']', 1);
+        if (end < 0 || (parseUptime(logLine, 1, end) < 0 && !isDatestamp(logLine, 1, end))) {
+            return 0;
+        }
+        int count = 0;
+        int position = end + 1;
+        ends[count++] = position;
+
+        // [uptime] or [uptimemillis]
+        if (position < logLine.length() && logLine.charAt(position) == '[') {
+            end = indexOf(logLine, ']', position + 1);
+            if (end > 0 && parseUptime(logLine, position + 1, end) >= 0) {
+                position = end + 1;
+                ends[count++] = position;
+            }
+        }
+
+        // [info][tags]
+        if (startsWith(logLine, position, "[info][")) {
+            end = indexOf(logLine, ']', position + 7);
+            if (end > 0 && isRegExTags(logLine, position + 7, end)) {
+                position = end + 1;
+                ends[count++] = position;
+            }
+        }
+
+        // GC(n)
+        if (startsWith(logLine, position, " GC(")) {
+            int i = position + 4;
+            while (i < logLine.length() && i - position - 4 < UnifiedRegEx.GC_EVENT_NUMBER_DIGITS
+                    && logLine.charAt(i) >= '0' && logLine.charAt(i) <= '9') {
+                i++;
+            }
+            if (i > position + 4 && i < logLine.length() && logLine.charAt(i) == ')') {
+                ends[count++] = i + 1;
+            }
+        }
+
+        // Longest first
+        for (int i = 0; i < count / 2; i++) {
+            int index = ends[i];
+            ends[i] = ends[count - 1 - i];
+            ends[count - 1 - i] = index;
+        }
+        return count;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param begin
+     *            The index of the first character of the tags.
+     * @param end
+     *            The index after the last character of the tags, including padding.
+     * @return true if the tags and padding are allowed by {@link UnifiedRegEx#DECORATOR}, false otherwise.
+     */
+    private static boolean isRegExTags(CharSequence logLine, int begin, int end) {
+        int tagsEnd = end;
+        while (tagsEnd > begin && logLine.charAt(tagsEnd - 1) == ' ') {
+            tagsEnd--;
+        }
+        if (end - tagsEnd > UnifiedRegEx.DECORATOR_TAGS_PADDING) {
+            return false;
+        }
+        int tagEnd = indexOf(logLine, ',', begin, tagsEnd);
+        if (!isTag(logLine, begin, tagEnd, REGEX_TAGS)) {
+            return false;
+        }
+        if (tagEnd == tagsEnd) {
+            return true;
+        }
+        int tagBegin = tagEnd + 1;
+        tagEnd = indexOf(logLine, ',', tagBegin, tagsEnd);
+        if (tagEnd == tagsEnd) {
+            return isTag(logLine, tagBegin, tagEnd, REGEX_TAGS_SECOND)
+                    || isTag(logLine, tagBegin, tagEnd, REGEX_TAGS_LAST);
+        }
+        return isTag(logLine, tagBegin, tagEnd, REGEX_TAGS_SECOND)
+                && isTag(logLine, tagEnd + 1, tagsEnd, REGEX_TAGS_LAST);
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param begin
+     *            The index of the first character of the tag.
+     * @param end
+     *            The index after the last character of the tag.
+     * @param tags
+     *            The tags allowed.
+     * @return true if the tag is one of the tags allowed, false otherwise.
+     */
+    private static boolean isTag(CharSequence logLine, int begin, int end, String[] tags) {
+        for (int i = 0; i < tags.length; i++) {
+            if (tags[i].length() == end - begin && startsWith(logLine, begin, tags[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param position
+     *            The index to compare at.
+     * @param prefix
+     *            The characters to compare.
+     * @return true if the log line has the characters at the index, false otherwise.
+     */
+    private static boolean startsWith(CharSequence logLine, int position, String prefix) {
+        if (position + prefix.length() > logLine.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (logLine.charAt(position + i) != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param c
+     *            The character to find.
+     * @param from
+     *            The index to start searching from.
+     * @return The index of the first occurrence of the character at or after <code>from</code>, or -1 if not found.
+     */
+    private static int indexOf(CharSequence logLine, char c, int from) {
+        for (int i = from; i < logLine.length(); i++) {
+            if (logLine.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param c
+     *            The character to find.
+     * @param from
+     *            The index to start searching from.
+     * @param to
+     *            The index to stop searching at.
+     * @return The index of the first occurrence of the character at or after <code>from</code> and before
+     *         <code>to</code>, or <code>to</code> if not found.
+     */
+    private static int indexOf(CharSequence logLine, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (logLine.charAt(i) == c) {
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Parse uptime (e.g. 25.016s, 25,016s) or uptimemillis (e.g. 3ms).
+     * 
+     * @param logLine
+     *            The log line.
+     * @param begin
+     *            The index of the first character of the decoration.
+     * @param end
+     *            The index after the last character of the decoration.
+     * @return The uptime in milliseconds, or -1 if the decoration is not uptime or uptimemillis.
+     */
+    private static long parseUptime(CharSequence logLine, int begin, int end) {
+        if (end - begin >= 3 && logLine.charAt(end - 2) == 'm' && logLine.charAt(end - 1) == 's') {
+            // uptimemillis
+            int digits = end - 2 - begin;
+            if (digits > 9) {
+                return -1;
+            }
+            return parseDigits(logLine, begin, end - 2);
+        } else if (end - begin >= 5 && logLine.charAt(end - 1) == 's') {
+            // uptime with 3 decimal places
+            int separator = end - 5;
+            char c = logLine.charAt(separator);
+            if ((c != '.' && c != ',') || separator - begin > 12) {
+                return -1;
+            }
+            long seconds = separator == begin ? 0 : parseDigits(logLine, begin, separator);
+            long fraction = parseDigits(logLine, separator + 1, end - 1);
+            if (seconds < 0 || fraction < 0) {
+                return -1;
+            }
+            return seconds * 1000 + fraction;
+        }
+        return -1;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param begin
+     *            The index of the first digit.
+     * @param end
+     *            The index after the last digit.
+     * @return The value of the digits, or -1 if there are no digits or a character is not a digit.
+     */
+    private static long parseDigits(CharSequence logLine, int begin, int end) {
+        if (begin >= end) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = begin; i < end; i++) {
+            char c = logLine.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * @param logLine
+     *            The log line.
+     * @param begin
+     *            The index of the first character of the decoration.
+     * @param end
+     *            The index after the last character of the decoration.
+     * @return true if the decoration is a datestamp (e.g. 2020-02-14T15:21:55.207-0500), false otherwise.
+     */
+    private static boolean isDatestamp(CharSequence logLine, int begin, int end) {
+        if (end - begin != DATESTAMP_LAYOUT.length()) {
+            return false;
+        }
+        for (int i = 0; i < DATESTAMP_LAYOUT.length(); i++) {
+            char layout = DATESTAMP_LAYOUT.charAt(i);
+            char c = logLine.charAt(begin + i);
+            if (layout == 'd') {
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            } else if (layout == '+') {
+                if (c != '+' && c != '-') {
+                    return false;
+                }
+            } else if (c != layout) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the log line starts with a decorator, false otherwise.
+     */
+    public boolean isDecorated() {
+        return length > 0;
+    }
+
+    /**
+     * @return The number of characters in the decorator, or 0 if the log line does not start with a decorator.
+     */
+    public int getLength() {
+        return length;
+    }
+
+    public String getDatestamp() {
+        return datestamp;
+    }
+
+    /**
+     * @return The uptime in milliseconds, or -1 if there is no uptime or uptimemillis decoration.
+     */
+    public long getUptime() {
+        return uptime;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getTags() {
+        return tags;
+    }
+
+    /**
+     * @return The garbage collection event number, or -1 if not present.
+     */
+    public int getGcEventNumber() {
+        return gcEventNumber;
+    }
+
+    /**
+     * The event timestamp: the uptime if logged, otherwise the datestamp converted to milliseconds.
+     * 
+     * @return The timestamp in milliseconds, or 0 if the log line does not start with a decorator.
+     */
+    public long getTimestamp() {
+        long timestamp;
+        if (uptime >= 0) {
+            timestamp = uptime;
+        } else if (datestamp != null) {
+            timestamp = UnifiedUtil.convertDatestampToMillis(datestamp);
+        } else {
+            timestamp = 0;
+        }
+        return timestamp;
+    }
+}
@@ -43,12 +43,38 @@ public class UnifiedRegEx {
      */
     public static final String DURATION = "(\\d{1,7}[\\.\\,]\\d{1,3})[ ]{0,1}ms";
 
+    /**
+     * The maximum number of digits in the garbage collection event number.
+     */
+    static final int GC_EVENT_NUMBER_DIGITS = 7;
+
     /**
      * The garbage collection event number in JDK9+ unified logging.
      * 
      * For example: GC(6)
      */
-    public static final String GC_EVENT_NUMBER = "GC\\(\\d{1,7}\\)";
+    public static final String GC_EVENT_NUMBER = "GC\\(\\d{1," + GC_EVENT_NUMBER_DIGITS + "}\\)";
+
+    /**
+     * The tags {@link #DECORATOR} allows first.
+     */
+    static final String DECORATOR_TAGS = "gc|safepoint";
+
+    /**
+     * The tags {@link #DECORATOR} allows second.
+     */
+    static final String DECORATOR_TAGS_SECOND = "cds|cpu|ergo|heap|init|marking|metaspace|phases|stats|start|"
+            + "stringtable|task";
+
+    /**
+     * The tags {@link #DECORATOR} allows last.
+     */
+    static final String DECORATOR_TAGS_LAST = "coops|exit|start";
+
+    /**
+     * The maximum tags padding {@link #DECORATOR} allows.
+     */
+    static final int DECORATOR_TAGS_PADDING = 13;
 
     /**
      * Regular expression for recognized decorations prepending logging.
@@ -103,9 +129,9 @@ public class UnifiedRegEx {
      * </pre>
      */
     public static final String DECORATOR = "\\[(" + JdkRegEx.DATESTAMP + "|" + UPTIME + "|" + UPTIMEMILLIS + ")\\](\\[("
-            + UPTIME + "|" + UPTIMEMILLIS + ")\\])?(\\[info\\]\\[(gc|safepoint)"
-            + "(,(cds|cpu|ergo|heap|init|marking|metaspace|phases|stats|start|stringtable|task))?"
-            + "(,(coops|exit|start))?[ ]{0,13}\\])?( " + UnifiedRegEx.GC_EVENT_NUMBER + ")?";
+            + UPTIME + "|" + UPTIMEMILLIS + ")\\])?(\\[info\\]\\[(" + DECORATOR_TAGS + ")(,(" + DECORATOR_TAGS_SECOND
+            + "))?(,(" + DECORATOR_TAGS_LAST + "))?[ ]{0," + DECORATOR_TAGS_PADDING + "}\\])?( "
+            + UnifiedRegEx.GC_EVENT_NUMBER + ")?";
 
     /**
      * Blank line.
@@ -29,6 +29,11 @@ import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
  */
 public class UnifiedUtil {
 
+    /**
+     * The random date/time datestamps are converted to milliseconds from.
+     */
+    private static final Date DATESTAMP_START_DATE = GcUtil.parseStartDateTime("2000-01-01 00:00:00,000");
+
     /**
      * @param eventTypes
      *            The JVM event types.
@@ -85,7 +90,6 @@ public class UnifiedUtil {
     public static long convertDatestampToMillis(String datestamp) {
         // Calculate uptimemillis from random date/time
         Date eventDate = GcUtil.parseDateStamp(datestamp);
-        Date jvmStartDate = GcUtil.parseStartDateTime("2000-01-01 00:00:00,000");
-        return GcUtil.dateDiff(jvmStartDate, eventDate);
+        return GcUtil.dateDiff(DATESTAMP_START_DATE, eventDate);
     }
 }
@@ -33,7 +33,7 @@ public class TestMain extends TestCase {
             // Make private method accessible
             parseOptions.setAccessible(true);
             // Method arguments
-            String[] args = new String[14];
+            String[] args = new String[20];
             args[0] = "-h";
             args[1] = "-j";
             args[2] = "-Xmx2048m";
@@ -47,8 +47,14 @@ public class TestMain extends TestCase {
             args[10] = "12345678.txt";
             args[11] = "-v";
             args[12] = "-l";
+            args[13] = "-b";
+            args[14] = "100000";
+            args[15] = "-f";
+            args[16] = "-d";
+            args[17] = "-n";
+            args[18] = "4";
             // Instead of a file, use a location sure to exist.
-            args[13] = System.getProperty("user.dir");
+            args[19] = System.getProperty("user.dir");
             // Pass null object since parseOptions is static
             Object o = parseOptions.invoke(null, (Object) args);
             CommandLine cmd = (CommandLine) o;
@@ -71,6 +77,14 @@ public class TestMain extends TestCase {
                     cmd.hasOption(Constants.OPTION_VERSION_SHORT));
             Assert.assertTrue("'-" + Constants.OPTION_LATEST_VERSION_SHORT + "' is a valid option",
                     cmd.hasOption(Constants.OPTION_LATEST_VERSION_SHORT));
+            Assert.assertTrue("'-" + Constants.OPTION_MATCH_BUDGET_SHORT + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_MATCH_BUDGET_SHORT));
+            Assert.assertTrue("'-" + Constants.OPTION_PROFILE_SHORT + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_PROFILE_SHORT));
+            Assert.assertTrue("'-" + Constants.OPTION_DEBUG_SHORT + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_DEBUG_SHORT));
+            Assert.assertTrue("'-" + Constants.OPTION_THREADS_SHORT + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_THREADS_SHORT));
         } catch (ClassNotFoundException e) {
             Assert.fail(e.getMessage());
         } catch (SecurityException e) {
@@ -95,7 +109,7 @@ public class TestMain extends TestCase {
             // Make private method accessible
             parseOptions.setAccessible(true);
             // Method arguments
-            String[] args = new String[14];
+            String[] args = new String[20];
             args[0] = "--help";
             args[1] = "--jvmoptions";
             args[2] = "-Xmx2048m";
@@ -109,8 +123,14 @@ public class TestMain extends TestCase {
             args[10] = "12345678.txt";
             args[11] = "--version";
             args[12] = "--latest";
+            args[13] = "--budget";
+            args[14] = "100000";
+            args[15] = "--profile";
+            args[16] = "--debug";
+            args[17] = "--threads";
+            args[18] = "4";
             // Instead of a file, use a location sure to exist.
-            args[13] = System.getProperty("user.dir");
+            args[19] = System.getProperty("user.dir");
             // Pass null object since parseOptions is static
             Object o = parseOptions.invoke(null, (Object) args);
             CommandLine cmd = (CommandLine) o;
@@ -133,6 +153,14 @@ public class TestMain extends TestCase {
                     cmd.hasOption(Constants.OPTION_VERSION_LONG));
             Assert.assertTrue("'-" + Constants.OPTION_LATEST_VERSION_LONG + "' is a valid option",
                     cmd.hasOption(Constants.OPTION_LATEST_VERSION_LONG));
+            Assert.assertTrue("'-" + Constants.OPTION_MATCH_BUDGET_LONG + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_MATCH_BUDGET_LONG));
+            Assert.assertTrue("'-" + Constants.OPTION_PROFILE_LONG + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_PROFILE_LONG));
+            Assert.assertTrue("'-" + Constants.OPTION_DEBUG_LONG + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_DEBUG_LONG));
+            Assert.assertTrue("'-" + Constants.OPTION_THREADS_LONG + "' is a valid option",
+                    cmd.hasOption(Constants.OPTION_THREADS_LONG));
         } catch (ClassNotFoundException e) {
             Assert.fail(e.getMessage());
         } catch (SecurityException e) {
@@ -0,0 +1,190 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.hsql;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+
+import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
+import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.LogEventType;
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestBlockingEventStore extends TestCase {
+
+    public void testEmpty() {
+        BlockingEventStore store = new BlockingEventStore();
+        Assert.assertEquals("Size not correct.", 0, store.size());
+        Assert.assertEquals("Max duration not correct.", 0, store.getMaxDuration());
+        Assert.assertEquals("Total duration not correct.", 0, store.getTotalDuration());
+        Assert.assertEquals("Max heap space not correct.", 0, store.getMaxHeapSpace());
+        Assert.assertEquals("Timestamp order not correct.", 0, store.getTimestampOrder(null).length);
+    }
+
+    public void testAggregates() {
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        store.add(new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]"));
+        Assert.assertEquals("Size not correct.", 2, store.size());
+        Assert.assertEquals("Event type not correct.", LogEventType.SERIAL_OLD, store.getEventType(1));
+        Assert.assertEquals("Timestamp not correct.", 3010786012L, store.getTimestamp(1));
+        Assert.assertEquals("Max duration not correct.", 1992451, store.getMaxDuration());
+        Assert.assertEquals("Total duration not correct.", 80598 + 1992451, store.getTotalDuration());
+        Assert.assertEquals("Max young space not correct.", 368640, store.getMaxYoungSpace());
+        Assert.assertEquals("Max old space not correct.", 819200, store.getMaxOldSpace());
+        Assert.assertEquals("Max heap space not correct.", 1187840, store.getMaxHeapSpace());
+        Assert.assertEquals("Max heap occupancy not correct.", 824995, store.getMaxHeapOccupancy());
+        Assert.assertEquals("Max perm space not correct.", 262144, store.getMaxPermSpace());
+        Assert.assertEquals("Max perm occupancy not correct.", 123092, store.getMaxPermOccupancy());
+        Assert.assertTrue("Event not correct.", store.getEvent(0) instanceof ParNewEvent);
+        Assert.assertEquals("Event duration not correct.", 80598, store.getEvent(0).getDuration());
+        Iterator<BlockingEvent> iterator = store.iterator(LogEventType.SERIAL_OLD);
+        Assert.assertTrue("Event not correct.", iterator.next() instanceof SerialOldEvent);
+        Assert.assertFalse("Iterator not at end.", iterator.hasNext());
+        store.clear();
+        Assert.assertEquals("Size not correct.", 0, store.size());
+        Assert.assertEquals("Max duration not correct.", 0, store.getMaxDuration());
+    }
+
+    public void testTimestampOrder() {
+        BlockingEventStore store = new BlockingEventStore();
+        for (int i = 0; i < BlockingEventStore.CHUNK_SIZE + 2; i++) {
+            // Events go back in time at the chunk boundary
+            String seconds = (i < BlockingEventStore.CHUNK_SIZE ? 1000 + i : 1000) + ".000";
+            store.add(new ParNewEvent(seconds + ": [GC " + seconds + ": [ParNew: 337824K->32173K(368640K), "
+                    + "0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        }
+        Assert.assertFalse("Ordered not correct.", store.isOrdered());
+        int[] order = store.getTimestampOrder(null);
+        Assert.assertEquals("Order length not correct.", BlockingEventStore.CHUNK_SIZE + 2, order.length);
+        Assert.assertEquals("First event not correct.", 0, order[0]);
+        Assert.assertEquals("Second event not correct.", BlockingEventStore.CHUNK_SIZE, order[1]);
+        Assert.assertEquals("Third event not correct.", BlockingEventStore.CHUNK_SIZE + 1, order[2]);
+        Assert.assertEquals("Fourth event not correct.", 1, order[3]);
+        Assert.assertEquals("Last event not correct.", BlockingEventStore.CHUNK_SIZE - 1, order[order.length - 1]);
+        Assert.assertEquals("Serial old events not correct.", 0,
+                store.getTimestampOrder(LogEventType.SERIAL_OLD).length);
+    }
+
+    public void testLogEntryReferences() throws IOException {
+        Charset utf8 = Charset.forName("UTF-8");
+        String logEntry1 = "3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K), 0.0803880 secs]"
+                + " 806117K->500466K(1187840K), 0.0805980 secs]";
+        String logEntry2 = "3010786.012: [Full GC 3010786.012: [Tenured: 468292K->482213K(819200K), 1.9920590 secs]"
+                + " 824995K->482213K(1187840K), [Perm : 123092K->122684K(262144K)], 1.9924510 secs]";
+        File file = File.createTempFile("garbagecat", ".log");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write((logEntry1 + "\n" + logEntry2 + "\n").getBytes(utf8));
+        } finally {
+            out.close();
+        }
+        BlockingEventStore store = new BlockingEventStore();
+        int logFileId = store.addLogFile(file, utf8);
+        store.add(new ParNewEvent(logEntry1), logFileId, 0, logEntry1.length());
+        store.add(new SerialOldEvent(logEntry2), logFileId, logEntry1.length() + 1, logEntry2.length());
+        store.add(new ParNewEvent(logEntry1));
+        Assert.assertEquals("Log entry not correct.", logEntry2, store.getLogEntry(1));
+        Assert.assertEquals("Log entry not correct.", logEntry1, store.getLogEntry(2));
+        Iterator<BlockingEvent> iterator = store.iterator(null);
+        // The event kept in memory has the same timestamp as the first event
+        Assert.assertEquals("Event log entry not correct.", logEntry1, iterator.next().getLogEntry());
+        Assert.assertEquals("Event log entry not correct.", logEntry1, iterator.next().getLogEntry());
+        Assert.assertEquals("Event log entry not correct.", logEntry2, iterator.next().getLogEntry());
+        Assert.assertFalse("Iterator not at end.", iterator.hasNext());
+        Assert.assertEquals("Event log entry not correct.", logEntry2, store.getEvent(1).getLogEntry());
+    }
+
+    public void testIterator() {
+        BlockingEventStore store = new BlockingEventStore();
+        Assert.assertFalse("Iterator not empty.", store.iterator(null).hasNext());
+        store.add(new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]"));
+        for (int i = 0; i < 3; i++) {
+            String seconds = (3010778 + i) + ".296";
+            store.add(new ParNewEvent(seconds + ": [GC " + seconds + ": [ParNew: 337824K->32173K(368640K), "
+                    + "0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        }
+        Iterator<BlockingEvent> iterator = store.iterator(LogEventType.PAR_NEW);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue("Iterator at end.", iterator.hasNext());
+            BlockingEvent event = iterator.next();
+            Assert.assertTrue("Event not correct.", event instanceof ParNewEvent);
+            Assert.assertEquals("Event timestamp not correct.", 3010778296L + i * 1000, event.getTimestamp());
+        }
+        Assert.assertFalse("Iterator not at end.", iterator.hasNext());
+        iterator = store.iterator(null);
+        Assert.assertEquals("First event not correct.", 3010778296L, iterator.next().getTimestamp());
+        iterator.next();
+        iterator.next();
+        Assert.assertTrue("Last event not correct.", iterator.next() instanceof SerialOldEvent);
+        Assert.assertFalse("Iterator not at end.", iterator.hasNext());
+        iterator = store.iterator(LogEventType.SERIAL_OLD);
+        Assert.assertTrue("Event not correct.", iterator.next() instanceof SerialOldEvent);
+        Assert.assertFalse("Iterator not at end.", iterator.hasNext());
+    }
+
+    public void testWriteRead() throws IOException {
+        Charset utf8 = Charset.forName("UTF-8");
+        String logEntry = "3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K), 0.0803880 secs]"
+                + " 806117K->500466K(1187840K), 0.0805980 secs]";
+        File file = File.createTempFile("garbagecat", ".log");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write((logEntry + "\n").getBytes(utf8));
+        } finally {
+            out.close();
+        }
+        BlockingEventStore store = new BlockingEventStore();
+        store.add(new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]"));
+        store.add(new ParNewEvent(logEntry), store.addLogFile(file, utf8), 0, logEntry.length());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        store.write(new DataOutputStream(bytes));
+        BlockingEventStore readStore = new BlockingEventStore();
+        readStore.add(new ParNewEvent(logEntry));
+        readStore.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        Assert.assertEquals("Size not correct.", 2, readStore.size());
+        Assert.assertFalse("Events not out of order.", readStore.isOrdered());
+        Assert.assertEquals("Event type not correct.", LogEventType.PAR_NEW, readStore.getEventType(1));
+        Assert.assertEquals("Timestamp not correct.", 3010778296L, readStore.getTimestamp(1));
+        Assert.assertEquals("Duration not correct.", store.getDuration(0), readStore.getDuration(0));
+        Assert.assertEquals("Total duration not correct.", store.getTotalDuration(), readStore.getTotalDuration());
+        Assert.assertEquals("Max heap occupancy not correct.", 824995, readStore.getMaxHeapOccupancy());
+        Assert.assertEquals("Max perm space not correct.", 262144, readStore.getMaxPermSpace());
+        Assert.assertEquals("Log entry not correct.", store.getLogEntry(0), readStore.getLogEntry(0));
+        // Read back from the log file
+        Assert.assertEquals("Log entry not correct.", logEntry, readStore.getLogEntry(1));
+    }
+}
@@ -15,8 +15,10 @@ package org.eclipselabs.garbagecat.hsql;
 import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
+import org.eclipselabs.garbagecat.domain.jdk.ApplicationStoppedTimeEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
 import org.eclipselabs.garbagecat.domain.jdk.SerialOldEvent;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.junit.Assert;
 
 import junit.framework.TestCase;
@@ -40,11 +42,73 @@ public class TestJvmDao extends TestCase {
                 + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
                 + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]");
         jvmDao.addBlockingEvent(event3);
-        jvmDao.processBlockingBatch();
 
         // check they are the correct way around
         List<BlockingEvent> events = jvmDao.getBlockingEvents();
         Assert.assertTrue(events.get(1) instanceof ParNewEvent);
         Assert.assertTrue(events.get(2) instanceof SerialOldEvent);
     }
+
+    public void testSummary() {
+        JvmDao jvmDao = new JvmDao();
+        Assert.assertNull("First GC event not correct.", jvmDao.getFirstGcEvent());
+        Assert.assertEquals("Max GC pause not correct.", 0, jvmDao.getMaxGcPause());
+        Assert.assertEquals("Stopped time event count not correct.", 0, jvmDao.getStoppedTimeEventCount());
+        ParNewEvent event1 = new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]");
+        jvmDao.addBlockingEvent(event1);
+        SerialOldEvent event2 = new SerialOldEvent("3010786.012: [Full GC 3010786.012:"
+                + " [Tenured: 468292K->482213K(819200K), 1.9920590 secs] 824995K->482213K(1187840K),"
+                + " [Perm : 123092K->122684K(262144K)], 1.9924510 secs]");
+        jvmDao.addBlockingEvent(event2);
+        for (int i = 1; i <= 150; i++) {
+            jvmDao.addStoppedTimeEvent(new ApplicationStoppedTimeEvent(i
+                    + ".000: Total time for which application threads were stopped: 0.00" + (i + 100) + "00 seconds"));
+        }
+        Assert.assertEquals("Blocking event count not correct.", 2, jvmDao.getBlockingEventCount());
+        Assert.assertEquals("First GC event not correct.", event1, jvmDao.getFirstGcEvent());
+        Assert.assertEquals("Last GC event not correct.", event2, jvmDao.getLastGcEvent());
+        Assert.assertEquals("Max GC pause not correct.", 1992, jvmDao.getMaxGcPause());
+        Assert.assertEquals("Total GC pause not correct.", 2073, jvmDao.getTotalGcPause());
+        Assert.assertEquals("Max heap occupancy not correct.", 824995, jvmDao.getMaxHeapOccupancy());
+        Assert.assertEquals("Max perm space not correct.", 262144, jvmDao.getMaxPermSpace());
+        Assert.assertEquals("Stopped time event count not correct.", 150, jvmDao.getStoppedTimeEventCount());
+        Assert.assertEquals("First stopped event not correct.", 1000, jvmDao.getFirstStoppedEvent().getTimestamp());
+        Assert.assertEquals("Last stopped event not correct.", 150000, jvmDao.getLastStoppedEvent().getTimestamp());
+        Assert.assertEquals("Max stopped time not correct.", 2, jvmDao.getMaxStoppedTime());
+        Assert.assertEquals("Total stopped time not correct.", 263, jvmDao.getTotalStoppedTime());
+        jvmDao.cleanup();
+        Assert.assertEquals("Blocking event count not correct.", 0, jvmDao.getBlockingEventCount());
+        Assert.assertNull("Last stopped event not correct.", jvmDao.getLastStoppedEvent());
+        Assert.assertEquals("Total stopped time not correct.", 0, jvmDao.getTotalStoppedTime());
+    }
+
+    public void testInstancesIndependent() {
+        JvmDao jvmDao1 = new JvmDao();
+        jvmDao1.addBlockingEvent(new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        jvmDao1.addStoppedTimeEvent(new ApplicationStoppedTimeEvent(
+                "1.000: Total time for which application threads were stopped: 0.0010000 seconds"));
+        JvmDao jvmDao2 = new JvmDao();
+        Assert.assertEquals("Blocking event count not correct.", 0, jvmDao2.getBlockingEventCount());
+        Assert.assertEquals("Stopped time event count not correct.", 0, jvmDao2.getStoppedTimeEventCount());
+        jvmDao2.addAnalysis(Analysis.WARN_APPLICATION_STOPPED_TIME_MISSING);
+        Assert.assertEquals("Blocking event count not correct.", 1, jvmDao1.getBlockingEventCount());
+        Assert.assertEquals("Stopped time event count not correct.", 1, jvmDao1.getStoppedTimeEventCount());
+        Assert.assertTrue("Analysis not correct.", jvmDao1.getAnalysis().isEmpty());
+        jvmDao2.close();
+        Assert.assertEquals("Blocking event count not correct.", 1, jvmDao1.getBlockingEventCount());
+    }
+
+    public void testClose() {
+        JvmDao jvmDao = new JvmDao();
+        jvmDao.addBlockingEvent(new ParNewEvent("3010778.296: [GC 3010778.296: [ParNew: 337824K->32173K(368640K),"
+                + " 0.0803880 secs] 806117K->500466K(1187840K), 0.0805980 secs]"));
+        jvmDao.addAnalysis(Analysis.WARN_APPLICATION_STOPPED_TIME_MISSING);
+        List<Analysis> analysis = jvmDao.getAnalysis();
+        jvmDao.close();
+        Assert.assertEquals("Blocking event count not correct.", 0, jvmDao.getBlockingEventCount());
+        Assert.assertTrue("Analysis not correct.", jvmDao.getAnalysis().isEmpty());
+        Assert.assertEquals("Analysis already returned not correct.", 1, analysis.size());
+    }
 }
@@ -0,0 +1,166 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.hsql;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestParseCache extends TestCase {
+
+    public void testVarLong() throws IOException {
+        long[] values = { 0, 1, -1, 63, -64, 64, 127, 128, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE,
+                Long.MIN_VALUE };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < values.length; i++) {
+            ParseCache.writeVarLong(out, values[i]);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals("Value not correct.", values[i], ParseCache.readVarLong(in));
+        }
+        bytes.reset();
+        ParseCache.writeVarInt(out, 0);
+        ParseCache.writeVarInt(out, -1);
+        Assert.assertEquals("Small values not written in a single byte.", 2, bytes.size());
+    }
+
+    public void testString() throws IOException {
+        StringBuilder longString = new StringBuilder();
+        while (longString.length() <= 65535) {
+            longString.append("[Times: user=0.04 sys=0.02, real=0.04 secs] \u00e9");
+        }
+        String[] strings = { null, "", "GC(1) Pause Young", longString.toString() };
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (int i = 0; i < strings.length; i++) {
+            ParseCache.writeString(out, strings[i]);
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (int i = 0; i < strings.length; i++) {
+            Assert.assertEquals("String not correct.", strings[i], ParseCache.readString(in));
+        }
+    }
+
+    public void testReadWrite() throws IOException {
+        File directory = createTempDirectory();
+        File logFile = new File(directory, "gc.log");
+        write(logFile, "1.000: Total time for which application threads were stopped: 0.0010000 seconds\n");
+        ParseCache parseCache = new ParseCache(directory, logFile, "preprocess=false");
+        Assert.assertNull("Cache not empty.", parseCache.read());
+        DataOutputStream out = parseCache.write();
+        out.writeInt(42);
+        parseCache.commit(out);
+        Assert.assertTrue("Cache file not created.", parseCache.getCacheFile().isFile());
+        parseCache = new ParseCache(directory, logFile, "preprocess=false");
+        DataInputStream in = parseCache.read();
+        Assert.assertNotNull("Cache not read.", in);
+        try {
+            Assert.assertEquals("Cached data not correct.", 42, in.readInt());
+        } finally {
+            in.close();
+        }
+        // Different options
+        Assert.assertNull("Cache read for different options.",
+                new ParseCache(directory, logFile, "preprocess=true").read());
+        Assert.assertFalse("Stale cache file not deleted.", parseCache.getCacheFile().exists());
+        out = parseCache.write();
+        out.writeInt(42);
+        parseCache.commit(out);
+        // Same size and last modified time, different content
+        long lastModified = logFile.lastModified();
+        write(logFile, "2.000: Total time for which application threads were stopped: 0.0010000 seconds\n");
+        logFile.setLastModified(lastModified);
+        Assert.assertNull("Cache read for changed log file.",
+                new ParseCache(directory, logFile, "preprocess=false").read());
+        Assert.assertFalse("Stale cache file not deleted.", parseCache.getCacheFile().exists());
+        logFile.delete();
+        directory.delete();
+    }
+
+    public void testBuild() throws IOException {
+        File directory = createTempDirectory();
+        File logFile = new File(directory, "gc.log");
+        write(logFile, "1.000: Total time for which application threads were stopped: 0.0010000 seconds\n");
+        ParseCache parseCache = new ParseCache(directory, logFile, "preprocess=false", "3.0.4,1");
+        DataOutputStream out = parseCache.write();
+        out.writeInt(42);
+        parseCache.commit(out);
+        Assert.assertNull("Cache read for a different build.",
+                new ParseCache(directory, logFile, "preprocess=false", "3.0.5,2").read());
+        Assert.assertFalse("Stale cache file not deleted.", parseCache.getCacheFile().exists());
+        logFile.delete();
+        directory.delete();
+    }
+
+    public void testCorrupt() throws IOException {
+        File directory = createTempDirectory();
+        File logFile = new File(directory, "gc.log");
+        write(logFile, "1.000: Total time for which application threads were stopped: 0.0010000 seconds\n");
+        ParseCache parseCache = new ParseCache(directory, logFile, null);
+        // Truncated header
+        write(parseCache.getCacheFile(), "GCAT");
+        try {
+            parseCache.read();
+            Assert.fail("Corrupt cache file read.");
+        } catch (IOException e) {
+            Assert.assertFalse("Corrupt cache file not deleted.", parseCache.getCacheFile().exists());
+        }
+        logFile.delete();
+        directory.delete();
+    }
+
+    public void testDiscard() throws IOException {
+        File directory = createTempDirectory();
+        File logFile = new File(directory, "gc.log");
+        write(logFile, "1.000: Total time for which application threads were stopped: 0.0010000 seconds\n");
+        ParseCache parseCache = new ParseCache(directory, logFile, null);
+        DataOutputStream out = parseCache.write();
+        out.writeInt(42);
+        parseCache.discard(out);
+        Assert.assertNull("Cache not empty.", parseCache.read());
+        Assert.assertEquals("Temporary file not deleted.", 1, directory.listFiles().length);
+        logFile.delete();
+        directory.delete();
+    }
+
+    private static File createTempDirectory() throws IOException {
+        File directory = File.createTempFile("cache", "");
+        directory.delete();
+        directory.mkdir();
+        directory.deleteOnExit();
+        return directory;
+    }
+
+    private static void write(File file, String content) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.preprocess;
+
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ *
+ */
+public class TestPreprocessContext extends TestCase {
+
+    public void testAddRemove() {
+        PreprocessContext context = new PreprocessContext();
+        Assert.assertFalse("Token found in empty context.", context.contains(PreprocessContext.CMS));
+        Assert.assertTrue("Token not added.", context.add(PreprocessContext.CMS));
+        Assert.assertFalse("Token added twice.", context.add(PreprocessContext.CMS));
+        Assert.assertTrue("Token not found.", context.contains(PreprocessContext.CMS));
+        Assert.assertFalse("Wrong token found.", context.contains(PreprocessContext.G1));
+        Assert.assertTrue("Token not removed.", context.remove(PreprocessContext.CMS));
+        Assert.assertFalse("Token removed twice.", context.remove(PreprocessContext.CMS));
+        Assert.assertFalse("Token not removed.", context.contains(PreprocessContext.CMS));
+    }
+
+    public void testContainsAny() {
+        int mask = PreprocessContext.CMS | PreprocessContext.G1;
+        PreprocessContext context = new PreprocessContext();
+        Assert.assertFalse("Token found in empty context.", context.containsAny(mask));
+        context.add(PreprocessContext.PARALLEL);
+        Assert.assertFalse("Token not in mask found.", context.containsAny(mask));
+        context.add(PreprocessContext.G1);
+        Assert.assertTrue("Token in mask not found.", context.containsAny(mask));
+        context.clear();
+        Assert.assertFalse("Context not cleared.", context.containsAny(mask));
+    }
+
+    public void testCopy() {
+        PreprocessContext context = new PreprocessContext();
+        context.add(PreprocessContext.BEGINNING_OF_EVENT | PreprocessContext.UNIFIED);
+        PreprocessContext copy = new PreprocessContext(context);
+        Assert.assertEquals("Copy not equal.", context, copy);
+        copy.remove(PreprocessContext.BEGINNING_OF_EVENT);
+        Assert.assertFalse("Copy not equal after token removed.", context.equals(copy));
+        Assert.assertTrue("Token removed from copied context.", context.contains(PreprocessContext.BEGINNING_OF_EVENT));
+    }
+}
@@ -14,11 +14,10 @@ package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
@@ -53,7 +52,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "53277.301: [CMS-concurrent-reset: 0.019/0.023 secs] [Times: user=0.02 sys=0.00, real=0.02 secs]";
         String nextLogLine = ": 8943881K->8813432K(9412608K), 7.7851270 secs] 11797193K->9475525K(12265920K), [CMS "
                 + "Perm : 460344K->460331K(770956K)], 7.7854740 secs] [Times: user=7.79 sys=0.01, real=7.78 secs]";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, null, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -131,7 +130,7 @@ public class TestCmsPreprocessAction extends TestCase {
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, null, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         CmsPreprocessAction event = new CmsPreprocessAction(null, logLine, nextLogLine, entangledLogLines, context);
         Assert.assertEquals("Log line not parsed correctly.", "45.574: [GC (Allocation Failure) 45.574: [ParNew",
                 event.getLogEntry());
@@ -172,7 +171,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String nextLogLine = " (concurrent mode failure): 8156K->36298K(7864320K), 1.0166580 secs] "
                 + "89705K->36298K(8336192K), [CMS Perm : 34431K->34268K(34548K)], 1.0172840 secs] "
                 + "[Times: user=0.86 sys=0.14, real=1.02 secs]";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         List<String> entangledLogLines = new ArrayList<String>();
         CmsPreprocessAction event = new CmsPreprocessAction(null, logLine, nextLogLine, entangledLogLines, context);
         Assert.assertEquals("Log line not parsed correctly.",
@@ -523,7 +522,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "[ParNew: 595103K->12118K(619008K), 0.0559019 secs] 1247015K->664144K(4157952K), 0.0561698 secs] "
                 + "[Times: user=0.09 sys=0.00, real=0.06 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         CmsPreprocessAction event = new CmsPreprocessAction(null, logLine, nextLogLine, null, context);
@@ -538,7 +537,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "262372.344: [Full GC (JvmtiEnv ForceGarbageCollection) 262372.344: [CMS262372.426: "
                 + "[CMS-concurrent-mark: 0.082/0.083 secs] [Times: user=0.08 sys=0.00, real=0.09 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -552,7 +551,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "262375.122: [Full GC (Metadata GC Threshold) 262375.122: [CMS262375.200: "
                 + "[CMS-concurrent-mark: 0.082/0.082 secs] [Times: user=0.08 sys=0.00, real=0.08 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -567,7 +566,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "5027.062: [CMS-concurrent-sweep: 9.543/33.853 secs] "
                 + "[Times: user=107.27 sys=5.82, real=33.85 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -581,7 +580,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "58626.878: [Full GC (GCLocker Initiated GC)58626.878: [CMS"
                 + "58630.075: [CMS-concurrent-sweep: 3.220/3.228 secs] [Times: user=3.38 sys=0.01, real=3.22 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -594,7 +593,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = "1.118: [GC Before GC:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -606,7 +605,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = "1.118: [ParNew: 377487K->8426K(5505024K), 0.0535260 secs] 377487K->8426K(43253760K)After GC:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -620,7 +619,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = ", 0.0536040 secs] [Times: user=0.89 sys=0.01, real=0.06 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -634,7 +633,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "0.6818450 secs]36455.778: [CMS36459.090: [CMS-concurrent-mark: 3.439/4.155 secs] "
                 + "[Times: user=8.27 sys=0.17, real=4.16 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -651,7 +650,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "1.4967400 secs]65779.755: [CMS65781.579: [CMS-concurrent-preclean: 2.150/47.638 secs] "
                 + "[Times: user=81.22 sys=2.02, real=47.63 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -667,7 +666,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "3576157.596: [GC 3576157.596: [CMS-concurrent-abortable-preclean: 0.997/1.723 secs] "
                 + "[Times: user=3.20 sys=0.03, real=1.73 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -682,7 +681,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "3244.984: [CMS-concurrent-abortable-preclean: 3.335/9.080 secs] "
                 + "[Times: user=43.26 sys=1.66, real=9.08 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -698,7 +697,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "3576157.596: [ParNew: 147599K->17024K(153344K), 0.0795160 secs] "
                 + "2371401K->2244459K(6274432K), 0.0810030 secs] [Times: user=0.44 sys=0.00, real=0.08 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -712,7 +711,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2016-09-07T16:59:44.005-0400: 26536.942: [GC"
                 + "2016-09-07T16:59:44.005-0400: 26536.943: [ParNew";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -728,7 +727,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "2030.110: [CMS-concurrent-abortable-preclean: 0.050/0.150 secs] "
                 + "[Times: user=0.11 sys=0.03, real=0.15 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -744,7 +743,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = "2017-02-27T14:29:54.533+0000: 2.730: [GC (Allocation Failure) Before GC:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -759,7 +758,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2017-02-27T14:29:54.534+0000: 2.730: [ParNew: 2048000K->191475K(2304000K), 0.0366288 secs] "
                 + "2048000K->191475K(7424000K)After GC:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -793,7 +792,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "(promotion failed): 2304000K->2304000K(2304000K), 0.4501923 secs]"
                 + "2017-02-28T00:43:56.037+0000: 36844.234: [CMSCMS: Large block 0x0000000730892bb8";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -826,7 +825,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = ": 2818067K->2769354K(5120000K), 3.8341757 secs] 5094036K->2769354K(7424000K), "
                 + "[Metaspace: 18583K->18583K(1067008K)]After GC:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -843,7 +842,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2017-03-19T11:48:55.207+0000: 356616.193: [ParNew2017-03-19T11:48:55.211+0000: 356616.198: "
                 + "[CMS-concurrent-abortable-preclean: 1.046/3.949 secs] [Times: user=1.16 sys=0.05, real=3.95 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -857,7 +856,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = ": 66097K->7194K(66368K), 0.0440189 secs] 5274098K->5219953K(10478400K)After GC:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -871,7 +870,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = " 1677988K(7992832K), 0.3055773 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -886,7 +885,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2017-04-03T03:12:02.134-0500: 30.385: [GC (CMS Final Remark)  890910K->620060K(7992832K), "
                 + "0.1223879 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -901,7 +900,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "[CMS-concurrent-abortable-preclean: 3.663/31.735 secs] "
                 + "[Times: user=39.81 sys=0.23, real=31.74 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -915,7 +914,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "669950.539: [CMS2017-04-24T21:08:04.965+0100: 669960.868: [CMS-concurrent-sweep: "
                 + "13.324/39.970 secs] [Times: user=124.31 sys=2.44, real=39.97 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -929,7 +928,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2017-05-03T14:47:16.910-0400: 1801.570: [CMS2017-05-03T14:47:22.416-0400: 1807.075: "
                 + "[CMS-concurrent-mark: 29.707/71.001 secs] [Times: user=121.03 sys=35.41, real=70.99 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -944,7 +943,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = " 7778348K->1168095K(7848704K), [CMS Perm : 481281K->451017K(771512K)], 123.0277354 secs] "
                 + "[Times: user=123.19 sys=0.18, real=123.03 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -958,7 +957,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2017-04-22T12:43:48.008+0100: 466904.470: [GC 466904.473: [ParNew: "
                 + "516864K->516864K(516864K), 0.0001999 secs]466904.473: [Class Histogram:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -973,7 +972,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "[ParNew: 4147200K->4147200K(4147200K), 0.0677200 secs]"
                 + "2017-05-03T14:47:00.075-0400: 1784.735: [Class Histogram:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -987,7 +986,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = " (concurrent mode failure): 7835032K->8154090K(9216000K), 56.0787320 secs]"
                 + "2017-05-03T14:48:13.002-0400: 1857.661: [Class Histogram";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1000,7 +999,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2017-05-03T14:51:32.659-0400: 2057.323: [Full GC "
                 + "2017-05-03T14:51:32.680-0400: 2057.341: [Class Histogram:";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1013,7 +1012,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2017-06-18T05:23:03.452-0500: 2.182: 2017-06-18T05:23:03.452-0500: "
                 + "[CMS-concurrent-preclean: 0.016/0.048 secs]2.182: Application time: 0.0055079 seconds";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1028,7 +1027,7 @@ public class TestCmsPreprocessAction extends TestCase {
                 + "[CMS-concurrent-preclean: 0.016/0.048 secs]2.182: Application time: 0.0055079 seconds";
         String logLine = " [Times: user=0.15 sys=0.02, real=0.05 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1042,7 +1041,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2017-06-18T05:23:16.634-0500: 15.364: [GC (CMS Final Remark) 2017-06-18T05:23:16.634-0500: "
                 + "15.364: [ParNew";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1055,7 +1054,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String logLine = "2016-09-23T09:05:18.745-0700: 2.372: [GC (Allocation Failure) "
                 + "2016-09-23T09:05:18.745-0700: 2.372: [ParNew";
         String nextLogLine = "Desired survivor size 78643200 bytes, new threshold 15 (max 15)";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1067,7 +1066,7 @@ public class TestCmsPreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = "4237.297: [GC[YG occupancy: 905227 K (4194240 K)]{Heap before GC invocations=85 (full 1):";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.CMS.toString() + ".",
                 CmsPreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -15,6 +15,8 @@ package org.eclipselabs.garbagecat.preprocess.jdk;
 import java.util.Calendar;
 import java.util.Date;
 
+import org.eclipselabs.garbagecat.domain.TimeWarpException;
+import org.eclipselabs.garbagecat.util.GcUtil;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
 import org.junit.Assert;
 
@@ -45,4 +47,37 @@ public class TestDateStampPreprocessAction extends TestCase {
                 + " 150784K->3817K(1029760K), 0.0329790 secs] [Times: user=0.00 sys=0.00, real=0.03 secs]";
         Assert.assertEquals("Log line not parsed correctly.", preprocessedLogLine, preprocessAction.getLogEntry());
     }
+
+    public void testLogLineNoColon() {
+        String logLine = "2016-02-11T18:50:24.070-0500 16705.217: [G1Ergonomics (CSet Construction) start choosing "
+                + "CSet, _pending_cards: 273946, predicted base time: 242.44 ms]";
+        Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.DATE_STAMP.toString() + ".",
+                DateStampPreprocessAction.match(logLine));
+        Date jvmStartDate = GcUtil.parseStartDateTime("2016-02-11 18:50:00,000");
+        DateStampPreprocessAction preprocessAction = new DateStampPreprocessAction(logLine, jvmStartDate);
+        Assert.assertEquals("Log line not parsed correctly.",
+                "24.070: 16705.217: [G1Ergonomics (CSet Construction) start choosing CSet, _pending_cards: 273946, "
+                        + "predicted base time: 242.44 ms]",
+                preprocessAction.getLogEntry());
+    }
+
+    public void testNotLogLine() {
+        Assert.assertFalse("Log line recognized without separator.",
+                DateStampPreprocessAction.match("2016-02-11T18:50:24.070-0500:16705.217: [GC pause]"));
+        Assert.assertFalse("Log line recognized with truncated datestamp.",
+                DateStampPreprocessAction.match("2016-02-11T18:50:24.070-050: [GC pause]"));
+        Assert.assertFalse("Log line recognized with timestamp.", DateStampPreprocessAction.match("16705.217: [GC"));
+        Assert.assertNull("Log line preprocessed.", new DateStampPreprocessAction("16705.217: [GC pause]",
+                GcUtil.parseStartDateTime("2016-02-11 18:50:00,000")).getLogEntry());
+    }
+
+    public void testJvmStartDateAfterDateStamp() {
+        String logLine = "2016-02-11T18:50:24.070-0500: 16705.217: [GC pause]";
+        try {
+            new DateStampPreprocessAction(logLine, GcUtil.parseStartDateTime("2016-02-11 18:51:00,000"));
+            Assert.fail("JVM start date after datestamp not detected.");
+        } catch (TimeWarpException e) {
+            // expected
+        }
+    }
 }
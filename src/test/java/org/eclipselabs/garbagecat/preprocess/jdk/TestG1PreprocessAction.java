@@ -14,11 +14,10 @@ package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
@@ -441,7 +440,7 @@ public class TestG1PreprocessAction extends TestCase {
                 + "880272.699: [G1Ergonomics (CSet Construction) start choosing CSet, _pending_cards: 241090, "
                 + "predicted base time: 129.61 ms, remaining time: 70.39 ms, target pause time: 200.00 ms]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -738,7 +737,7 @@ public class TestG1PreprocessAction extends TestCase {
 
     public void testLogLineMiddleG1FullWithSizeInformation() {
         String logLine = " 1831M->1213M(5120M), 5.1353878 secs]";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         G1PreprocessAction action = new G1PreprocessAction(null, logLine, null, null, context);
@@ -807,7 +806,7 @@ public class TestG1PreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = "49689.217: [Full GC49689.217: [Class Histogram (before full gc):";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -820,7 +819,7 @@ public class TestG1PreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = "49709.036: [Class Histogram (after full gc): ";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -833,7 +832,7 @@ public class TestG1PreprocessAction extends TestCase {
         String priorLogLine = "";
         String logLine = "785,047: [GC pause (young), 0,73936800 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -846,7 +845,7 @@ public class TestG1PreprocessAction extends TestCase {
         String logLine = "188935.313: [GC pause (G1 Evacuation Pause) (young)"
                 + "188935.321: [GC concurrent-mark-end, 0.4777427 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -860,7 +859,7 @@ public class TestG1PreprocessAction extends TestCase {
         String logLine = "537.122: [GC pause (G1 Evacuation Pause) (young)"
                 + "537.123: [GC concurrent-root-region-scan-start]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -875,7 +874,7 @@ public class TestG1PreprocessAction extends TestCase {
                 + "0.3314995 secs][Eden: 0.0B(151.0M)->0.0B(153.0M) Survivors: 2048.0K->0.0B Heap: "
                 + "3038.7M(3072.0M)->3038.7M(3072.0M)] [Times: user=0.20 sys=0.00, real=0.33 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -894,7 +893,7 @@ public class TestG1PreprocessAction extends TestCase {
                 + "[Eden: 0.0B(153.0M)->0.0B(153.0M) Survivors: 0.0B->0.0B Heap: 3035.6M(3072.0M)->3035.6M(3072.0M)] "
                 + "[Times: user=0.09 sys=0.00, real=0.11 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, priorLogLine, nextLogLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -968,7 +967,7 @@ public class TestG1PreprocessAction extends TestCase {
         String logLine = "2017-02-27T02:55:32.523+0300: 35911.404: [Full GC (Allocation Failure)"
                 + "2017-02-27T02:55:32.524+0300: 35911.405: [GC concurrent-root-region-scan-end, 0.0127300 secs]";
         String nextLogLine = "2017-02-27T02:55:32.524+0300: 35911.405: [GC concurrent-mark-start]";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -982,7 +981,7 @@ public class TestG1PreprocessAction extends TestCase {
                 + "[Full GC (Metadata GC Threshold) [GC concurrent-root-region-scan-start]";
         String nextLogLine = "2017-06-22T16:03:36.126+0530: 79244.872: [GC concurrent-root-region-scan-end, "
                 + "0.0002076 secs]";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -996,7 +995,7 @@ public class TestG1PreprocessAction extends TestCase {
                 + "[Full GC (Metadata GC Threshold) 81186.777: [GC concurrent-root-region-scan-start]";
         String nextLogLine = "2017-06-22T16:35:58.033+0530: 81186.778: [GC concurrent-root-region-scan-end, "
                 + "0.0008790 secs]";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1012,7 +1011,7 @@ public class TestG1PreprocessAction extends TestCase {
                 + "[Metaspace: 93308K->93308K(352256K)] [Times: user=16.39 sys=0.04, real=21.75 secs]";
         String nextLogLine = "2132.960: [GC pause (G1 Evacuation Pause) (young)2132.962: "
                 + "[GC concurrent-root-region-scan-start]";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1028,7 +1027,7 @@ public class TestG1PreprocessAction extends TestCase {
     public void testLogLineConcurrentWithDatestamp() {
         String logLine = "2017-02-27T02:55:32.524+0300: 35911.405: [GC concurrent-mark-start]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1041,7 +1040,7 @@ public class TestG1PreprocessAction extends TestCase {
         String logLine = "2018-12-06T21:56:32.691-0500: 18.973"
                 + "2018-12-06T21:56:32.691-0500: : 18.973[GC concurrent-root-region-scan-start]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1053,7 +1052,7 @@ public class TestG1PreprocessAction extends TestCase {
     public void testLogLineMiddleInitialMark() {
         String logLine = " (initial-mark), 0.12895600 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1065,7 +1064,7 @@ public class TestG1PreprocessAction extends TestCase {
         String logLine = "2017-06-01T03:09:18.078-0400: 3978.886: [GC pause (GCLocker Initiated GC) (young)"
                 + "2017-06-01T03:09:18.081-0400: 3978.888: [GC concurrent-root-region-scan-end, 0.0059070 secs]";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1078,7 +1077,7 @@ public class TestG1PreprocessAction extends TestCase {
     public void testLogLineG1YoungPauseMixedG1SummarizeRSetStatsBeforeRsSummary() {
         String logLine = "0.449: [GC pause (G1 Evacuation Pause) (young)Before GC RS summary";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1090,7 +1089,7 @@ public class TestG1PreprocessAction extends TestCase {
     public void testLogLineG1YoungInitialMarkMixedG1SummarizeRSetStatsBeforeRsSummary() {
         String logLine = "1.738: [GC pause (Metadata GC Threshold) (young) (initial-mark)Before GC RS summary";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1102,7 +1101,7 @@ public class TestG1PreprocessAction extends TestCase {
     public void testLogLineBeginningG1FullMixedG1SummarizeRSetStatsBeforeRsSummary() {
         String logLine = "73.164: [Full GC (System.gc()) Before GC RS summary";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1113,7 +1112,7 @@ public class TestG1PreprocessAction extends TestCase {
     public void testLogLineMiddleG1FullMixedG1SummarizeRSetStatsAfterRsSummary() {
         String logLine = " 390M->119M(512M)After GC RS summary";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -1125,7 +1124,7 @@ public class TestG1PreprocessAction extends TestCase {
         String logLine = "2017-06-28T18:24:40.453-0400: 12289.351: [GC pause (G1 Evacuation Pause) (mixed)"
                 + "Before GC RS summary";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.G1.toString() + ".",
                 G1PreprocessAction.match(logLine, null, null));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -13,10 +13,9 @@
 package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.io.File;
-import java.util.HashSet;
-import java.util.Set;
 
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
@@ -37,7 +36,7 @@ public class TestParallelPreprocessAction extends TestCase {
         String logLine = " [PSYoungGen: 32064K->0K(819840K)] [PSOldGen: 355405K->387085K(699072K)] "
                 + "387470K->387085K(1518912K) [PSPermGen: 115215K->115215K(238912K)], 1.5692400 secs]";
         String nextLogLine = null;
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.PARALLEL.toString() + ".",
                 ParallelPreprocessAction.match(logLine));
         ParallelPreprocessAction event = new ParallelPreprocessAction(null, logLine, nextLogLine, null, context);
@@ -47,7 +46,7 @@ public class TestParallelPreprocessAction extends TestCase {
     public void testLogLineEndTimes() {
         String logLine = ", 33.6887649 secs] [Times: user=33.68 sys=0.02, real=33.69 secs]";
         String nextLogLine = null;
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.PARALLEL.toString() + ".",
                 ParallelPreprocessAction.match(logLine));
         ParallelPreprocessAction event = new ParallelPreprocessAction(null, logLine, nextLogLine, null, context);
@@ -57,7 +56,7 @@ public class TestParallelPreprocessAction extends TestCase {
     public void testLogLineClassUnloading() {
         String logLine = "65.343: [Full GC[Unloading class $Proxy111]";
         String nextLogLine = null;
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.PARALLEL.toString() + ".",
                 ParallelPreprocessAction.match(logLine));
         ParallelPreprocessAction event = new ParallelPreprocessAction(null, logLine, nextLogLine, null, context);
@@ -13,10 +13,9 @@
 package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.io.File;
-import java.util.HashSet;
-import java.util.Set;
 
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -33,7 +32,7 @@ public class TestSerialPreprocessAction extends TestCase {
 
     public void testLogLineBeginSerialNew() {
         String logLine = "10.204: [GC 10.204: [DefNew";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.SERIAL.toString() + ".",
                 SerialPreprocessAction.match(logLine));
         SerialPreprocessAction event = new SerialPreprocessAction(null, logLine, null, null, context);
@@ -42,7 +41,7 @@ public class TestSerialPreprocessAction extends TestCase {
 
     public void testLogLineEndSerialNew() {
         String logLine = ": 36825K->4352K(39424K), 0.0224830 secs] 44983K->14441K(126848K), 0.0225800 secs]";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.SERIAL.toString() + ".",
                 SerialPreprocessAction.match(logLine));
         SerialPreprocessAction event = new SerialPreprocessAction(null, logLine, null, null, context);
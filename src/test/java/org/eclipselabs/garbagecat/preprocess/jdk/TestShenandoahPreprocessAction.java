@@ -13,10 +13,9 @@
 package org.eclipselabs.garbagecat.preprocess.jdk;
 
 import java.io.File;
-import java.util.HashSet;
-import java.util.Set;
 
 import org.eclipselabs.garbagecat.domain.JvmRun;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -575,7 +574,7 @@ public class TestShenandoahPreprocessAction extends TestCase {
     public void testLogLineBeginConcurrentMarking() {
         String logLine = "2020-08-18T14:05:39.789+0000: 854865.439: [Concurrent marking";
         String nextLogLine = null;
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.SHENANDOAH.toString() + ".",
                 ShenandoahPreprocessAction.match(logLine));
         ShenandoahPreprocessAction event = new ShenandoahPreprocessAction(null, logLine, nextLogLine, null, context);
@@ -585,7 +584,7 @@ public class TestShenandoahPreprocessAction extends TestCase {
     public void testLogLineEndDuration() {
         String logLine = ", 2714.003 ms]";
         String nextLogLine = null;
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.SHENANDOAH.toString() + ".",
                 ShenandoahPreprocessAction.match(logLine));
         ShenandoahPreprocessAction event = new ShenandoahPreprocessAction(null, logLine, nextLogLine, null, context);
@@ -595,7 +594,7 @@ public class TestShenandoahPreprocessAction extends TestCase {
     public void testLogLineConcurrentCleanup() {
         String logLine = "2020-08-21T09:40:29.929-0400: 0.467: [Concurrent cleanup 21278K->4701K(37888K), 0.048 ms]";
         String nextLogLine = null;
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.SHENANDOAH.toString() + ".",
                 ShenandoahPreprocessAction.match(logLine));
         ShenandoahPreprocessAction event = new ShenandoahPreprocessAction(null, logLine, nextLogLine, null, context);
@@ -605,7 +604,7 @@ public class TestShenandoahPreprocessAction extends TestCase {
     public void testLogLineEndMetaspace() {
         String logLine = ", [Metaspace: 6477K->6481K(1056768K)]";
         String nextLogLine = null;
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + JdkUtil.PreprocessActionType.SHENANDOAH.toString() + ".",
                 ShenandoahPreprocessAction.match(logLine));
         ShenandoahPreprocessAction event = new ShenandoahPreprocessAction(null, logLine, nextLogLine, null, context);
@@ -0,0 +1,88 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.preprocess.jdk.unified;
+
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestUnifiedCollectionAssembler extends TestCase {
+
+    public void testGcId() {
+        Assert.assertEquals("GC id not correct.", 1033, UnifiedCollectionAssembler
+                .getGcId("[16.601s][info][gc           ] GC(1033) Concurrent Cycle"));
+        Assert.assertEquals("GC id not correct.", 0, UnifiedCollectionAssembler
+                .getGcId("[2019-05-09T01:39:00.763+0000][5355ms] GC(0) Pause Young (Normal) (G1 Evacuation Pause)"));
+        Assert.assertEquals("GC id not correct.", UnifiedCollectionAssembler.NO_ID, UnifiedCollectionAssembler
+                .getGcId("[0.373s][info][gc           ] Trigger: Learning 2 of 5. Free (45568K) is below initial "
+                        + "threshold (45875K)"));
+    }
+
+    public void testIntermingled() {
+        UnifiedCollectionAssembler assembler = new UnifiedCollectionAssembler();
+        Assert.assertNull("Collection output.", assembler.start(1, "GC(1) Pause Young (Allocation Failure)", false));
+        Assert.assertNull("Collection output.", assembler.start(2, "GC(2) Pause Young (Allocation Failure)", false));
+        Assert.assertTrue("Collection not in flight.", assembler.append(2, " 2M->1M(4M) 1.000ms"));
+        Assert.assertTrue("Collection not in flight.", assembler.append(1, " 3M->2M(4M) 2.000ms"));
+        Assert.assertFalse("Collection in flight.", assembler.append(3, " 4M->3M(4M) 3.000ms"));
+        Assert.assertEquals("Collection not assembled correctly.",
+                "GC(1) Pause Young (Allocation Failure) 3M->2M(4M) 2.000ms User=0.00s Sys=0.00s Real=0.00s",
+                assembler.end(1, " User=0.00s Sys=0.00s Real=0.00s"));
+        Assert.assertEquals("Collection not assembled correctly.",
+                "GC(2) Pause Young (Allocation Failure) 2M->1M(4M) 1.000ms User=0.01s Sys=0.00s Real=0.00s",
+                assembler.end(2, " User=0.01s Sys=0.00s Real=0.00s"));
+        Assert.assertNull("Collection not in flight assembled.", assembler.end(2, " User=0.01s Sys=0.00s Real=0.00s"));
+        Assert.assertTrue("Collections in flight.", assembler.isEmpty());
+    }
+
+    public void testYoungTriggersFull() {
+        UnifiedCollectionAssembler assembler = new UnifiedCollectionAssembler();
+        assembler.start(1, "GC(1) Pause Young (Allocation Failure)", false);
+        assembler.start(2, "GC(2) Pause Full (Allocation Failure)", true);
+        assembler.append(2, " 0M->0M(2M) 1.699ms");
+        assembler.append(1, " DefNew: 1152K->0K(1152K)");
+        assembler.append(1, " 1M->0M(2M) 3.061ms");
+        Assert.assertEquals("Collection not assembled correctly.",
+                "GC(2) Pause Full (Allocation Failure) DefNew: 1152K->0K(1152K) 1M->0M(2M) 3.061ms "
+                        + "User=0.00s Sys=0.00s Real=0.00s",
+                assembler.end(1, " User=0.00s Sys=0.00s Real=0.00s"));
+        Assert.assertTrue("Collections in flight.", assembler.isEmpty());
+    }
+
+    public void testMaxInFlight() {
+        UnifiedCollectionAssembler assembler = new UnifiedCollectionAssembler();
+        for (int i = 0; i < UnifiedCollectionAssembler.MAX_IN_FLIGHT; i++) {
+            Assert.assertNull("Collection output.", assembler.start(i, "GC(" + i + ") Pause Young", false));
+        }
+        assembler.append(0, " 1M->0M(2M) 1.000ms");
+        Assert.assertEquals("Oldest collection not output.", "GC(0) Pause Young 1M->0M(2M) 1.000ms",
+                assembler.start(UnifiedCollectionAssembler.MAX_IN_FLIGHT, "GC(16) Pause Young", false));
+        Assert.assertFalse("Oldest collection in flight.", assembler.append(0, " 1M->0M(2M) 1.000ms"));
+    }
+
+    public void testCopy() {
+        UnifiedCollectionAssembler assembler = new UnifiedCollectionAssembler();
+        assembler.start(1, "GC(1) Pause Young (Allocation Failure)", false);
+        UnifiedCollectionAssembler copy = new UnifiedCollectionAssembler(assembler);
+        Assert.assertEquals("Copy not equal.", assembler, copy);
+        copy.append(1, " 1M->0M(2M) 1.000ms");
+        Assert.assertFalse("Copy not independent.", assembler.equals(copy));
+        Assert.assertEquals("Collections in flight not flushed.", "GC(1) Pause Young (Allocation Failure)",
+                assembler.flush());
+        Assert.assertNull("Collections in flight.", assembler.flush());
+    }
+}
@@ -14,12 +14,10 @@ package org.eclipselabs.garbagecat.preprocess.jdk.unified;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.eclipselabs.garbagecat.domain.JvmRun;
-import org.eclipselabs.garbagecat.preprocess.PreprocessAction;
+import org.eclipselabs.garbagecat.preprocess.PreprocessContext;
 import org.eclipselabs.garbagecat.service.GcManager;
 import org.eclipselabs.garbagecat.util.Constants;
 import org.eclipselabs.garbagecat.util.jdk.JdkUtil;
@@ -93,7 +91,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineDefNewData() {
         String logLine = "[0.112s][info][gc,heap        ] GC(3) DefNew: 1016K->128K(1152K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -105,7 +103,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineTenuredData() {
         String logLine = "[32.636s][info][gc,heap        ] GC(9239) Tenured: 24193K->24195K(25240K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -117,7 +115,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLinePsYoungGenData() {
         String logLine = "[0.032s][info][gc,heap      ] GC(0) PSYoungGen: 512K->464K(1024K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -129,7 +127,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineParNewData() {
         String logLine = "[0.053s][info][gc,heap      ] GC(0) ParNew: 974K->128K(1152K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -141,7 +139,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineCmsData() {
         String logLine = "[0.053s][info][gc,heap      ] GC(0) CMS: 0K->518K(960K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -153,7 +151,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLinePsOldGenData() {
         String logLine = "[0.032s][info][gc,heap      ] GC(0) PSOldGen: 0K->8K(512K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -165,7 +163,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineMetaspaceData() {
         String logLine = "[0.032s][info][gc,metaspace ] GC(0) Metaspace: 120K->120K(1056768K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -183,7 +181,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineParOldGenData() {
         String logLine = "[0.030s][info][gc,heap      ] GC(0) ParOldGen: 0K->8K(512K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -201,9 +199,9 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLinePauseYoungInfo() {
         String logLine = "[0.112s][info][gc             ] GC(3) Pause Young (Allocation Failure) 1M->1M(2M) 0.700ms";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
-        context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
-        context.add(UnifiedPreprocessAction.TOKEN);
+        PreprocessContext context = new PreprocessContext();
+        context.add(PreprocessContext.BEGINNING_OF_EVENT);
+        context.add(PreprocessContext.UNIFIED);
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -215,8 +213,8 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLinePauseYoungInfoStandAlone() {
         String logLine = "[1.507s][info][gc] GC(77) Pause Young (Allocation Failure) 24M->4M(25M) 0.509ms";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
-        context.add(PreprocessAction.TOKEN_BEGINNING_OF_EVENT);
+        PreprocessContext context = new PreprocessContext();
+        context.add(PreprocessContext.BEGINNING_OF_EVENT);
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -228,7 +226,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineG1PauseYoungInfo() {
         String logLine = "[0.337s][info][gc           ] GC(0) Pause Young (G1 Evacuation Pause) 25M->4M(254M) 3.523ms";
         String nextLogLine = "[0.337s][info][gc,cpu       ] GC(0) User=0.00s Sys=0.00s Real=0.00s";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -241,7 +239,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
         String logLine = "[16.630s][info][gc            ] GC(1355) Pause Young (Mixed) (G1 Evacuation Pause) "
                 + "15M->12M(31M) 1.202ms";
         String nextLogLine = "[16.630s][info][gc           ] GC(0) User=0.18s Sys=0.00s Real=0.11s";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -254,7 +252,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
         String logLine = "[2019-05-09T01:39:00.821+0000][5413ms] GC(0) Pause Young (Normal) (G1 Evacuation Pause) "
                 + "65M->8M(1304M) 57.263ms";
         String nextLogLine = "[2019-05-09T01:39:00.821+0000][5413ms] GC(0) User=0.02s Sys=0.01s Real=0.06s";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -267,7 +265,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
         String logLine = "[2019-05-09T01:39:07.172+0000][11764ms] GC(3) Pause Young (Normal) (GCLocker Initiated GC) "
                 + "78M->22M(1304M) 35.722ms";
         String nextLogLine = "[2019-05-09T01:39:07.172+0000][11764ms] GC(3) User=0.02s Sys=0.00s Real=0.04s";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -286,7 +284,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
         String logLine = "[2020-06-24T18:11:52.781-0700][58776ms] GC(44) Pause Young (Concurrent Start) "
                 + "(Metadata GC Threshold) 733M->588M(1223M) 105.541ms";
         String nextLogLine = "[2020-06-24T18:11:52.781-0700][58776ms] GC(44) User=0.18s Sys=0.00s Real=0.11s";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -299,7 +297,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
         String logLine = "[2020-06-24T19:24:56.395-0700][4442390ms] GC(126) Pause Young (Concurrent Start) "
                 + "(G1 Humongous Allocation) 882M->842M(1223M) 19.777ms";
         String nextLogLine = "[2020-06-24T19:24:56.395-0700][4442390ms] GC(126) User=0.04s Sys=0.00s Real=0.02s";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -311,7 +309,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineTimesData() {
         String logLine = "[0.112s][info][gc,cpu         ] GC(3) User=0.00s Sys=0.00s Real=0.00s";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -729,7 +727,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineSerialOldInfoTriggerErgonomics() {
         String logLine = "[0.092s][info][gc             ] GC(3) Pause Full (Ergonomics) 0M->0M(3M) 1.849ms";
         String nextLogLine = "[0.092s][info][gc,cpu         ] GC(3) User=0.01s Sys=0.00s Real=0.00s";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -742,7 +740,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
         String logLine = "[2020-06-24T18:13:51.155-0700][177150ms] GC(74) Pause Full (System.gc()) 887M->583M(1223M) "
                 + "3460.196ms";
         String nextLogLine = "[2020-06-24T18:13:51.155-0700][177150ms] GC(74) User=1.78s Sys=0.01s Real=3.46s";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -754,7 +752,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineUnifiedYoungSingleLine() {
         String logLine = "[1.507s][info][gc] GC(77) Pause Young (Allocation Failure) 24M->4M(25M) 0.509ms";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -773,7 +771,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineCmsInitialMark() {
         String logLine = "[0.053s][info][gc,start     ] GC(1) Pause Initial Mark";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -785,7 +783,7 @@ public class TestUnifiedPreprocessAction extends TestCase {
     public void testLogLineCmsOld() {
         String logLine = "[0.056s][info][gc,heap      ] GC(1) Old: 518K->518K(960K)";
         String nextLogLine = "";
-        Set<String> context = new HashSet<String>();
+        PreprocessContext context = new PreprocessContext();
         Assert.assertTrue("Log line not recognized as " + PreprocessActionType.UNIFIED.toString() + ".",
                 UnifiedPreprocessAction.match(logLine));
         List<String> entangledLogLines = new ArrayList<String>();
@@ -990,4 +988,22 @@ public class TestUnifiedPreprocessAction extends TestCase {
         Assert.assertTrue(JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PAUSE.toString() + " collector not identified.",
                 jvmRun.getEventTypes().contains(LogEventType.UNIFIED_G1_YOUNG_PAUSE));
     }
+
+    /**
+     * Verify concurrent logging intermingled with a young collection does not break the young collection.
+     */
+    public void testPreprocessingG1YoungPauseIntermingledConcurrent() {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset199.txt");
+        GcManager gcManager = new GcManager();
+        File preprocessedFile = gcManager.preprocess(testFile, null);
+        gcManager.store(preprocessedFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Event type count not correct.", 2, jvmRun.getEventTypes().size());
+        Assert.assertFalse(JdkUtil.LogEventType.UNKNOWN.toString() + " collector identified.",
+                jvmRun.getEventTypes().contains(LogEventType.UNKNOWN));
+        Assert.assertTrue(JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PAUSE.toString() + " collector not identified.",
+                jvmRun.getEventTypes().contains(LogEventType.UNIFIED_G1_YOUNG_PAUSE));
+        Assert.assertTrue(JdkUtil.LogEventType.UNIFIED_CONCURRENT.toString() + " collector not identified.",
+                jvmRun.getEventTypes().contains(LogEventType.UNIFIED_CONCURRENT));
+    }
 }
@@ -12,9 +12,32 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.service;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
+import org.eclipselabs.garbagecat.domain.JvmRun;
 import org.eclipselabs.garbagecat.util.Constants;
+import org.eclipselabs.garbagecat.util.GcUtil;
+import org.eclipselabs.garbagecat.util.jdk.Analysis;
+import org.eclipselabs.garbagecat.util.jdk.Jvm;
 import org.junit.Assert;
 
 import junit.framework.TestCase;
@@ -38,4 +61,441 @@ public class TestGcManager extends TestCase {
             Assert.fail("Preprocessing results in NullPointerException.");
         }
     }
+
+    public void testPreprocessAndStore() {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset96.txt");
+        GcManager gcManager = new GcManager();
+        File preprocessedFile = gcManager.preprocess(testFile, null);
+        gcManager.store(preprocessedFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        GcManager fusedGcManager = new GcManager();
+        fusedGcManager.preprocessAndStore(testFile, null, false, null, 1);
+        JvmRun fusedJvmRun = fusedGcManager.getJvmRun(new Jvm(null, null),
+                Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertTrue("Log not preprocessed.", fusedGcManager.isPreprocessed());
+        Assert.assertEquals("Event types not correct.", jvmRun.getEventTypes(), fusedJvmRun.getEventTypes());
+        Assert.assertEquals("Analysis not correct.", jvmRun.getAnalysis(), fusedJvmRun.getAnalysis());
+        Assert.assertEquals("Blocking event count not correct.", jvmRun.getBlockingEventCount(),
+                fusedJvmRun.getBlockingEventCount());
+        Assert.assertEquals("Stopped time event count not correct.", jvmRun.getStoppedTimeEventCount(),
+                fusedJvmRun.getStoppedTimeEventCount());
+        Assert.assertEquals("Total GC duration not correct.", jvmRun.getTotalGcPause(), fusedJvmRun.getTotalGcPause());
+        Assert.assertEquals("Bottlenecks not correct.", jvmRun.getBottlenecks(), fusedJvmRun.getBottlenecks());
+        Assert.assertEquals("Unidentified log lines not correct.", jvmRun.getUnidentifiedLogLines(),
+                fusedJvmRun.getUnidentifiedLogLines());
+    }
+
+    public void testPreprocessAndStoreFile() throws IOException {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset96.txt");
+        File preprocessFile = File.createTempFile("dataset96", ".pp");
+        preprocessFile.deleteOnExit();
+        GcManager gcManager = new GcManager();
+        gcManager.preprocessAndStore(testFile, null, false, preprocessFile, 1);
+        File expectedFile = new GcManager().preprocess(testFile, null);
+        Assert.assertEquals("Preprocessed file not written correctly.", read(expectedFile), read(preprocessFile));
+    }
+
+    public void testPreprocessThreads() throws IOException {
+        String[] datasets = { "dataset96.txt", "dataset139.txt", "dataset182.txt", "dataset191.txt" };
+        for (int i = 0; i < datasets.length; i++) {
+            File testFile = new File(Constants.TEST_DATA_DIR + datasets[i]);
+            GcManager gcManager = new GcManager();
+            File expectedFile = gcManager.preprocess(testFile, null);
+            String expected = read(expectedFile);
+            gcManager.store(expectedFile, false);
+            JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            GcManager parallelGcManager = new GcManager();
+            // Small chunks so many chunks do not start at the beginning of an event
+            parallelGcManager.setPreprocessChunkSize(4);
+            File preprocessedFile = parallelGcManager.preprocess(testFile, null, 4);
+            Assert.assertEquals(datasets[i] + " not preprocessed correctly.", expected, read(preprocessedFile));
+            Assert.assertEquals(datasets[i] + " last log line not correct.", gcManager.getLastLogLineUnprocessed(),
+                    parallelGcManager.getLastLogLineUnprocessed());
+            parallelGcManager.store(preprocessedFile, false);
+            JvmRun parallelJvmRun = parallelGcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            Assert.assertEquals(datasets[i] + " analysis not correct.", jvmRun.getAnalysis(),
+                    parallelJvmRun.getAnalysis());
+        }
+    }
+
+    public void testPreprocessThreadsChunksNotRedone() throws IOException {
+        String[] datasets = { "dataset103.txt", "dataset165.txt", "dataset182.txt", "dataset196.txt" };
+        for (int i = 0; i < datasets.length; i++) {
+            File testFile = new File(Constants.TEST_DATA_DIR + datasets[i]);
+            String expected = read(new GcManager().preprocess(testFile, null));
+            GcManager gcManager = new GcManager();
+            gcManager.setPreprocessChunkSize(16);
+            Assert.assertEquals(datasets[i] + " not preprocessed correctly.", expected,
+                    read(gcManager.preprocess(testFile, null, 4)));
+            Assert.assertTrue(datasets[i] + " not preprocessed in multiple chunks.",
+                    gcManager.getPreprocessChunks() > 1);
+            Assert.assertTrue(datasets[i] + " chunks mostly preprocessed again.",
+                    gcManager.getPreprocessChunksRedone() * 2 < gcManager.getPreprocessChunks());
+        }
+    }
+
+    public void testPreprocessMapped() throws IOException {
+        String[] datasets = { "dataset96.txt", "dataset182.txt" };
+        for (int i = 0; i < datasets.length; i++) {
+            File testFile = new File(Constants.TEST_DATA_DIR + datasets[i]);
+            String expected = read(new GcManager().preprocess(testFile, null));
+            GcManager gcManager = new GcManager();
+            gcManager.setMappedLogFileSize(0);
+            Assert.assertEquals(datasets[i] + " not preprocessed correctly.", expected,
+                    read(gcManager.preprocess(testFile, null)));
+        }
+    }
+
+    public void testPreprocessGzip() throws IOException {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset182.txt");
+        File gzipFile = File.createTempFile("dataset182", ".txt.gz");
+        gzipFile.deleteOnExit();
+        InputStream in = new FileInputStream(testFile);
+        OutputStream out = new GZIPOutputStream(new FileOutputStream(gzipFile));
+        try {
+            byte[] buffer = new byte[8192];
+            int read = in.read(buffer);
+            while (read >= 0) {
+                out.write(buffer, 0, read);
+                read = in.read(buffer);
+            }
+        } finally {
+            in.close();
+            out.close();
+        }
+        String expected = read(new GcManager().preprocess(testFile, null));
+        Assert.assertEquals("Compressed logging not preprocessed correctly.", expected,
+                read(new GcManager().preprocess(gzipFile, null)));
+    }
+
+    public void testOpenZstdNotSupported() throws IOException {
+        File zstdFile = File.createTempFile("dataset182", ".txt.zst");
+        zstdFile.deleteOnExit();
+        OutputStream out = new FileOutputStream(zstdFile);
+        try {
+            out.write(new byte[] { (byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd, (byte) 0x00 });
+        } finally {
+            out.close();
+        }
+        try {
+            new GcManager().openLogFile(zstdFile).close();
+            Assert.fail("Zstandard compressed logging not rejected.");
+        } catch (IOException e) {
+            Assert.assertTrue("Error does not say to decompress.", e.getMessage().contains("zstd -d"));
+        }
+    }
+
+    public void testStoreRotatedLogFiles() throws IOException {
+        String[] datasets = { "dataset96.txt", "dataset106.txt", "dataset182.txt", "dataset191.txt" };
+        for (int i = 0; i < datasets.length; i++) {
+            File testFile = new File(Constants.TEST_DATA_DIR + datasets[i]);
+            GcManager gcManager = new GcManager();
+            gcManager.preprocessAndStore(testFile, null, false, null, 1);
+            JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            // Newest logging first by name, like -Xlog file rotation
+            List<File> logFiles = rotate(testFile, new String[] { "gc.log.1", "gc.log.0", "gc.log" });
+            GcManager rotatedGcManager = new GcManager();
+            // Fewer, as many, and more threads than log files
+            rotatedGcManager.preprocessAndStoreRotated(logFiles, null, false, i + 1);
+            JvmRun rotatedJvmRun = rotatedGcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            Assert.assertTrue(datasets[i] + " not preprocessed.", rotatedGcManager.isPreprocessed());
+            Assert.assertEquals(datasets[i] + " event types not correct.", jvmRun.getEventTypes(),
+                    rotatedJvmRun.getEventTypes());
+            Assert.assertEquals(datasets[i] + " blocking event count not correct.", jvmRun.getBlockingEventCount(),
+                    rotatedJvmRun.getBlockingEventCount());
+            Assert.assertEquals(datasets[i] + " stopped time event count not correct.",
+                    jvmRun.getStoppedTimeEventCount(), rotatedJvmRun.getStoppedTimeEventCount());
+            Assert.assertEquals(datasets[i] + " total GC duration not correct.", jvmRun.getTotalGcPause(),
+                    rotatedJvmRun.getTotalGcPause());
+            Assert.assertEquals(datasets[i] + " bottlenecks not correct.", jvmRun.getBottlenecks(),
+                    rotatedJvmRun.getBottlenecks());
+            Assert.assertEquals(datasets[i] + " analysis not correct.", new HashSet<Analysis>(jvmRun.getAnalysis()),
+                    new HashSet<Analysis>(rotatedJvmRun.getAnalysis()));
+            Assert.assertEquals(datasets[i] + " last log line not correct.", gcManager.getLastLogLineUnprocessed(),
+                    rotatedGcManager.getLastLogLineUnprocessed());
+        }
+    }
+
+    public void testStoreRotatedLogFilesNotPreprocessed() throws IOException {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset106.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.store(testFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        List<File> logFiles = rotate(testFile, new String[] { "gc.log.2", "gc.log.0", "gc.log.1" });
+        GcManager rotatedGcManager = new GcManager();
+        rotatedGcManager.storeRotated(logFiles, false, 2);
+        JvmRun rotatedJvmRun = rotatedGcManager.getJvmRun(new Jvm(null, null),
+                Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Blocking event count not correct.", jvmRun.getBlockingEventCount(),
+                rotatedJvmRun.getBlockingEventCount());
+        Assert.assertEquals("Total GC duration not correct.", jvmRun.getTotalGcPause(),
+                rotatedJvmRun.getTotalGcPause());
+        Assert.assertEquals("Max GC pause not correct.", jvmRun.getMaxGcPause(), rotatedJvmRun.getMaxGcPause());
+        Assert.assertEquals("Analysis not correct.", new HashSet<Analysis>(jvmRun.getAnalysis()),
+                new HashSet<Analysis>(rotatedJvmRun.getAnalysis()));
+    }
+
+    public void testStoreLowMemory() {
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset1.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.store(testFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertFalse("Bottlenecks not identified.", jvmRun.getBottlenecks().isEmpty());
+        // Streamed and memory mapped log files
+        long[] mappedLogFileSizes = { Long.MAX_VALUE, 0 };
+        for (int i = 0; i < mappedLogFileSizes.length; i++) {
+            GcManager lowMemoryGcManager = new GcManager();
+            lowMemoryGcManager.setLowMemory(true);
+            lowMemoryGcManager.setMappedLogFileSize(mappedLogFileSizes[i]);
+            lowMemoryGcManager.store(testFile, false);
+            JvmRun lowMemoryJvmRun = lowMemoryGcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            Assert.assertEquals("Bottlenecks not correct.", jvmRun.getBottlenecks(), lowMemoryJvmRun.getBottlenecks());
+            Assert.assertEquals("Last GC event not correct.", jvmRun.getLastGcEvent().getLogEntry(),
+                    lowMemoryJvmRun.getLastGcEvent().getLogEntry());
+            Assert.assertEquals("Max GC pause not correct.", jvmRun.getMaxGcPause(), lowMemoryJvmRun.getMaxGcPause());
+        }
+    }
+
+    public void testStoreCache() throws IOException {
+        File cacheDirectory = File.createTempFile("cache", "");
+        cacheDirectory.delete();
+        cacheDirectory.mkdir();
+        cacheDirectory.deleteOnExit();
+        // A copy of the log file, so it can be changed
+        File logFile = rotate(new File(Constants.TEST_DATA_DIR + "dataset1.txt"), new String[] { "gc.log" }).get(0);
+        GcManager gcManager = new GcManager();
+        gcManager.store(logFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        // Parsed and cached, then read from the cache
+        for (int i = 0; i < 2; i++) {
+            GcManager cachedGcManager = new GcManager();
+            cachedGcManager.setCacheDirectory(cacheDirectory);
+            cachedGcManager.store(logFile, false);
+            Assert.assertEquals("Cache files not correct.", 1, cacheDirectory.listFiles().length);
+            JvmRun cachedJvmRun = cachedGcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            Assert.assertEquals("Event types not correct.", jvmRun.getEventTypes(), cachedJvmRun.getEventTypes());
+            Assert.assertEquals("Analysis not correct.", jvmRun.getAnalysis(), cachedJvmRun.getAnalysis());
+            Assert.assertEquals("Blocking event count not correct.", jvmRun.getBlockingEventCount(),
+                    cachedJvmRun.getBlockingEventCount());
+            Assert.assertEquals("Max GC pause not correct.", jvmRun.getMaxGcPause(), cachedJvmRun.getMaxGcPause());
+            Assert.assertEquals("Last GC event not correct.", jvmRun.getLastGcEvent().getLogEntry(),
+                    cachedJvmRun.getLastGcEvent().getLogEntry());
+            Assert.assertEquals("Bottlenecks not correct.", jvmRun.getBottlenecks(), cachedJvmRun.getBottlenecks());
+        }
+        // The log file changed, so it is parsed again
+        Writer writer = new BufferedWriter(new FileWriter(logFile, true));
+        try {
+            writer.write("2000.000: [GC 2000.000: [DefNew: 1000K->100K(1152K), 0.0010000 secs] 2000K->1100K(3000K), "
+                    + "0.0010000 secs]");
+            writer.write(Constants.LINE_SEPARATOR);
+        } finally {
+            writer.close();
+        }
+        GcManager changedGcManager = new GcManager();
+        changedGcManager.setCacheDirectory(cacheDirectory);
+        changedGcManager.store(logFile, false);
+        JvmRun changedJvmRun = changedGcManager.getJvmRun(new Jvm(null, null),
+                Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Blocking event count not correct.", jvmRun.getBlockingEventCount() + 1,
+                changedJvmRun.getBlockingEventCount());
+        File[] cacheFiles = cacheDirectory.listFiles();
+        for (int i = 0; i < cacheFiles.length; i++) {
+            cacheFiles[i].delete();
+        }
+    }
+
+    public void testStoreCorruptCache() throws IOException {
+        File cacheDirectory = File.createTempFile("cache", "");
+        cacheDirectory.delete();
+        cacheDirectory.mkdir();
+        cacheDirectory.deleteOnExit();
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset1.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.setCacheDirectory(cacheDirectory);
+        gcManager.store(testFile, false);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        File cacheFile = cacheDirectory.listFiles()[0];
+        // Truncate the parsed data after the header
+        RandomAccessFile file = new RandomAccessFile(cacheFile, "rw");
+        try {
+            file.setLength(file.length() / 2);
+        } finally {
+            file.close();
+        }
+        long truncatedLength = cacheFile.length();
+        GcManager corruptGcManager = new GcManager();
+        corruptGcManager.setCacheDirectory(cacheDirectory);
+        corruptGcManager.store(testFile, false);
+        JvmRun corruptJvmRun = corruptGcManager.getJvmRun(new Jvm(null, null),
+                Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        Assert.assertEquals("Event types not correct.", jvmRun.getEventTypes(), corruptJvmRun.getEventTypes());
+        Assert.assertEquals("Blocking event count not correct.", jvmRun.getBlockingEventCount(),
+                corruptJvmRun.getBlockingEventCount());
+        Assert.assertEquals("Max GC pause not correct.", jvmRun.getMaxGcPause(), corruptJvmRun.getMaxGcPause());
+        File[] cacheFiles = cacheDirectory.listFiles();
+        Assert.assertEquals("Cache files not correct.", 1, cacheFiles.length);
+        Assert.assertTrue("Corrupt cache file not replaced.", cacheFiles[0].length() > truncatedLength);
+        cacheFiles[0].delete();
+    }
+
+    public void testPreprocessAndStoreFailureNotCached() throws IOException {
+        File cacheDirectory = File.createTempFile("cache", "");
+        cacheDirectory.delete();
+        cacheDirectory.mkdir();
+        cacheDirectory.deleteOnExit();
+        // Zstandard compressed logging cannot be read
+        File logFile = File.createTempFile("gc.log", ".zst");
+        logFile.deleteOnExit();
+        OutputStream out = new FileOutputStream(logFile);
+        try {
+            out.write(new byte[] { (byte) 0x28, (byte) 0xb5, (byte) 0x2f, (byte) 0xfd, (byte) 0x00 });
+        } finally {
+            out.close();
+        }
+        GcManager gcManager = new GcManager();
+        gcManager.setCacheDirectory(cacheDirectory);
+        gcManager.preprocessAndStore(logFile, null, false, null, 1);
+        Assert.assertEquals("Log file that cannot be read cached.", 0, cacheDirectory.listFiles().length);
+    }
+
+    public void testPreprocessAndStoreCache() throws IOException {
+        File cacheDirectory = File.createTempFile("cache", "");
+        cacheDirectory.delete();
+        cacheDirectory.mkdir();
+        cacheDirectory.deleteOnExit();
+        File testFile = new File(Constants.TEST_DATA_DIR + "dataset96.txt");
+        GcManager gcManager = new GcManager();
+        gcManager.preprocessAndStore(testFile, null, false, null, 1);
+        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+        for (int i = 0; i < 2; i++) {
+            GcManager cachedGcManager = new GcManager();
+            cachedGcManager.setCacheDirectory(cacheDirectory);
+            cachedGcManager.preprocessAndStore(testFile, null, false, null, 1);
+            JvmRun cachedJvmRun = cachedGcManager.getJvmRun(new Jvm(null, null),
+                    Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            Assert.assertTrue("Log not preprocessed.", cachedGcManager.isPreprocessed());
+            Assert.assertEquals("Event types not correct.", jvmRun.getEventTypes(), cachedJvmRun.getEventTypes());
+            Assert.assertEquals("Analysis not correct.", jvmRun.getAnalysis(), cachedJvmRun.getAnalysis());
+            Assert.assertEquals("Stopped time event count not correct.", jvmRun.getStoppedTimeEventCount(),
+                    cachedJvmRun.getStoppedTimeEventCount());
+            Assert.assertEquals("Total GC duration not correct.", jvmRun.getTotalGcPause(),
+                    cachedJvmRun.getTotalGcPause());
+            Assert.assertEquals("Unidentified log lines not correct.", jvmRun.getUnidentifiedLogLines(),
+                    cachedJvmRun.getUnidentifiedLogLines());
+        }
+        File[] cacheFiles = cacheDirectory.listFiles();
+        Assert.assertEquals("Cache files not correct.", 1, cacheFiles.length);
+        cacheFiles[0].delete();
+    }
+
+    public void testConcurrentAnalyses() throws Exception {
+        final File[] testFiles = { new File(Constants.TEST_DATA_DIR + "dataset1.txt"),
+                new File(Constants.TEST_DATA_DIR + "dataset2.txt") };
+        JvmRun[] jvmRuns = new JvmRun[testFiles.length];
+        for (int i = 0; i < testFiles.length; i++) {
+            GcManager gcManager = new GcManager();
+            gcManager.store(testFiles[i], false);
+            jvmRuns[i] = gcManager.getJvmRun(new Jvm(null, null), Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+            gcManager.close();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(testFiles.length);
+        try {
+            List<Future<JvmRun>> futures = new ArrayList<Future<JvmRun>>();
+            for (int i = 0; i < testFiles.length; i++) {
+                final File testFile = testFiles[i];
+                futures.add(executor.submit(new Callable<JvmRun>() {
+                    public JvmRun call() {
+                        GcManager gcManager = new GcManager();
+                        gcManager.store(testFile, false);
+                        JvmRun jvmRun = gcManager.getJvmRun(new Jvm(null, null),
+                                Constants.DEFAULT_BOTTLENECK_THROUGHPUT_THRESHOLD);
+                        gcManager.close();
+                        return jvmRun;
+                    }
+                }));
+            }
+            for (int i = 0; i < testFiles.length; i++) {
+                JvmRun jvmRun = futures.get(i).get();
+                Assert.assertEquals("Blocking event count not correct.", jvmRuns[i].getBlockingEventCount(),
+                        jvmRun.getBlockingEventCount());
+                Assert.assertEquals("Max GC pause not correct.", jvmRuns[i].getMaxGcPause(), jvmRun.getMaxGcPause());
+                Assert.assertEquals("Event types not correct.", jvmRuns[i].getEventTypes(), jvmRun.getEventTypes());
+                Assert.assertEquals("Bottlenecks not correct.", jvmRuns[i].getBottlenecks(), jvmRun.getBottlenecks());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertFalse("Blocking event counts not different.",
+                jvmRuns[0].getBlockingEventCount() == jvmRuns[1].getBlockingEventCount());
+    }
+
+    /**
+     * Split a log file into a set of rotated log files in a temporary directory, at log lines starting with a
+     * timestamp.
+     * 
+     * @param logFile
+     *            The log file.
+     * @param names
+     *            The names of the rotated log files, in the order of the logging.
+     * @return The rotated log files, sorted by name.
+     */
+    private static List<File> rotate(File logFile, String[] names) throws IOException {
+        File directory = File.createTempFile("rotated", "");
+        directory.delete();
+        directory.mkdir();
+        directory.deleteOnExit();
+        List<String> logLines = new ArrayList<String>();
+        BufferedReader reader = new BufferedReader(new FileReader(logFile));
+        try {
+            String line = reader.readLine();
+            while (line != null) {
+                logLines.add(line);
+                line = reader.readLine();
+            }
+        } finally {
+            reader.close();
+        }
+        int logLine = 0;
+        for (int i = 0; i < names.length; i++) {
+            File rotatedFile = new File(directory, names[i]);
+            rotatedFile.deleteOnExit();
+            Writer writer = new BufferedWriter(new FileWriter(rotatedFile));
+            try {
+                int end = i == names.length - 1 ? logLines.size() : logLines.size() * (i + 1) / names.length;
+                while (end < logLines.size()
+                        && (logLines.get(end).length() == 0 || !Character.isDigit(logLines.get(end).charAt(0)))) {
+                    end++;
+                }
+                for (; logLine < end; logLine++) {
+                    writer.write(logLines.get(logLine));
+                    writer.write(Constants.LINE_SEPARATOR);
+                }
+            } finally {
+                writer.close();
+            }
+        }
+        return GcUtil.getLogFiles(directory.getPath());
+    }
+
+    private static String read(File file) throws IOException {
+        StringBuilder contents = new StringBuilder();
+        BufferedReader reader = new BufferedReader(new FileReader(file));
+        try {
+            String line = reader.readLine();
+            while (line != null) {
+                contents.append(line);
+                contents.append(Constants.LINE_SEPARATOR);
+                line = reader.readLine();
+            }
+        } finally {
+            reader.close();
+        }
+        return contents.toString();
+    }
 }
@@ -12,9 +12,13 @@
  *********************************************************************************************************************/
 package org.eclipselabs.garbagecat.util;
 
+import java.io.File;
+import java.io.IOException;
 import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.TimeZone;
 
 import org.eclipselabs.garbagecat.util.jdk.Analysis;
 import org.junit.Assert;
@@ -241,4 +245,92 @@ public class TestGcUtil extends TestCase {
         Assert.assertFalse("Not a partial log.", GcUtil.isPartialLog(59999));
         Assert.assertTrue("Is a partial log.", GcUtil.isPartialLog(60001));
     }
+
+    public void testParseDateStampSameAsCalendar() {
+        // Includes the daylight saving time transitions in the America/New_York time zone the tests run in
+        String[] datestamps = { "2010-02-26T09:32:12.486-0600", "2016-03-13T01:59:59.999-0500",
+                "2016-03-13T02:30:00.000-0500", "2016-03-13T03:00:00.001-0400", "2016-11-06T00:59:59.999-0400",
+                "2016-11-06T01:30:00.000-0400", "2016-11-06T02:00:00.000-0500", "2016-12-31T23:59:59.999+0100",
+                "2017-01-01T00:00:00.000+0100" };
+        for (int i = 0; i < datestamps.length; i++) {
+            String datestamp = datestamps[i];
+            Date expected = GcUtil.parseStartDateTime(datestamp.substring(0, 10) + " " + datestamp.substring(11, 19)
+                    + "," + datestamp.substring(20, 23));
+            Assert.assertTrue(datestamp + " not recognized as a datestamp.", GcUtil.isDateStamp(datestamp, 0));
+            Assert.assertEquals(datestamp + " not parsed correctly.", expected.getTime(),
+                    GcUtil.parseDateStampMillis("x " + datestamp + ": ", 2));
+            Assert.assertEquals(datestamp + " not parsed correctly.", expected, GcUtil.parseDateStamp(datestamp));
+        }
+    }
+
+    public void testParseDateStampHalfHourTransitions() {
+        TimeZone timeZone = TimeZone.getDefault();
+        // Parsed in the default time zone first, so the hour is cached for another time zone
+        GcUtil.parseDateStampMillis("2020-04-05T01:30:00.000+1100", 0);
+        try {
+            // Lord Howe Island daylight saving time starts and ends with 30 minute transitions
+            TimeZone.setDefault(TimeZone.getTimeZone("Australia/Lord_Howe"));
+            String[] datestamps = { "2020-04-05T01:00:00.000+1100", "2020-04-05T01:29:59.999+1100",
+                    "2020-04-05T01:30:00.000+1100", "2020-04-05T01:45:00.000+1030", "2020-04-05T02:00:00.000+1030",
+                    "2020-10-04T01:59:59.999+1030", "2020-10-04T02:15:00.000+1030", "2020-10-04T02:30:00.000+1100",
+                    "2020-10-04T02:59:59.999+1100", "2020-10-04T03:00:00.000+1100" };
+            for (int i = 0; i < datestamps.length; i++) {
+                String datestamp = datestamps[i];
+                Calendar calendar = Calendar.getInstance();
+                calendar.clear();
+                calendar.set(Integer.parseInt(datestamp.substring(0, 4)),
+                        Integer.parseInt(datestamp.substring(5, 7)) - 1, Integer.parseInt(datestamp.substring(8, 10)),
+                        Integer.parseInt(datestamp.substring(11, 13)), Integer.parseInt(datestamp.substring(14, 16)),
+                        Integer.parseInt(datestamp.substring(17, 19)));
+                calendar.set(Calendar.MILLISECOND, Integer.parseInt(datestamp.substring(20, 23)));
+                Assert.assertEquals(datestamp + " not parsed correctly.", calendar.getTimeInMillis(),
+                        GcUtil.parseDateStampMillis(datestamp, 0));
+            }
+        } finally {
+            TimeZone.setDefault(timeZone);
+        }
+    }
+
+    public void testIsDateStamp() {
+        Assert.assertFalse("Truncated datestamp recognized.", GcUtil.isDateStamp("2010-02-26T09:32:12.486-060", 0));
+        Assert.assertFalse("Datestamp without time zone sign recognized.",
+                GcUtil.isDateStamp("2010-02-26T09:32:12.486 0600", 0));
+        Assert.assertFalse("Datestamp with space recognized.", GcUtil.isDateStamp("2010-02-26 09:32:12.486-0600", 0));
+        Assert.assertFalse("Timestamp recognized.", GcUtil.isDateStamp("1234567890.123: [GC 1024K->512K(2048K)]", 0));
+        Assert.assertTrue("Datestamp not recognized at offset.",
+                GcUtil.isDateStamp("[2010-02-26T09:32:12.486+0600]", 1));
+    }
+
+    public void testFormatStartDateTime() {
+        String startDateTime = "2009-11-05 04:45:00,074";
+        Assert.assertEquals("Start date/time not formatted correctly.", startDateTime,
+                GcUtil.formatStartDateTime(GcUtil.parseStartDateTime(startDateTime)));
+    }
+
+    public void testLogFiles() throws IOException {
+        File directory = File.createTempFile("rotated", "");
+        directory.delete();
+        directory.mkdir();
+        directory.deleteOnExit();
+        String[] names = { "gc.log.1", "gc.log", "gc.log.0.current", "gc.log.pp", "gc.log.1a2b3c4d.cache",
+                "gc.log.1a2b3c4d.cache.tmp", "other.log", "report.txt" };
+        for (int i = 0; i < names.length; i++) {
+            File file = new File(directory, names[i]);
+            file.createNewFile();
+            file.deleteOnExit();
+        }
+        List<File> logFiles = GcUtil.getLogFiles(directory.getPath());
+        Assert.assertEquals("Log file count not correct for directory.", 4, logFiles.size());
+        Assert.assertEquals("Log file not correct for directory.", "gc.log", logFiles.get(0).getName());
+        Assert.assertEquals("Log file not correct for directory.", "other.log", logFiles.get(3).getName());
+        logFiles = GcUtil.getLogFiles(new File(directory, "gc.log*").getPath());
+        Assert.assertEquals("Log file count not correct for wildcard.", 3, logFiles.size());
+        Assert.assertEquals("Log file not correct for wildcard.", "gc.log.0.current", logFiles.get(1).getName());
+        logFiles = GcUtil.getLogFiles(new File(directory, "gc.log.?").getPath());
+        Assert.assertEquals("Log file count not correct for single character wildcard.", 1, logFiles.size());
+        Assert.assertEquals("Log file not correct for single character wildcard.", "gc.log.1",
+                logFiles.get(0).getName());
+        Assert.assertTrue("Log files found for no match.",
+                GcUtil.getLogFiles(new File(directory, "*.txt").getPath()).isEmpty());
+    }
 }
@@ -0,0 +1,66 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestKeywordIndex extends TestCase {
+
+    public void testOverlappingKeywords() {
+        String[] keywords = new String[] { "[GC pause", "pause (young)", "[GC", "(mixed)" };
+        int[] ids = new int[] { 0, 1, 2, 3 };
+        KeywordIndex index = new KeywordIndex(keywords, ids, 4);
+        long[] mask = new long[index.getWords()];
+        index.scan("1.234: [GC pause (young), 0.0010 secs]", mask);
+        Assert.assertTrue("'[GC pause' not found.", KeywordIndex.isSet(mask, 0));
+        Assert.assertTrue("'pause (young)' not found.", KeywordIndex.isSet(mask, 1));
+        Assert.assertTrue("'[GC' not found.", KeywordIndex.isSet(mask, 2));
+        Assert.assertFalse("'(mixed)' incorrectly found.", KeywordIndex.isSet(mask, 3));
+    }
+
+    public void testSharedId() {
+        String[] keywords = new String[] { "[CMS", "[ParNew" };
+        int[] ids = new int[] { 1, 1 };
+        KeywordIndex index = new KeywordIndex(keywords, ids, 2);
+        long[] mask = new long[index.getWords()];
+        index.scan("[GC [ParNew: 64K->64K(64K), 0.0000 secs]", mask);
+        Assert.assertFalse("Id 0 incorrectly set.", KeywordIndex.isSet(mask, 0));
+        Assert.assertTrue("Id 1 not set.", KeywordIndex.isSet(mask, 1));
+    }
+
+    public void testIdsBeyondFirstWord() {
+        String[] keywords = new String[] { "Using G1", "Pause Young" };
+        int[] ids = new int[] { 3, 70 };
+        KeywordIndex index = new KeywordIndex(keywords, ids, 80);
+        Assert.assertEquals("Mask words not correct.", 2, index.getWords());
+        long[] mask = new long[index.getWords()];
+        index.scan("[0.101s][info][gc] GC(0) Pause Young (Normal) (G1 Evacuation Pause) 0M->0M(2M) 1.371ms", mask);
+        Assert.assertFalse("Id 3 incorrectly set.", KeywordIndex.isSet(mask, 3));
+        Assert.assertTrue("Id 70 not set.", KeywordIndex.isSet(mask, 70));
+    }
+
+    public void testNonAsciiResets() {
+        KeywordIndex index = new KeywordIndex(new String[] { "GC" }, new int[] { 0 }, 1);
+        long[] mask = new long[index.getWords()];
+        index.scan("G\u00e9C", mask);
+        Assert.assertFalse("Keyword incorrectly found across non-ASCII character.", KeywordIndex.isSet(mask, 0));
+        index.scan("\u00e9GC", mask);
+        Assert.assertTrue("Keyword not found after non-ASCII character.", KeywordIndex.isSet(mask, 0));
+    }
+}
@@ -0,0 +1,55 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.regex.Matcher;
+
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestLogLineBuffer extends TestCase {
+
+    public void testSet() {
+        LogLineBuffer logLine = new LogLineBuffer();
+        Assert.assertSame("Buffer not returned.", logLine, logLine.set("line 1"));
+        Assert.assertEquals("Log line not correct.", "line 1", logLine.toString());
+        Assert.assertSame("String not reused.", logLine.toString(), logLine.toString());
+        logLine.set(new StringBuilder("line 22"));
+        Assert.assertEquals("Length not correct.", 7, logLine.length());
+        Assert.assertEquals("Character not correct.", '2', logLine.charAt(6));
+        Assert.assertEquals("Subsequence not correct.", "22", logLine.subSequence(5, 7).toString());
+        Assert.assertEquals("Log line not correct.", "line 22", logLine.toString());
+        Assert.assertNull("Buffer returned at the end of the log.", logLine.set(null));
+    }
+
+    public void testMatchResultsNotReused() {
+        String regex = "^line (\\d+)$";
+        LogLineBuffer logLine = new LogLineBuffer();
+        logLine.set("line 1");
+        Matcher matcher = RegExUtil.match(logLine, regex);
+        Assert.assertNotNull("Log line not matched.", matcher);
+        Assert.assertEquals("Group not correct.", "1", matcher.group(1));
+        Assert.assertSame("Match result not remembered.", matcher, RegExUtil.match(logLine, regex));
+        logLine.set("line 2");
+        matcher = RegExUtil.match(logLine, regex);
+        Assert.assertNotNull("Log line not matched.", matcher);
+        Assert.assertEquals("Match result for the prior log line reused.", "2", matcher.group(1));
+        logLine.set("not a line");
+        Assert.assertFalse("Match result for the prior log line reused.", RegExUtil.matches(logLine, regex));
+    }
+}
@@ -0,0 +1,132 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestMappedLogLineReader extends TestCase {
+
+    private static final Charset UTF8 = Charset.forName("UTF-8");
+
+    private static List<String> readLines(byte[] bytes, int windowSize) throws IOException {
+        File file = File.createTempFile("garbagecat", ".log");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+        MappedLogLineReader reader = new MappedLogLineReader(file, UTF8, windowSize);
+        List<String> lines = new ArrayList<String>();
+        CharSequence line = reader.readLine();
+        while (line != null) {
+            lines.add(line.toString());
+            line = reader.readLine();
+        }
+        reader.close();
+        return lines;
+    }
+
+    public void testLineTerminators() throws IOException {
+        List<String> lines = readLines("a\nb\r\nc\rd".getBytes(UTF8), 64);
+        Assert.assertEquals("Line count not correct.", 4, lines.size());
+        Assert.assertEquals("Line not read correctly.", "a", lines.get(0));
+        Assert.assertEquals("Line not read correctly.", "b", lines.get(1));
+        Assert.assertEquals("Line not read correctly.", "c", lines.get(2));
+        Assert.assertEquals("Line not read correctly.", "d", lines.get(3));
+    }
+
+    public void testEmptyLines() throws IOException {
+        List<String> lines = readLines("\n\r\n\na\r\n".getBytes(UTF8), 64);
+        Assert.assertEquals("Line count not correct.", 4, lines.size());
+        Assert.assertEquals("Line not read correctly.", "", lines.get(0));
+        Assert.assertEquals("Line not read correctly.", "", lines.get(1));
+        Assert.assertEquals("Line not read correctly.", "", lines.get(2));
+        Assert.assertEquals("Line not read correctly.", "a", lines.get(3));
+    }
+
+    public void testEmptyFile() throws IOException {
+        Assert.assertEquals("Line count not correct.", 0, readLines(new byte[0], 64).size());
+    }
+
+    public void testLinesSpanningWindow() throws IOException {
+        String logLine = "2.969: [GC (Allocation Failure) [PSYoungGen: 64000K->8704K(74752K)] 64000K->8712K(245760K), "
+                + "0.0115060 secs] [Times: user=0.04 sys=0.01, real=0.01 secs]";
+        for (int windowSize = 1; windowSize < 8; windowSize++) {
+            List<String> lines = readLines((logLine + "\r\n" + logLine + "\r\n").getBytes(UTF8), windowSize);
+            Assert.assertEquals("Line count not correct.", 2, lines.size());
+            Assert.assertEquals("Line not read correctly.", logLine, lines.get(0));
+            Assert.assertEquals("Line not read correctly.", logLine, lines.get(1));
+        }
+    }
+
+    public void testCarriageReturnLineFeedSpanningWindow() throws IOException {
+        List<String> lines = readLines("abc\r\ndef".getBytes(UTF8), 4);
+        Assert.assertEquals("Line count not correct.", 2, lines.size());
+        Assert.assertEquals("Line not read correctly.", "abc", lines.get(0));
+        Assert.assertEquals("Line not read correctly.", "def", lines.get(1));
+    }
+
+    public void testNonAscii() throws IOException {
+        String logLine = "[2019-02-05T14:47:34.156-0200][3.123s][info][gc] caf\u00e9";
+        List<String> lines = readLines((logLine + "\n" + logLine).getBytes(UTF8), 16);
+        Assert.assertEquals("Line count not correct.", 2, lines.size());
+        Assert.assertEquals("Line not read correctly.", logLine, lines.get(0));
+        Assert.assertEquals("Line not read correctly.", logLine, lines.get(1));
+    }
+
+    public void testLinePositions() throws IOException {
+        File file = File.createTempFile("garbagecat", ".log");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write("ab\r\ncaf\u00e9\n\nd".getBytes(UTF8));
+        } finally {
+            out.close();
+        }
+        for (int windowSize = 1; windowSize < 8; windowSize++) {
+            MappedLogLineReader reader = new MappedLogLineReader(file, UTF8, windowSize);
+            assertLinePositions(reader);
+            reader.close();
+        }
+    }
+
+    private static void assertLinePositions(LogLineSource reader) throws IOException {
+        reader.readLine();
+        Assert.assertEquals("Line position not correct.", 0, reader.getLinePosition());
+        Assert.assertEquals("Line byte count not correct.", 2, reader.getLineByteCount());
+        reader.readLine();
+        Assert.assertEquals("Line position not correct.", 4, reader.getLinePosition());
+        Assert.assertEquals("Line byte count not correct.", 5, reader.getLineByteCount());
+        reader.readLine();
+        Assert.assertEquals("Line position not correct.", 10, reader.getLinePosition());
+        Assert.assertEquals("Line byte count not correct.", 0, reader.getLineByteCount());
+        reader.readLine();
+        Assert.assertEquals("Line position not correct.", 11, reader.getLinePosition());
+        Assert.assertEquals("Line byte count not correct.", 1, reader.getLineByteCount());
+    }
+}
@@ -0,0 +1,131 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestReadAheadInputStream extends TestCase {
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        int read = in.read(buffer);
+        while (read >= 0) {
+            out.write(buffer, 0, read);
+            read = in.read(buffer);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    public void testRead() throws IOException {
+        byte[] bytes = new byte[1000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        for (int chunkSize = 1; chunkSize <= 1024; chunkSize *= 4) {
+            ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(bytes), chunkSize, 2);
+            Assert.assertArrayEquals("Bytes not read correctly.", bytes, readAll(in));
+        }
+    }
+
+    public void testReadByte() throws IOException {
+        ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(new byte[] { 1, (byte) 0xff }));
+        Assert.assertEquals("Byte not read correctly.", 1, in.read());
+        Assert.assertEquals("Byte not read correctly.", 0xff, in.read());
+        Assert.assertEquals("End of stream not reached.", -1, in.read());
+        Assert.assertEquals("End of stream not reached.", -1, in.read());
+        in.close();
+    }
+
+    public void testException() throws IOException {
+        InputStream failing = new InputStream() {
+            private int count;
+
+            public int read() throws IOException {
+                if (count++ < 10) {
+                    return 'a';
+                }
+                throw new IOException("Corrupt input");
+            }
+        };
+        ReadAheadInputStream in = new ReadAheadInputStream(failing, 4, 1);
+        try {
+            readAll(in);
+            Assert.fail("Exception not thrown.");
+        } catch (IOException e) {
+            Assert.assertEquals("Exception not correct.", "Corrupt input", e.getMessage());
+        }
+    }
+
+    public void testRuntimeException() throws IOException {
+        InputStream failing = new InputStream() {
+            private int count;
+
+            public int read() throws IOException {
+                if (count++ < 10) {
+                    return 'a';
+                }
+                throw new IllegalStateException("Corrupt input");
+            }
+        };
+        ReadAheadInputStream in = new ReadAheadInputStream(failing, 4, 1);
+        try {
+            readAll(in);
+            Assert.fail("Exception not thrown.");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals("Exception not correct.", "Corrupt input", e.getMessage());
+        }
+    }
+
+    public void testTruncatedGzip() throws IOException {
+        byte[] bytes = new byte[100000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i % 251);
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        GZIPOutputStream out = new GZIPOutputStream(compressed);
+        out.write(bytes);
+        out.close();
+        byte[] truncated = Arrays.copyOf(compressed.toByteArray(), compressed.size() / 2);
+        ReadAheadInputStream in = new ReadAheadInputStream(new GZIPInputStream(new ByteArrayInputStream(truncated)),
+                1024, 2);
+        try {
+            readAll(in);
+            Assert.fail("Exception not thrown.");
+        } catch (EOFException e) {
+            // Expected
+        }
+    }
+
+    public void testCloseBeforeEnd() throws IOException {
+        ReadAheadInputStream in = new ReadAheadInputStream(new ByteArrayInputStream(new byte[100000]), 16, 1);
+        Assert.assertEquals("Byte not read correctly.", 0, in.read());
+        in.close();
+    }
+}
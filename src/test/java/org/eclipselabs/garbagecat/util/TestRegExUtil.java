@@ -0,0 +1,128 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util;
+
+import java.util.List;
+import java.util.regex.Matcher;
+
+import org.eclipselabs.garbagecat.util.jdk.JdkRegEx;
+import org.eclipselabs.garbagecat.util.jdk.unified.UnifiedRegEx;
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestRegExUtil extends TestCase {
+
+    public void testPatternReused() {
+        String regex = "^" + JdkRegEx.TIMESTAMP + ": \\[GC$";
+        Assert.assertSame("Pattern not reused.", RegExUtil.getPattern(regex), RegExUtil.getPattern(regex));
+    }
+
+    public void testMatches() {
+        String regex = "^" + JdkRegEx.TIMESTAMP + ": \\[GC$";
+        Assert.assertTrue("Log line not matched.", RegExUtil.matches("1.234: [GC", regex));
+        Assert.assertFalse("Partial log line matched.", RegExUtil.matches("1.234: [GC pause", regex));
+    }
+
+    public void testMatcher() {
+        Matcher matcher = RegExUtil.matcher("1.234: [GC", "^" + JdkRegEx.TIMESTAMP + ": \\[GC$");
+        Assert.assertTrue("Log line not matched.", matcher.matches());
+        Assert.assertEquals("Timestamp not parsed correctly.", "1.234", matcher.group(1));
+    }
+
+    public void testMatch() {
+        String regex = "^" + JdkRegEx.TIMESTAMP + ": \\[GC$";
+        Matcher matcher = RegExUtil.match("1.234: [GC", regex);
+        Assert.assertNotNull("Log line not matched.", matcher);
+        Assert.assertEquals("Timestamp not parsed correctly.", "1.234", matcher.group(1));
+        Assert.assertNull("Partial log line matched.", RegExUtil.match("1.234: [GC pause", regex));
+    }
+
+    public void testMatchRemembered() {
+        String logLine = "1.234: [GC";
+        String regex = "^" + JdkRegEx.TIMESTAMP + ": \\[GC$";
+        Assert.assertTrue("Log line not matched.", RegExUtil.matches(logLine, regex));
+        Matcher matcher = RegExUtil.match(logLine, regex);
+        Assert.assertSame("Match not reused.", matcher, RegExUtil.match(logLine, RegExUtil.getPattern(regex)));
+        Assert.assertEquals("Timestamp not parsed correctly.", "1.234", matcher.group(1));
+        Assert.assertNotSame("Match reused for a different log line.", matcher,
+                RegExUtil.match(new String(logLine), regex));
+    }
+
+    public void testMatchDecorated() {
+        String regex = "^" + UnifiedRegEx.DECORATOR + " Pause Young " + UnifiedRegEx.DURATION + "$";
+        String logLine = "[0.057s][info][gc,start     ] GC(0) Pause Young 1.234ms";
+        Matcher matcher = RegExUtil.match(logLine, regex);
+        Assert.assertNotNull("Log line not matched.", matcher);
+        Matcher expected = RegExUtil.getPattern(regex).matcher(logLine);
+        Assert.assertTrue("Log line not matched.", expected.matches());
+        Assert.assertEquals("Message body groups not numbered from 1.", 1, matcher.groupCount());
+        Assert.assertEquals("Duration not parsed correctly.", expected.group(25), matcher.group(1));
+        Assert.assertNull("Level not allowed by the decorator matched.",
+                RegExUtil.match("[0.057s][debug][gc] GC(0) Pause Young 1.234ms", regex));
+    }
+
+    public void testMatchDecoratorBacktracking() {
+        // The message body starts with what would otherwise be a decoration
+        String regex = "^" + UnifiedRegEx.DECORATOR + "\\[info\\]\\[gc\\] Pause Young$";
+        String logLine = "[0.057s][info][gc] Pause Young";
+        Assert.assertTrue("Log line not matched.", RegExUtil.getPattern(regex).matcher(logLine).matches());
+        Assert.assertTrue("Log line not matched.", RegExUtil.matches(logLine, regex));
+        regex = "^(" + UnifiedRegEx.DECORATOR + ")? GC\\(\\d\\) Pause Young$";
+        logLine = "[0.057s][info][gc] GC(0) Pause Young";
+        Assert.assertTrue("Log line not matched.", RegExUtil.getPattern(regex).matcher(logLine).matches());
+        Assert.assertTrue("Log line not matched.", RegExUtil.matches(logLine, regex));
+        Assert.assertTrue("Log line without decorator not matched.", RegExUtil.matches(" GC(0) Pause Young", regex));
+    }
+
+    public void testProfile() {
+        String regex = "^" + JdkRegEx.TIMESTAMP + ": \\[GC profiled$";
+        RegExUtil.setProfiling(true);
+        try {
+            Assert.assertTrue("Log line not matched.", RegExUtil.matches("1.234: [GC profiled", regex));
+            Assert.assertFalse("Log line matched.", RegExUtil.matches("1.234: [GC not profiled", regex));
+        } finally {
+            RegExUtil.setProfiling(false);
+        }
+        PatternProfile profile = null;
+        List<PatternProfile> profiles = RegExUtil.getProfiles();
+        for (int i = 0; i < profiles.size(); i++) {
+            if (profiles.get(i).getRegex().equals(regex)) {
+                profile = profiles.get(i);
+            }
+        }
+        Assert.assertNotNull("Pattern not profiled.", profile);
+        Assert.assertEquals("Attempts not correct.", 2, profile.getAttempts());
+        Assert.assertEquals("Hits not correct.", 1, profile.getHits());
+        Assert.assertEquals("Budget exceeded not correct.", 0, profile.getBudgetExceeded());
+    }
+
+    public void testMatchBudget() {
+        // Catastrophic backtracking on a line that almost matches. The backreference stops the JDK (9+) from memoizing
+        // the backtracking.
+        String regex = "^(a|aa)+\\1?$";
+        String logLine = "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaab";
+        RegExUtil.setMatchBudget(100000);
+        try {
+            Assert.assertNull("Match not abandoned.", RegExUtil.match(logLine, regex));
+            Assert.assertFalse("Match budget not exhausted for the log line.", RegExUtil.matches(logLine, "^a+b$"));
+            Assert.assertTrue("Log line not matched.", RegExUtil.matches("aaaa", regex));
+        } finally {
+            RegExUtil.setMatchBudget(0);
+        }
+    }
+}
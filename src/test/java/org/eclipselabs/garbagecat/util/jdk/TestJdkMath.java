@@ -25,14 +25,12 @@ public class TestJdkMath extends TestCase {
 
     public void testConvertDurationToMillis() {
         String secs = "0.0225213";
-        Assert.assertEquals("Secs not converted to milliseconds properly.", 22,
-                JdkMath.convertSecsToMillis(secs).intValue());
+        Assert.assertEquals("Secs not converted to milliseconds properly.", 22, JdkMath.convertSecsToMillis(secs));
     }
 
     public void testConvertDurationDecimalCommaToMillis() {
         String secs = "0,0225213";
-        Assert.assertEquals("Secs not converted to milliseconds properly.", 22,
-                JdkMath.convertSecsToMillis(secs).intValue());
+        Assert.assertEquals("Secs not converted to milliseconds properly.", 22, JdkMath.convertSecsToMillis(secs));
     }
 
     /**
@@ -41,43 +39,43 @@ public class TestJdkMath extends TestCase {
     public void testConvertDurationToMillisRoundDownOddFive() {
         String secs = "0.0975";
         Assert.assertEquals("Secs not converted to milliseconds with expected rounding mode.", 97,
-                JdkMath.convertSecsToMillis(secs).intValue());
+                JdkMath.convertSecsToMillis(secs));
     }
 
     public void testConvertDurationToMillisRoundDownEvenFive() {
         String secs = "0.0985";
         Assert.assertEquals("Secs not converted to milliseconds with expected rounding mode.", 98,
-                JdkMath.convertSecsToMillis(secs).intValue());
+                JdkMath.convertSecsToMillis(secs));
     }
 
     public void testConvertDurationToMicrosRoundUp() {
         String secs = "0.0968475";
         Assert.assertEquals("Secs not converted to microseconds with expected rounding mode.", 96847,
-                JdkMath.convertSecsToMicros(secs).intValue());
+                JdkMath.convertSecsToMicros(secs));
     }
 
     public void testConvertDurationToMicrosRoundDown() {
         String secs = "0.0968485";
         Assert.assertEquals("Secs not converted to milliseconds with expected rounding mode.", 96848,
-                JdkMath.convertSecsToMicros(secs).intValue());
+                JdkMath.convertSecsToMicros(secs));
     }
 
     public void testConvertMillisToMicros() {
         String millis = "0.0975";
         Assert.assertEquals("Secs not converted to milliseconds with expected rounding mode.", 97,
-                JdkMath.convertMillisToMicros(millis).intValue());
+                JdkMath.convertMillisToMicros(millis));
     }
 
     public void testRoundMillis() {
         String millis = "2.169";
         Assert.assertEquals("Secs not converted to milliseconds with expected rounding mode.", 2,
-                JdkMath.roundMillis(millis).intValue());
+                JdkMath.roundMillis(millis));
     }
 
     public void testRoundMillisDown() {
         String millis = "2.969";
         Assert.assertEquals("Secs not converted to milliseconds with expected rounding mode.", 2,
-                JdkMath.roundMillis(millis).intValue());
+                JdkMath.roundMillis(millis));
     }
 
     public void testThroughput() {
@@ -217,4 +215,49 @@ public class TestJdkMath extends TestCase {
         Assert.assertTrue("Parallism not calculated correctly.", JdkMath.isInvertedParallelism((int) 99));
         Assert.assertFalse("Parallism not calculated correctly.", JdkMath.isInvertedParallelism((int) 100));
     }
+
+    public void testConvertSizeToKilobytesRoundHalfEven() {
+        Assert.assertEquals("Size not rounded half even.", 2, JdkMath.convertSizeToKilobytes("2.5", 'K'));
+        Assert.assertEquals("Size not rounded half even.", 4, JdkMath.convertSizeToKilobytes("3.5", 'K'));
+        Assert.assertEquals("Size not rounded half even.", 2, JdkMath.convertSizeToKilobytes("2560", 'B'));
+        Assert.assertEquals("Size not rounded half even.", 2, JdkMath.convertSizeToKilobytes("1537", 'B'));
+        Assert.assertEquals("Size not converted to kilobytes.", 1049088, JdkMath.convertSizeToKilobytes("1024.5", 'M'));
+    }
+
+    public void testConvertSizeToKilobytesManyDecimals() {
+        Assert.assertEquals("Size not converted to kilobytes.", 1,
+                JdkMath.convertSizeToKilobytes("0.0009765625", 'M'));
+    }
+
+    public void testConvertSecsToMicrosTruncated() {
+        Assert.assertEquals("Secs not converted to microseconds properly.", 25420,
+                JdkMath.convertSecsToMicros("0.02542009"));
+        Assert.assertEquals("Secs not converted to microseconds properly.", 1000000, JdkMath.convertSecsToMicros("1."));
+    }
+
+    public void testConvertSecsToMillisExponent() {
+        Assert.assertEquals("Secs not converted to milliseconds properly.", 1500, JdkMath.convertSecsToMillis("1.5E0"));
+    }
+
+    public void testConvertSecsToMillisInvalid() {
+        try {
+            JdkMath.convertSecsToMillis("secs");
+            Assert.fail("Invalid seconds not rejected.");
+        } catch (NumberFormatException e) {
+            // expected
+        }
+    }
+
+    public void testConvertMicrosToMillis() {
+        Assert.assertEquals("Microseconds not converted to milliseconds properly.", 987654,
+                JdkMath.convertMicrosToMillis(987654321));
+    }
+
+    public void testCalcThroughputRoundHalfEven() {
+        Assert.assertEquals("Throughput not calculated correctly.", 67, JdkMath.calcThroughput(1, 2, 0, 0));
+    }
+
+    public void testCalcParallelismRoundUp() {
+        Assert.assertEquals("Parallelism not calculated correctly.", 334, JdkMath.calcParallelism(10, 0, 3));
+    }
 }
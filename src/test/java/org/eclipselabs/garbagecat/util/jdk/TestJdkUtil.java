@@ -13,12 +13,18 @@
 package org.eclipselabs.garbagecat.util.jdk;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
+import java.util.List;
 
 import org.eclipselabs.garbagecat.domain.BlockingEvent;
 import org.eclipselabs.garbagecat.domain.TimeWarpException;
 import org.eclipselabs.garbagecat.domain.jdk.ParNewEvent;
 import org.eclipselabs.garbagecat.domain.jdk.ParallelScavengeEvent;
+import org.eclipselabs.garbagecat.util.LogLineBuffer;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.CollectorFamily;
+import org.eclipselabs.garbagecat.util.jdk.JdkUtil.IdentifyOrder;
 import org.junit.Assert;
 
 import junit.framework.TestCase;
@@ -313,4 +319,143 @@ public class TestJdkUtil extends TestCase {
         Assert.assertEquals("Datestamp not parsed correctly.", "2012-06-20T12:29:58.094+0200",
                 JdkUtil.getDateStamp(logLine));
     }
+
+    public void testIdentifyEventTypeCollectorFamily() {
+        String logLine = "2017-01-30T10:06:50.070+0400: 2232356.357: [GC [PSYoungGen: 242595K->5980K(1324544K)] "
+                + "1264815K->1037853K(4121088K), 0.0173240 secs] [Times: user=0.08 sys=0.00, real=0.02 secs]";
+        List<CollectorFamily> collectorFamilies = new ArrayList<CollectorFamily>();
+        collectorFamilies.add(CollectorFamily.PARALLEL);
+        Assert.assertEquals(JdkUtil.LogEventType.PARALLEL_SCAVENGE.toString() + " not identified.",
+                JdkUtil.LogEventType.PARALLEL_SCAVENGE, JdkUtil.identifyEventType(logLine, collectorFamilies));
+    }
+
+    public void testIdentifyEventTypeCollectorFamilyFallback() {
+        String logLine = "2017-01-30T10:06:50.070+0400: 2232356.357: [GC [PSYoungGen: 242595K->5980K(1324544K)] "
+                + "1264815K->1037853K(4121088K), 0.0173240 secs] [Times: user=0.08 sys=0.00, real=0.02 secs]";
+        List<CollectorFamily> collectorFamilies = new ArrayList<CollectorFamily>();
+        collectorFamilies.add(CollectorFamily.G1);
+        Assert.assertEquals(JdkUtil.LogEventType.PARALLEL_SCAVENGE.toString() + " not identified.",
+                JdkUtil.LogEventType.PARALLEL_SCAVENGE, JdkUtil.identifyEventType(logLine, collectorFamilies));
+    }
+
+    public void testGetCollectorFamily() {
+        Assert.assertEquals("Collector family not correct.", CollectorFamily.CMS,
+                JdkUtil.getCollectorFamily(JdkUtil.LogEventType.PAR_NEW));
+        Assert.assertEquals("Collector family not correct.", CollectorFamily.G1,
+                JdkUtil.getCollectorFamily(JdkUtil.LogEventType.UNIFIED_G1_YOUNG_PAUSE));
+        Assert.assertEquals("Collector family not correct.", CollectorFamily.UNKNOWN,
+                JdkUtil.getCollectorFamily(JdkUtil.LogEventType.APPLICATION_STOPPED_TIME));
+    }
+
+    public void testLineShape() {
+        String logLine = "2.969: [GC (Allocation Failure) [PSYoungGen: 64000K->8704K(74752K)] "
+                + "64000K->8712K(245760K), 0.0115060 secs]";
+        Assert.assertEquals("Line shape not correct.",
+                "#.#: [GC (Allocation Failure) [PSYoungGen: #K->#K(#K)] #K->#K(#K), #.# secs]",
+                JdkUtil.getLineShape(logLine));
+    }
+
+    public void testLineShapeName() {
+        String logLine = "[0.014s][info][gc] Using G1";
+        Assert.assertEquals("Line shape not correct.", "[#.#s][info][gc] Using G1", JdkUtil.getLineShape(logLine));
+    }
+
+    public void testIdentifyEventTypeLineShape() {
+        String logLine1 = "2.969: [GC (Allocation Failure) [PSYoungGen: 64000K->8704K(74752K)] "
+                + "64000K->8712K(245760K), 0.0115060 secs] [Times: user=0.04 sys=0.01, real=0.01 secs]";
+        String logLine2 = "12.123: [GC (Allocation Failure) [PSYoungGen: 72704K->8704K(74752K)] "
+                + "72712K->16392K(245760K), 0.0101170 secs] [Times: user=0.03 sys=0.00, real=0.01 secs]";
+        Assert.assertEquals("Line shapes not the same.", JdkUtil.getLineShape(logLine1),
+                JdkUtil.getLineShape(logLine2));
+        Assert.assertEquals(JdkUtil.LogEventType.PARALLEL_SCAVENGE.toString() + " not identified.",
+                JdkUtil.LogEventType.PARALLEL_SCAVENGE, JdkUtil.identifyEventType(logLine1));
+        Assert.assertEquals(JdkUtil.LogEventType.PARALLEL_SCAVENGE.toString() + " not identified.",
+                JdkUtil.LogEventType.PARALLEL_SCAVENGE, JdkUtil.identifyEventType(logLine2));
+    }
+
+    public void testIdentifyEventTypeLineShapeNotMatched() {
+        String logLine1 = "2.969: [GC (Allocation Failure) [PSYoungGen: 64000K->8704K(74752K)] "
+                + "64000K->8712K(245760K), 0.0115060 secs] [Times: user=0.04 sys=0.01, real=0.01 secs]";
+        // Same shape, but a timestamp with 2 decimal places is not a valid log line
+        String logLine2 = "2.96: [GC (Allocation Failure) [PSYoungGen: 64000K->8704K(74752K)] "
+                + "64000K->8712K(245760K), 0.0115060 secs] [Times: user=0.04 sys=0.01, real=0.01 secs]";
+        Assert.assertEquals(JdkUtil.LogEventType.PARALLEL_SCAVENGE.toString() + " not identified.",
+                JdkUtil.LogEventType.PARALLEL_SCAVENGE, JdkUtil.identifyEventType(logLine1));
+        Assert.assertEquals(JdkUtil.LogEventType.UNKNOWN.toString() + " not identified.",
+                JdkUtil.LogEventType.UNKNOWN, JdkUtil.identifyEventType(logLine2));
+    }
+
+    public void testIdentifyEventTypePrecedenceAfterReorder() {
+        String initialMark = "1244.357: [GC pause (young) (initial-mark) 847M->599M(970M), 0.0566840 secs] "
+                + "[Times: user=0.18 sys=0.02, real=0.06 secs]";
+        // Changing the collector families clears the line shape cache, so every line is identified in order
+        List<CollectorFamily> collectorFamilies = new ArrayList<CollectorFamily>();
+        collectorFamilies.add(CollectorFamily.G1);
+        IdentifyOrder identifyOrder = new IdentifyOrder();
+        for (int i = 0; i < 4096; i++) {
+            Assert.assertEquals(JdkUtil.LogEventType.G1_YOUNG_INITIAL_MARK.toString() + " not identified.",
+                    JdkUtil.LogEventType.G1_YOUNG_INITIAL_MARK,
+                    JdkUtil.identifyEventType(initialMark, i % 2 == 0 ? collectorFamilies : null, identifyOrder));
+        }
+        // Also matches G1_YOUNG_INITIAL_MARK, which must not be tested first
+        String logLine = "2017-01-12T04:41:38.761-0500: 4.691: [GC pause (G1 Evacuation Pause) (young), 0.2867414 secs]"
+                + "[Eden: 2144.0M(2144.0M)->0.0B(1888.0M) Survivors: 0.0B->256.0M Heap: 2144.0M(42.0G)->243.0M(42.0G)] "
+                + "[Times: user=4.92 sys=0.38, real=0.29 secs]";
+        Assert.assertEquals(JdkUtil.LogEventType.G1_YOUNG_PAUSE.toString() + " not identified.",
+                JdkUtil.LogEventType.G1_YOUNG_PAUSE, JdkUtil.identifyEventType(logLine, null, identifyOrder));
+    }
+
+    public void testIdentifyOrderNotShared() {
+        String logLine = "2.969: [GC (Allocation Failure) [PSYoungGen: 64000K->8704K(74752K)] "
+                + "64000K->8712K(245760K), 0.0115060 secs] [Times: user=0.04 sys=0.01, real=0.01 secs]";
+        List<CollectorFamily> collectorFamilies = new ArrayList<CollectorFamily>();
+        collectorFamilies.add(CollectorFamily.PARALLEL);
+        IdentifyOrder identifyOrder = new IdentifyOrder();
+        JdkUtil.LogEventType[] initialOrder = identifyOrder.getOrder();
+        for (int i = 0; i < 4096; i++) {
+            JdkUtil.identifyEventType(logLine, i % 2 == 0 ? collectorFamilies : null, identifyOrder);
+        }
+        Assert.assertFalse("Order not adapted.", Arrays.equals(initialOrder, identifyOrder.getOrder()));
+        Assert.assertArrayEquals("Order adapted for another log.", initialOrder, new IdentifyOrder().getOrder());
+    }
+
+    public void testIdentifyThrowAwayEventType() {
+        String logLine = "Total time for which application threads were stopped: 0.0001215 seconds";
+        Assert.assertEquals(JdkUtil.LogEventType.APPLICATION_STOPPED_TIME.toString() + " thrown away.",
+                JdkUtil.LogEventType.UNKNOWN, JdkUtil.identifyThrowAwayEventType(logLine));
+        logLine = "Application time: 130.5284640 seconds";
+        Assert.assertEquals(JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME.toString() + " not identified.",
+                JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME, JdkUtil.identifyThrowAwayEventType(logLine));
+        Assert.assertTrue(JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME.toString() + " not a throwaway event.",
+                JdkUtil.isThrowAway(JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME));
+    }
+
+    public void testIdentifyThrowAwayEventTypePrecedence() {
+        // Also matches SHENANDOAH_STATS, but UNIFIED_CONCURRENT is identified first
+        String logLine = "[0.117s][info][gc,marking    ] GC(2) Concurrent Cleanup for Next Mark 0.117ms";
+        Assert.assertEquals(JdkUtil.LogEventType.UNIFIED_CONCURRENT.toString() + " not identified.",
+                JdkUtil.LogEventType.UNIFIED_CONCURRENT, JdkUtil.identifyEventType(logLine));
+        Assert.assertEquals(JdkUtil.LogEventType.UNIFIED_CONCURRENT.toString() + " thrown away.",
+                JdkUtil.LogEventType.UNKNOWN, JdkUtil.identifyThrowAwayEventType(logLine));
+    }
+
+    public void testIdentifyThrowAwayOrUnknownEventType() {
+        LogLineBuffer logLine = new LogLineBuffer();
+        logLine.set("Application time: 130.5284640 seconds");
+        Assert.assertEquals(JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME.toString() + " not identified.",
+                JdkUtil.LogEventType.APPLICATION_CONCURRENT_TIME,
+                JdkUtil.identifyThrowAwayOrUnknownEventType(logLine, null));
+        logLine.set("this is not a gc log line");
+        Assert.assertEquals("Log line identified.", JdkUtil.LogEventType.UNKNOWN,
+                JdkUtil.identifyThrowAwayOrUnknownEventType(logLine, null));
+        logLine.set("2.969: [GC (Allocation Failure) [PSYoungGen: 64000K->8704K(74752K)] 64000K->8712K(245760K), "
+                + "0.0115060 secs] [Times: user=0.04 sys=0.01, real=0.01 secs]");
+        Assert.assertNull(JdkUtil.LogEventType.PARALLEL_SCAVENGE.toString() + " thrown away.",
+                JdkUtil.identifyThrowAwayOrUnknownEventType(logLine, null));
+        // Known line shape
+        logLine.set("12.123: [GC (Allocation Failure) [PSYoungGen: 72704K->8704K(74752K)] 72712K->16392K(245760K), "
+                + "0.0101170 secs] [Times: user=0.03 sys=0.00, real=0.01 secs]");
+        Assert.assertNull(JdkUtil.LogEventType.PARALLEL_SCAVENGE.toString() + " thrown away.",
+                JdkUtil.identifyThrowAwayOrUnknownEventType(logLine, null));
+    }
 }
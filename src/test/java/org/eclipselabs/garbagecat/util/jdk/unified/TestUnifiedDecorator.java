@@ -0,0 +1,148 @@
+/**********************************************************************************************************************
+ * garbagecat                                                                                                         *
+ *                                                                                                                    *
+ * Copyright (c) 2008-2020 Mike Millson                                                                               *
+ *                                                                                                                    * 
+ * All rights reserved. This program and the accompanying materials are made available under the terms of the Eclipse *
+ * Public License v1.0 which accompanies this distribution, and is available at                                       *
+ * http://www.eclipse.org/legal/epl-v10.html.                                                                         *
+ *                                                                                                                    *
+ * Contributors:                                                                                                      *
+ *    Mike Millson - initial API and implementation                                                                   *
+ *********************************************************************************************************************/
+package org.eclipselabs.garbagecat.util.jdk.unified;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipselabs.garbagecat.util.Constants;
+import org.junit.Assert;
+
+import junit.framework.TestCase;
+
+/**
+ * @author <a href="mailto:mmillson@redhat.com">Mike Millson</a>
+ * 
+ */
+public class TestUnifiedDecorator extends TestCase {
+
+    public void testUptimeLevelTags() {
+        String logLine = "[0.057s][info][gc,start     ] GC(0) Pause Young (Normal) (G1 Evacuation Pause)";
+        UnifiedDecorator decorator = new UnifiedDecorator(logLine);
+        Assert.assertTrue("Decorator not identified.", decorator.isDecorated());
+        Assert.assertEquals("Uptime not parsed correctly.", 57, decorator.getUptime());
+        Assert.assertEquals("Level not parsed correctly.", "info", decorator.getLevel());
+        Assert.assertEquals("Tags not parsed correctly.", "gc,start", decorator.getTags());
+        Assert.assertEquals("GC event number not parsed correctly.", 0, decorator.getGcEventNumber());
+        Assert.assertEquals("Length not correct.", logLine.indexOf(" Pause"), decorator.getLength());
+        Assert.assertEquals("Timestamp not correct.", 57, decorator.getTimestamp());
+    }
+
+    public void testUptimeDecimalComma() {
+        UnifiedDecorator decorator = new UnifiedDecorator("[25,016s][info][gc] GC(12) Pause Young");
+        Assert.assertEquals("Uptime not parsed correctly.", 25016, decorator.getUptime());
+        Assert.assertEquals("GC event number not parsed correctly.", 12, decorator.getGcEventNumber());
+    }
+
+    public void testUptimeMillis() {
+        UnifiedDecorator decorator = new UnifiedDecorator("[052ms] GC(0) Pause Young (Normal) (G1 Evacuation Pause)");
+        Assert.assertEquals("Uptime not parsed correctly.", 52, decorator.getUptime());
+        Assert.assertNull("Level incorrectly parsed.", decorator.getLevel());
+        Assert.assertNull("Datestamp incorrectly parsed.", decorator.getDatestamp());
+        Assert.assertEquals("Length not correct.", 13, decorator.getLength());
+    }
+
+    public void testTimeUptimeMillis() {
+        UnifiedDecorator decorator = new UnifiedDecorator(
+                "[2020-02-14T15:21:55.207-0500][52ms] GC(0) Pause Young (Normal) (G1 Evacuation Pause)");
+        Assert.assertEquals("Datestamp not parsed correctly.", "2020-02-14T15:21:55.207-0500",
+                decorator.getDatestamp());
+        Assert.assertEquals("Uptime not parsed correctly.", 52, decorator.getUptime());
+        Assert.assertEquals("Timestamp not correct.", 52, decorator.getTimestamp());
+    }
+
+    public void testTimeOnly() {
+        String logLine = "[2020-02-14T15:21:55.207-0500] GC(0) Pause Young (Normal) (G1 Evacuation Pause)";
+        UnifiedDecorator decorator = new UnifiedDecorator(logLine);
+        Assert.assertEquals("Uptime incorrectly parsed.", -1, decorator.getUptime());
+        Assert.assertEquals("Timestamp not correct.",
+                UnifiedUtil.convertDatestampToMillis("2020-02-14T15:21:55.207-0500"), decorator.getTimestamp());
+    }
+
+    public void testNotDecorated() {
+        UnifiedDecorator decorator = new UnifiedDecorator("1.234: [GC pause (young), 0.0010 secs]");
+        Assert.assertFalse("Decorator incorrectly identified.", decorator.isDecorated());
+        decorator = new UnifiedDecorator("[Times: user=0.00 sys=0.00, real=0.00 secs]");
+        Assert.assertFalse("Decorator incorrectly identified.", decorator.isDecorated());
+    }
+
+    public void testRegExEnds() {
+        String logLine = "[2020-02-14T15:21:55.207-0500][0.057s][info][gc,start     ] GC(0) Pause Young";
+        int[] ends = new int[UnifiedDecorator.REGEX_ENDS];
+        Assert.assertEquals("Ends not correct.", 4, UnifiedDecorator.getRegExEnds(logLine, ends));
+        Assert.assertEquals("Longest decorator not first.", logLine.indexOf(" Pause"), ends[0]);
+        Assert.assertEquals("Decorator without GC event number not correct.", logLine.indexOf(" GC("), ends[1]);
+        Assert.assertEquals("Decorator without level and tags not correct.", logLine.indexOf("[info]"), ends[2]);
+        Assert.assertEquals("Decorator without uptime not correct.", logLine.indexOf("[0.057s]"), ends[3]);
+    }
+
+    public void testRegExEndsLevelTags() {
+        int[] ends = new int[UnifiedDecorator.REGEX_ENDS];
+        Assert.assertEquals("Debug level incorrectly allowed.", 1,
+                UnifiedDecorator.getRegExEnds("[0.057s][debug][gc] Pause Young", ends));
+        Assert.assertEquals("Tags not allowed.", 2,
+                UnifiedDecorator.getRegExEnds("[0.057s][info][gc,heap,exit] Heap", ends));
+        Assert.assertEquals("Unknown tag incorrectly allowed.", 1,
+                UnifiedDecorator.getRegExEnds("[0.057s][info][gc,foo] Pause Young", ends));
+        Assert.assertEquals("Padding over 13 spaces incorrectly allowed.", 1,
+                UnifiedDecorator.getRegExEnds("[0.057s][info][gc              ] Pause Young", ends));
+        Assert.assertEquals("Not decorated log line incorrectly allowed.", 0,
+                UnifiedDecorator.getRegExEnds("[Times: user=0.00 sys=0.00, real=0.00 secs]", ends));
+    }
+
+    /**
+     * The indexes {@link UnifiedDecorator#getRegExEnds(CharSequence, int[])} finds must be exactly where
+     * {@link UnifiedRegEx#DECORATOR} can end, longest first, for every unified logging line in the test data.
+     */
+    public void testRegExEndsTestData() throws IOException {
+        Pattern pattern = Pattern.compile("^" + UnifiedRegEx.DECORATOR);
+        int[] ends = new int[UnifiedDecorator.REGEX_ENDS];
+        Set<String> prefixes = new HashSet<String>();
+        File[] files = new File(Constants.TEST_DATA_DIR).listFiles();
+        for (int i = 0; i < files.length; i++) {
+            if (!files[i].getName().endsWith(".txt")) {
+                continue;
+            }
+            BufferedReader reader = new BufferedReader(new FileReader(files[i]));
+            try {
+                String logLine;
+                while ((logLine = reader.readLine()) != null) {
+                    // The decorator is not longer than 128 characters
+                    String prefix = logLine.substring(0, Math.min(logLine.length(), 128));
+                    if (!logLine.startsWith("[") || !prefixes.add(prefix)) {
+                        continue;
+                    }
+                    Matcher matcher = pattern.matcher(prefix);
+                    int count = UnifiedDecorator.getRegExEnds(logLine, ends);
+                    int index = 0;
+                    for (int end = prefix.length(); end > 0; end--) {
+                        if (matcher.region(0, end).matches()) {
+                            Assert.assertTrue("Decorator end " + end + " not found: " + logLine, index < count);
+                            Assert.assertEquals("Decorator end not correct: " + logLine, end, ends[index++]);
+                        }
+                    }
+                    Assert.assertEquals("Decorator end incorrectly found: " + logLine, index, count);
+                }
+            } finally {
+                reader.close();
+            }
+        }
+        Assert.assertFalse("No unified logging lines in the test data.", prefixes.isEmpty());
+    }
+}